@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.editor.contentassist;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.xtext.ide.editor.contentassist.ContentAssistContext;
+import org.eclipse.xtext.ide.editor.contentassist.ContentAssistEntry;
+import org.eclipse.xtext.ide.editor.contentassist.IdeContentProposalAcceptor;
+import org.eclipse.xtext.ide.editor.contentassist.IdeCrossrefProposalProvider;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.EObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.impl.EObjectDescriptionLookUp;
+import org.eclipse.xtext.scoping.IScope;
+import org.eclipse.xtext.scoping.impl.SelectableBasedScope;
+import org.eclipse.xtext.scoping.impl.SimpleScope;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Predicates;
+import com.google.common.collect.Lists;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+public class IdeCrossrefProposalProviderTest {
+
+	private Injector injector;
+
+	private IdeCrossrefProposalProvider proposalProvider;
+
+	private List<IEObjectDescription> descriptions;
+
+	@Before
+	public void setUp() {
+		injector = Guice.createInjector();
+		proposalProvider = injector.getInstance(IdeCrossrefProposalProvider.class);
+		descriptions = Lists.newArrayList(create("foo"), create("Foobar"), create("bar"), create("x", "foo"), create("x", "bar"));
+	}
+
+	@Test
+	public void testPrefixSearchableScope() {
+		final List<String> queriedPrefixes = Lists.newArrayList();
+		IScope scope = new SelectableBasedScope(IScope.NULLSCOPE, new EObjectDescriptionLookUp(descriptions), null,
+				EcorePackage.Literals.EANNOTATION, false) {
+			@Override
+			public Iterable<IEObjectDescription> getAllElements() {
+				throw new AssertionError("All elements should not be queried");
+			}
+
+			@Override
+			public Iterable<IEObjectDescription> getElementsByPrefix(String prefix) {
+				queriedPrefixes.add(prefix);
+				return super.getElementsByPrefix(prefix);
+			}
+
+			@Override
+			protected boolean isPrefixSearchSupported() {
+				return true;
+			}
+		};
+		assertEquals(Lists.newArrayList("foo", "Foobar"), getProposals(scope, "fo"));
+		assertEquals(Lists.newArrayList("fo"), queriedPrefixes);
+		assertEquals(Lists.newArrayList("x.bar"), getProposals(scope, "x.b"));
+		assertEquals(Lists.newArrayList("fo", "x"), queriedPrefixes);
+	}
+
+	@Test
+	public void testScopeWithoutPrefixSearch() {
+		IScope scope = new SimpleScope(descriptions);
+		assertEquals(Lists.newArrayList("foo", "Foobar"), getProposals(scope, "fo"));
+		assertEquals(Lists.newArrayList("bar", "foo", "Foobar", "x.bar", "x.foo"), getProposals(scope, ""));
+	}
+
+	@Test
+	public void testSameProposalsWithAndWithoutPrefixSearch() {
+		IScope prefixSearchable = SelectableBasedScope.createScope(IScope.NULLSCOPE,
+				new EObjectDescriptionLookUp(descriptions), EcorePackage.Literals.EANNOTATION, false);
+		IScope simple = new SimpleScope(descriptions);
+		for (String prefix : new String[] { "", "f", "FOO", "b", "x", "x.", "x.f", "y" }) {
+			assertEquals(getProposals(simple, prefix), getProposals(prefixSearchable, prefix));
+		}
+	}
+
+	private List<String> getProposals(IScope scope, String prefix) {
+		ContentAssistContext context = injector.getInstance(ContentAssistContext.Builder.class).setPrefix(prefix).toContext();
+		IdeContentProposalAcceptor acceptor = new IdeContentProposalAcceptor();
+		proposalProvider.lookupCrossReference(scope, null, context, acceptor, Predicates.<IEObjectDescription>alwaysTrue());
+		List<String> result = Lists.newArrayList();
+		for (ContentAssistEntry entry : acceptor.getEntries()) {
+			result.add(entry.getProposal());
+		}
+		return result;
+	}
+
+	private IEObjectDescription create(String... segments) {
+		return EObjectDescription.create(QualifiedName.create(segments), EcoreFactory.eINSTANCE.createEAnnotation());
+	}
+
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.editor.contentassist.antlr;
+
+import static org.junit.Assert.*;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.antlr.runtime.ANTLRStringStream;
+import org.antlr.runtime.CommonToken;
+import org.antlr.runtime.Token;
+import org.eclipse.xtext.AbstractElement;
+import org.eclipse.xtext.Keyword;
+import org.eclipse.xtext.XtextFactory;
+import org.eclipse.xtext.ide.editor.contentassist.antlr.FollowElement;
+import org.eclipse.xtext.ide.editor.contentassist.antlr.FollowElementCache;
+import org.eclipse.xtext.ide.editor.contentassist.antlr.IContentAssistParser;
+import org.eclipse.xtext.ide.editor.contentassist.antlr.LookAheadTerminal;
+import org.eclipse.xtext.ide.editor.contentassist.antlr.LookaheadKeyword;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class FollowElementCacheTest {
+
+	private int parserInvocations = 0;
+
+	private IContentAssistParser parser = new IContentAssistParser() {
+		@Override
+		public Collection<FollowElement> getFollowElements(String input, boolean strict) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Collection<FollowElement> getFollowElements(FollowElement element) {
+			parserInvocations++;
+			return Collections.singletonList(new FollowElement());
+		}
+	};
+
+	private Keyword keyword = XtextFactory.eINSTANCE.createKeyword();
+
+	private FollowElement createFollowElement(String... lookAheadKeywords) {
+		List<LookAheadTerminal> terminals = Lists.newArrayList();
+		for (String text : lookAheadKeywords) {
+			LookaheadKeyword terminal = new LookaheadKeyword();
+			terminal.setKeyword(text);
+			terminal.setToken(new CommonToken(new ANTLRStringStream(text), 1, Token.DEFAULT_CHANNEL, 0, text.length() - 1));
+			terminals.add(terminal);
+		}
+		FollowElement result = new FollowElement();
+		result.setGrammarElement(keyword);
+		result.setTrace(Collections.<AbstractElement>singletonList(keyword));
+		result.setLocalTrace(Collections.<AbstractElement>singletonList(keyword));
+		result.setParamStack(Collections.<Integer>emptyList());
+		result.setLookAheadTerminals(terminals);
+		result.setLookAhead(terminals.size() + 1);
+		return result;
+	}
+
+	@Test
+	public void testSameLookAheadIsComputedOnce() {
+		FollowElementCache cache = new FollowElementCache();
+		Collection<FollowElement> first = cache.getFollowElements(createFollowElement("a", "b"), parser);
+		Collection<FollowElement> second = cache.getFollowElements(createFollowElement("a", "b"), parser);
+		assertEquals(1, parserInvocations);
+		assertSame(first, second);
+	}
+
+	@Test
+	public void testDifferentLookAheadIsComputedAgain() {
+		FollowElementCache cache = new FollowElementCache();
+		cache.getFollowElements(createFollowElement("a", "b"), parser);
+		cache.getFollowElements(createFollowElement("a", "c"), parser);
+		assertEquals(2, parserInvocations);
+		assertEquals(2, cache.size());
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testCachedElementsDoNotReferToTheInput() {
+		IContentAssistParser echo = new IContentAssistParser() {
+			@Override
+			public Collection<FollowElement> getFollowElements(String input, boolean strict) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public Collection<FollowElement> getFollowElements(FollowElement element) {
+				return Collections.singletonList(element);
+			}
+		};
+		FollowElementCache cache = new FollowElementCache();
+		Collection<FollowElement> result = cache.getFollowElements(createFollowElement("a", "b"), echo);
+		List<LookAheadTerminal> terminals = result.iterator().next().getLookAheadTerminals();
+		assertEquals(2, terminals.size());
+		for (LookAheadTerminal terminal : terminals) {
+			assertNull(terminal.getToken().getInputStream());
+		}
+		assertEquals("b", terminals.get(1).getToken().getText());
+	}
+
+}
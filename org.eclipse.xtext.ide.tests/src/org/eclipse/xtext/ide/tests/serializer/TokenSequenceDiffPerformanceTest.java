@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2018 TypeFox GmbH (http://www.typefox.io) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.serializer;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.eclipse.xtext.ide.serializer.impl.TokenSequenceDiff;
+import org.eclipse.xtext.util.ReplaceRegion;
+import org.junit.Test;
+
+/**
+ * Measures the time to compute the minimal replacements for a few renamed identifiers in a large model file. Raise the
+ * size to 10MB and enable the output to get meaningful numbers.
+ */
+public class TokenSequenceDiffPerformanceTest {
+
+	private static int SIZE = 100 * 1024 /* 10 * 1024 * 1024 */;
+
+	@Test
+	public void testRenameInLargeFile() {
+		StringBuilder builder = new StringBuilder();
+		int count = 0;
+		while (builder.length() < SIZE) {
+			builder.append("element Element").append(count).append(" {\n\tref Element").append(count / 2).append("\n}\n");
+			count++;
+		}
+		String original = builder.toString();
+		String renamed = "Element" + count / 4;
+		String modified = original
+				.replace(renamed + "\n", "Renamed\n")
+				.replace("element " + renamed + " ", "element Renamed ");
+		long start = System.nanoTime();
+		List<ReplaceRegion> replacements = new TokenSequenceDiff().diff(original, modified);
+		long duration = System.nanoTime() - start;
+		assertEquals(3, replacements.size());
+		for (ReplaceRegion replacement : replacements) {
+			assertEquals("Renamed", replacement.getText());
+		}
+//		System.out.println(original.length() / 1024 + "KB: " + duration / 1000000 + "ms");
+	}
+
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2018 TypeFox GmbH (http://www.typefox.io) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.serializer;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.xtext.ide.serializer.impl.TokenSequenceDiff;
+import org.eclipse.xtext.util.ReplaceRegion;
+import org.junit.Test;
+
+public class TokenSequenceDiffTest {
+
+	private TokenSequenceDiff diff = new TokenSequenceDiff();
+
+	@Test
+	public void testEqual() {
+		assertTrue(diff.diff("element Foo { ref Bar }", "element Foo { ref Bar }").isEmpty());
+		assertTrue(diff.diff("", "").isEmpty());
+	}
+
+	@Test
+	public void testRenameIdentifier() {
+		assertEquals("[19:3|Baz]", toString("element Foo {\n\tref Bar\n}\nelement Bar {}", "element Foo {\n\tref Baz\n}\nelement Bar {}"));
+	}
+
+	@Test
+	public void testInsertAndDelete() {
+		assertEquals("[4:0|c ][7:2|]", toString("a b d e f g", "a b c d e g"));
+	}
+
+	@Test
+	public void testCompletelyDifferent() {
+		assertEquals("[0:3|bar]", toString("foo", "bar"));
+		assertEquals("[0:0|foo]", toString("", "foo"));
+		assertEquals("[0:3|]", toString("foo", ""));
+	}
+
+	@Test
+	public void testMaxDifferences() {
+		diff.setMaxDifferences(1);
+		assertEquals("[0:9|b x d y]", toString("a x c y e", "b x d y"));
+	}
+
+	@Test
+	public void testReplacementsProduceModifiedText() {
+		Random random = new Random(42);
+		String[] tokens = { "foo", "bar", " ", "\n\t", ".", "{", "}", "x1" };
+		for (int i = 0; i < 1000; i++) {
+			String original = createText(random, tokens);
+			String modified = createText(random, tokens);
+			assertEquals(modified, apply(original, diff.diff(original, modified)));
+		}
+	}
+
+	private String createText(Random random, String[] tokens) {
+		StringBuilder result = new StringBuilder();
+		for (int i = random.nextInt(20); i > 0; i--) {
+			result.append(tokens[random.nextInt(tokens.length)]);
+		}
+		return result.toString();
+	}
+
+	private String apply(String original, List<ReplaceRegion> replacements) {
+		StringBuilder result = new StringBuilder(original);
+		for (int i = replacements.size() - 1; i >= 0; i--) {
+			replacements.get(i).applyTo(result);
+		}
+		return result.toString();
+	}
+
+	private String toString(String original, String modified) {
+		List<ReplaceRegion> replacements = diff.diff(original, modified);
+		assertEquals(modified, apply(original, replacements));
+		StringBuilder result = new StringBuilder();
+		for (ReplaceRegion replacement : replacements) {
+			result.append("[").append(replacement.getOffset()).append(":").append(replacement.getLength()).append("|")
+					.append(replacement.getText()).append("]");
+		}
+		return result.toString();
+	}
+
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
+import org.eclipse.xtext.ide.server.BuildManager;
+import org.eclipse.xtext.ide.server.DiagnosticsPublisher;
+import org.eclipse.xtext.util.Modules2;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.inject.AbstractModule;
+import com.google.inject.Module;
+import com.google.inject.name.Names;
+
+public class DebouncedBuildTest extends AbstractTestLangLanguageServerTest {
+
+	private static final long DEBOUNCE_DELAY = 500;
+
+	@Override
+	protected Module getServerModule() {
+		return Modules2.mixin(super.getServerModule(), new AbstractModule() {
+			@Override
+			protected void configure() {
+				bindConstant().annotatedWith(Names.named(BuildManager.DEBOUNCE_DELAY)).to(DEBOUNCE_DELAY);
+			}
+		});
+	}
+
+	@Override
+	public synchronized void notify(String method, Object parameter) {
+		super.notify(method, parameter);
+	}
+
+	@Override
+	protected synchronized Map<String, List<Diagnostic>> getDiagnostics() {
+		return super.getDiagnostics();
+	}
+
+	@Test
+	public void testEditIsBuiltAfterDelay() throws InterruptedException {
+		String uri = writeFile("MyType1.testlang", "type Test {}");
+		initialize();
+		open(uri, "type Test {}");
+		assertTrue(getDiagnostics().get(uri).isEmpty());
+
+		long start = System.currentTimeMillis();
+		change(uri, 2, new Range(new Position(0, 11), new Position(0, 11)), " NonExisting foo ");
+		assertTrue("The request queue has been blocked", System.currentTimeMillis() - start < DEBOUNCE_DELAY);
+		assertTrue(getDiagnostics().get(uri).isEmpty());
+
+		long deadline = System.currentTimeMillis() + 10000;
+		while (getDiagnostics().get(uri).isEmpty()) {
+			assertTrue("The edit has not been built", System.currentTimeMillis() < deadline);
+			Thread.sleep(10);
+		}
+		assertEquals(1, getDiagnostics().get(uri).size());
+		assertTrue(System.currentTimeMillis() - start >= DEBOUNCE_DELAY);
+	}
+
+	@Test
+	public void testSubsequentEditsAreBuiltOnce() throws InterruptedException {
+		String uri = writeFile("MyType1.testlang", "type Test {}");
+		initialize();
+		open(uri, "type Test {}");
+		long published = getPublishedDiagnostics();
+
+		change(uri, 2, new Range(new Position(0, 11), new Position(0, 11)), " NonExisting foo ");
+		change(uri, 3, new Range(new Position(0, 12), new Position(0, 23)), "Test");
+		Thread.sleep(DEBOUNCE_DELAY * 4);
+		assertEquals(published + 1, getPublishedDiagnostics());
+		assertTrue(getDiagnostics().get(uri).isEmpty());
+	}
+
+	private long getPublishedDiagnostics() {
+		DiagnosticsPublisher publisher = languageServer.getDiagnosticsPublisher();
+		return publisher.getSentCount() + publisher.getSuppressedCount();
+	}
+
+	private void change(String uri, int version, Range range, String text) {
+		DidChangeTextDocumentParams params = new DidChangeTextDocumentParams();
+		params.setTextDocument(new VersionedTextDocumentIdentifier(uri, version));
+		TextDocumentContentChangeEvent change = new TextDocumentContentChangeEvent();
+		change.setRange(range);
+		change.setText(text);
+		params.setContentChanges(Lists.newArrayList(change));
+		languageServer.didChange(params);
+	}
+
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.jsonrpc.Endpoint;
+import org.eclipse.lsp4j.jsonrpc.services.ServiceEndpoints;
+import org.eclipse.lsp4j.services.LanguageClient;
+import org.eclipse.xtext.ide.server.DiagnosticsPublisher;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class DiagnosticsPublisherTest {
+
+	private List<PublishDiagnosticsParams> sent = Lists.newArrayList();
+
+	private List<Runnable> scheduled = Lists.newArrayList();
+
+	private LanguageClient client = ServiceEndpoints.toServiceObject(new Endpoint() {
+		@Override
+		public void notify(String method, Object parameter) {
+			sent.add((PublishDiagnosticsParams) parameter);
+		}
+
+		@Override
+		public CompletableFuture<?> request(String method, Object parameter) {
+			return CompletableFuture.completedFuture(null);
+		}
+	}, LanguageClient.class);
+
+	private DiagnosticsPublisher publisher = new DiagnosticsPublisher() {
+		@Override
+		protected void schedule(Runnable flush) {
+			scheduled.add(flush);
+		}
+	};
+
+	@Test
+	public void testUnchangedDiagnosticsAreSuppressed() {
+		publisher.publish(client, params("a", "error"));
+		runScheduled();
+		publisher.publish(client, params("a", "error"));
+		publisher.publish(client, params("b"));
+		runScheduled();
+		publisher.publish(client, params("b"));
+		publisher.publish(client, params("a"));
+		runScheduled();
+		assertEquals(3, sent.size());
+		assertEquals("a", sent.get(0).getUri());
+		assertEquals("b", sent.get(1).getUri());
+		assertEquals("a", sent.get(2).getUri());
+		assertTrue(sent.get(2).getDiagnostics().isEmpty());
+		assertEquals(3, publisher.getSentCount());
+		assertEquals(2, publisher.getSuppressedCount());
+	}
+
+	@Test
+	public void testQueuedDiagnosticsAreReplaced() {
+		publisher.publish(client, params("a", "first"));
+		publisher.publish(client, params("b", "error"));
+		publisher.publish(client, params("a", "second"));
+		assertEquals(1, scheduled.size());
+		runScheduled();
+		assertEquals(2, sent.size());
+		assertEquals("second", sent.get(0).getDiagnostics().get(0).getMessage());
+		assertEquals("b", sent.get(1).getUri());
+		assertEquals(1, publisher.getSuppressedCount());
+	}
+
+	@Test
+	public void testForgottenDiagnosticsAreSentAgain() {
+		publisher.publish(client, params("a", "error"));
+		publisher.publish(client, params("b", "error"));
+		runScheduled();
+		publisher.forget("a");
+		publisher.publish(client, params("a", "error"));
+		publisher.publish(client, params("b", "error"));
+		runScheduled();
+		assertEquals(3, sent.size());
+		assertEquals("a", sent.get(2).getUri());
+		publisher.reset();
+		publisher.publish(client, params("a", "error"));
+		publisher.publish(client, params("b", "error"));
+		runScheduled();
+		assertEquals(5, sent.size());
+	}
+
+	private void runScheduled() {
+		List<Runnable> tasks = Lists.newArrayList(scheduled);
+		scheduled.clear();
+		for (Runnable task : tasks) {
+			task.run();
+		}
+	}
+
+	private PublishDiagnosticsParams params(String uri, String... messages) {
+		List<Diagnostic> diagnostics = Lists.newArrayList();
+		for (String message : messages) {
+			Diagnostic diagnostic = new Diagnostic();
+			diagnostic.setRange(new Range(new Position(0, 0), new Position(0, 1)));
+			diagnostic.setSeverity(DiagnosticSeverity.Error);
+			diagnostic.setMessage(message);
+			diagnostics.add(diagnostic);
+		}
+		PublishDiagnosticsParams result = new PublishDiagnosticsParams();
+		result.setUri(uri);
+		result.setDiagnostics(diagnostics);
+		return result;
+	}
+
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.diagnostics.Diagnostic;
+import org.eclipse.xtext.ide.server.BuildManager;
+import org.eclipse.xtext.ide.server.IWorkspaceConfigFactory;
+import org.eclipse.xtext.ide.server.MultiProjectWorkspaceConfigFactory;
+import org.eclipse.xtext.ide.server.ServerModule;
+import org.eclipse.xtext.ide.server.WorkspaceManager;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.Files;
+import org.eclipse.xtext.util.Modules2;
+import org.eclipse.xtext.validation.Issue;
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure2;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.name.Names;
+
+public class ParallelProjectBuildTest {
+
+	private File root;
+
+	private Map<URI, List<Issue>> diagnostics = new ConcurrentHashMap<URI, List<Issue>>();
+
+	@Inject
+	private WorkspaceManager workspaceManager;
+
+	@Before
+	public void setup() {
+		Guice.createInjector(Modules2.mixin(new ServerModule(), new AbstractModule() {
+			@Override
+			protected void configure() {
+				bind(IWorkspaceConfigFactory.class).to(MultiProjectWorkspaceConfigFactory.class);
+				bindConstant().annotatedWith(Names.named(BuildManager.PARALLEL_PROJECT_BUILDS)).to(3);
+			}
+		})).injectMembers(this);
+		root = new File("test-data");
+		if (!root.mkdirs()) {
+			Files.cleanFolder(root, null, true, false);
+		}
+		root.deleteOnExit();
+		for (int i = 0; i < 3; i++) {
+			new File(root, "project" + i).mkdir();
+		}
+		workspaceManager.initialize(URI.createFileURI(root.getAbsolutePath()), new Procedure2<URI, Iterable<Issue>>() {
+			@Override
+			public void apply(URI uri, Iterable<Issue> issues) {
+				diagnostics.put(uri, ImmutableList.copyOf(issues));
+			}
+		}, null);
+	}
+
+	@Test
+	public void testIndependentProjects() throws IOException {
+		workspaceManager.getProjectManager("project1").getProjectDescription().getDependencies().add("project0");
+		URI a = createFile("project0", "A.testlang", "type A {}");
+		URI b = createFile("project1", "B.testlang", "type B { A a }");
+		URI c = createFile("project2", "C.testlang", "type C { A a }");
+		List<IResourceDescription.Delta> deltas = workspaceManager.doBuild(Lists.newArrayList(a, b, c),
+				Lists.<URI> newArrayList(), CancelIndicator.NullImpl);
+		List<URI> uris = Lists.newArrayList();
+		for (IResourceDescription.Delta delta : deltas) {
+			uris.add(delta.getUri());
+		}
+		assertEquals(Lists.newArrayList(a, b, c), uris);
+		assertTrue(diagnostics.get(a).isEmpty());
+		assertTrue(diagnostics.get(b).isEmpty());
+		assertEquals(1, diagnostics.get(c).size());
+		assertEquals(Diagnostic.LINKING_DIAGNOSTIC, diagnostics.get(c).get(0).getCode());
+	}
+
+	private URI createFile(String project, String name, String contents) throws IOException {
+		File file = new File(new File(root, project), name);
+		try (FileWriter writer = new FileWriter(file)) {
+			writer.write(contents);
+		}
+		return URI.createFileURI(file.getAbsolutePath());
+	}
+
+}
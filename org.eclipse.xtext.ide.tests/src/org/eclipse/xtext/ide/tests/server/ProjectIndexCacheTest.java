@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.diagnostics.Diagnostic;
+import org.eclipse.xtext.ide.server.ILanguageServerAccess;
+import org.eclipse.xtext.ide.server.ProjectIndexCache;
+import org.eclipse.xtext.ide.server.ServerModule;
+import org.eclipse.xtext.ide.server.WorkspaceManager;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.util.Files;
+import org.eclipse.xtext.util.Modules2;
+import org.eclipse.xtext.validation.Issue;
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure2;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.name.Names;
+
+public class ProjectIndexCacheTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File root;
+
+	private Map<URI, List<Issue>> diagnostics = Maps.newHashMap();
+
+	private List<URI> builtFiles = Lists.newArrayList();
+
+	@Before
+	public void setup() {
+		root = new File("test-data");
+		if (!root.mkdirs()) {
+			Files.cleanFolder(root, null, true, false);
+		}
+		root.deleteOnExit();
+	}
+
+	@Test
+	public void testOnlyChangedFilesAreRebuilt() throws IOException {
+		URI a = createFile("A.testlang", "type A {}");
+		URI b = createFile("B.testlang", "type B { A a X x }");
+		startWorkspace();
+		assertEquals(2, builtFiles.size());
+		assertEquals(1, diagnostics.get(b).size());
+
+		createFile("A.testlang", "type A {\n}");
+		startWorkspace();
+		assertEquals(Lists.newArrayList(a), builtFiles);
+		assertTrue(diagnostics.get(a).isEmpty());
+		assertEquals(1, diagnostics.get(b).size());
+		assertEquals(Diagnostic.LINKING_DIAGNOSTIC, diagnostics.get(b).get(0).getCode());
+	}
+
+	@Test
+	public void testDeletedFilesAreRemoved() throws IOException {
+		createFile("A.testlang", "type A {}");
+		URI b = createFile("B.testlang", "type B { A a }");
+		startWorkspace();
+		assertTrue(diagnostics.get(b).isEmpty());
+
+		new File(root, "A.testlang").delete();
+		startWorkspace();
+		assertEquals(1, diagnostics.get(b).size());
+		assertEquals(Diagnostic.LINKING_DIAGNOSTIC, diagnostics.get(b).get(0).getCode());
+	}
+
+	private void startWorkspace() {
+		diagnostics.clear();
+		builtFiles.clear();
+		WorkspaceManager workspaceManager = Guice.createInjector(Modules2.mixin(new ServerModule(), new AbstractModule() {
+			@Override
+			protected void configure() {
+				bindConstant().annotatedWith(Names.named(ProjectIndexCache.CACHE_DIRECTORY)).to(
+						temporaryFolder.getRoot().getAbsolutePath());
+			}
+		})).getInstance(WorkspaceManager.class);
+		workspaceManager.addBuildListener(new ILanguageServerAccess.IBuildListener() {
+			@Override
+			public void afterBuild(List<IResourceDescription.Delta> deltas) {
+				for (IResourceDescription.Delta delta : deltas) {
+					builtFiles.add(delta.getUri());
+				}
+			}
+		});
+		workspaceManager.initialize(URI.createFileURI(root.getAbsolutePath()), new Procedure2<URI, Iterable<Issue>>() {
+			@Override
+			public void apply(URI uri, Iterable<Issue> issues) {
+				diagnostics.put(uri, ImmutableList.copyOf(issues));
+			}
+		}, null);
+	}
+
+	private URI createFile(String name, String contents) throws IOException {
+		File file = new File(root, name);
+		try (FileWriter writer = new FileWriter(file)) {
+			writer.write(contents);
+		}
+		return URI.createFileURI(file.getAbsolutePath());
+	}
+
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.ide.server.Document;
+import org.eclipse.xtext.ide.server.ResourceMemoryManager;
+import org.eclipse.xtext.ide.server.ServerModule;
+import org.eclipse.xtext.ide.server.WorkspaceManager;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.Files;
+import org.eclipse.xtext.util.Modules2;
+import org.eclipse.xtext.validation.Issue;
+import org.eclipse.xtext.xbase.lib.Functions.Function2;
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure2;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.name.Names;
+
+public class ResourceMemoryManagerTest {
+
+	private File root;
+
+	private WorkspaceManager workspaceManager;
+
+	@Before
+	public void setup() {
+		root = new File("test-data");
+		if (!root.mkdirs()) {
+			Files.cleanFolder(root, null, true, false);
+		}
+		root.deleteOnExit();
+		workspaceManager = Guice.createInjector(Modules2.mixin(new ServerModule(), new AbstractModule() {
+			@Override
+			protected void configure() {
+				bindConstant().annotatedWith(Names.named(ResourceMemoryManager.MEMORY_BUDGET)).to(1L);
+			}
+		})).getInstance(WorkspaceManager.class);
+	}
+
+	@Test
+	public void testResourcesAreUnloadedAfterTheBuild() throws IOException {
+		URI a = createFile("A.testlang", "type A {}");
+		createFile("B.testlang", "type B { A a }");
+		initialize();
+		assertTrue(getResourceSet(a).getResources().isEmpty());
+		assertEquals(2, Iterables.size(workspaceManager.getIndex().getAllResourceDescriptions()));
+	}
+
+	@Test
+	public void testOpenDocumentsAreNotUnloaded() throws IOException {
+		URI a = createFile("A.testlang", "type A {}");
+		URI b = createFile("B.testlang", "type B { A a }");
+		initialize();
+		String text = workspaceManager.doRead(b, new Function2<Document, XtextResource, String>() {
+			@Override
+			public String apply(Document document, XtextResource resource) {
+				return resource.getParseResult().getRootNode().getText();
+			}
+		});
+		assertEquals("type B { A a }", text);
+		assertNotNull(getResourceSet(a).getResource(b, false));
+
+		workspaceManager.didOpen(a, 1, "type A { int x }").build(CancelIndicator.NullImpl);
+		List<URI> loaded = Lists.newArrayList();
+		for (Resource resource : getResourceSet(a).getResources()) {
+			loaded.add(resource.getURI());
+		}
+		assertEquals(Lists.newArrayList(a), loaded);
+	}
+
+	private XtextResourceSet getResourceSet(URI uri) {
+		return workspaceManager.getProjectManager(uri).getResourceSet();
+	}
+
+	private void initialize() {
+		workspaceManager.initialize(URI.createFileURI(root.getAbsolutePath()), new Procedure2<URI, Iterable<Issue>>() {
+			@Override
+			public void apply(URI uri, Iterable<Issue> issues) {
+			}
+		}, CancelIndicator.NullImpl);
+	}
+
+	private URI createFile(String name, String contents) throws IOException {
+		File file = new File(root, name);
+		try (FileWriter writer = new FileWriter(file)) {
+			writer.write(contents);
+		}
+		return URI.createFileURI(file.getAbsolutePath());
+	}
+
+}
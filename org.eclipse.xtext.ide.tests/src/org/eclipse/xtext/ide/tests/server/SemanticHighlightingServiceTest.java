@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.ide.editor.syntaxcoloring.DefaultSemanticHighlightingCalculator;
+import org.eclipse.xtext.ide.editor.syntaxcoloring.IHighlightedPositionAcceptor;
+import org.eclipse.xtext.ide.editor.syntaxcoloring.ISemanticHighlightingCalculator;
+import org.eclipse.xtext.ide.editor.syntaxcoloring.IncrementalSemanticHighlightingCalculator;
+import org.eclipse.xtext.ide.server.Document;
+import org.eclipse.xtext.ide.server.coloring.SemanticHighlightingService;
+import org.eclipse.xtext.ide.server.coloring.SemanticHighlightingService.Delta;
+import org.eclipse.xtext.ide.server.coloring.SemanticHighlightingService.Highlighting;
+import org.eclipse.xtext.ide.tests.testlanguage.TestLanguageIdeInjectorProvider;
+import org.eclipse.xtext.ide.tests.testlanguage.testLanguage.Property;
+import org.eclipse.xtext.ide.tests.testlanguage.testLanguage.TestLanguagePackage;
+import org.eclipse.xtext.ide.tests.testlanguage.testLanguage.TypeReference;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.testing.InjectWith;
+import org.eclipse.xtext.testing.XtextRunner;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.StringInputStream;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.common.collect.Lists;
+import com.google.inject.AbstractModule;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Provider;
+
+@RunWith(XtextRunner.class)
+@InjectWith(TestLanguageIdeInjectorProvider.class)
+public class SemanticHighlightingServiceTest {
+
+	public static class PropertyHighlighter extends IncrementalSemanticHighlightingCalculator {
+
+		private final List<EObject> highlighted = Lists.newArrayList();
+
+		@Override
+		protected boolean highlightElement(EObject object, IHighlightedPositionAcceptor acceptor,
+				CancelIndicator cancelIndicator) {
+			highlighted.add(object);
+			if (object instanceof Property) {
+				highlightFeature(acceptor, object, TestLanguagePackage.Literals.MEMBER__NAME, "property");
+			}
+			if (object instanceof TypeReference && !((TypeReference) object).getTypeRef().eIsProxy()) {
+				highlightFeature(acceptor, object, TestLanguagePackage.Literals.TYPE_REFERENCE__TYPE_REF, "type");
+			}
+			return false;
+		}
+	}
+
+	public static class NonIncrementalPropertyHighlighter extends DefaultSemanticHighlightingCalculator {
+
+		private final List<EObject> highlighted = Lists.newArrayList();
+
+		@Override
+		protected boolean highlightElement(EObject object, IHighlightedPositionAcceptor acceptor,
+				CancelIndicator cancelIndicator) {
+			highlighted.add(object);
+			if (object instanceof Property) {
+				highlightFeature(acceptor, object, TestLanguagePackage.Literals.MEMBER__NAME, "property");
+			}
+			return false;
+		}
+	}
+
+	@Inject
+	private Injector injector;
+
+	@Inject
+	private Provider<XtextResourceSet> resourceSetProvider;
+
+	private PropertyHighlighter calculator;
+
+	private SemanticHighlightingService service;
+
+	@Before
+	public void setup() {
+		calculator = injector.getInstance(PropertyHighlighter.class);
+		service = createService(calculator);
+	}
+
+	private SemanticHighlightingService createService(final ISemanticHighlightingCalculator calculator) {
+		return injector.createChildInjector(new AbstractModule() {
+			@Override
+			protected void configure() {
+				bind(ISemanticHighlightingCalculator.class).toInstance(calculator);
+			}
+		}).getInstance(SemanticHighlightingService.class);
+	}
+
+	@Test
+	public void testHighlighting() throws IOException {
+		String text = "type A {\n\tint a\n}\ntype B {\n\tint b\n}\n";
+		XtextResource resource = load(text);
+		Highlighting highlighting = service.getHighlighting(new Document(1, text), resource, CancelIndicator.NullImpl);
+		assertArrayEquals(new int[] { 1, 5, 1, 0, 3, 5, 1, 0 }, highlighting.getData());
+		assertEquals(1, highlighting.getStyles().size());
+		assertArrayEquals(new String[] { "property" }, highlighting.getStyles().get(0));
+		assertSame(highlighting, service.getHighlighting(new Document(1, text), resource, CancelIndicator.NullImpl));
+	}
+
+	@Test
+	public void testDelta() throws IOException {
+		String text = "type A {\n\tint a\n}\ntype B {\n\tint b\n}\n";
+		XtextResource resource = load(text);
+		service.getHighlighting(new Document(1, text), resource, CancelIndicator.NullImpl);
+		int offset = text.indexOf("int b") + 4;
+		resource.update(offset, 1, "bb");
+		String newText = text.substring(0, offset) + "bb" + text.substring(offset + 1);
+		calculator.highlighted.clear();
+		Delta delta = service.getDelta(new Document(2, newText), resource, 1, CancelIndicator.NullImpl);
+		assertEquals(2, delta.getVersion());
+		assertEquals(4, delta.getStart());
+		assertEquals(4, delta.getDeleteCount());
+		assertArrayEquals(new int[] { 3, 5, 2, 0 }, delta.getData());
+		for (EObject element : calculator.highlighted) {
+			if (element instanceof Property) {
+				assertEquals("bb", ((Property) element).getName());
+			}
+		}
+		assertFalse(calculator.highlighted.contains(resource.getContents().get(0)));
+		assertNull(service.getDelta(new Document(3, newText), resource, 1, CancelIndicator.NullImpl));
+	}
+
+	@Test
+	public void testLinesAfterTheChangeAreShifted() throws IOException {
+		String text = "type A {\n\tint a\n}\ntype B {\n\tint b\n}\n";
+		XtextResource resource = load(text);
+		service.getHighlighting(new Document(1, text), resource, CancelIndicator.NullImpl);
+		int offset = text.indexOf("int a") + 5;
+		resource.update(offset, 0, "\n\tint c");
+		String newText = text.substring(0, offset) + "\n\tint c" + text.substring(offset);
+		Highlighting highlighting = service.getHighlighting(new Document(2, newText), resource, CancelIndicator.NullImpl);
+		assertArrayEquals(new int[] { 1, 5, 1, 0, 1, 5, 1, 0, 3, 5, 1, 0 }, highlighting.getData());
+	}
+
+	@Test
+	public void testLinkingChangesOutsideTheChangedElement() throws IOException {
+		String text = "type A {\n\tB b\n}\ntype C {\n}\n";
+		XtextResource resource = load(text);
+		Highlighting highlighting = service.getHighlighting(new Document(1, text), resource, CancelIndicator.NullImpl);
+		assertArrayEquals(new int[] { 1, 3, 1, 0 }, highlighting.getData());
+		int offset = text.indexOf("C");
+		resource.update(offset, 1, "B");
+		String newText = text.substring(0, offset) + "B" + text.substring(offset + 1);
+		highlighting = service.getHighlighting(new Document(2, newText), resource, CancelIndicator.NullImpl);
+		assertArrayEquals(new int[] { 1, 1, 1, 1, 0, 2, 1, 0 }, highlighting.getData());
+		assertArrayEquals(new String[] { "type" }, highlighting.getStyles().get(1));
+	}
+
+	@Test
+	public void testCalculatorsAreNotIncrementalByDefault() throws IOException {
+		NonIncrementalPropertyHighlighter calculator = injector.getInstance(NonIncrementalPropertyHighlighter.class);
+		SemanticHighlightingService service = createService(calculator);
+		String text = "type A {\n\tint a\n}\ntype B {\n\tint b\n}\n";
+		XtextResource resource = load(text);
+		service.getHighlighting(new Document(1, text), resource, CancelIndicator.NullImpl);
+		int offset = text.indexOf("int b") + 4;
+		resource.update(offset, 1, "bb");
+		String newText = text.substring(0, offset) + "bb" + text.substring(offset + 1);
+		calculator.highlighted.clear();
+		Highlighting highlighting = service.getHighlighting(new Document(2, newText), resource, CancelIndicator.NullImpl);
+		assertArrayEquals(new int[] { 1, 5, 1, 0, 3, 5, 2, 0 }, highlighting.getData());
+		assertTrue(calculator.highlighted.contains(resource.getContents().get(0)));
+	}
+
+	private XtextResource load(String text) throws IOException {
+		XtextResource resource = (XtextResource) resourceSetProvider.get().createResource(URI.createURI("test.testlang"));
+		resource.load(new StringInputStream(text), null);
+		return resource;
+	}
+
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.diagnostics.Diagnostic;
+import org.eclipse.xtext.ide.server.BuildManager.Buildable;
+import org.eclipse.xtext.ide.server.InitialBuildProgress;
+import org.eclipse.xtext.ide.server.ServerModule;
+import org.eclipse.xtext.ide.server.WorkspaceManager;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.Files;
+import org.eclipse.xtext.util.Modules2;
+import org.eclipse.xtext.validation.Issue;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure2;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.name.Names;
+
+public class StagedInitialBuildTest {
+
+	public static class RecordingProgress extends InitialBuildProgress {
+
+		private final List<String> messages = Lists.newArrayList();
+
+		@Override
+		protected void report(Stage stage, String message) {
+			messages.add(message);
+		}
+	}
+
+	private File root;
+
+	private Map<URI, List<Issue>> diagnostics = Maps.newHashMap();
+
+	private WorkspaceManager workspaceManager;
+
+	@Before
+	public void setup() {
+		root = new File("test-data");
+		if (!root.mkdirs()) {
+			Files.cleanFolder(root, null, true, false);
+		}
+		root.deleteOnExit();
+		workspaceManager = Guice.createInjector(Modules2.mixin(new ServerModule(), new AbstractModule() {
+			@Override
+			protected void configure() {
+				bindConstant().annotatedWith(Names.named(WorkspaceManager.INITIAL_VALIDATION_BATCH_SIZE)).to(1);
+				bind(InitialBuildProgress.class).to(RecordingProgress.class);
+			}
+		})).getInstance(WorkspaceManager.class);
+	}
+
+	@Test
+	public void testFilesAreIndexedBeforeTheyAreValidated() throws IOException {
+		createFile("A.testlang", "type A {}");
+		URI b = createFile("B.testlang", "type B { A a X x }");
+		initializeIndex();
+		assertTrue(workspaceManager.isStagedInitialBuild());
+		assertEquals(2, IterableExtensions.size(workspaceManager.getIndex().getAllResourceDescriptions()));
+		assertTrue(diagnostics.isEmpty());
+
+		validateNextBatch();
+		assertEquals(1, diagnostics.size());
+		validateNextBatch();
+		assertEquals(2, diagnostics.size());
+		assertEquals(1, diagnostics.get(b).size());
+		assertEquals(Diagnostic.LINKING_DIAGNOSTIC, diagnostics.get(b).get(0).getCode());
+		assertNull(workspaceManager.validateNextBatch());
+
+		List<String> messages = ((RecordingProgress) workspaceManager.getInitialBuildProgress()).messages;
+		assertTrue(messages.contains("Indexing done."));
+		assertTrue(messages.contains("Validating (1/2)"));
+		assertEquals("Validating done.", IterableExtensions.last(messages));
+	}
+
+	@Test
+	public void testOpenedDocumentsAreNotValidatedTwice() throws IOException {
+		URI a = createFile("A.testlang", "type A {}");
+		URI b = createFile("B.testlang", "type B { A a }");
+		initializeIndex();
+		workspaceManager.didOpen(b, 1, "type B { A a X x }").build(CancelIndicator.NullImpl);
+		assertEquals(1, diagnostics.get(b).size());
+
+		diagnostics.clear();
+		validateNextBatch();
+		assertEquals(Lists.newArrayList(a), Lists.newArrayList(diagnostics.keySet()));
+		assertNull(workspaceManager.validateNextBatch());
+	}
+
+	private void initializeIndex() {
+		workspaceManager.initializeIndex(URI.createFileURI(root.getAbsolutePath()),
+				new Procedure2<URI, Iterable<Issue>>() {
+					@Override
+					public void apply(URI uri, Iterable<Issue> issues) {
+						diagnostics.put(uri, ImmutableList.copyOf(issues));
+					}
+				}, CancelIndicator.NullImpl);
+	}
+
+	private void validateNextBatch() {
+		Buildable buildable = workspaceManager.validateNextBatch();
+		assertNotNull(buildable);
+		buildable.build(CancelIndicator.NullImpl);
+	}
+
+	private URI createFile(String name, String contents) throws IOException {
+		File file = new File(root, name);
+		try (FileWriter writer = new FileWriter(file)) {
+			writer.write(contents);
+		}
+		return URI.createFileURI(file.getAbsolutePath());
+	}
+
+}
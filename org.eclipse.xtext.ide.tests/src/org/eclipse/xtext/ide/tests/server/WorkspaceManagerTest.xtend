@@ -14,8 +14,12 @@ import java.io.FileWriter
 import java.util.List
 import java.util.Map
 import org.eclipse.emf.common.util.URI
+import org.eclipse.lsp4j.Position
+import org.eclipse.lsp4j.Range
+import org.eclipse.lsp4j.TextEdit
 import org.eclipse.xtext.ide.server.ServerModule
 import org.eclipse.xtext.ide.server.WorkspaceManager
+import org.eclipse.xtext.service.OperationCanceledManager
 import org.eclipse.xtext.util.Files
 import org.eclipse.xtext.validation.Issue
 import org.junit.Assert
@@ -48,7 +52,29 @@ class WorkspaceManagerTest {
         Assert.assertEquals(inMemContents, workspaceManger.doRead(path, [$0.contents]))
     }
 
+    @Test def void testCancelledEditIsBuiltLater() {
+        val path = 'MyType1.testlang' -> '''
+            type Test {
+            }
+        '''
+        workspaceManger.doBuild(#[path], emptyList, null)
+        workspaceManger.didOpen(path, 1, 'type Test {}').build(null)
+        
+        val edit = new TextEdit(new Range(new Position(0, 5), new Position(0, 9)), 'Foo')
+        try {
+            workspaceManger.didChange(path, 2, #[edit]).build[true]
+            Assert.fail
+        } catch (Throwable t) {
+            Assert.assertTrue(operationCanceledManager.isOperationCanceledException(t))
+        }
+        
+        val deltas = workspaceManger.didChangeFiles(emptyList, emptyList).build(null)
+        Assert.assertEquals(#[path], deltas.map[uri])
+        Assert.assertEquals('Foo', deltas.head.^new.exportedObjects.head.name.toString)
+    }
+
     @Inject protected WorkspaceManager workspaceManger
+    @Inject protected OperationCanceledManager operationCanceledManager
     @Inject extension protected UriExtensions uriExtensions
 
     @Before
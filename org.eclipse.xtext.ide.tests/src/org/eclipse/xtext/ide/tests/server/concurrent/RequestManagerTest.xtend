@@ -9,6 +9,8 @@ package org.eclipse.xtext.ide.tests.server.concurrent
 
 import com.google.inject.Guice
 import com.google.inject.Inject
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CopyOnWriteArrayList
 import java.util.concurrent.atomic.AtomicBoolean
 import java.util.concurrent.atomic.AtomicInteger
 import org.eclipse.xtext.ide.server.ServerModule
@@ -130,4 +132,97 @@ class RequestManagerTest {
 		}
 	}
 
+	@Test(timeout = 1000)
+	def void testWriteCancelsAndResumesBackgroundTask() {
+		val events = new CopyOnWriteArrayList<String>
+		val future = requestManager.runInBackground [ cancelIndicator |
+			events += 'background'
+			if (events.size == 1) {
+				while (!cancelIndicator.isCanceled) {
+					Thread.sleep(10)
+				}
+			}
+			return events.size
+		]
+		while (events.empty) {
+			Thread.sleep(10)
+		}
+		requestManager.runWrite([], [
+			events += 'write'
+		])
+		assertEquals(3, future.get)
+		assertEquals(#['background', 'write', 'background'], events)
+	}
+
+	@Test(timeout = 5000)
+	def void testSubmitAndCancelFromTwoThreads() {
+		val futures = new CopyOnWriteArrayList<CompletableFuture<?>>
+		val errors = new CopyOnWriteArrayList<Throwable>
+		val writer = new Thread [
+			try {
+				for (i : 0 ..< 200) {
+					futures += requestManager.runWrite([], [
+						sharedState.incrementAndGet
+					])
+				}
+			} catch (Throwable t) {
+				errors += t
+			}
+		]
+		writer.start
+		try {
+			for (i : 0 ..< 200) {
+				futures += requestManager.runRead [
+					sharedState.get
+				]
+			}
+		} catch (Throwable t) {
+			errors += t
+		}
+		writer.join
+		assertTrue(errors.toString, errors.empty)
+		requestManager.runWrite([], [
+			sharedState.get
+		]).join
+		for (future : futures) {
+			assertTrue(future.done)
+		}
+	}
+
+	@Test(timeout = 5000)
+	def void testBackgroundTasksSubmittedFromCallbacksDuringWrites() {
+		val done = new CompletableFuture<Integer>
+		runBatches(new AtomicInteger, done)
+		val errors = new CopyOnWriteArrayList<Throwable>
+		val writer = new Thread [
+			try {
+				while (!done.done) {
+					requestManager.runWrite([], [
+						sharedState.incrementAndGet
+					])
+					Thread.sleep(1)
+				}
+			} catch (Throwable t) {
+				errors += t
+			}
+		]
+		writer.start
+		assertTrue(done.get >= 50)
+		writer.join
+		assertTrue(errors.toString, errors.empty)
+	}
+
+	private def void runBatches(AtomicInteger batches, CompletableFuture<Integer> done) {
+		requestManager.runInBackground [
+			batches.incrementAndGet
+		].whenComplete [ count, throwable |
+			if (throwable !== null)
+				done.completeExceptionally(throwable)
+			else if (count < 50)
+				runBatches(batches, done)
+			else
+				done.complete(count)
+		]
+	}
+
 }
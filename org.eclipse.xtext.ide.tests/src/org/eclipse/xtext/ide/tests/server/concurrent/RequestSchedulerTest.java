@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server.concurrent;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.xtext.ide.server.ServerModule;
+import org.eclipse.xtext.ide.server.concurrent.LatencyHistogram;
+import org.eclipse.xtext.ide.server.concurrent.RequestManager;
+import org.eclipse.xtext.ide.server.concurrent.RequestPriority;
+import org.eclipse.xtext.ide.server.concurrent.RequestScheduler;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.Modules2;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.name.Names;
+
+public class RequestSchedulerTest {
+
+	private ExecutorService executorService;
+
+	private Injector injector;
+
+	@Before
+	public void setUp() {
+		executorService = Executors.newCachedThreadPool();
+		injector = Guice.createInjector(Modules2.mixin(new ServerModule(), new AbstractModule() {
+			@Override
+			protected void configure() {
+				bind(ExecutorService.class).toInstance(executorService);
+				bindConstant().annotatedWith(Names.named(RequestScheduler.THREAD_COUNT)).to(1);
+			}
+		}));
+	}
+
+	@After
+	public void tearDown() {
+		executorService.shutdown();
+	}
+
+	@Test(timeout = 1000)
+	public void testInteractiveTasksOvertakeBackgroundTasks() throws InterruptedException {
+		RequestScheduler scheduler = injector.getInstance(RequestScheduler.class);
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(3);
+		final List<String> executed = Lists.newArrayList();
+		scheduler.schedule(RequestPriority.NORMAL, new Runnable() {
+			@Override
+			public void run() {
+				blocked.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		blocked.await();
+		scheduler.schedule(RequestPriority.BACKGROUND, record("background", executed, done));
+		scheduler.schedule(RequestPriority.NORMAL, record("normal", executed, done));
+		scheduler.schedule(RequestPriority.INTERACTIVE, record("interactive", executed, done));
+		assertEquals(3, scheduler.getPendingCount());
+		release.countDown();
+		done.await();
+		assertEquals(Lists.newArrayList("interactive", "normal", "background"), executed);
+	}
+
+	@Test(timeout = 1000)
+	public void testLatenciesAreRecordedPerKind() throws Exception {
+		RequestManager requestManager = injector.getInstance(RequestManager.class);
+		try {
+			requestManager.runRead("textDocument/hover", new Function1<CancelIndicator, String>() {
+				@Override
+				public String apply(CancelIndicator cancelIndicator) {
+					return "hover";
+				}
+			}).get();
+			requestManager.runRead(new Function1<CancelIndicator, String>() {
+				@Override
+				public String apply(CancelIndicator cancelIndicator) {
+					return "read";
+				}
+			}).get();
+			// the latency is recorded by a completion callback, which may run after get() has returned
+			while (getCount(requestManager, "textDocument/hover") == 0 || getCount(requestManager, RequestManager.READ) == 0) {
+				Thread.sleep(1);
+			}
+			assertEquals(1, getCount(requestManager, "textDocument/hover"));
+			assertEquals(1, getCount(requestManager, RequestManager.READ));
+			assertFalse(requestManager.getLatencyHistograms().containsKey(RequestManager.WRITE));
+		} finally {
+			requestManager.shutdown();
+		}
+	}
+
+	@Test(timeout = 1000)
+	public void testNestedReadDoesNotWaitForAThread() throws Exception {
+		final RequestManager requestManager = injector.getInstance(RequestManager.class);
+		try {
+			String result = requestManager.runRead(new Function1<CancelIndicator, String>() {
+				@Override
+				public String apply(CancelIndicator cancelIndicator) {
+					return requestManager.runRead(new Function1<CancelIndicator, String>() {
+						@Override
+						public String apply(CancelIndicator cancelIndicator) {
+							return "nested";
+						}
+					}).join();
+				}
+			}).get();
+			assertEquals("nested", result);
+		} finally {
+			requestManager.shutdown();
+		}
+	}
+
+	private long getCount(RequestManager requestManager, String kind) {
+		LatencyHistogram histogram = requestManager.getLatencyHistograms().get(kind);
+		return histogram == null ? 0 : histogram.getTotalCount();
+	}
+
+	private Runnable record(final String name, final List<String> executed, final CountDownLatch done) {
+		return new Runnable() {
+			@Override
+			public void run() {
+				synchronized (executed) {
+					executed.add(name);
+				}
+				done.countDown();
+			}
+		};
+	}
+
+}
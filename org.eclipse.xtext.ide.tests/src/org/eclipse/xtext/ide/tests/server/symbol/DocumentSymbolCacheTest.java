@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server.symbol;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.xtext.ide.server.symbol.DocumentSymbolCache;
+import org.eclipse.xtext.ide.server.symbol.DocumentSymbolService;
+import org.eclipse.xtext.ide.tests.testlanguage.TestLanguageIdeInjectorProvider;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.testing.InjectWith;
+import org.eclipse.xtext.testing.XtextRunner;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.StringInputStream;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.common.collect.Lists;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+
+@RunWith(XtextRunner.class)
+@InjectWith(TestLanguageIdeInjectorProvider.class)
+public class DocumentSymbolCacheTest {
+
+	public static class CountingDocumentSymbolService extends DocumentSymbolService {
+
+		private final List<String> created = Lists.newArrayList();
+
+		@Override
+		protected SymbolInformation createSymbol(EObject object) {
+			SymbolInformation result = super.createSymbol(object);
+			if (result != null)
+				created.add(result.getName());
+			return result;
+		}
+	}
+
+	@Inject
+	private CountingDocumentSymbolService service;
+
+	@Inject
+	private Provider<XtextResourceSet> resourceSetProvider;
+
+	private static final String MODEL = "type A {\n\tint a\n}\ntype B {\n\tint b\n}\n";
+
+	@Test
+	public void testSymbolsAreCachedPerParseResult() throws IOException {
+		XtextResource resource = load(MODEL);
+		List<? extends SymbolInformation> symbols = service.getSymbols(resource, CancelIndicator.NullImpl);
+		assertEquals(Lists.newArrayList("A", "A.a", "B", "B.b"), service.created);
+		assertEquals(symbols, service.getSymbols(resource, CancelIndicator.NullImpl));
+		assertEquals(4, service.created.size());
+	}
+
+	@Test
+	public void testCachedSymbolsAreCopied() throws IOException {
+		XtextResource resource = load(MODEL);
+		service.getSymbols(resource, CancelIndicator.NullImpl).clear();
+		List<? extends SymbolInformation> symbols = service.getSymbols(resource, CancelIndicator.NullImpl);
+		assertEquals(4, symbols.size());
+		symbols.clear();
+		assertEquals(4, service.getSymbols(resource, CancelIndicator.NullImpl).size());
+		assertEquals(4, service.created.size());
+	}
+
+	@Test
+	public void testEntriesOfRemovedObjectsAreDiscarded() throws IOException {
+		XtextResource resource = load(MODEL);
+		service.getSymbols(resource, CancelIndicator.NullImpl);
+		DocumentSymbolCache cache = DocumentSymbolCache.findOrCreate(resource);
+		EObject removed = resource.getContents().get(0).eContents().get(0);
+		assertNotNull(cache.getEntry(removed));
+
+		resource.reparse(MODEL.replace("type A", "type C"));
+		service.getSymbols(resource, CancelIndicator.NullImpl);
+		assertNull(cache.getEntry(removed));
+		assertNotNull(cache.getEntry(resource.getContents().get(0).eContents().get(0)));
+	}
+
+	@Test
+	public void testUnchangedSymbolsAreMoved() throws IOException {
+		XtextResource resource = load(MODEL);
+		service.getSymbols(resource, CancelIndicator.NullImpl);
+		service.created.clear();
+		int offset = MODEL.indexOf("int a") + 5;
+		resource.update(offset, 0, "\n\tint c");
+		List<? extends SymbolInformation> symbols = service.getSymbols(resource, CancelIndicator.NullImpl);
+		assertFalse(service.created.contains("B"));
+		assertFalse(service.created.contains("B.b"));
+
+		String newModel = MODEL.substring(0, offset) + "\n\tint c" + MODEL.substring(offset);
+		List<? extends SymbolInformation> expected = service.getSymbols(load(newModel), CancelIndicator.NullImpl);
+		assertEquals(expected.toString(), symbols.toString());
+	}
+
+	private XtextResource load(String text) throws IOException {
+		XtextResource resource = (XtextResource) resourceSetProvider.get().createResource(URI.createURI("file:/test.testlang"));
+		resource.load(new StringInputStream(text), null);
+		return resource;
+	}
+
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server.symbol;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.xtext.ide.server.symbol.WorkspaceSymbolIndex;
+import org.eclipse.xtext.ide.server.symbol.WorkspaceSymbolIndex.Match;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.EObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.AbstractResourceDescription;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.junit.Test;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Ordering;
+
+public class WorkspaceSymbolIndexTest {
+
+	private WorkspaceSymbolIndex index = createIndex("FooBarBaz", "foo.Bar", "XMLHttpRequest", "baz.Foo", "barfoo",
+			"Fob");
+
+	@Test
+	public void testCamelCase() {
+		assertTrue(WorkspaceSymbolIndex.matchesCamelCase("FooBarBaz", "FBB"));
+		assertTrue(WorkspaceSymbolIndex.matchesCamelCase("FooBarBaz", "fBaBa"));
+		assertTrue(WorkspaceSymbolIndex.matchesCamelCase("FooBarBaz", "FooBaz"));
+		assertTrue(WorkspaceSymbolIndex.matchesCamelCase("XMLHttpRequest", "XHR"));
+		assertTrue(WorkspaceSymbolIndex.matchesCamelCase("XMLHttpRequest", "xmlHR"));
+		assertTrue(WorkspaceSymbolIndex.matchesCamelCase("foo_bar", "fb"));
+		assertFalse(WorkspaceSymbolIndex.matchesCamelCase("FooBarBaz", "BB"));
+		assertFalse(WorkspaceSymbolIndex.matchesCamelCase("FooBarBaz", "FBBX"));
+		assertFalse(WorkspaceSymbolIndex.matchesCamelCase("FooBarBaz", "Foar"));
+	}
+
+	@Test
+	public void testSubstring() {
+		assertEquals("FooBarBaz, foo.Bar, baz.Foo, barfoo", find("foo"));
+		assertEquals("foo.Bar", find("o.b"));
+		assertEquals("", find("qux"));
+	}
+
+	@Test
+	public void testShortQuery() {
+		assertEquals("FooBarBaz, foo.Bar, baz.Foo, barfoo, Fob", find("fo"));
+	}
+
+	@Test
+	public void testCamelCaseQuery() {
+		assertEquals("FooBarBaz", find("FBB"));
+		assertEquals("XMLHttpRequest", find("XHR"));
+	}
+
+	@Test
+	public void testRanking() {
+		List<Match> matches = Ordering.natural().sortedCopy(index.find("foo"));
+		assertEquals("baz.Foo, FooBarBaz, barfoo, foo.Bar", toString(matches));
+		assertEquals(Match.EXACT, matches.get(0).getKind());
+		assertEquals(Match.PREFIX, matches.get(1).getKind());
+		assertEquals(Match.SUBSTRING, matches.get(2).getKind());
+	}
+
+	private String find(String query) {
+		return toString(index.find(query));
+	}
+
+	private String toString(List<Match> matches) {
+		List<String> names = Lists.newArrayList();
+		for (Match match : matches) {
+			names.add(match.getDescription().getQualifiedName().toString());
+		}
+		return Joiner.on(", ").join(names);
+	}
+
+	private WorkspaceSymbolIndex createIndex(String... names) {
+		final List<IEObjectDescription> descriptions = Lists.newArrayList();
+		final URI uri = URI.createURI("file:/test.model");
+		for (String name : names) {
+			EClass object = EcoreFactory.eINSTANCE.createEClass();
+			((InternalEObject) object).eSetProxyURI(uri.appendFragment(name));
+			descriptions.add(EObjectDescription.create(QualifiedName.create(name.split("\\.")), object));
+		}
+		IResourceDescription resourceDescription = new AbstractResourceDescription() {
+			@Override
+			protected List<IEObjectDescription> computeExportedObjects() {
+				return descriptions;
+			}
+
+			@Override
+			public URI getURI() {
+				return uri;
+			}
+
+			@Override
+			public Iterable<QualifiedName> getImportedNames() {
+				return Collections.emptyList();
+			}
+
+			@Override
+			public Iterable<IReferenceDescription> getReferenceDescriptions() {
+				return Collections.emptyList();
+			}
+		};
+		return new WorkspaceSymbolIndex(new ResourceDescriptionsData(Collections.singletonList(resourceDescription)));
+	}
+
+}
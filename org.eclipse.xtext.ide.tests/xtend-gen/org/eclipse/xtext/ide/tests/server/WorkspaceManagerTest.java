@@ -16,19 +16,28 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.xtend2.lib.StringConcatenation;
 import org.eclipse.xtext.ide.server.Document;
 import org.eclipse.xtext.ide.server.ServerModule;
 import org.eclipse.xtext.ide.server.UriExtensions;
 import org.eclipse.xtext.ide.server.WorkspaceManager;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.service.OperationCanceledManager;
+import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.Files;
 import org.eclipse.xtext.validation.Issue;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Extension;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.Functions.Function2;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.ListExtensions;
 import org.eclipse.xtext.xbase.lib.ObjectExtensions;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure2;
@@ -69,9 +78,43 @@ public class WorkspaceManagerTest {
     Assert.assertEquals(inMemContents, this.workspaceManger.<String>doRead(path, _function));
   }
   
+  @Test
+  public void testCancelledEditIsBuiltLater() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("type Test {");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    final URI path = this.operator_mappedTo("MyType1.testlang", _builder);
+    this.workspaceManger.doBuild(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(path)), CollectionLiterals.<URI>emptyList(), null);
+    this.workspaceManger.didOpen(path, 1, "type Test {}").build(null);
+    Position _position = new Position(0, 5);
+    Position _position_1 = new Position(0, 9);
+    Range _range = new Range(_position, _position_1);
+    final TextEdit edit = new TextEdit(_range, "Foo");
+    try {
+      final CancelIndicator _function = () -> {
+        return true;
+      };
+      this.workspaceManger.didChange(path, 2, Collections.<TextEdit>unmodifiableList(CollectionLiterals.<TextEdit>newArrayList(edit))).build(_function);
+      Assert.fail();
+    } catch (final Throwable t) {
+      Assert.assertTrue(this.operationCanceledManager.isOperationCanceledException(t));
+    }
+    final List<IResourceDescription.Delta> deltas = this.workspaceManger.didChangeFiles(CollectionLiterals.<URI>emptyList(), CollectionLiterals.<URI>emptyList()).build(null);
+    final Function1<IResourceDescription.Delta, URI> _function_1 = (IResourceDescription.Delta it) -> {
+      return it.getUri();
+    };
+    Assert.assertEquals(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(path)), ListExtensions.<IResourceDescription.Delta, URI>map(deltas, _function_1));
+    Assert.assertEquals("Foo", IterableExtensions.<IEObjectDescription>head(IterableExtensions.<IResourceDescription.Delta>head(deltas).getNew().getExportedObjects()).getName().toString());
+  }
+  
   @Inject
   protected WorkspaceManager workspaceManger;
   
+  @Inject
+  protected OperationCanceledManager operationCanceledManager;
+  
   @Inject
   @Extension
   protected UriExtensions uriExtensions;
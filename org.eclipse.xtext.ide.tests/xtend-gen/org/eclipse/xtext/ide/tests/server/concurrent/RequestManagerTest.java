@@ -9,13 +9,18 @@ package org.eclipse.xtext.ide.tests.server.concurrent;
 
 import com.google.inject.Guice;
 import com.google.inject.Inject;
+import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import org.eclipse.xtext.ide.server.ServerModule;
 import org.eclipse.xtext.ide.server.concurrent.RequestManager;
 import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.ExclusiveRange;
 import org.eclipse.xtext.xbase.lib.Functions.Function0;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.Functions.Function2;
@@ -196,4 +201,164 @@ public class RequestManagerTest {
       throw Exceptions.sneakyThrow(_e);
     }
   }
+  
+  @Test(timeout = 1000)
+  public void testWriteCancelsAndResumesBackgroundTask() {
+    try {
+      final CopyOnWriteArrayList<String> events = new CopyOnWriteArrayList<String>();
+      final Function1<CancelIndicator, Integer> _function = (CancelIndicator cancelIndicator) -> {
+        try {
+          events.add("background");
+          int _size = events.size();
+          boolean _equals = (_size == 1);
+          if (_equals) {
+            while ((!cancelIndicator.isCanceled())) {
+              Thread.sleep(10);
+            }
+          }
+          return Integer.valueOf(events.size());
+        } catch (Throwable _e) {
+          throw Exceptions.sneakyThrow(_e);
+        }
+      };
+      final CompletableFuture<Integer> future = this.requestManager.<Integer>runInBackground(_function);
+      while (events.isEmpty()) {
+        Thread.sleep(10);
+      }
+      final Function0<Object> _function_1 = () -> {
+        return null;
+      };
+      final Function2<CancelIndicator, Object, Boolean> _function_2 = (CancelIndicator $0, Object $1) -> {
+        return Boolean.valueOf(events.add("write"));
+      };
+      this.requestManager.<Object, Boolean>runWrite(_function_1, _function_2);
+      Assert.assertEquals(3, (future.get()).intValue());
+      Assert.assertEquals(Collections.<String>unmodifiableList(CollectionLiterals.<String>newArrayList("background", "write", "background")), events);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test(timeout = 5000)
+  public void testSubmitAndCancelFromTwoThreads() {
+    try {
+      final CopyOnWriteArrayList<CompletableFuture<?>> futures = new CopyOnWriteArrayList<CompletableFuture<?>>();
+      final CopyOnWriteArrayList<Throwable> errors = new CopyOnWriteArrayList<Throwable>();
+      final Runnable _function = () -> {
+        try {
+          ExclusiveRange _doubleDotLessThan = new ExclusiveRange(0, 200, true);
+          for (final Integer i : _doubleDotLessThan) {
+            final Function0<Object> _function_1 = () -> {
+              return null;
+            };
+            final Function2<CancelIndicator, Object, Integer> _function_2 = (CancelIndicator $0, Object $1) -> {
+              return Integer.valueOf(this.sharedState.incrementAndGet());
+            };
+            CompletableFuture<Integer> _runWrite = this.requestManager.<Object, Integer>runWrite(_function_1, _function_2);
+            futures.add(_runWrite);
+          }
+        } catch (final Throwable _t) {
+          if (_t instanceof Throwable) {
+            final Throwable t = (Throwable)_t;
+            errors.add(t);
+          } else {
+            throw Exceptions.sneakyThrow(_t);
+          }
+        }
+      };
+      final Thread writer = new Thread(_function);
+      writer.start();
+      try {
+        ExclusiveRange _doubleDotLessThan = new ExclusiveRange(0, 200, true);
+        for (final Integer i : _doubleDotLessThan) {
+          final Function1<CancelIndicator, Integer> _function_3 = (CancelIndicator it) -> {
+            return Integer.valueOf(this.sharedState.get());
+          };
+          CompletableFuture<Integer> _runRead = this.requestManager.<Integer>runRead(_function_3);
+          futures.add(_runRead);
+        }
+      } catch (final Throwable _t) {
+        if (_t instanceof Throwable) {
+          final Throwable t = (Throwable)_t;
+          errors.add(t);
+        } else {
+          throw Exceptions.sneakyThrow(_t);
+        }
+      }
+      writer.join();
+      Assert.assertTrue(errors.toString(), errors.isEmpty());
+      final Function0<Object> _function_4 = () -> {
+        return null;
+      };
+      final Function2<CancelIndicator, Object, Integer> _function_5 = (CancelIndicator $0, Object $1) -> {
+        return Integer.valueOf(this.sharedState.get());
+      };
+      this.requestManager.<Object, Integer>runWrite(_function_4, _function_5).join();
+      for (final CompletableFuture<?> future : futures) {
+        Assert.assertTrue(future.isDone());
+      }
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test(timeout = 5000)
+  public void testBackgroundTasksSubmittedFromCallbacksDuringWrites() {
+    try {
+      final CompletableFuture<Integer> done = new CompletableFuture<Integer>();
+      AtomicInteger _atomicInteger = new AtomicInteger();
+      this.runBatches(_atomicInteger, done);
+      final CopyOnWriteArrayList<Throwable> errors = new CopyOnWriteArrayList<Throwable>();
+      final Runnable _function = () -> {
+        try {
+          while ((!done.isDone())) {
+            {
+              final Function0<Object> _function_1 = () -> {
+                return null;
+              };
+              final Function2<CancelIndicator, Object, Integer> _function_2 = (CancelIndicator $0, Object $1) -> {
+                return Integer.valueOf(this.sharedState.incrementAndGet());
+              };
+              this.requestManager.<Object, Integer>runWrite(_function_1, _function_2);
+              Thread.sleep(1);
+            }
+          }
+        } catch (final Throwable _t) {
+          if (_t instanceof Throwable) {
+            final Throwable t = (Throwable)_t;
+            errors.add(t);
+          } else {
+            throw Exceptions.sneakyThrow(_t);
+          }
+        }
+      };
+      final Thread writer = new Thread(_function);
+      writer.start();
+      Integer _get = done.get();
+      boolean _greaterEqualsThan = ((_get).intValue() >= 50);
+      Assert.assertTrue(_greaterEqualsThan);
+      writer.join();
+      Assert.assertTrue(errors.toString(), errors.isEmpty());
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  private void runBatches(final AtomicInteger batches, final CompletableFuture<Integer> done) {
+    final Function1<CancelIndicator, Integer> _function = (CancelIndicator it) -> {
+      return Integer.valueOf(batches.incrementAndGet());
+    };
+    final BiConsumer<Integer, Throwable> _function_1 = (Integer count, Throwable throwable) -> {
+      if ((throwable != null)) {
+        done.completeExceptionally(throwable);
+      } else {
+        if (((count).intValue() < 50)) {
+          this.runBatches(batches, done);
+        } else {
+          done.complete(count);
+        }
+      }
+    };
+    this.requestManager.<Integer>runInBackground(_function).whenComplete(_function_1);
+  }
 }
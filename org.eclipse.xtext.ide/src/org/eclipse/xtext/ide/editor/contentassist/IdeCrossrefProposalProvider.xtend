@@ -14,6 +14,7 @@ import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtext.CrossReference
 import org.eclipse.xtext.naming.IQualifiedNameConverter
 import org.eclipse.xtext.resource.IEObjectDescription
+import org.eclipse.xtext.scoping.IPrefixSearchableScope
 import org.eclipse.xtext.scoping.IScope
 
 /**
@@ -32,6 +33,8 @@ class IdeCrossrefProposalProvider {
 	
 	@Inject IdeContentProposalPriorities proposalPriorities
 	
+	@Inject IPrefixMatcher prefixMatcher
+	
 	def void lookupCrossReference(IScope scope, CrossReference crossReference, ContentAssistContext context,
 			IIdeContentProposalAcceptor acceptor, Predicate<IEObjectDescription> filter) {
 		try {
@@ -49,10 +52,45 @@ class IdeCrossrefProposalProvider {
 		}
 	}
 	
-	protected def queryScope(IScope scope, CrossReference crossReference, ContentAssistContext context) {
+	protected def Iterable<IEObjectDescription> queryScope(IScope scope, CrossReference crossReference, ContentAssistContext context) {
+		val prefix = getQueryPrefix(context)
+		if (prefix !== null && scope instanceof IPrefixSearchableScope)
+			return (scope as IPrefixSearchableScope).getElementsByPrefix(prefix)
 		return scope.allElements
 	}
 	
+	/**
+	 * Returns the prefix that is used to narrow down the candidates of the scope, or {@code null} if all elements
+	 * have to be considered. Only the first segment of the typed prefix is used, so the candidates are a superset of
+	 * what the {@link IPrefixMatcher.IgnoreCase default} and the {@link FQNPrefixMatcher FQN} prefix matcher accept.
+	 * 
+	 * @since 2.14
+	 */
+	protected def String getQueryPrefix(ContentAssistContext context) {
+		val prefix = context.prefix
+		if (prefix.nullOrEmpty || !isPrefixQuerySupported)
+			return null
+		val delimiter = (qualifiedNameConverter as IQualifiedNameConverter.DefaultImpl).delimiter
+		val index = prefix.indexOf(delimiter)
+		if (index == 0)
+			return null
+		if (index > 0)
+			return prefix.substring(0, index)
+		return prefix
+	}
+	
+	/**
+	 * @since 2.14
+	 */
+	protected def boolean isPrefixQuerySupported() {
+		if (!(qualifiedNameConverter instanceof IQualifiedNameConverter.DefaultImpl))
+			return false
+		val matcher = prefixMatcher
+		if (matcher.class == FQNPrefixMatcher)
+			return (matcher as FQNPrefixMatcher).delegate.class == IPrefixMatcher.IgnoreCase
+		return matcher.class == IPrefixMatcher.IgnoreCase
+	}
+	
 	protected def ContentAssistEntry createProposal(IEObjectDescription candidate, CrossReference crossRef, ContentAssistContext context) {
 		proposalCreator.createProposal(qualifiedNameConverter.toString(candidate.name), context) [
 			source = candidate
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.editor.contentassist.antlr;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.antlr.runtime.CommonToken;
+import org.antlr.runtime.Token;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.inject.Singleton;
+
+/**
+ * Caches the follow elements that the content assist parser computes for a {@link FollowElement} with a lookahead
+ * greater than one.
+ *
+ * Such a follow element is completely described by its grammar element, its traces, its parameter stack and the
+ * sequence of lookahead terminals. The lookahead terminals are compared by their keyword or terminal rule, that is by
+ * the token type and not by the text of the token. The parser is only driven by the token types, so the result of
+ * resolving the lookahead can be reused across completion requests, e.g. while the user keeps typing an identifier.
+ *
+ * The cache is bounded and evicts the least recently used entries. It stores copies of the follow elements whose
+ * lookahead tokens only carry their type and text, so it does not keep the text of the parsed documents alive.
+ * Follow elements with other lookahead terminals than {@link LookaheadKeyword} and {@link LookAheadTerminalRuleCall}
+ * are not cached.
+ *
+ * @since 2.14
+ */
+@Singleton
+public class FollowElementCache {
+
+	private static final int MAX_SIZE = 1000;
+
+	private final Map<FollowElement, Collection<FollowElement>> cache = new LinkedHashMap<FollowElement, Collection<FollowElement>>(
+			64, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<FollowElement, Collection<FollowElement>> eldest) {
+			return size() > getMaxSize();
+		}
+	};
+
+	/**
+	 * Returns the follow elements of the given element. They are computed by the given parser if they have not been
+	 * cached before.
+	 */
+	public Collection<FollowElement> getFollowElements(FollowElement element, IContentAssistParser parser) {
+		synchronized (cache) {
+			Collection<FollowElement> result = cache.get(element);
+			if (result != null)
+				return result;
+		}
+		// compute outside of the lock, the parser may take a while
+		Collection<FollowElement> computed = parser.getFollowElements(element);
+		FollowElement key = detach(element);
+		ImmutableList.Builder<FollowElement> builder = ImmutableList.builder();
+		for (FollowElement followElement : computed) {
+			FollowElement value = detach(followElement);
+			if (key == null || value == null)
+				return computed;
+			builder.add(value);
+		}
+		Collection<FollowElement> result = builder.build();
+		synchronized (cache) {
+			cache.put(key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a copy of the given follow element whose lookahead terminals refer to tokens that are not connected to
+	 * the parsed text, or <code>null</code> if a lookahead terminal cannot be copied.
+	 */
+	protected FollowElement detach(FollowElement element) {
+		List<LookAheadTerminal> terminals = null;
+		if (element.getLookAheadTerminals() != null) {
+			terminals = Lists.newArrayListWithCapacity(element.getLookAheadTerminals().size());
+			for (LookAheadTerminal terminal : element.getLookAheadTerminals()) {
+				LookAheadTerminal copy = detach(terminal);
+				if (copy == null)
+					return null;
+				terminals.add(copy);
+			}
+		}
+		FollowElement result = new FollowElement();
+		result.setGrammarElement(element.getGrammarElement());
+		result.setTrace(element.getTrace());
+		result.setLocalTrace(element.getLocalTrace());
+		result.setLookAhead(element.getLookAhead());
+		result.setParamStack(element.getParamStack());
+		result.setLookAheadTerminals(terminals);
+		result.setHandledUnorderedGroupElements(element.getHandledUnorderedGroupElements());
+		return result;
+	}
+
+	protected LookAheadTerminal detach(LookAheadTerminal terminal) {
+		LookAheadTerminal result;
+		if (terminal.getClass() == LookaheadKeyword.class) {
+			LookaheadKeyword keyword = new LookaheadKeyword();
+			keyword.setKeyword(((LookaheadKeyword) terminal).getKeyword());
+			result = keyword;
+		} else if (terminal.getClass() == LookAheadTerminalRuleCall.class) {
+			LookAheadTerminalRuleCall ruleCall = new LookAheadTerminalRuleCall();
+			ruleCall.setRule(((LookAheadTerminalRuleCall) terminal).getRule());
+			result = ruleCall;
+		} else {
+			return null;
+		}
+		Token token = terminal.getToken();
+		if (token != null) {
+			CommonToken copy = new CommonToken(token.getType(), token.getText());
+			copy.setChannel(token.getChannel());
+			copy.setLine(token.getLine());
+			copy.setCharPositionInLine(token.getCharPositionInLine());
+			copy.setTokenIndex(token.getTokenIndex());
+			result.setToken(copy);
+		}
+		return result;
+	}
+
+	public void clear() {
+		synchronized (cache) {
+			cache.clear();
+		}
+	}
+
+	public int size() {
+		synchronized (cache) {
+			return cache.size();
+		}
+	}
+
+	protected int getMaxSize() {
+		return MAX_SIZE;
+	}
+
+}
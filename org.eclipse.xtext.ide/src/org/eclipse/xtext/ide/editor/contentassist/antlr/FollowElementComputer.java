@@ -46,6 +46,11 @@ public class FollowElementComputer {
 	 */
 	@Inject Provider<FollowElementCalculator> feCalculatorProvider;
 	
+	/**
+	 * @since 2.14
+	 */
+	@Inject FollowElementCache followElementCache;
+	
 	public void collectAbstractElements(Grammar grammar, EStructuralFeature feature, IFollowElementAcceptor followElementAcceptor) {
 		for (Grammar superGrammar : grammar.getUsedGrammars()) {
 			collectAbstractElements(superGrammar, feature, followElementAcceptor);
@@ -149,7 +154,7 @@ public class FollowElementComputer {
 			}
 			return;
 		}
-		Collection<FollowElement> followElements = parser.getFollowElements(element);
+		Collection<FollowElement> followElements = followElementCache.getFollowElements(element, parser);
 		for(FollowElement newElement: followElements) {
 			if (newElement.getLookAhead() != element.getLookAhead() || newElement.getGrammarElement() != element.getGrammarElement()) {
 				if (newElement.getLookAhead() == element.getLookAhead()) {
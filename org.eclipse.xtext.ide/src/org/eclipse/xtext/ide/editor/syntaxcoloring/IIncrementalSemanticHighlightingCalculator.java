@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.editor.syntaxcoloring;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.util.CancelIndicator;
+
+/**
+ * A semantic highlighting calculator that can recompute the highlighting of a single element, e.g. after the element
+ * has been reparsed.
+ *
+ * Implementations guarantee that the positions that are reported for an element and its contents lie within the total
+ * text region of the element's node, and that they do not depend on other parts of the resource except for the targets
+ * of the element's cross references.
+ *
+ * @see IncrementalSemanticHighlightingCalculator
+ * @since 2.14
+ */
+public interface IIncrementalSemanticHighlightingCalculator extends ISemanticHighlightingCalculator {
+
+	/**
+	 * @param resource the resource that contains the element.
+	 * @param element the element that will be highlighted together with its contents.
+	 * @param acceptor used to announce the mapping from text-range to the style's id.
+	 * @param cancelIndicator used to determine whether we should stop searching for highlighting positions
+	 */
+	void provideHighlightingFor(XtextResource resource, EObject element, IHighlightedPositionAcceptor acceptor,
+			CancelIndicator cancelIndicator);
+
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.editor.syntaxcoloring;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.util.CancelIndicator;
+
+/**
+ * A {@link DefaultSemanticHighlightingCalculator} that can highlight a single element again. Languages opt in to
+ * incremental highlighting by binding a subclass of this calculator.
+ *
+ * Subclasses may only override {@link #highlightElement(EObject, IHighlightedPositionAcceptor, CancelIndicator)}, and
+ * the positions reported for an object must lie within the object's text region. Subclasses that override
+ * {@link #doProvideHighlightingFor(XtextResource, IHighlightedPositionAcceptor, CancelIndicator)} or
+ * {@link #searchAndHighlightElements(XtextResource, IHighlightedPositionAcceptor, CancelIndicator)} have to override
+ * {@link #provideHighlightingFor(XtextResource, EObject, IHighlightedPositionAcceptor, CancelIndicator)} accordingly.
+ *
+ * @since 2.14
+ */
+public class IncrementalSemanticHighlightingCalculator extends DefaultSemanticHighlightingCalculator
+		implements IIncrementalSemanticHighlightingCalculator {
+
+	/**
+	 * Highlights the given element recursively, as well as the tasks within its text region.
+	 */
+	@Override
+	public void provideHighlightingFor(XtextResource resource, EObject element,
+			final IHighlightedPositionAcceptor acceptor, CancelIndicator cancelIndicator) {
+		if (resource == null || element == null)
+			return;
+		ICompositeNode node = NodeModelUtils.getNode(element);
+		if (node == null)
+			return;
+		highlightElementRecursively(element, acceptor, cancelIndicator);
+		final int offset = node.getTotalOffset();
+		final int endOffset = node.getTotalEndOffset();
+		highlightTasks(resource, new IHighlightedPositionAcceptor() {
+			@Override
+			public void addPosition(int taskOffset, int length, String... id) {
+				if (taskOffset >= offset && taskOffset + length <= endOffset)
+					acceptor.addPosition(taskOffset, length, id);
+			}
+		});
+	}
+
+}
@@ -21,10 +21,12 @@ import org.eclipse.xtext.formatting2.regionaccess.ITextRegionRewriter;
 import org.eclipse.xtext.formatting2.regionaccess.ITextReplacement;
 import org.eclipse.xtext.formatting2.regionaccess.ITextSegment;
 import org.eclipse.xtext.util.ITextRegion;
+import org.eclipse.xtext.util.ReplaceRegion;
 
 import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.google.inject.name.Named;
 
 /**
  * @author Moritz Eysholdt - Initial contribution and API
@@ -37,9 +39,26 @@ public class RegionDiffFormatter {
 		}
 	}
 
+	/**
+	 * Whether each modified region is turned into the minimal replacements on the level of tokens instead of one
+	 * replacement for the whole region, e.g. to replace only the changed identifier when a reference inside a large
+	 * serialized block is updated. The default is <code>false</code>.
+	 * 
+	 * @see TokenSequenceDiff
+	 * @since 2.14
+	 */
+	public static final String MINIMIZE_REPLACEMENTS = "org.eclipse.xtext.ide.serializer.impl.RegionDiffFormatter.minimizeReplacements";
+
 	@Inject(optional = true)
 	private Provider<IFormatter2> formatter;
 
+	@Inject(optional = true)
+	@Named(MINIMIZE_REPLACEMENTS)
+	private boolean minimizeReplacements = false;
+
+	@Inject
+	private TokenSequenceDiff tokenSequenceDiff;
+
 	@Inject
 	private Provider<FormatterRequest> formatterRequest;
 
@@ -113,8 +132,25 @@ public class RegionDiffFormatter {
 			} else {
 				newText = regions.getRewriter().renderToString(modifiedRegion, local);
 			}
-			ITextReplacement replacement = rewriter.createReplacement(originalStart, originalLength, newText);
-			result.add(replacement);
+			if (minimizeReplacements) {
+				String originalText = regions.getOriginalTextRegionAccess().textForOffset(originalStart, originalLength);
+				result.addAll(createMinimalReplacements(rewriter, originalStart, originalText, newText));
+			} else {
+				ITextReplacement replacement = rewriter.createReplacement(originalStart, originalLength, newText);
+				result.add(replacement);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @since 2.14
+	 */
+	protected List<ITextReplacement> createMinimalReplacements(ITextRegionRewriter rewriter, int originalStart,
+			String originalText, String newText) {
+		List<ITextReplacement> result = Lists.newArrayList();
+		for (ReplaceRegion region : tokenSequenceDiff.diff(originalText, newText)) {
+			result.add(rewriter.createReplacement(originalStart + region.getOffset(), region.getLength(), region.getText()));
 		}
 		return result;
 	}
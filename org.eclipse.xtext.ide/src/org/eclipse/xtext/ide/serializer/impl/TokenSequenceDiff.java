@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2018 TypeFox GmbH (http://www.typefox.io) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.serializer.impl;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.xtext.util.ReplaceRegion;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Computes the minimal replacements that turn one text into another on the level of tokens. The texts are split into
+ * runs of letters and digits, runs of whitespace and single other characters, and the token sequences are compared with
+ * the linear space variant of Myers' O(ND) difference algorithm. Adjacent deletions and insertions are combined into
+ * one replacement.
+ *
+ * If the texts differ in more than {@link #getMaxDifferences()} tokens, the differing part is replaced as a whole
+ * instead, which bounds the time spent on texts that have little in common.
+ *
+ * @since 2.14
+ */
+public class TokenSequenceDiff {
+
+	private static class Tokens {
+
+		private final String text;
+
+		/** the offsets of the tokens followed by the length of the text */
+		private final int[] offsets;
+
+		private final int[] hashes;
+
+		private Tokens(String text) {
+			this.text = text;
+			int[] offsets = new int[Math.max(16, text.length() / 4)];
+			int count = 0;
+			int offset = 0;
+			while (offset < text.length()) {
+				if (count + 1 >= offsets.length)
+					offsets = Arrays.copyOf(offsets, offsets.length * 2);
+				offsets[count++] = offset;
+				offset = getTokenEnd(text, offset);
+			}
+			offsets[count] = text.length();
+			this.offsets = Arrays.copyOf(offsets, count + 1);
+			this.hashes = new int[count];
+			for (int i = 0; i < count; i++) {
+				int hash = 0;
+				for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+					hash = 31 * hash + text.charAt(j);
+				}
+				hashes[i] = hash;
+			}
+		}
+
+		private int size() {
+			return hashes.length;
+		}
+
+		private int getOffset(int token) {
+			return offsets[token];
+		}
+
+		private boolean equals(int token, Tokens other, int otherToken) {
+			if (hashes[token] != other.hashes[otherToken])
+				return false;
+			int length = offsets[token + 1] - offsets[token];
+			return length == other.offsets[otherToken + 1] - other.offsets[otherToken]
+					&& text.regionMatches(offsets[token], other.text, other.offsets[otherToken], length);
+		}
+	}
+
+	private static class Difference {
+
+		private final int originalStart;
+
+		private int originalEnd;
+
+		private final int modifiedStart;
+
+		private int modifiedEnd;
+
+		private Difference(int originalStart, int originalEnd, int modifiedStart, int modifiedEnd) {
+			this.originalStart = originalStart;
+			this.originalEnd = originalEnd;
+			this.modifiedStart = modifiedStart;
+			this.modifiedEnd = modifiedEnd;
+		}
+	}
+
+	private int maxDifferences = 10000;
+
+	public int getMaxDifferences() {
+		return maxDifferences;
+	}
+
+	public void setMaxDifferences(int maxDifferences) {
+		this.maxDifferences = maxDifferences;
+	}
+
+	/**
+	 * Returns the replacements that turn the original text into the modified text. The offsets of the replacements
+	 * refer to the original text and the replacements are sorted by offset.
+	 */
+	public List<ReplaceRegion> diff(String original, String modified) {
+		Tokens originalTokens = new Tokens(original);
+		Tokens modifiedTokens = new Tokens(modified);
+		List<Difference> differences = Lists.newArrayList();
+		diff(originalTokens, 0, originalTokens.size(), modifiedTokens, 0, modifiedTokens.size(), differences);
+		List<ReplaceRegion> result = Lists.newArrayListWithCapacity(differences.size());
+		for (Difference difference : differences) {
+			int offset = originalTokens.getOffset(difference.originalStart);
+			int length = originalTokens.getOffset(difference.originalEnd) - offset;
+			String text = modified.substring(modifiedTokens.getOffset(difference.modifiedStart),
+					modifiedTokens.getOffset(difference.modifiedEnd));
+			result.add(new ReplaceRegion(offset, length, text));
+		}
+		return result;
+	}
+
+	protected static int getTokenEnd(String text, int offset) {
+		char c = text.charAt(offset);
+		int end = offset + 1;
+		if (Character.isLetterOrDigit(c) || c == '_') {
+			while (end < text.length() && (Character.isLetterOrDigit(text.charAt(end)) || text.charAt(end) == '_'))
+				end++;
+		} else if (Character.isWhitespace(c)) {
+			while (end < text.length() && Character.isWhitespace(text.charAt(end)))
+				end++;
+		}
+		return end;
+	}
+
+	private void diff(Tokens a, int aStart, int aEnd, Tokens b, int bStart, int bEnd, List<Difference> result) {
+		while (aStart < aEnd && bStart < bEnd && a.equals(aStart, b, bStart)) {
+			aStart++;
+			bStart++;
+		}
+		while (aStart < aEnd && bStart < bEnd && a.equals(aEnd - 1, b, bEnd - 1)) {
+			aEnd--;
+			bEnd--;
+		}
+		if (aStart == aEnd && bStart == bEnd)
+			return;
+		if (aStart == aEnd || bStart == bEnd) {
+			addDifference(aStart, aEnd, bStart, bEnd, result);
+			return;
+		}
+		int[] split = findMiddleSnake(a, aStart, aEnd, b, bStart, bEnd);
+		if (split == null || split[0] == aStart && split[1] == bStart || split[0] == aEnd && split[1] == bEnd) {
+			addDifference(aStart, aEnd, bStart, bEnd, result);
+			return;
+		}
+		diff(a, aStart, split[0], b, bStart, split[1], result);
+		diff(a, split[0], aEnd, b, split[1], bEnd, result);
+	}
+
+	/**
+	 * Searches the shortest edit script from both ends at the same time and returns the position where the paths
+	 * meet, or <code>null</code> if the ranges differ in more than {@link #getMaxDifferences()} tokens.
+	 */
+	private int[] findMiddleSnake(Tokens a, int aStart, int aEnd, Tokens b, int bStart, int bEnd) {
+		int n = aEnd - aStart;
+		int m = bEnd - bStart;
+		int maxD = Math.min((n + m + 1) / 2, Math.max(maxDifferences, 1));
+		int vOffset = maxD;
+		int vLength = 2 * maxD + 2;
+		int[] forward = new int[vLength];
+		int[] backward = new int[vLength];
+		Arrays.fill(forward, -1);
+		Arrays.fill(backward, -1);
+		forward[vOffset + 1] = 0;
+		backward[vOffset + 1] = 0;
+		int delta = n - m;
+		boolean front = delta % 2 != 0;
+		int k1Start = 0;
+		int k1End = 0;
+		int k2Start = 0;
+		int k2End = 0;
+		for (int d = 0; d < maxD; d++) {
+			for (int k1 = -d + k1Start; k1 <= d - k1End; k1 += 2) {
+				int k1Offset = vOffset + k1;
+				int x1;
+				if (k1 == -d || k1 != d && forward[k1Offset - 1] < forward[k1Offset + 1])
+					x1 = forward[k1Offset + 1];
+				else
+					x1 = forward[k1Offset - 1] + 1;
+				int y1 = x1 - k1;
+				while (x1 < n && y1 < m && a.equals(aStart + x1, b, bStart + y1)) {
+					x1++;
+					y1++;
+				}
+				forward[k1Offset] = x1;
+				if (x1 > n) {
+					k1End += 2;
+				} else if (y1 > m) {
+					k1Start += 2;
+				} else if (front) {
+					int k2Offset = vOffset + delta - k1;
+					if (k2Offset >= 0 && k2Offset < vLength && backward[k2Offset] != -1) {
+						if (x1 >= n - backward[k2Offset])
+							return new int[] { aStart + x1, bStart + y1 };
+					}
+				}
+			}
+			for (int k2 = -d + k2Start; k2 <= d - k2End; k2 += 2) {
+				int k2Offset = vOffset + k2;
+				int x2;
+				if (k2 == -d || k2 != d && backward[k2Offset - 1] < backward[k2Offset + 1])
+					x2 = backward[k2Offset + 1];
+				else
+					x2 = backward[k2Offset - 1] + 1;
+				int y2 = x2 - k2;
+				while (x2 < n && y2 < m && a.equals(aEnd - x2 - 1, b, bEnd - y2 - 1)) {
+					x2++;
+					y2++;
+				}
+				backward[k2Offset] = x2;
+				if (x2 > n) {
+					k2End += 2;
+				} else if (y2 > m) {
+					k2Start += 2;
+				} else if (!front) {
+					int k1Offset = vOffset + delta - k2;
+					if (k1Offset >= 0 && k1Offset < vLength && forward[k1Offset] != -1) {
+						int x1 = forward[k1Offset];
+						int y1 = vOffset + x1 - k1Offset;
+						if (x1 >= n - x2)
+							return new int[] { aStart + x1, bStart + y1 };
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	private void addDifference(int aStart, int aEnd, int bStart, int bEnd, List<Difference> result) {
+		if (!result.isEmpty()) {
+			Difference last = result.get(result.size() - 1);
+			if (last.originalEnd == aStart && last.modifiedEnd == bStart) {
+				last.originalEnd = aEnd;
+				last.modifiedEnd = bEnd;
+				return;
+			}
+		}
+		result.add(new Difference(aStart, aEnd, bStart, bEnd));
+	}
+
+}
@@ -7,19 +7,30 @@
  *******************************************************************************/
 package org.eclipse.xtext.ide.server
 
-import com.google.common.collect.HashMultimap
+import com.google.common.collect.LinkedHashMultimap
 import com.google.inject.Inject
 import com.google.inject.Provider
+import com.google.inject.name.Named
 import java.util.ArrayList
 import java.util.Collection
+import java.util.LinkedList
 import java.util.List
 import java.util.Set
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executor
+import java.util.concurrent.ExecutorCompletionService
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Future
 import org.eclipse.emf.common.util.URI
 import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtend.lib.annotations.Data
+import org.eclipse.xtext.build.IncrementalBuilder
 import org.eclipse.xtext.diagnostics.Severity
+import org.eclipse.xtext.ide.server.InitialBuildProgress.Stage
 import org.eclipse.xtext.resource.IResourceDescription
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionDelta
 import org.eclipse.xtext.resource.impl.ProjectDescription
+import org.eclipse.xtext.service.OperationCanceledManager
 import org.eclipse.xtext.util.CancelIndicator
 
 /**
@@ -30,12 +41,46 @@ class BuildManager {
     
     public static val CYCLIC_PROJECT_DEPENDENCIES = BuildManager.canonicalName + '.cyclicProjectDependencies'
 
+    /**
+     * The name of a <code>long</code> constant for the time in milliseconds that the build of an edited document is
+     * postponed to wait for further edits. A value of zero, the default, disables the delay.
+     * 
+     * @since 2.14
+     */
+    public static val DEBOUNCE_DELAY = BuildManager.canonicalName + '.debounceDelay'
+
+    /**
+     * The name of an <code>int</code> constant for the number of projects that may be built at the same time. The
+     * default is one, i.e. projects are built one after another on the build thread.
+     * 
+     * @since 2.14
+     */
+    public static val PARALLEL_PROJECT_BUILDS = BuildManager.canonicalName + '.parallelProjectBuilds'
+
     @Accessors(PUBLIC_SETTER)
     WorkspaceManager workspaceManager
     @Inject Provider<TopologicalSorter> sorterProvider
+    @Inject OperationCanceledManager operationCanceledManager
+
+    @Inject ExecutorService executorService
+
+    @Inject(optional=true) @Named(DEBOUNCE_DELAY)
+    long debounceDelay = 0
+
+    @Inject(optional=true) @Named(PARALLEL_PROJECT_BUILDS)
+    int parallelProjectBuilds = 1
 
     val dirtyFiles = <URI>newLinkedHashSet
     val deletedFiles = <URI>newLinkedHashSet
+    val editedFiles = <URI>newLinkedHashSet
+    
+    /**
+     * The deltas of the projects that have been built by a cancelled build. They are passed to the projects that are
+     * built afterwards and returned by the next build that completes.
+     */
+    val unreportedDeltas = <URI, IResourceDescription.Delta>newLinkedHashMap
+    
+    volatile long lastEdit
     
     def Buildable submit(List<URI> dirtyFiles, List<URI> deletedFiles) {
     	queue(this.dirtyFiles, deletedFiles, dirtyFiles)
@@ -43,6 +88,30 @@ class BuildManager {
         return [cancelIndicator|internalBuild(cancelIndicator)]
     }
 
+    /**
+     * Marks the given document as being edited. Edited documents are built before all other files, and a build that
+     * is requested shortly after an edit is postponed until the {@link #DEBOUNCE_DELAY debounce delay} has passed,
+     * such that a series of edits results in a single build.
+     * 
+     * @since 2.14
+     */
+    def void markEdited(URI uri) {
+        editedFiles += uri
+        lastEdit = System.currentTimeMillis
+    }
+
+    /**
+     * Returns the queued files whose changes have not been built yet.
+     * 
+     * @since 2.14
+     */
+    def Set<URI> getPendingFiles() {
+        val result = newHashSet
+        result += dirtyFiles
+        result += deletedFiles
+        return result
+    }
+
     def List<IResourceDescription.Delta> doBuild(List<URI> dirtyFiles, List<URI> deletedFiles, CancelIndicator cancelIndicator) {
     		return submit(dirtyFiles, deletedFiles).build(cancelIndicator)
     }
@@ -53,41 +122,177 @@ class BuildManager {
     }
 
     def List<IResourceDescription.Delta> doInitialBuild(List<ProjectDescription> projects, CancelIndicator indicator) {
+        return doInitialBuild(projects, false, indicator)
+    }
+
+    /**
+     * Builds all files of the given projects. If <code>indexOnly</code> is set, the files are indexed but not
+     * validated, and the indexing progress is reported per project.
+     * 
+     * @since 2.14
+     */
+    def List<IResourceDescription.Delta> doInitialBuild(List<ProjectDescription> projects, boolean indexOnly, CancelIndicator indicator) {
         val sortedDescriptions = sortByDependencies(projects)
         val result = newArrayList
+        val progress = workspaceManager.initialBuildProgress
+        if (indexOnly)
+            progress.begin(Stage.INDEX, sortedDescriptions.size)
+        var int done = 0
         for(description : sortedDescriptions) {
-            val partialresult = workspaceManager.getProjectManager(description.name).doInitialBuild(indicator)
+            val partialresult = workspaceManager.getProjectManager(description.name).doInitialBuild(new ArrayList(result), indexOnly, indicator)
             result.addAll(partialresult.affectedResources)
+            done++
+            if (indexOnly)
+                progress.update(Stage.INDEX, done, "'" + description.name + "'")
         }
+        if (indexOnly)
+            progress.done(Stage.INDEX)
         return result
     }
 
+    /**
+     * Builds the queued files. The projects of the edited documents and their upstream projects are built first, and
+     * the edited documents are validated before the other files of their project. Projects that depend on a project
+     * with changed exported objects are built last.
+     * 
+     * Up to {@link #PARALLEL_PROJECT_BUILDS} projects are built at the same time. A project is built as soon as its
+     * upstream projects are built. The deltas are returned in the order of the sorted projects, no matter in which
+     * order the project builds finish.
+     */
     protected def List<IResourceDescription.Delta> internalBuild(CancelIndicator cancelIndicator) {
-        val allDirty = new ArrayList(dirtyFiles)
-        val project2dirty = HashMultimap.<ProjectDescription, URI>create 
+        val allDirty = new ArrayList(editedFiles.filter[dirtyFiles.contains(it)].toList)
+        allDirty += dirtyFiles.filter[!editedFiles.contains(it)]
+        val project2dirty = LinkedHashMultimap.<ProjectDescription, URI>create 
         for(URI dirty: allDirty) {
             val projectManager = workspaceManager.getProjectManager(dirty).projectDescription
             project2dirty.put(projectManager, dirty)
         }
-        val project2deleted = HashMultimap.<ProjectDescription, URI>create 
+        val project2deleted = LinkedHashMultimap.<ProjectDescription, URI>create 
         for(URI deleted: deletedFiles) {
             val projectManager = workspaceManager.getProjectManager(deleted).projectDescription
             project2deleted.put(projectManager, deleted)
         }
-        val sortedDescriptions = sortByDependencies(project2dirty.keySet + project2deleted.keySet)
-        val result = newArrayList()
-        for(ProjectDescription it: sortedDescriptions) {
-            val projectManager = workspaceManager.getProjectManager(name)
-            val projectDirty = project2dirty.get(it).toList
-            val projectDeleted = project2deleted.get(it).toList
-            val partialResult = projectManager.doBuild(projectDirty, projectDeleted, result, cancelIndicator)
-            allDirty.addAll(partialResult.affectedResources.map[uri])
-            this.dirtyFiles -= projectDirty
-            this.deletedFiles -= projectDeleted
-            result.addAll(partialResult.affectedResources)
+        val sortedDescriptions = sortByDependencies(getDependents(project2dirty.keySet + project2deleted.keySet))
+        val pending = new LinkedList(sortedDescriptions)
+        val running = <Future<IncrementalBuilder.Result>, ProjectDescription>newHashMap
+        val changedProjects = <String>newHashSet
+        val project2deltas = <ProjectDescription, List<IResourceDescription.Delta>>newHashMap
+        val Executor executor = if (parallelProjectBuilds > 1) executorService else [run]
+        val completionService = new ExecutorCompletionService<IncrementalBuilder.Result>(executor)
+        var Throwable failure = null
+        while ((failure === null && !pending.empty) || !running.empty) {
+            if (failure === null) {
+                try {
+                    operationCanceledManager.checkCanceled(cancelIndicator)
+                    val iterator = pending.iterator
+                    while (iterator.hasNext && running.size < Math.max(1, parallelProjectBuilds)) {
+                        val project = iterator.next
+                        val blocked = project.dependencies.exists [ dependency |
+                            (pending + running.values).exists[name == dependency]
+                        ]
+                        if (!blocked) {
+                            iterator.remove
+                            val projectDirty = project2dirty.get(project).toList
+                            val projectDeleted = project2deleted.get(project).toList
+                            if (!projectDirty.empty || !projectDeleted.empty || project.dependencies.exists[changedProjects.contains(it)]) {
+                                val projectManager = workspaceManager.getProjectManager(project.name)
+                                val externalDeltas = new ArrayList(unreportedDeltas.values)
+                                for (description : sortedDescriptions) {
+                                    externalDeltas += project2deltas.get(description) ?: emptyList
+                                }
+                                val future = completionService.submit [
+                                    projectManager.doBuild(projectDirty, projectDeleted, externalDeltas, cancelIndicator)
+                                ]
+                                running.put(future, project)
+                            }
+                        }
+                    }
+                } catch (Throwable t) {
+                    failure = t
+                }
+            }
+            if (!running.empty) {
+                val future = completionService.take
+                val project = running.remove(future)
+                try {
+                    val affectedResources = future.get.affectedResources
+                    this.dirtyFiles -= project2dirty.get(project)
+                    this.deletedFiles -= project2deleted.get(project)
+                    this.editedFiles -= project2dirty.get(project)
+                    project2deltas.put(project, affectedResources)
+                    if (affectedResources.exists[haveEObjectDescriptionsChanged]) {
+                        changedProjects += project.name
+                    }
+                } catch (ExecutionException e) {
+                    if (failure === null) {
+                        failure = e.cause
+                    }
+                }
+            }
+        }
+        for (description : sortedDescriptions) {
+            for (delta : project2deltas.get(description) ?: emptyList) {
+                addUnreportedDelta(delta)
+            }
         }
+        if (failure !== null) {
+            throw failure
+        }
+        val result = unreportedDeltas.values.toList
+        unreportedDeltas.clear
         return result
     }
+
+    /**
+     * Returns the time in milliseconds until the {@link #DEBOUNCE_DELAY debounce delay} has passed since the last
+     * edit, or zero if the queued changes can be built right away.
+     * 
+     * @since 2.14
+     */
+    def long getRemainingDebounceDelay() {
+        if (debounceDelay <= 0 || editedFiles.empty) {
+            return 0
+        }
+        return Math.max(0, lastEdit + debounceDelay - System.currentTimeMillis)
+    }
+
+    /**
+     * Returns the given projects and all projects that depend on them, directly or indirectly.
+     * 
+     * @since 2.14
+     */
+    protected def Set<ProjectDescription> getDependents(Iterable<ProjectDescription> projectDescriptions) {
+        val result = newLinkedHashSet
+        result += projectDescriptions
+        val names = result.map[name].toSet
+        var changed = true
+        while (changed) {
+            changed = false
+            for (projectManager : workspaceManager.projectManagers) {
+                val description = projectManager.projectDescription
+                if (!names.contains(description.name) && description.dependencies.exists[names.contains(it)]) {
+                    result += description
+                    names += description.name
+                    changed = true
+                }
+            }
+        }
+        return result
+    }
+
+    /**
+     * Records the delta of a build that has not been reported yet. Subsequent deltas for the same resource are merged.
+     */
+    protected def void addUnreportedDelta(IResourceDescription.Delta delta) {
+        val previous = unreportedDeltas.get(delta.uri)
+        if (previous === null) {
+            unreportedDeltas.put(delta.uri, delta)
+        } else if (previous.old !== delta.^new) {
+            unreportedDeltas.put(delta.uri, new DefaultResourceDescriptionDelta(previous.old, delta.^new))
+        } else {
+            unreportedDeltas.remove(delta.uri)
+        }
+    }
     
     protected def sortByDependencies(Iterable<ProjectDescription> projectDescriptions) {
         sorterProvider.get.sortByDependencies(projectDescriptions.toList) [
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.services.LanguageClient;
+
+import com.google.inject.Inject;
+
+/**
+ * Sends diagnostics to the client, but only if they differ from the diagnostics that have been sent for the same
+ * document before.
+ *
+ * Notifications are queued and sent in batches by a task on the {@link ExecutorService}, so the build does not wait
+ * for the client connection. If a document gets new diagnostics while its previous ones are still queued, only the
+ * latest diagnostics are sent.
+ *
+ * @since 2.14
+ */
+public class DiagnosticsPublisher {
+
+	private static final Logger LOG = Logger.getLogger(DiagnosticsPublisher.class);
+
+	@Inject
+	private ExecutorService executorService;
+
+	/** the latest diagnostics per document URI, either sent or queued */
+	private final Map<String, List<Diagnostic>> published = new HashMap<String, List<Diagnostic>>();
+
+	private final Map<String, PublishDiagnosticsParams> pending = new LinkedHashMap<String, PublishDiagnosticsParams>();
+
+	private LanguageClient client;
+
+	private boolean flushScheduled;
+
+	private final AtomicLong sentCount = new AtomicLong();
+
+	private final AtomicLong suppressedCount = new AtomicLong();
+
+	/**
+	 * Queues the given diagnostics for the client unless they equal the diagnostics that have been published for the
+	 * same document before.
+	 */
+	public void publish(LanguageClient client, PublishDiagnosticsParams params) {
+		synchronized (this) {
+			List<Diagnostic> previous = published.get(params.getUri());
+			if (previous != null && previous.equals(params.getDiagnostics())) {
+				suppressedCount.incrementAndGet();
+				return;
+			}
+			published.put(params.getUri(), params.getDiagnostics());
+			if (pending.put(params.getUri(), params) != null) {
+				suppressedCount.incrementAndGet();
+			}
+			this.client = client;
+			if (flushScheduled) {
+				return;
+			}
+			flushScheduled = true;
+		}
+		schedule(new Runnable() {
+			@Override
+			public void run() {
+				flush();
+			}
+		});
+	}
+
+	/**
+	 * Forgets the diagnostics that have been published for the given document, e.g. because it has been closed or
+	 * deleted. The next diagnostics of the document are sent even if they are equal.
+	 */
+	public synchronized void forget(String uri) {
+		published.remove(uri);
+	}
+
+	/**
+	 * Forgets the diagnostics that have been published for all documents, e.g. because a new client has connected.
+	 */
+	public synchronized void reset() {
+		published.clear();
+	}
+
+	/**
+	 * Runs the given task that sends the queued notifications.
+	 */
+	protected void schedule(Runnable flush) {
+		executorService.submit(flush);
+	}
+
+	/**
+	 * Sends all queued notifications, including the ones that are queued while this method is running.
+	 */
+	protected void flush() {
+		while (true) {
+			List<PublishDiagnosticsParams> batch;
+			LanguageClient currentClient;
+			synchronized (this) {
+				if (pending.isEmpty()) {
+					flushScheduled = false;
+					return;
+				}
+				batch = new ArrayList<PublishDiagnosticsParams>(pending.values());
+				pending.clear();
+				currentClient = client;
+			}
+			for (PublishDiagnosticsParams params : batch) {
+				try {
+					currentClient.publishDiagnostics(params);
+					sentCount.incrementAndGet();
+				} catch (RuntimeException e) {
+					LOG.error("Cannot publish diagnostics for " + params.getUri(), e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * The number of notifications that have been sent to the client.
+	 */
+	public long getSentCount() {
+		return sentCount.get();
+	}
+
+	/**
+	 * The number of notifications that have not been sent, because they did not change the diagnostics of their
+	 * document or have been replaced by newer diagnostics before they were sent.
+	 */
+	public long getSuppressedCount() {
+		return suppressedCount.get();
+	}
+
+}
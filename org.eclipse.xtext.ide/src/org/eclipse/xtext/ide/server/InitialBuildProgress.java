@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.eclipse.lsp4j.MessageParams;
+import org.eclipse.lsp4j.MessageType;
+import org.eclipse.lsp4j.services.LanguageClient;
+
+/**
+ * Reports the progress of the stages of a staged initial build of the workspace.
+ *
+ * The messages are logged and sent to the client as log messages, since the protocol version that is supported does
+ * not define progress notifications. Clients may override {@link #report(Stage, String)} to use a custom
+ * notification instead.
+ *
+ * @since 2.14
+ */
+public class InitialBuildProgress {
+
+	private static final Logger LOG = Logger.getLogger(InitialBuildProgress.class);
+
+	/**
+	 * The stages of the initial build.
+	 */
+	public enum Stage {
+		/** Reading the workspace configuration and creating the projects. */
+		SCAN("Scanning workspace"),
+		/** Indexing all files of the workspace without validating them. */
+		INDEX("Indexing"),
+		/** Validating the indexed files in the background. */
+		VALIDATE("Validating");
+
+		private final String label;
+
+		private Stage(String label) {
+			this.label = label;
+		}
+
+		public String getLabel() {
+			return label;
+		}
+	}
+
+	private LanguageClient client;
+
+	private final Map<Stage, Integer> totalWork = new EnumMap<Stage, Integer>(Stage.class);
+
+	public synchronized void setClient(LanguageClient client) {
+		this.client = client;
+	}
+
+	public synchronized void begin(Stage stage, int totalWork) {
+		this.totalWork.put(stage, totalWork);
+		report(stage, stage.getLabel() + "...");
+	}
+
+	/**
+	 * Reports that the given amount of the stage's total work is done.
+	 *
+	 * @param detail
+	 *            an optional description of the work that has been done, e.g. the name of a project.
+	 */
+	public synchronized void update(Stage stage, int workDone, String detail) {
+		StringBuilder message = new StringBuilder(stage.getLabel());
+		if (detail != null)
+			message.append(' ').append(detail);
+		Integer total = totalWork.get(stage);
+		if (total != null && total > 0)
+			message.append(" (").append(Math.min(workDone, total)).append('/').append(total).append(')');
+		report(stage, message.toString());
+	}
+
+	public synchronized void done(Stage stage) {
+		totalWork.remove(stage);
+		report(stage, stage.getLabel() + " done.");
+	}
+
+	protected void report(Stage stage, String message) {
+		if (LOG.isInfoEnabled())
+			LOG.info(message);
+		if (client != null)
+			client.logMessage(new MessageParams(MessageType.Log, message));
+	}
+
+}
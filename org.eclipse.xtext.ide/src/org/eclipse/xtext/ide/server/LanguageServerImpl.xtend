@@ -9,11 +9,16 @@ package org.eclipse.xtext.ide.server
 
 import static org.eclipse.xtext.diagnostics.Severity.*
 import com.google.common.collect.LinkedListMultimap
+import com.google.common.util.concurrent.ThreadFactoryBuilder
 import com.google.common.collect.Multimap
 import com.google.inject.Inject
 import java.util.List
 import java.util.Map
 import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
 import java.util.function.Function
 import org.eclipse.emf.common.util.URI
 import org.eclipse.lsp4j.CodeActionParams
@@ -65,6 +70,7 @@ import org.eclipse.lsp4j.services.TextDocumentService
 import org.eclipse.lsp4j.services.WorkspaceService
 import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor
+import org.eclipse.xtext.ide.server.BuildManager.Buildable
 import org.eclipse.xtext.ide.server.ILanguageServerAccess.IBuildListener
 import org.eclipse.xtext.ide.server.codeActions.ICodeActionService
 import org.eclipse.xtext.ide.server.codelens.ICodeLensResolver
@@ -102,6 +108,10 @@ import org.eclipse.lsp4j.WorkspaceEdit
 	@Inject extension UriExtensions
 	@Inject extension IResourceServiceProvider.Registry languagesRegistry
 	@Inject ExecutableCommandRegistry commandRegistry
+	/**
+	 * @since 2.14
+	 */
+	@Inject @Accessors(PUBLIC_GETTER) DiagnosticsPublisher diagnosticsPublisher
 	
 	// injected below
 	WorkspaceManager workspaceManager
@@ -109,6 +119,12 @@ import org.eclipse.lsp4j.WorkspaceEdit
 	
 	boolean hasShutdownBeenCalled = false;
 	
+	/**
+	 * Submits the builds that have been postponed by the {@link BuildManager#DEBOUNCE_DELAY debounce delay}.
+	 */
+	ScheduledExecutorService buildTimer
+	ScheduledFuture<?> scheduledBuild
+	
 	@Inject
 	def void setWorkspaceManager(WorkspaceManager manager) {
 		this.workspaceManager = manager
@@ -175,11 +191,47 @@ import org.eclipse.lsp4j.WorkspaceEdit
 		
 		access.addBuildListener(this);
 		
+		if (workspaceManager.stagedInitialBuild) {
+			workspaceManager.initialBuildProgress.client = client
+			return requestManager.runWrite([
+				workspaceManager.initializeIndex(baseDir, [this.publishDiagnostics($0, $1)], CancelIndicator.NullImpl)
+				return null
+			], []).thenApply [
+				validateInBackground
+				return result
+			]
+		}
 		return requestManager.runWrite([
 			workspaceManager.initialize(baseDir, [this.publishDiagnostics($0, $1)], CancelIndicator.NullImpl)
 			return null
 		], []).thenApply [result]
 	}
+
+	/**
+	 * Validates the next batch of the files that have been indexed by a staged initial build and schedules the
+	 * following batch afterwards. Each batch is a separate task on the request queue, so read requests that arrive in
+	 * the meantime are delayed by a single batch at most. Write requests cancel the running batch, which is resumed
+	 * after them. The next batch is submitted from the completion callback of the previous one, i.e. not from the
+	 * message thread.
+	 * 
+	 * @since 2.14
+	 */
+	protected def void validateInBackground() {
+		if (hasShutdownBeenCalled)
+			return;
+		requestManager.runInBackground [ cancelIndicator |
+			val buildable = workspaceManager.validateNextBatch
+			if (buildable === null)
+				return false
+			buildable.build(cancelIndicator)
+			return true
+		].whenComplete [ hasMore, throwable |
+			if (throwable !== null)
+				LOG.error("Error while validating the workspace.", throwable)
+			if (throwable !== null || hasMore)
+				validateInBackground
+		]
+	}
 	
 	@Deprecated
 	private def URI deprecatedToBaseDir(InitializeParams params) {
@@ -198,6 +250,7 @@ import org.eclipse.lsp4j.WorkspaceEdit
 	
 	override connect(LanguageClient client) {
 		this.client = client
+		diagnosticsPublisher.reset
 	}
 
 	override exit() {
@@ -210,7 +263,13 @@ import org.eclipse.lsp4j.WorkspaceEdit
 
 	override CompletableFuture<Object> shutdown() {
 		this.hasShutdownBeenCalled = true;
-		return CompletableFuture.completedFuture(new Object());
+		synchronized (this) {
+			buildTimer?.shutdownNow
+		}
+		return requestManager.runWrite([
+			workspaceManager.saveIndexCache
+			return null
+		], []).thenApply[new Object]
 	}
 
 	override TextDocumentService getTextDocumentService() {
@@ -237,13 +296,55 @@ import org.eclipse.lsp4j.WorkspaceEdit
 				new TextEdit(event.range, event.text)
 			])
 		], [cancelIndicator , buildable | 
-			buildable.build(cancelIndicator)
+			buildDebounced(cancelIndicator, buildable)
 		])
 	}
 
+	/**
+	 * Runs the given build, unless the {@link BuildManager#DEBOUNCE_DELAY debounce delay} of the last edit has not
+	 * passed yet. In that case the build is postponed by a timer that submits a new write request once the delay has
+	 * passed, such that the request queue is not blocked in the meantime.
+	 * 
+	 * @since 2.14
+	 */
+	protected def List<Delta> buildDebounced(CancelIndicator cancelIndicator, Buildable buildable) {
+		val delay = workspaceManager.remainingDebounceDelay
+		if (delay > 0) {
+			scheduleBuild(delay)
+			return emptyList
+		}
+		return buildable.build(cancelIndicator)
+	}
+
+	/**
+	 * Submits a build of the queued changes after the given delay in milliseconds. A build that has been scheduled
+	 * before and has not been submitted yet is cancelled.
+	 * 
+	 * @since 2.14
+	 */
+	protected def synchronized void scheduleBuild(long delay) {
+		if (hasShutdownBeenCalled)
+			return;
+		scheduledBuild?.cancel(false)
+		if (buildTimer === null) {
+			buildTimer = Executors.newSingleThreadScheduledExecutor(
+				new ThreadFactoryBuilder().setDaemon(true).setNameFormat('LanguageServer-BuildTimer-%d').build)
+		}
+		val Runnable build = [|
+			requestManager.runWrite([
+				workspaceManager.didChangeFiles(emptyList, emptyList)
+			], [ cancelIndicator, buildable |
+				buildDebounced(cancelIndicator, buildable)
+			])
+		]
+		scheduledBuild = buildTimer.schedule(build, delay, TimeUnit.MILLISECONDS)
+	}
+
 	override didClose(DidCloseTextDocumentParams params) {
 		requestManager.runWrite([
-			workspaceManager.didClose(params.textDocument.uri.toUri)
+			val uri = params.textDocument.uri.toUri
+			diagnosticsPublisher.forget(uri.toUriString)
+			workspaceManager.didClose(uri)
 		], [cancelIndicator , buildable | 
 			buildable.build(cancelIndicator)
 		])
@@ -260,7 +361,9 @@ import org.eclipse.lsp4j.WorkspaceEdit
 			val deletedFiles = newArrayList
 			for (fileEvent : params.changes) {
 				if (fileEvent.type === FileChangeType.Deleted) {
-					deletedFiles += toUri(fileEvent.uri)
+					val uri = toUri(fileEvent.uri)
+					diagnosticsPublisher.forget(uri.toUriString)
+					deletedFiles += uri
 				} else {
 					dirtyFiles += toUri(fileEvent.uri)
 				}
@@ -289,7 +392,7 @@ import org.eclipse.lsp4j.WorkspaceEdit
 			it.uri = toUriString(uri)
 			it.diagnostics = issues.filter[severity !== IGNORE].map[toDiagnostic].toList
 		]
-		client.publishDiagnostics(diagnostics)
+		diagnosticsPublisher.publish(client, diagnostics)
 	}
 
 	private def Diagnostic toDiagnostic(Issue issue) {
@@ -330,7 +433,7 @@ import org.eclipse.lsp4j.WorkspaceEdit
 	}
 	// completion stuff
 	override completion(TextDocumentPositionParams params) {
-		return requestManager.runRead[origialCancelIndicator|completion(origialCancelIndicator, params)]
+		return requestManager.runRead("textDocument/completion") [origialCancelIndicator|completion(origialCancelIndicator, params)]
 	}
 	
 	protected def Either<List<CompletionItem>, CompletionList> completion(CancelIndicator origialCancelIndicator, TextDocumentPositionParams params) {
@@ -351,7 +454,7 @@ import org.eclipse.lsp4j.WorkspaceEdit
 	// end completion stuff
 	// symbols
 	override definition(TextDocumentPositionParams params) {
-		return requestManager.runRead[cancelIndicator|definition(cancelIndicator, params)]
+		return requestManager.runRead("textDocument/definition") [cancelIndicator|definition(cancelIndicator, params)]
 	}
 	
 	protected def List<? extends Location> definition(CancelIndicator cancelIndicator, TextDocumentPositionParams params) {
@@ -367,7 +470,7 @@ import org.eclipse.lsp4j.WorkspaceEdit
 	}
 
 	override references(ReferenceParams params) {
-		return requestManager.<List<? extends Location>>runRead[ cancelIndicator |
+		return requestManager.<List<? extends Location>>runRead("textDocument/references") [ cancelIndicator |
 			val uri = params.textDocument.uri.toUri
 			val resourceServiceProvider = uri.resourceServiceProvider
 			val documentSymbolService = resourceServiceProvider?.get(DocumentSymbolService)
@@ -381,7 +484,7 @@ import org.eclipse.lsp4j.WorkspaceEdit
 	}
 
 	override documentSymbol(DocumentSymbolParams params) {
-		return requestManager.<List<? extends SymbolInformation>>runRead[ cancelIndicator |
+		return requestManager.<List<? extends SymbolInformation>>runRead("textDocument/documentSymbol") [ cancelIndicator |
 			val uri = params.textDocument.uri.toUri
 			val resourceServiceProvider = uri.resourceServiceProvider
 			val documentSymbolService = resourceServiceProvider?.get(DocumentSymbolService)
@@ -395,7 +498,7 @@ import org.eclipse.lsp4j.WorkspaceEdit
 	}
 
 	override symbol(WorkspaceSymbolParams params) {
-		return requestManager.<List<? extends SymbolInformation>>runRead [ cancelIndicator |
+		return requestManager.<List<? extends SymbolInformation>>runRead("workspace/symbol") [ cancelIndicator |
 			val indexData = workspaceManager.index
 			return workspaceSymbolService.getSymbols(params.query, resourceAccess, indexData, cancelIndicator)
 		]
@@ -406,7 +509,7 @@ import org.eclipse.lsp4j.WorkspaceEdit
 	// hover
 	
 	override hover(TextDocumentPositionParams params) {
-		return requestManager.runRead[ cancelIndicator |
+		return requestManager.runRead("textDocument/hover") [ cancelIndicator |
 			val uri = params.textDocument.uri.toUri
 			val resourceServiceProvider = uri.resourceServiceProvider
 			val hoverService = resourceServiceProvider?.get(IHoverService)
@@ -426,7 +529,7 @@ import org.eclipse.lsp4j.WorkspaceEdit
 	}
 
 	override signatureHelp(TextDocumentPositionParams params) {
-		return requestManager.runRead [ cancelIndicator |
+		return requestManager.runRead("textDocument/signatureHelp") [ cancelIndicator |
             val uri = params.textDocument.uri.toUri;
             val serviceProvider = uri.resourceServiceProvider;
             val helper = serviceProvider?.get(ISignatureHelpService);
@@ -440,7 +543,7 @@ import org.eclipse.lsp4j.WorkspaceEdit
 	}
 
 	override documentHighlight(TextDocumentPositionParams params) {
-		return requestManager.runRead [ cancelIndicator |
+		return requestManager.runRead("textDocument/documentHighlight") [ cancelIndicator |
 			val uri = params.textDocument.uri.toUri;
 			val serviceProvider = uri.resourceServiceProvider;
 			val service =  serviceProvider?.get(IDocumentHighlightService);
@@ -454,7 +557,7 @@ import org.eclipse.lsp4j.WorkspaceEdit
 	}
 
 	override codeAction(CodeActionParams params) {
-		return requestManager.runRead [ cancelIndicator |
+		return requestManager.runRead("textDocument/codeAction") [ cancelIndicator |
 			val uri = params.textDocument.uri.toUri;
 			val serviceProvider = uri.resourceServiceProvider;
 			val service =  serviceProvider?.get(ICodeActionService);
@@ -491,7 +594,7 @@ import org.eclipse.lsp4j.WorkspaceEdit
 	}
 	
 	override codeLens(CodeLensParams params) {
-		return requestManager.runRead[ cancelIndicator |
+		return requestManager.runRead("textDocument/codeLens") [ cancelIndicator |
 			val uri = params.textDocument.uri.toUri
 			val resourceServiceProvider = uri.resourceServiceProvider
 			val codeLensService = resourceServiceProvider?.get(ICodeLensService)
@@ -511,7 +614,7 @@ import org.eclipse.lsp4j.WorkspaceEdit
 		if (uri === null) {
 			return CompletableFuture.completedFuture(unresolved)
 		}
-		return requestManager.runRead[ cancelIndicator |
+		return requestManager.runRead("codeLens/resolve") [ cancelIndicator |
 			val resourceServiceProvider = uri.resourceServiceProvider
 			val resolver = resourceServiceProvider?.get(ICodeLensResolver)
 			if (resolver === null)
@@ -525,7 +628,7 @@ import org.eclipse.lsp4j.WorkspaceEdit
 	}
 
 	override formatting(DocumentFormattingParams params) {
-		return requestManager.runRead[ cancelIndicator |
+		return requestManager.runRead("textDocument/formatting") [ cancelIndicator |
 			val uri = params.textDocument.uri.toUri
 			val resourceServiceProvider = uri.resourceServiceProvider
 			val formatterService = resourceServiceProvider?.get(FormattingService)
@@ -539,7 +642,7 @@ import org.eclipse.lsp4j.WorkspaceEdit
 	}
 
 	override rangeFormatting(DocumentRangeFormattingParams params) {
-		return requestManager.runRead[ cancelIndicator |
+		return requestManager.runRead("textDocument/rangeFormatting") [ cancelIndicator |
 			val uri = params.textDocument.uri.toUri
 			val resourceServiceProvider = uri.resourceServiceProvider
 			val formatterService = resourceServiceProvider?.get(FormattingService)
@@ -553,7 +656,7 @@ import org.eclipse.lsp4j.WorkspaceEdit
 	}
 	
 	override executeCommand(ExecuteCommandParams params) {
-		return requestManager.runRead[ cancelIndicator |
+		return requestManager.runRead("workspace/executeCommand") [ cancelIndicator |
 			this.commandRegistry.executeCommand(params, this.access, cancelIndicator)
 		]
 	}
@@ -563,7 +666,7 @@ import org.eclipse.lsp4j.WorkspaceEdit
 	}
 
 	override rename(RenameParams params) {
-		return requestManager.runRead[ cancelIndicator |
+		return requestManager.runRead("textDocument/rename") [ cancelIndicator |
 			val uri = params.textDocument.uri.toUri
 			val resourceServiceProvider = uri.resourceServiceProvider
 			val renameService = resourceServiceProvider?.get(IRenameService)
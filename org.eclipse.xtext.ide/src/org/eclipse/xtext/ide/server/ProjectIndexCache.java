@@ -0,0 +1,303 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.URL;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.xtext.IGrammarAccess;
+import org.eclipse.xtext.build.IndexState;
+import org.eclipse.xtext.build.Source2GeneratedMapping;
+import org.eclipse.xtext.diagnostics.Severity;
+import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.validation.CheckType;
+import org.eclipse.xtext.validation.Issue;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+/**
+ * Stores the index state of a project together with the content hashes and the issues of its files, such that a
+ * restarted language server only has to rebuild the files that have changed in the meantime.
+ *
+ * A cache file is only used by the same versions of the registered languages. The version of a language is derived
+ * from the name of its grammar and the time stamp of the library that contains its grammar access.
+ *
+ * The cache is disabled unless a directory is bound to {@link #CACHE_DIRECTORY}.
+ *
+ * @since 2.14
+ */
+public class ProjectIndexCache {
+
+	/**
+	 * The name of a <code>String</code> constant for the directory that contains the cache files.
+	 */
+	public static final String CACHE_DIRECTORY = "org.eclipse.xtext.ide.server.ProjectIndexCache.directory";
+
+	private static final Logger LOG = Logger.getLogger(ProjectIndexCache.class);
+
+	private static final int FORMAT_VERSION = 1;
+
+	/**
+	 * The restored state of a project.
+	 */
+	public static class CachedIndex {
+
+		private final IndexState indexState;
+		private final Map<URI, String> contentHashes;
+		private final Map<URI, List<Issue>> issues;
+
+		public CachedIndex(IndexState indexState, Map<URI, String> contentHashes, Map<URI, List<Issue>> issues) {
+			this.indexState = indexState;
+			this.contentHashes = contentHashes;
+			this.issues = issues;
+		}
+
+		public IndexState getIndexState() {
+			return indexState;
+		}
+
+		/**
+		 * The hash of the content the indexed resource has been built from, or <code>null</code> if it is unknown.
+		 */
+		public String getContentHash(URI uri) {
+			return contentHashes.get(uri);
+		}
+
+		public List<Issue> getIssues(URI uri) {
+			List<Issue> result = issues.get(uri);
+			if (result == null)
+				return Collections.emptyList();
+			return result;
+		}
+	}
+
+	@Inject(optional = true)
+	@Named(CACHE_DIRECTORY)
+	private String cacheDirectory;
+
+	@Inject
+	private IResourceServiceProvider.Registry languagesRegistry;
+
+	private String languageVersion;
+
+	public boolean isEnabled() {
+		return cacheDirectory != null;
+	}
+
+	/**
+	 * Returns the cached state of the given project, or <code>null</code> if there is no cache file or if it has been
+	 * written by different versions of the languages.
+	 */
+	public CachedIndex load(String projectName, URI baseDir) {
+		File file = getCacheFile(projectName, baseDir);
+		if (!file.isFile())
+			return null;
+		try (ObjectInputStream in = new ObjectInputStream(
+				new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))))) {
+			if (in.readInt() != FORMAT_VERSION || !getLanguageVersion().equals(in.readUTF()))
+				return null;
+			ChunkedResourceDescriptions descriptions = new ChunkedResourceDescriptions();
+			descriptions.readExternal(in);
+			Source2GeneratedMapping fileMappings = new Source2GeneratedMapping();
+			fileMappings.readExternal(in);
+			ResourceDescriptionsData data = descriptions.getContainer(projectName);
+			if (data == null)
+				return null;
+			Map<URI, String> contentHashes = new HashMap<URI, String>();
+			Map<URI, List<Issue>> issues = new HashMap<URI, List<Issue>>();
+			int size = in.readInt();
+			for (int i = 0; i < size; i++) {
+				URI uri = URI.createURI(in.readUTF());
+				String hash = (String) in.readObject();
+				if (hash != null)
+					contentHashes.put(uri, hash);
+				int issueCount = in.readInt();
+				List<Issue> list = new ArrayList<Issue>(issueCount);
+				for (int j = 0; j < issueCount; j++) {
+					list.add(readIssue(in));
+				}
+				issues.put(uri, list);
+			}
+			return new CachedIndex(new IndexState(data, fileMappings), contentHashes, issues);
+		} catch (IOException | ClassNotFoundException | RuntimeException e) {
+			LOG.warn("Cannot read index cache " + file + ": " + e.getMessage());
+			file.delete();
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the state of the given project. Resources without a content hash are rebuilt when the cache is loaded.
+	 */
+	public void save(String projectName, URI baseDir, IndexState indexState, Map<URI, String> contentHashes,
+			Map<URI, ? extends Iterable<Issue>> issues) {
+		File file = getCacheFile(projectName, baseDir);
+		File parent = file.getParentFile();
+		if (!parent.isDirectory() && !parent.mkdirs()) {
+			LOG.error("Cannot create index cache directory " + parent);
+			return;
+		}
+		File tempFile = new File(parent, file.getName() + ".tmp");
+		try (ObjectOutputStream out = new ObjectOutputStream(
+				new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile))))) {
+			out.writeInt(FORMAT_VERSION);
+			out.writeUTF(getLanguageVersion());
+			new ChunkedResourceDescriptions(Collections.singletonMap(projectName, indexState.getResourceDescriptions()))
+					.writeExternal(out);
+			indexState.getFileMappings().writeExternal(out);
+			List<URI> uris = new ArrayList<URI>(indexState.getResourceDescriptions().getAllURIs());
+			out.writeInt(uris.size());
+			for (URI uri : uris) {
+				out.writeUTF(uri.toString());
+				out.writeObject(contentHashes.get(uri));
+				List<Issue> list = new ArrayList<Issue>();
+				Iterable<Issue> uriIssues = issues.get(uri);
+				if (uriIssues != null) {
+					for (Issue issue : uriIssues) {
+						list.add(issue);
+					}
+				}
+				out.writeInt(list.size());
+				for (Issue issue : list) {
+					writeIssue(out, issue);
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			LOG.error("Cannot write index cache " + file, e);
+			tempFile.delete();
+			return;
+		}
+		if (file.exists() && !file.delete() || !tempFile.renameTo(file)) {
+			LOG.error("Cannot replace index cache " + file);
+			tempFile.delete();
+		}
+	}
+
+	/**
+	 * Returns the hash of the stored content of the given resource, or <code>null</code> if it cannot be read.
+	 */
+	public String getContentHash(URI uri) {
+		try (InputStream in = URIConverter.INSTANCE.createInputStream(uri)) {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+			return toHex(digest.digest());
+		} catch (IOException | NoSuchAlgorithmException e) {
+			return null;
+		}
+	}
+
+	protected File getCacheFile(String projectName, URI baseDir) {
+		String fileName = projectName.replaceAll("[^\\w.-]", "_") + "-"
+				+ Integer.toHexString(String.valueOf(baseDir).hashCode()) + ".index";
+		return new File(cacheDirectory, fileName);
+	}
+
+	/**
+	 * Returns a key that changes whenever one of the registered languages changes.
+	 */
+	protected String getLanguageVersion() {
+		if (languageVersion == null) {
+			StringBuilder result = new StringBuilder();
+			for (String extension : new TreeSet<String>(languagesRegistry.getExtensionToFactoryMap().keySet())) {
+				result.append(extension).append('=');
+				IResourceServiceProvider provider = languagesRegistry
+						.getResourceServiceProvider(URI.createURI("synthetic:/index." + extension));
+				IGrammarAccess grammarAccess = provider != null ? provider.get(IGrammarAccess.class) : null;
+				if (grammarAccess != null) {
+					result.append(grammarAccess.getGrammar().getName()).append('@')
+							.append(getTimeStamp(grammarAccess.getClass()));
+				}
+				result.append(';');
+			}
+			result.append(getTimeStamp(ChunkedResourceDescriptions.class));
+			languageVersion = result.toString();
+		}
+		return languageVersion;
+	}
+
+	private long getTimeStamp(Class<?> clazz) {
+		CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+		URL location = codeSource != null ? codeSource.getLocation() : null;
+		if (location == null || !"file".equals(location.getProtocol()))
+			return 0;
+		File file = new File(location.getPath());
+		String classFile = clazz.getName().replace('.', '/') + ".class";
+		if (file.isDirectory())
+			file = new File(file, classFile);
+		return file.lastModified();
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder result = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return result.toString();
+	}
+
+	protected void writeIssue(ObjectOutputStream out, Issue issue) throws IOException {
+		out.writeObject(issue.getSeverity());
+		out.writeObject(issue.getCode());
+		out.writeObject(issue.getMessage());
+		out.writeObject(issue.getLineNumber());
+		out.writeObject(issue.getColumn());
+		out.writeObject(issue.getOffset());
+		out.writeObject(issue.getLength());
+		out.writeObject(issue.getUriToProblem() != null ? issue.getUriToProblem().toString() : null);
+		out.writeObject(issue.getData());
+		out.writeObject(issue.getType());
+		out.writeBoolean(issue.isSyntaxError());
+	}
+
+	protected Issue readIssue(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		Issue.IssueImpl result = new Issue.IssueImpl();
+		result.setSeverity((Severity) in.readObject());
+		result.setCode((String) in.readObject());
+		result.setMessage((String) in.readObject());
+		result.setLineNumber((Integer) in.readObject());
+		result.setColumn((Integer) in.readObject());
+		result.setOffset((Integer) in.readObject());
+		result.setLength((Integer) in.readObject());
+		String uriToProblem = (String) in.readObject();
+		result.setUriToProblem(uriToProblem != null ? URI.createURI(uriToProblem) : null);
+		result.setData((String[]) in.readObject());
+		result.setType((CheckType) in.readObject());
+		result.setSyntaxError(in.readBoolean());
+		return result;
+	}
+
+}
@@ -11,6 +11,8 @@ import com.google.inject.Inject
 import com.google.inject.Provider
 import java.util.List
 import java.util.Map
+import java.util.Set
+import java.util.concurrent.ConcurrentHashMap
 import org.eclipse.emf.common.util.URI
 import org.eclipse.emf.ecore.resource.Resource
 import org.eclipse.xtend.lib.annotations.Accessors
@@ -27,7 +29,9 @@ import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions
 import org.eclipse.xtext.resource.impl.ProjectDescription
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsData
 import org.eclipse.xtext.util.CancelIndicator
+import org.eclipse.xtext.util.IAcceptor
 import org.eclipse.xtext.util.IFileSystemScanner
+import org.eclipse.xtext.util.ParallelFileSystemScanner
 import org.eclipse.xtext.validation.Issue
 import org.eclipse.xtext.workspace.IProjectConfig
 import org.eclipse.xtext.workspace.ProjectConfigAdapter
@@ -44,6 +48,7 @@ class ProjectManager {
     @Inject protected IResourceServiceProvider.Registry languagesRegistry
     @Inject protected IFileSystemScanner fileSystemScanner
     @Inject protected IExternalContentSupport externalContentSupport
+    @Inject protected ProjectIndexCache indexCache
     
     @Accessors(PUBLIC_GETTER)
     IndexState indexState = new IndexState
@@ -55,6 +60,9 @@ class ProjectManager {
     Provider<Map<String, ResourceDescriptionsData>> indexProvider
     IExternalContentProvider openedDocumentsContentProvider
     
+    /** The latest issues of the files, recorded for the {@link ProjectIndexCache index cache} if it is enabled. */
+    val Map<URI, List<Issue>> reportedIssues = new ConcurrentHashMap
+    
     @Accessors(PUBLIC_GETTER)
     XtextResourceSet resourceSet
     
@@ -72,15 +80,140 @@ class ProjectManager {
     }
     
     def Result doInitialBuild(CancelIndicator cancelIndicator) {
+        return doInitialBuild(emptyList, cancelIndicator)
+    }
+
+    /**
+     * Builds all files of this project. If the {@link ProjectIndexCache index cache} contains the state of this
+     * project, the cached index is restored and only the files whose content has changed since are rebuilt. The
+     * cached issues of the other files are reported again.
+     * 
+     * @param externalDeltas the changes of the upstream projects that have been built before
+     * @since 2.14
+     */
+    def Result doInitialBuild(List<IResourceDescription.Delta> externalDeltas, CancelIndicator cancelIndicator) {
+        return doInitialBuild(externalDeltas, false, cancelIndicator)
+    }
+
+    /**
+     * Builds all files of this project like {@link #doInitialBuild(List, CancelIndicator)}. If <code>indexOnly</code>
+     * is set, the files are indexed but not validated. They are stored in the index cache without content hash, so
+     * they are built again after a restart unless the cache is saved after they have been validated.
+     * 
+     * @since 2.14
+     */
+    def Result doInitialBuild(List<IResourceDescription.Delta> externalDeltas, boolean indexOnly, CancelIndicator cancelIndicator) {
         val uris = newArrayList
         projectConfig.sourceFolders.forEach [
-            fileSystemScanner.scan(path) [uris += it]
-        ] 
-        return doBuild(uris, emptyList, emptyList, cancelIndicator)        
-    } 
+            scanSourceFolder(path) [uris += it]
+        ]
+        val cached = if (indexCache.enabled) indexCache.load(projectDescription.name, baseDir)
+        if (cached === null) {
+            val result = doBuild(uris, emptyList, externalDeltas, indexOnly, cancelIndicator)
+            saveIndexCache(getUnvalidatedFiles(result, indexOnly))
+            return result
+        }
+        indexState = cached.indexState
+        indexProvider.get.put(projectDescription.name, indexState.resourceDescriptions)
+        val dirtyFiles = <URI>newArrayList
+        for (uri : uris) {
+            val hash = cached.getContentHash(uri)
+            if (hash === null || hash != indexCache.getContentHash(uri)) {
+                dirtyFiles += uri
+            } else {
+                val issues = cached.getIssues(uri)
+                reportedIssues.put(uri, issues)
+                issueAcceptor.apply(uri, issues)
+            }
+        }
+        val existingFiles = newHashSet(uris)
+        val deletedFiles = indexState.resourceDescriptions.allURIs.filter[!existingFiles.contains(it)].toList
+        val result = doBuild(dirtyFiles, deletedFiles, externalDeltas, indexOnly, cancelIndicator)
+        saveIndexCache(getUnvalidatedFiles(result, indexOnly))
+        return result
+    }
+
+    private def Set<URI> getUnvalidatedFiles(Result result, boolean indexOnly) {
+        if (!indexOnly)
+            return emptySet
+        return result.affectedResources.filter[^new !== null].map[uri].toSet
+    }
+
+    /**
+     * Writes the current state of this project to the {@link ProjectIndexCache index cache}, if it is enabled. The
+     * open documents and the given files are rebuilt when the state is restored.
+     * 
+     * @param outdatedFiles the files whose latest changes have not been built yet
+     * @since 2.14
+     */
+    def void saveIndexCache(Set<URI> outdatedFiles) {
+        if (!indexCache.enabled)
+            return;
+        val contentHashes = <URI, String>newHashMap
+        for (uri : indexState.resourceDescriptions.allURIs) {
+            val open = openedDocumentsContentProvider !== null && openedDocumentsContentProvider.hasContent(uri)
+            if (!open && !outdatedFiles.contains(uri)) {
+                val hash = indexCache.getContentHash(uri)
+                if (hash !== null)
+                    contentHashes.put(uri, hash)
+            }
+        }
+        indexCache.save(projectDescription.name, baseDir, indexState, contentHashes, reportedIssues)
+    }
+
+    /**
+     * Reports the files of the given source folder to the acceptor. If the file system scanner supports it, only
+     * files with a registered file extension are reported and the {@link #getExcludeGlobs() excluded} paths are
+     * skipped.
+     * 
+     * @since 2.14
+     */
+    protected def void scanSourceFolder(URI sourceFolder, IAcceptor<URI> acceptor) {
+        val scanner = fileSystemScanner
+        if (scanner instanceof ParallelFileSystemScanner) {
+            scanner.scan(sourceFolder, fileExtensions, excludeGlobs, acceptor)
+        } else {
+            scanner.scan(sourceFolder, acceptor)
+        }
+    }
+
+    /**
+     * Returns the extensions of the files that take part in the build, or <code>null</code> if the languages cannot
+     * be determined by the file extension alone.
+     * 
+     * @since 2.14
+     */
+    protected def Set<String> getFileExtensions() {
+        if (!languagesRegistry.contentTypeToFactoryMap.empty || !languagesRegistry.protocolToFactoryMap.empty)
+            return null
+        val extensions = languagesRegistry.extensionToFactoryMap.keySet
+        if (extensions.contains(Resource.Factory.Registry.DEFAULT_EXTENSION))
+            return null
+        return extensions
+    }
+
+    /**
+     * Returns glob patterns for the paths below a source folder that are not scanned, e.g. <code>**&#47;node_modules</code>.
+     * 
+     * @since 2.14
+     */
+    protected def List<String> getExcludeGlobs() {
+        return emptyList
+    }
 
     def Result doBuild(List<URI> dirtyFiles, List<URI> deletedFiles, List<IResourceDescription.Delta> externalDeltas, CancelIndicator cancelIndicator) {
+        return doBuild(dirtyFiles, deletedFiles, externalDeltas, false, cancelIndicator)
+    }
+
+    /**
+     * Builds the given files. If <code>indexOnly</code> is set, the files are indexed but neither validated nor
+     * generated.
+     * 
+     * @since 2.14
+     */
+    def Result doBuild(List<URI> dirtyFiles, List<URI> deletedFiles, List<IResourceDescription.Delta> externalDeltas, boolean indexOnly, CancelIndicator cancelIndicator) {
         val request = newBuildRequest(dirtyFiles, deletedFiles, externalDeltas, cancelIndicator)
+        request.indexOnly = indexOnly
         val result = incrementalBuilder.build(request, [
             languagesRegistry.getResourceServiceProvider(it)
         ])
@@ -100,6 +233,8 @@ class ProjectManager {
             it.externalDeltas = externalDeltas
             afterValidate = [ uri, issues |
                 issueAcceptor.apply(uri, issues)
+                if (indexCache.enabled)
+                    reportedIssues.put(uri, issues.toList)
                 return true
             ]
             it.cancelIndicator = cancelIndicator
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.parser.IParseResult;
+import org.eclipse.xtext.resource.XtextResource;
+
+import com.google.common.base.Predicate;
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+/**
+ * Limits the memory that is used by the loaded resources of the language server. The retained size of each loaded
+ * resource is estimated when it is seen for the first time. If the total size exceeds the {@link #MEMORY_BUDGET
+ * budget}, the least recently used resources are unloaded until the total size is within the budget again. Their
+ * resource descriptions stay in the index, and the resources are loaded again when they are accessed, e.g. by
+ * resolving a cross-reference. Languages that provide a resource storage reload them from the storage instead of
+ * parsing them again.
+ *
+ * The budget is disabled unless a positive value is bound to {@link #MEMORY_BUDGET}.
+ *
+ * @since 2.14
+ */
+public class ResourceMemoryManager {
+
+	/**
+	 * The name of a <code>long</code> constant for the approximate number of bytes that the loaded resources may use.
+	 */
+	public static final String MEMORY_BUDGET = "org.eclipse.xtext.ide.server.ResourceMemoryManager.memoryBudget";
+
+	/**
+	 * The estimated number of bytes per character of the text of a resource, which accounts for the node model, the
+	 * semantic model and the text itself.
+	 */
+	protected static final long BYTES_PER_CHARACTER = 64;
+
+	/**
+	 * The estimated size of a resource without a node model.
+	 */
+	protected static final long DEFAULT_RESOURCE_SIZE = 64 * 1024;
+
+	@Inject(optional = true)
+	@Named(MEMORY_BUDGET)
+	private long memoryBudget = 0;
+
+	/** the estimated sizes of the loaded resources, the least recently used first */
+	private final LinkedHashMap<Resource, Long> sizes = new LinkedHashMap<Resource, Long>(16, 0.75f, true);
+
+	private long totalSize;
+
+	public boolean isEnabled() {
+		return memoryBudget > 0;
+	}
+
+	public long getMemoryBudget() {
+		return memoryBudget;
+	}
+
+	public synchronized long getTotalSize() {
+		return totalSize;
+	}
+
+	/**
+	 * Marks the given resource as used.
+	 */
+	public synchronized void touch(Resource resource) {
+		if (!isEnabled() || resource == null)
+			return;
+		if (sizes.get(resource) == null && resource.isLoaded()) {
+			long size = estimateSize(resource);
+			sizes.put(resource, size);
+			totalSize += size;
+		}
+	}
+
+	/**
+	 * Registers the loaded resources of the given resource sets that have not been seen before as the most recently
+	 * used ones, and unloads the least recently used resources until the total size is within the budget.
+	 *
+	 * @param canUnload
+	 *            whether the resource with the given URI may be unloaded, e.g. because it is not open in an editor.
+	 */
+	public synchronized void unloadResources(Iterable<? extends ResourceSet> resourceSets, Predicate<URI> canUnload) {
+		if (!isEnabled())
+			return;
+		Iterator<Map.Entry<Resource, Long>> iterator = sizes.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Resource, Long> entry = iterator.next();
+			Resource resource = entry.getKey();
+			if (resource.getResourceSet() == null || !resource.isLoaded()) {
+				totalSize -= entry.getValue();
+				iterator.remove();
+			}
+		}
+		for (ResourceSet resourceSet : resourceSets) {
+			for (Resource resource : new ArrayList<Resource>(resourceSet.getResources())) {
+				if (!sizes.containsKey(resource))
+					touch(resource);
+			}
+		}
+		iterator = sizes.entrySet().iterator();
+		while (totalSize > memoryBudget && iterator.hasNext()) {
+			Map.Entry<Resource, Long> entry = iterator.next();
+			Resource resource = entry.getKey();
+			if (canUnload.apply(resource.getURI())) {
+				totalSize -= entry.getValue();
+				iterator.remove();
+				unload(resource);
+			}
+		}
+	}
+
+	protected void unload(Resource resource) {
+		ResourceSet resourceSet = resource.getResourceSet();
+		if (resourceSet != null)
+			resourceSet.getResources().remove(resource);
+		resource.unload();
+	}
+
+	/**
+	 * Returns the approximate number of bytes that the given loaded resource retains.
+	 */
+	protected long estimateSize(Resource resource) {
+		if (resource instanceof XtextResource) {
+			IParseResult parseResult = ((XtextResource) resource).getParseResult();
+			ICompositeNode rootNode = parseResult != null ? parseResult.getRootNode() : null;
+			if (rootNode != null)
+				return rootNode.getTotalLength() * BYTES_PER_CHARACTER;
+		}
+		return DEFAULT_RESOURCE_SIZE;
+	}
+
+}
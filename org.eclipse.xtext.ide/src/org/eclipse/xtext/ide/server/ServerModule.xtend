@@ -15,6 +15,8 @@ import org.eclipse.xtext.resource.IContainer
 import org.eclipse.xtext.resource.IResourceServiceProvider
 import org.eclipse.xtext.resource.ResourceServiceProviderServiceLoader
 import org.eclipse.xtext.resource.containers.ProjectDescriptionBasedContainerManager
+import org.eclipse.xtext.util.IFileSystemScanner
+import org.eclipse.xtext.util.ParallelFileSystemScanner
 
 /**
  * @author Sven Efftinge - Initial contribution and API
@@ -30,6 +32,7 @@ class ServerModule extends AbstractModule {
         bind(IWorkspaceConfigFactory).to(ProjectWorkspaceConfigFactory)
         bind(IProjectDescriptionFactory).to(DefaultProjectDescriptionFactory)
         bind(IContainer.Manager).to(ProjectDescriptionBasedContainerManager)
+        bind(IFileSystemScanner).to(ParallelFileSystemScanner)
     }
     
 }
\ No newline at end of file
@@ -9,18 +9,22 @@ package org.eclipse.xtext.ide.server
 
 import com.google.inject.Inject
 import com.google.inject.Provider
+import com.google.inject.name.Named
 import java.util.ArrayList
 import java.util.HashSet
 import java.util.List
 import java.util.Map
 import java.util.Set
+import java.util.concurrent.ConcurrentHashMap
 import org.eclipse.emf.common.util.URI
+import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.lsp4j.TextEdit
 import org.eclipse.lsp4j.jsonrpc.ResponseErrorException
 import org.eclipse.lsp4j.jsonrpc.messages.ResponseError
 import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode
 import org.eclipse.xtext.ide.server.BuildManager.Buildable
 import org.eclipse.xtext.ide.server.ILanguageServerAccess.IBuildListener
+import org.eclipse.xtext.ide.server.InitialBuildProgress.Stage
 import org.eclipse.xtext.resource.IExternalContentSupport.IExternalContentProvider
 import org.eclipse.xtext.resource.IResourceDescription
 import org.eclipse.xtext.resource.IResourceDescription.Delta
@@ -39,11 +43,33 @@ import org.eclipse.xtext.workspace.IWorkspaceConfig
  */
 @Log class WorkspaceManager {
 
+	/**
+	 * The name of an <code>int</code> constant for the number of files that are validated per request after a
+	 * {@link #initializeIndex(URI, Procedure2, CancelIndicator) staged initial build}. A value of zero, the default,
+	 * disables the staged initial build, i.e. all files are validated before the initialization completes.
+	 * 
+	 * @since 2.14
+	 */
+	public static val INITIAL_VALIDATION_BATCH_SIZE = WorkspaceManager.canonicalName + '.initialValidationBatchSize'
+
 	@Inject Provider<ProjectManager> projectManagerProvider
 	@Inject IWorkspaceConfigFactory workspaceConfigFactory
 	@Inject IProjectDescriptionFactory projectDescriptionFactory
+	@Inject ResourceMemoryManager memoryManager
 	BuildManager buildManager
 
+	@Inject(optional=true) @Named(INITIAL_VALIDATION_BATCH_SIZE)
+	int initialValidationBatchSize = 0
+
+	/**
+	 * @since 2.14
+	 */
+	@Inject @Accessors(PUBLIC_GETTER) InitialBuildProgress initialBuildProgress
+
+	/** The files that have been indexed by the staged initial build but have not been validated yet. */
+	val pendingValidation = <URI>newLinkedHashSet
+	int initialValidationCount
+
 	Map<String, ProjectManager> projectName2ProjectManager = newHashMap
 
 	URI baseDir
@@ -56,7 +82,7 @@ import org.eclipse.xtext.workspace.IWorkspaceConfig
 		this.buildListeners += listener
 	}
 
-	Map<String, ResourceDescriptionsData> fullIndex = newHashMap()
+	Map<String, ResourceDescriptionsData> fullIndex = new ConcurrentHashMap()
 
 	Map<URI, Document> openDocuments = newHashMap()
 
@@ -87,7 +113,72 @@ import org.eclipse.xtext.workspace.IWorkspaceConfig
 		refreshWorkspaceConfig(cancelIndicator)
 	}
 
+	/**
+	 * Returns whether the workspace should be initialized in stages, i.e. indexed by
+	 * {@link #initializeIndex(URI, Procedure2, CancelIndicator)} and validated in batches afterwards.
+	 * 
+	 * @since 2.14
+	 */
+	def boolean isStagedInitialBuild() {
+		return initialValidationBatchSize > 0
+	}
+
+	/**
+	 * Scans and indexes all projects of the workspace without validating their files. Once this method returns,
+	 * requests can be served against the complete index. The indexed files have to be validated by subsequent calls
+	 * to {@link #validateNextBatch()}.
+	 * 
+	 * @since 2.14
+	 */
+	def void initializeIndex(URI baseDir, (URI, Iterable<Issue>)=>void issueAcceptor, CancelIndicator cancelIndicator) {
+		this.baseDir = baseDir
+		this.issueAcceptor = issueAcceptor
+		val deltas = refreshWorkspaceConfig(true, cancelIndicator)
+		for (delta : deltas) {
+			if (delta.^new !== null)
+				pendingValidation += delta.uri
+		}
+		initialValidationCount = pendingValidation.size
+		initialBuildProgress.begin(Stage.VALIDATE, initialValidationCount)
+	}
+
+	/**
+	 * Returns a buildable that validates the next batch of the files that have been indexed by
+	 * {@link #initializeIndex(URI, Procedure2, CancelIndicator)}, or <code>null</code> if all of them have been
+	 * validated. Documents that are opened in the meantime are removed from the pending files, since they are
+	 * validated by the build of their own request. The files of a cancelled batch remain queued in the
+	 * {@link BuildManager} and are validated by the next build.
+	 * 
+	 * @since 2.14
+	 */
+	def Buildable validateNextBatch() {
+		if (pendingValidation.empty)
+			return null
+		val batch = pendingValidation.take(initialValidationBatchSize).toList
+		val buildable = didChangeFiles(batch, newArrayList)
+		return [ cancelIndicator |
+			val deltas = buildable.build(cancelIndicator)
+			initialBuildProgress.update(Stage.VALIDATE, initialValidationCount - pendingValidation.size, null)
+			if (pendingValidation.empty)
+				initialBuildProgress.done(Stage.VALIDATE)
+			return deltas
+		]
+	}
+
 	protected def void refreshWorkspaceConfig(CancelIndicator cancelIndicator) {
+		refreshWorkspaceConfig(false, cancelIndicator)
+	}
+
+	/**
+	 * Reads the workspace configuration and builds the projects that have been added. If <code>indexOnly</code> is
+	 * set, the files of the new projects are indexed but not validated.
+	 * 
+	 * @return the deltas of the initial build of the new projects
+	 * @since 2.14
+	 */
+	protected def List<Delta> refreshWorkspaceConfig(boolean indexOnly, CancelIndicator cancelIndicator) {
+		if (indexOnly)
+			initialBuildProgress.begin(Stage.SCAN, 0)
 		workspaceConfig = workspaceConfigFactory.getWorkspaceConfig(baseDir)
 		val newProjects = newArrayList
 		val Set<String> remainingProjectNames = new HashSet(projectName2ProjectManager.keySet)
@@ -107,8 +198,11 @@ import org.eclipse.xtext.workspace.IWorkspaceConfig
 			projectName2ProjectManager.remove(deletedProject)
 			fullIndex.remove(deletedProject)
 		}
-		val result = buildManager.doInitialBuild(newProjects, cancelIndicator)
+		if (indexOnly)
+			initialBuildProgress.done(Stage.SCAN)
+		val result = buildManager.doInitialBuild(newProjects, indexOnly, cancelIndicator)
 		afterBuild(result)
+		return result
 	}
 
 	protected def IWorkspaceConfig getWorkspaceConfig() {
@@ -128,9 +222,26 @@ import org.eclipse.xtext.workspace.IWorkspaceConfig
 		for (listener : buildListeners) {
 			listener.afterBuild(deltas)
 		}
+		unloadResources()
+	}
+
+	/**
+	 * Unloads the least recently used resources that are not open in an editor, if the loaded resources exceed the
+	 * {@link ResourceMemoryManager memory budget}.
+	 * 
+	 * @since 2.14
+	 */
+	protected def void unloadResources() {
+		if (memoryManager.enabled) {
+			memoryManager.unloadResources(projectName2ProjectManager.values.map[resourceSet].filterNull) [
+				!isDocumentOpen(it)
+			]
+		}
 	}
 
 	def Buildable didChangeFiles(List<URI> dirtyFiles, List<URI> deletedFiles) {
+		pendingValidation -= dirtyFiles
+		pendingValidation -= deletedFiles
 		val buildable = buildManager.submit(dirtyFiles, deletedFiles)
 		return [ cancelIndicator |
 			val deltas = buildable.build(cancelIndicator)
@@ -139,6 +250,16 @@ import org.eclipse.xtext.workspace.IWorkspaceConfig
 		]
 	}
 
+	/**
+	 * Returns the time in milliseconds until the edited documents should be built, see
+	 * {@link BuildManager#getRemainingDebounceDelay()}.
+	 * 
+	 * @since 2.14
+	 */
+	def long getRemainingDebounceDelay() {
+		return buildManager.remainingDebounceDelay
+	}
+
 	def List<IResourceDescription.Delta> doBuild(List<URI> dirtyFiles, List<URI> deletedFiles,
 		CancelIndicator cancelIndicator) {
 		return didChangeFiles(dirtyFiles, deletedFiles).build(cancelIndicator)
@@ -166,6 +287,19 @@ import org.eclipse.xtext.workspace.IWorkspaceConfig
 		new ArrayList(projectName2ProjectManager.values)
 	}
 
+	/**
+	 * Writes the state of all projects to the {@link ProjectIndexCache index cache}, if it is enabled.
+	 * 
+	 * @since 2.14
+	 */
+	def void saveIndexCache() {
+		val pendingFiles = buildManager.pendingFiles
+		pendingFiles += pendingValidation
+		for (projectManager : projectName2ProjectManager.values) {
+			projectManager.saveIndexCache(pendingFiles)
+		}
+	}
+
 	def didChange(URI uri, int version, Iterable<TextEdit> changes, CancelIndicator cancelIndicator) {
 		didChange(uri, version, changes).build(cancelIndicator)
 	}
@@ -177,6 +311,7 @@ import org.eclipse.xtext.workspace.IWorkspaceConfig
 		}
 		val contents = openDocuments.get(uri)
 		openDocuments.put(uri, contents.applyChanges(changes))
+		buildManager.markEdited(uri)
 		return didChangeFiles(#[uri], newArrayList)
 	}
 
@@ -215,6 +350,7 @@ import org.eclipse.xtext.workspace.IWorkspaceConfig
 		if (resource === null) {
 			return work.apply(null, null)
 		}
+		memoryManager.touch(resource)
 		var doc = getDocument(resource)
 		return work.apply(doc, projectMnr.getResource(resourceURI) as XtextResource)
 	}
@@ -0,0 +1,441 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server.coloring;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.ide.editor.syntaxcoloring.IHighlightedPositionAcceptor;
+import org.eclipse.xtext.ide.editor.syntaxcoloring.IIncrementalSemanticHighlightingCalculator;
+import org.eclipse.xtext.ide.editor.syntaxcoloring.ISemanticHighlightingCalculator;
+import org.eclipse.xtext.ide.editor.syntaxcoloring.LightweightPosition;
+import org.eclipse.xtext.ide.editor.syntaxcoloring.MergingHighlightedPositionAcceptor;
+import org.eclipse.xtext.ide.server.Document;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.ILeafNode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.parser.IParseResult;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.util.CancelIndicator;
+
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * Computes the semantic highlighting of documents and encodes it as a compact int array.
+ *
+ * The latest highlighting of a document is cached together with its version. If the
+ * {@link ISemanticHighlightingCalculator calculator} is {@link IIncrementalSemanticHighlightingCalculator incremental},
+ * only the smallest element that contains the changed text is highlighted again after an edit, and the positions
+ * before and after that element are reused as long as the targets of the cross references outside of that element
+ * did not change.
+ *
+ * @since 2.14
+ */
+@Singleton
+public class SemanticHighlightingService {
+
+	/**
+	 * The number of ints that encode a single position.
+	 */
+	public static final int POSITION_SIZE = 4;
+
+	private static final int MAX_CACHED_DOCUMENTS = 32;
+
+	/**
+	 * The highlighting of a document version.
+	 *
+	 * The {@link #getData() data} contains {@value SemanticHighlightingService#POSITION_SIZE} ints per position: the line
+	 * relative to the line of the previous position, the column relative to the column of the previous position if both
+	 * are on the same line or the absolute column otherwise, the length and the index of the style ids in
+	 * {@link #getStyles()}. Lines and columns are zero-based.
+	 */
+	public static class Highlighting {
+
+		private final int version;
+		private final String text;
+		/** the absolute offset, length and style of each position */
+		private final int[] positions;
+		private final int[] data;
+		private final List<String[]> styles;
+		/** the links of the document, or <code>null</code> if the calculator is not incremental */
+		private final Links links;
+
+		protected Highlighting(int version, String text, int[] positions, int[] data, List<String[]> styles,
+				Links links) {
+			this.version = version;
+			this.text = text;
+			this.positions = positions;
+			this.data = data;
+			this.styles = styles;
+			this.links = links;
+		}
+
+		public int getVersion() {
+			return version;
+		}
+
+		/**
+		 * The encoded positions. The array must not be modified.
+		 */
+		public int[] getData() {
+			return data;
+		}
+
+		/**
+		 * The style ids of the positions. Styles keep their index in later versions of the same document.
+		 */
+		public List<String[]> getStyles() {
+			return styles;
+		}
+
+		public int getPositionCount() {
+			return positions.length / 3;
+		}
+	}
+
+	/**
+	 * The change of the {@link Highlighting#getData() data} of a document between two versions: the ints from
+	 * {@link #getStart() start} to <code>start + deleteCount</code> are replaced by the {@link #getData() data}.
+	 */
+	public static class Delta {
+
+		private final int previousVersion;
+		private final int version;
+		private final int start;
+		private final int deleteCount;
+		private final int[] data;
+		private final List<String[]> styles;
+
+		protected Delta(int previousVersion, int version, int start, int deleteCount, int[] data, List<String[]> styles) {
+			this.previousVersion = previousVersion;
+			this.version = version;
+			this.start = start;
+			this.deleteCount = deleteCount;
+			this.data = data;
+			this.styles = styles;
+		}
+
+		public int getPreviousVersion() {
+			return previousVersion;
+		}
+
+		public int getVersion() {
+			return version;
+		}
+
+		public int getStart() {
+			return start;
+		}
+
+		public int getDeleteCount() {
+			return deleteCount;
+		}
+
+		public int[] getData() {
+			return data;
+		}
+
+		public List<String[]> getStyles() {
+			return styles;
+		}
+	}
+
+	/**
+	 * The targets of the cross references of the elements of a document version.
+	 */
+	protected static class Links {
+
+		/** the total offset and length of each element with cross references */
+		private final int[] regions;
+		private final String[] targets;
+
+		protected Links(int[] regions, String[] targets) {
+			this.regions = regions;
+			this.targets = targets;
+		}
+
+		/**
+		 * Returns the offsets and targets of the elements that are not contained in the region from start to end.
+		 * Offsets after that region are shifted by the given amount.
+		 */
+		private List<String> getLinksOutside(int start, int end, int shift) {
+			List<String> result = new ArrayList<String>(targets.length);
+			for (int i = 0; i < targets.length; i++) {
+				int offset = regions[i * 2];
+				if (offset >= start && offset + regions[i * 2 + 1] <= end)
+					continue;
+				result.add((offset >= end ? offset + shift : offset) + ":" + targets[i]);
+			}
+			return result;
+		}
+	}
+
+	@Inject
+	private ISemanticHighlightingCalculator calculator;
+
+	private final Map<URI, Highlighting> cache = new LinkedHashMap<URI, Highlighting>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<URI, Highlighting> eldest) {
+			return size() > MAX_CACHED_DOCUMENTS;
+		}
+	};
+
+	/**
+	 * Returns the highlighting of the given document, which has to be the document of the given resource.
+	 */
+	public Highlighting getHighlighting(Document document, XtextResource resource, CancelIndicator cancelIndicator) {
+		URI uri = resource.getURI();
+		Highlighting previous;
+		synchronized (cache) {
+			previous = cache.get(uri);
+		}
+		if (previous != null && previous.getVersion() == document.getVersion())
+			return previous;
+		Highlighting result = null;
+		Links links = null;
+		if (calculator instanceof IIncrementalSemanticHighlightingCalculator)
+			links = computeLinks(resource);
+		if (previous != null && links != null && previous.links != null)
+			result = update(previous, links, document, resource, cancelIndicator);
+		if (result == null) {
+			List<String[]> styles = previous != null ? previous.getStyles() : Collections.<String[]> emptyList();
+			result = createHighlighting(document, computePositions(resource, null, cancelIndicator), styles, links);
+		}
+		synchronized (cache) {
+			cache.put(uri, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the change of the highlighting since the given version, or <code>null</code> if the highlighting of that
+	 * version is no longer known. In that case clients have to request the complete {@link #getHighlighting highlighting}.
+	 */
+	public Delta getDelta(Document document, XtextResource resource, int previousVersion,
+			CancelIndicator cancelIndicator) {
+		Highlighting previous;
+		synchronized (cache) {
+			previous = cache.get(resource.getURI());
+		}
+		if (previous == null || previous.getVersion() != previousVersion)
+			return null;
+		Highlighting current = getHighlighting(document, resource, cancelIndicator);
+		int[] oldData = previous.getData();
+		int[] newData = current.getData();
+		int max = Math.min(oldData.length, newData.length);
+		int prefix = 0;
+		while (prefix < max && oldData[prefix] == newData[prefix]) {
+			prefix++;
+		}
+		prefix -= prefix % POSITION_SIZE;
+		int suffix = 0;
+		while (suffix < max - prefix && oldData[oldData.length - 1 - suffix] == newData[newData.length - 1 - suffix]) {
+			suffix++;
+		}
+		suffix -= suffix % POSITION_SIZE;
+		return new Delta(previousVersion, current.getVersion(), prefix, oldData.length - suffix - prefix,
+				Arrays.copyOfRange(newData, prefix, newData.length - suffix), current.getStyles());
+	}
+
+	/**
+	 * Highlights the element that contains the changed text again. Is only called for
+	 * {@link IIncrementalSemanticHighlightingCalculator incremental} calculators. Returns <code>null</code> if the
+	 * highlighting has to be recomputed completely, e.g. because the change affected the linking of other elements.
+	 */
+	protected Highlighting update(Highlighting previous, Links links, Document document, XtextResource resource,
+			CancelIndicator cancelIndicator) {
+		String oldText = previous.text;
+		String newText = document.getContents();
+		if (oldText.equals(newText))
+			return null;
+		int max = Math.min(oldText.length(), newText.length());
+		int prefix = 0;
+		while (prefix < max && oldText.charAt(prefix) == newText.charAt(prefix)) {
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < max - prefix
+				&& oldText.charAt(oldText.length() - 1 - suffix) == newText.charAt(newText.length() - 1 - suffix)) {
+			suffix++;
+		}
+		EObject element = findChangedElement(resource, prefix, newText.length() - suffix);
+		if (element == null)
+			return null;
+		ICompositeNode node = NodeModelUtils.getNode(element);
+		int start = node.getTotalOffset();
+		int end = node.getTotalEndOffset();
+		int shift = newText.length() - oldText.length();
+		if (!previous.links.getLinksOutside(start, end - shift, shift).equals(links.getLinksOutside(start, end, 0)))
+			return null;
+		List<LightweightPosition> changed = computePositions(resource, element, cancelIndicator);
+		for (LightweightPosition position : changed) {
+			if (position.getOffset() < start || position.getOffset() + position.getLength() > end)
+				return null;
+		}
+		List<LightweightPosition> before = new ArrayList<LightweightPosition>();
+		List<LightweightPosition> after = new ArrayList<LightweightPosition>();
+		int[] positions = previous.positions;
+		for (int i = 0; i < positions.length; i += 3) {
+			int offset = positions[i];
+			int length = positions[i + 1];
+			String[] ids = previous.getStyles().get(positions[i + 2]);
+			if (offset + length <= start) {
+				before.add(new LightweightPosition(offset, length, 0, ids));
+			} else if (offset >= end - shift) {
+				after.add(new LightweightPosition(offset + shift, length, 0, ids));
+			} else if (offset < start || offset + length > end - shift) {
+				// the position overlaps the boundary of the element
+				return null;
+			}
+		}
+		List<LightweightPosition> result = new ArrayList<LightweightPosition>(before.size() + changed.size() + after.size());
+		result.addAll(before);
+		result.addAll(changed);
+		result.addAll(after);
+		return createHighlighting(document, result, previous.getStyles(), links);
+	}
+
+	/**
+	 * Returns the innermost element whose text region contains the given region of the new text.
+	 */
+	protected EObject findChangedElement(XtextResource resource, int start, int end) {
+		IParseResult parseResult = resource.getParseResult();
+		if (parseResult == null || parseResult.getRootASTElement() == null)
+			return null;
+		ILeafNode leaf = NodeModelUtils.findLeafNodeAtOffset(parseResult.getRootNode(), start);
+		EObject element = leaf != null ? NodeModelUtils.findActualSemanticObjectFor(leaf) : null;
+		if (element == null)
+			element = parseResult.getRootASTElement();
+		while (element != null) {
+			ICompositeNode node = NodeModelUtils.getNode(element);
+			if (node != null && node.getTotalOffset() <= start && node.getTotalEndOffset() >= end)
+				return element;
+			element = element.eContainer();
+		}
+		return null;
+	}
+
+	/**
+	 * Resolves the cross references of all elements in the given resource.
+	 */
+	protected Links computeLinks(XtextResource resource) {
+		List<Integer> regions = new ArrayList<Integer>();
+		List<String> targets = new ArrayList<String>();
+		TreeIterator<EObject> iterator = resource.getAllContents();
+		while (iterator.hasNext()) {
+			EObject object = iterator.next();
+			ICompositeNode node = NodeModelUtils.getNode(object);
+			if (node == null || object.eClass().getEAllReferences().isEmpty())
+				continue;
+			StringBuilder builder = null;
+			for (EObject target : object.eCrossReferences()) {
+				if (builder == null)
+					builder = new StringBuilder();
+				else
+					builder.append(',');
+				if (!target.eIsProxy())
+					builder.append(EcoreUtil.getURI(target));
+			}
+			if (builder != null) {
+				regions.add(node.getTotalOffset());
+				regions.add(node.getTotalLength());
+				targets.add(builder.toString());
+			}
+		}
+		int[] regionArray = new int[regions.size()];
+		for (int i = 0; i < regionArray.length; i++) {
+			regionArray[i] = regions.get(i);
+		}
+		return new Links(regionArray, targets.toArray(new String[targets.size()]));
+	}
+
+	/**
+	 * Computes the merged positions of the given element, or of the complete resource if the element is
+	 * <code>null</code>.
+	 */
+	protected List<LightweightPosition> computePositions(XtextResource resource, EObject element,
+			CancelIndicator cancelIndicator) {
+		MergingHighlightedPositionAcceptor acceptor = new MergingHighlightedPositionAcceptor(calculator);
+		if (element == null) {
+			acceptor.provideHighlightingFor(resource, new IHighlightedPositionAcceptor() {
+				@Override
+				public void addPosition(int offset, int length, String... id) {
+				}
+			}, cancelIndicator);
+		} else {
+			((IIncrementalSemanticHighlightingCalculator) calculator).provideHighlightingFor(resource, element,
+					acceptor, cancelIndicator);
+			acceptor.mergePositions();
+		}
+		return acceptor.getPositions();
+	}
+
+	/**
+	 * Encodes the given sorted positions. Styles that are not contained in the given styles are appended.
+	 */
+	protected Highlighting createHighlighting(Document document, List<LightweightPosition> sortedPositions,
+			List<String[]> styles, Links links) {
+		List<String[]> allStyles = new ArrayList<String[]>(styles);
+		Map<List<String>, Integer> styleIndexes = new HashMap<List<String>, Integer>();
+		for (int i = 0; i < styles.size(); i++) {
+			styleIndexes.put(Arrays.asList(styles.get(i)), i);
+		}
+		String text = document.getContents();
+		int[] positions = new int[sortedPositions.size() * 3];
+		int[] data = new int[sortedPositions.size() * POSITION_SIZE];
+		int textIndex = 0;
+		int line = 0;
+		int lineStart = 0;
+		int previousLine = 0;
+		int previousColumn = 0;
+		for (int i = 0; i < sortedPositions.size(); i++) {
+			LightweightPosition position = sortedPositions.get(i);
+			String[] ids = position.getIds();
+			List<String> key = Arrays.asList(ids);
+			Integer style = styleIndexes.get(key);
+			if (style == null) {
+				style = allStyles.size();
+				allStyles.add(ids);
+				styleIndexes.put(key, style);
+			}
+			int offset = Math.min(position.getOffset(), text.length());
+			for (; textIndex < offset; textIndex++) {
+				if (text.charAt(textIndex) == '\n') {
+					line++;
+					lineStart = textIndex + 1;
+				}
+			}
+			int column = offset - lineStart;
+			positions[i * 3] = position.getOffset();
+			positions[i * 3 + 1] = position.getLength();
+			positions[i * 3 + 2] = style;
+			data[i * POSITION_SIZE] = line - previousLine;
+			data[i * POSITION_SIZE + 1] = line == previousLine ? column - previousColumn : column;
+			data[i * POSITION_SIZE + 2] = position.getLength();
+			data[i * POSITION_SIZE + 3] = style;
+			previousLine = line;
+			previousColumn = column;
+		}
+		return new Highlighting(document.getVersion(), text, positions, data, ImmutableList.copyOf(allStyles),
+				links);
+	}
+
+}
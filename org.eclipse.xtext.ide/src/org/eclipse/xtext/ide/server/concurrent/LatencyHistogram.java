@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server.concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts latencies in buckets whose bounds are powers of two milliseconds. The first bucket counts latencies below one
+ * millisecond, the bucket <code>i</code> latencies from <code>2^(i-1)</code> to below <code>2^i</code> milliseconds,
+ * and the last bucket all latencies above.
+ *
+ * The histogram can be updated and read concurrently without locking.
+ *
+ * @since 2.14
+ */
+public class LatencyHistogram {
+
+	public static final int BUCKET_COUNT = 18;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+	public void record(long latencyNanos) {
+		buckets.incrementAndGet(getBucket(TimeUnit.NANOSECONDS.toMillis(latencyNanos)));
+	}
+
+	protected int getBucket(long latencyMillis) {
+		if (latencyMillis <= 0)
+			return 0;
+		int bucket = 64 - Long.numberOfLeadingZeros(latencyMillis);
+		return Math.min(bucket, BUCKET_COUNT - 1);
+	}
+
+	/**
+	 * Returns the upper bound in milliseconds of the given bucket, or {@link Long#MAX_VALUE} for the last bucket.
+	 */
+	public static long getUpperBoundMillis(int bucket) {
+		if (bucket >= BUCKET_COUNT - 1)
+			return Long.MAX_VALUE;
+		return 1L << bucket;
+	}
+
+	public long getCount(int bucket) {
+		return buckets.get(bucket);
+	}
+
+	public long getTotalCount() {
+		long result = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++)
+			result += buckets.get(i);
+		return result;
+	}
+
+	/**
+	 * Returns the upper bound in milliseconds of the bucket that contains the given percentile, e.g.
+	 * <code>getPercentileMillis(0.95)</code>, or zero if no latency has been recorded.
+	 */
+	public long getPercentileMillis(double percentile) {
+		long[] counts = new long[BUCKET_COUNT];
+		long total = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+		if (total == 0)
+			return 0;
+		long threshold = (long) Math.ceil(total * percentile);
+		long sum = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			sum += counts[i];
+			if (sum >= threshold)
+				return getUpperBoundMillis(i);
+		}
+		return getUpperBoundMillis(BUCKET_COUNT - 1);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			long count = buckets.get(i);
+			if (count > 0) {
+				if (result.length() > 0)
+					result.append(", ");
+				long bound = getUpperBoundMillis(i);
+				result.append(bound == Long.MAX_VALUE ? ">" + getUpperBoundMillis(i - 1) : "<" + bound).append("ms: ")
+						.append(count);
+			}
+		}
+		return result.toString();
+	}
+
+}
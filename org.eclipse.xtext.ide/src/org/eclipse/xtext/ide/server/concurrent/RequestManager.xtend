@@ -9,8 +9,12 @@ package org.eclipse.xtext.ide.server.concurrent
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder
 import com.google.inject.Inject
+import java.util.Collections
+import java.util.Map
 import java.util.concurrent.CompletableFuture
 import java.util.concurrent.CompletionException
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executor
 import java.util.concurrent.ExecutorService
 import java.util.concurrent.Executors
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor
@@ -18,14 +22,37 @@ import org.eclipse.xtext.service.OperationCanceledManager
 import org.eclipse.xtext.util.CancelIndicator
 
 /**
+ * Executes the requests of the language server. Write requests are executed one after another on a single thread,
+ * and each of them cancels the previous requests. Read requests are executed concurrently after the previous write
+ * requests. The read requests that wait for a thread are executed in the order of their {@link #getPriority(String)
+ * priority} by the {@link RequestScheduler}.
+ * 
+ * Requests may be submitted from any thread, e.g. by timers or by the callbacks of other requests. Registering and
+ * cancelling requests is synchronized on the request manager.
  * 
  * @author kosyakov - Initial contribution and API
  * @since 2.11
  */
 class RequestManager {
 
+	/**
+	 * The kind of the read requests that do not specify a kind.
+	 * 
+	 * @since 2.14
+	 */
+	public static val String READ = 'read'
+
+	/**
+	 * The kind of the write requests.
+	 * 
+	 * @since 2.14
+	 */
+	public static val String WRITE = 'write'
+
 	@Inject ExecutorService parallel
 
+	@Inject RequestScheduler scheduler
+
 	@Inject
 	OperationCanceledManager operationCanceledManager
 
@@ -34,6 +61,13 @@ class RequestManager {
 	)
 	var requests = <AbstractRequest<?>>newArrayList
 
+	val Map<String, LatencyHistogram> latencies = new ConcurrentHashMap
+
+	/**
+	 * The background tasks that have been cancelled by a write request. They are submitted again after that request.
+	 */
+	val cancelledBackgroundTasks = <()=>void>newArrayList
+
 	def void shutdown() {
 		queue.shutdown()
 		parallel.shutdown()
@@ -41,27 +75,162 @@ class RequestManager {
 	}
 
 	def <V> CompletableFuture<V> runRead((CancelIndicator)=>V cancellable) {
-		return submit(
-			new ReadRequest(cancellable, parallel)
-		)
+		return runRead(READ, cancellable)
+	}
+
+	/**
+	 * Runs a read request of the given kind, e.g. the name of the protocol method. The kind determines the
+	 * {@link #getPriority(String) priority} of the request and the histogram its latency is recorded in.
+	 * 
+	 * A read request that is submitted by a running read request, e.g. by a command that waits for another read, is
+	 * executed right away on the current thread, since the threads of the {@link RequestScheduler} may all be waiting
+	 * for such nested requests otherwise.
+	 * 
+	 * @since 2.14
+	 */
+	def <V> CompletableFuture<V> runRead(String kind, (CancelIndicator)=>V cancellable) {
+		val start = System.nanoTime
+		if (scheduler.isWorkerThread) {
+			val request = new ReadRequest(cancellable, [run])
+			synchronized (this) {
+				requests += request
+			}
+			request.run
+			return recordLatency(kind, start, request.get)
+		}
+		return recordLatency(kind, start, submit(
+			new ReadRequest(cancellable, scheduler.getExecutor(getPriority(kind)))
+		))
 	}
 
 	def <U, V> CompletableFuture<V> runWrite(()=>U nonCancellable, (CancelIndicator, U)=>V cancellable) {
-		val cancelFuture = cancel()
-		return submit(
-			new WriteRequest(nonCancellable, cancellable, cancelFuture)
-		)
+		val start = System.nanoTime
+		val request = synchronized (this) {
+			val cancelFuture = cancel()
+			val writeRequest = submit(new WriteRequest(nonCancellable, cancellable, cancelFuture))
+			resumeBackgroundTasks
+			writeRequest
+		}
+		return recordLatency(WRITE, start, request)
+	}
+
+	/**
+	 * Returns the priority of the read requests of the given kind. Completion, hover, signature help, document
+	 * highlights and definitions are interactive, code lenses and workspace symbols are background requests.
+	 * 
+	 * @since 2.14
+	 */
+	protected def RequestPriority getPriority(String kind) {
+		switch kind {
+			case 'textDocument/completion',
+			case 'textDocument/hover',
+			case 'textDocument/signatureHelp',
+			case 'textDocument/documentHighlight',
+			case 'textDocument/definition':
+				RequestPriority.INTERACTIVE
+			case 'textDocument/codeLens',
+			case 'codeLens/resolve',
+			case 'workspace/symbol':
+				RequestPriority.BACKGROUND
+			default:
+				RequestPriority.NORMAL
+		}
+	}
+
+	/**
+	 * Returns the histograms of the latencies of the completed requests per kind. The latency of a request is the
+	 * time from its submission to its completion. Cancelled requests are not recorded.
+	 * 
+	 * @since 2.14
+	 */
+	def Map<String, LatencyHistogram> getLatencyHistograms() {
+		return Collections.unmodifiableMap(latencies)
+	}
+
+	/**
+	 * @since 2.14
+	 */
+	protected def <V> CompletableFuture<V> recordLatency(String kind, long start, CompletableFuture<V> future) {
+		future.whenComplete [ result, throwable |
+			if (!future.cancelled) {
+				latencies.computeIfAbsent(kind ?: READ)[new LatencyHistogram].record(System.nanoTime - start)
+			}
+		]
+		return future
+	}
+
+	/**
+	 * Runs the given task on the queue without cancelling the previous requests. Like any other request, the task is
+	 * cancelled by subsequent write requests, but it is then run again after the write request that cancelled it. The
+	 * returned future completes once the task has run to completion. Therefore the task should only do a limited
+	 * amount of work, e.g. validate a batch of files, and submit the rest of its work as a new task.
+	 * 
+	 * @since 2.14
+	 */
+	def <V> CompletableFuture<V> runInBackground((CancelIndicator)=>V task) {
+		val result = new CompletableFuture<V>
+		submitInBackground(task, result)
+		return result
+	}
+
+	/**
+	 * Submits the given background task and completes the given future with its result. If the task is cancelled, it
+	 * is queued to be submitted again by {@link #resumeBackgroundTasks()}. This may be called from any thread, e.g.
+	 * from the callback of a previous background task.
+	 * 
+	 * @since 2.14
+	 */
+	protected def <V> void submitInBackground((CancelIndicator)=>V task, CompletableFuture<V> result) {
+		if (result.done)
+			return;
+		val request = new WriteRequest<Object, V>([null], [cancelIndicator, ignored|task.apply(cancelIndicator)],
+			CompletableFuture.completedFuture(null))
+		request.get.whenComplete [ value, throwable |
+			if (request.get.cancelled) {
+				synchronized (this) {
+					cancelledBackgroundTasks += [submitInBackground(task, result)]
+				}
+			} else if (throwable !== null) {
+				result.completeExceptionally(throwable)
+			} else {
+				result.complete(value)
+			}
+		]
+		submit(request)
+	}
+
+	/**
+	 * Submits the background tasks that have been cancelled again. This is done after the write request that cancelled
+	 * them has been submitted, while holding the same lock, so they are executed after it and before any write request
+	 * that is submitted concurrently.
+	 * 
+	 * @since 2.14
+	 */
+	protected def void resumeBackgroundTasks() {
+		synchronized (this) {
+			val tasks = <()=>void>newArrayList
+			tasks += cancelledBackgroundTasks
+			cancelledBackgroundTasks.clear
+			for (task : tasks) {
+				task.apply
+			}
+		}
 	}
 
 	protected def <V> CompletableFuture<V> submit(AbstractRequest<V> request) {
-		requests += request
-		queue.submit(request)
+		synchronized (this) {
+			requests += request
+			queue.submit(request)
+		}
 		return request.get
 	}
 
 	protected def CompletableFuture<Void> cancel() {
-		val localRequests = requests
-		requests = newArrayList
+		val localRequests = synchronized (this) {
+			val current = requests
+			requests = newArrayList
+			current
+		}
 
 		val cfs = newArrayList
 		for (request : localRequests) {
@@ -83,11 +252,11 @@ class RequestManager {
 class ReadRequest<V> extends AbstractRequest<V> {
 
 	val (CancelIndicator)=>V cancellable
-	val ExecutorService executor
+	val Executor executor
 
 	override void run() {
 		if(result.cancelled) return;
-		executor.submit [
+		executor.execute [
 			try {
 				cancelIndicator.checkCanceled
 				result.complete(cancellable.apply(cancelIndicator))
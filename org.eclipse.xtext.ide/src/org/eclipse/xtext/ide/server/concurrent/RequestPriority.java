@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server.concurrent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The priority of a read request. Pending requests are executed in the order of their deadline, which is the time of
+ * their submission plus the delay of their priority. Thus a request of a higher priority is executed before the
+ * requests of a lower priority that have been submitted shortly before, but a request of a lower priority is not
+ * delayed indefinitely by a stream of requests with a higher priority.
+ *
+ * @since 2.14
+ */
+public enum RequestPriority {
+
+	/** Requests the user is waiting for while typing, e.g. completion or hover. */
+	INTERACTIVE(0),
+
+	/** Requests without particular urgency. */
+	NORMAL(100),
+
+	/** Requests whose results are not immediately visible, e.g. code lenses or workspace symbols. */
+	BACKGROUND(1000);
+
+	private final long delayNanos;
+
+	private RequestPriority(long delayMillis) {
+		this.delayNanos = TimeUnit.MILLISECONDS.toNanos(delayMillis);
+	}
+
+	/**
+	 * Returns the time in nanoseconds after which a pending request of this priority takes precedence over a newly
+	 * submitted request of the highest priority.
+	 */
+	public long getDelayNanos() {
+		return delayNanos;
+	}
+
+}
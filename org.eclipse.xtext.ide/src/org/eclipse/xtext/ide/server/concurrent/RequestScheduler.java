@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server.concurrent;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+/**
+ * Executes the read requests on at most {@link #THREAD_COUNT} threads. Pending requests are ordered by their deadline, i.e. the
+ * time of their submission plus the delay of their {@link RequestPriority priority}, so interactive requests overtake
+ * background requests that are not overdue yet.
+ *
+ * The pending tasks are kept in a concurrent skip list and the number of busy threads in an atomic counter, so
+ * submitting a task never blocks. The worker threads are taken from the injected {@link ExecutorService}.
+ *
+ * @since 2.14
+ */
+public class RequestScheduler {
+
+	/**
+	 * The name of an <code>int</code> constant for the number of read requests that are executed at the same time.
+	 * By default the number is not limited, so every task starts right away and priorities have no effect.
+	 */
+	public static final String THREAD_COUNT = "org.eclipse.xtext.ide.server.concurrent.RequestScheduler.threadCount";
+
+	private static final Logger LOG = Logger.getLogger(RequestScheduler.class);
+
+	private static class Task implements Comparable<Task> {
+
+		private final long deadline;
+		private final long sequenceNumber;
+		private final Runnable runnable;
+
+		private Task(long deadline, long sequenceNumber, Runnable runnable) {
+			this.deadline = deadline;
+			this.sequenceNumber = sequenceNumber;
+			this.runnable = runnable;
+		}
+
+		@Override
+		public int compareTo(Task other) {
+			long difference = deadline - other.deadline;
+			if (difference != 0)
+				return difference < 0 ? -1 : 1;
+			return Long.compare(sequenceNumber, other.sequenceNumber);
+		}
+	}
+
+	@Inject
+	private ExecutorService executorService;
+
+	@Inject(optional = true)
+	@Named(THREAD_COUNT)
+	private int threadCount = Integer.MAX_VALUE;
+
+	private final ConcurrentSkipListSet<Task> pending = new ConcurrentSkipListSet<Task>();
+
+	private final AtomicInteger busyThreads = new AtomicInteger();
+
+	private final AtomicLong sequenceNumbers = new AtomicLong();
+
+	private final ThreadLocal<Boolean> isWorker = new ThreadLocal<Boolean>();
+
+	private final Map<RequestPriority, Executor> executors = new EnumMap<RequestPriority, Executor>(
+			RequestPriority.class);
+
+	private final Runnable worker = new Runnable() {
+		@Override
+		public void run() {
+			isWorker.set(Boolean.TRUE);
+			try {
+				Task task = pending.pollFirst();
+				while (task != null) {
+					try {
+						task.runnable.run();
+					} catch (Throwable t) {
+						LOG.error("Error while executing a request", t);
+					}
+					task = pending.pollFirst();
+				}
+			} finally {
+				isWorker.remove();
+				busyThreads.decrementAndGet();
+			}
+			// a task may have been added after the last poll but before the counter was decremented
+			dispatch();
+		}
+	};
+
+	public int getThreadCount() {
+		return threadCount;
+	}
+
+	/**
+	 * Schedules the given task with the given priority.
+	 */
+	public void schedule(RequestPriority priority, Runnable runnable) {
+		long deadline = System.nanoTime() + priority.getDelayNanos();
+		pending.add(new Task(deadline, sequenceNumbers.incrementAndGet(), runnable));
+		dispatch();
+	}
+
+	/**
+	 * Returns an executor that {@link #schedule(RequestPriority, Runnable) schedules} its tasks with the given
+	 * priority.
+	 */
+	public Executor getExecutor(final RequestPriority priority) {
+		synchronized (executors) {
+			Executor result = executors.get(priority);
+			if (result == null) {
+				result = new PriorityExecutor(priority);
+				executors.put(priority, result);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Returns whether the current thread executes a task of this scheduler. Tasks that wait for other tasks must not
+	 * schedule them, since all threads may be waiting then.
+	 */
+	public boolean isWorkerThread() {
+		return isWorker.get() != null;
+	}
+
+	/**
+	 * Returns the number of tasks that wait for a thread.
+	 */
+	public int getPendingCount() {
+		return pending.size();
+	}
+
+	/**
+	 * Starts a worker if there are pending tasks and not all threads are busy. Every worker executes pending tasks
+	 * until there are none left, so a single worker is started per call.
+	 */
+	protected void dispatch() {
+		while (!pending.isEmpty()) {
+			int busy = busyThreads.get();
+			if (busy >= threadCount)
+				return;
+			if (busyThreads.compareAndSet(busy, busy + 1)) {
+				try {
+					executorService.execute(worker);
+				} catch (RejectedExecutionException e) {
+					busyThreads.decrementAndGet();
+				}
+				return;
+			}
+		}
+	}
+
+	private class PriorityExecutor implements Executor {
+
+		private final RequestPriority priority;
+
+		private PriorityExecutor(RequestPriority priority) {
+			this.priority = priority;
+		}
+
+		@Override
+		public void execute(Runnable command) {
+			schedule(priority, command);
+		}
+	}
+
+}
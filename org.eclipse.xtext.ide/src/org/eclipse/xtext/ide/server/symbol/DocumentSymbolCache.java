@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server.symbol;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.parser.IParseResult;
+import org.eclipse.xtext.util.LineAndColumn;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * Caches the document symbols of a resource.
+ *
+ * The complete list of symbols is kept as long as the resource has the same parse result. In addition, the symbol of
+ * each object is kept as long as the object has the same node. If the resource is partially reparsed, only the objects
+ * of the replaced subtree get new nodes, so the symbols of all other objects are reused. Their ranges are moved with
+ * their node, which does not require the node model to be searched again. The symbols of objects that are no longer
+ * contained in the resource have to be discarded with {@link #retainEntries(Collection)}.
+ *
+ * Clients have to synchronize on the cache.
+ *
+ * @since 2.14
+ */
+public class DocumentSymbolCache extends AdapterImpl {
+
+	/**
+	 * Returns the cache of the given resource. A new cache is attached to the resource if there is none.
+	 */
+	public static DocumentSymbolCache findOrCreate(Resource resource) {
+		synchronized (resource.eAdapters()) {
+			Adapter adapter = EcoreUtil.getAdapter(resource.eAdapters(), DocumentSymbolCache.class);
+			if (adapter instanceof DocumentSymbolCache)
+				return (DocumentSymbolCache) adapter;
+			DocumentSymbolCache result = new DocumentSymbolCache();
+			resource.eAdapters().add(result);
+			return result;
+		}
+	}
+
+	/**
+	 * The symbol of an object, or the information that the object has no symbol.
+	 */
+	public static class Entry {
+
+		private final ICompositeNode node;
+		private final int totalLength;
+		private final LineAndColumn start;
+		private final SymbolInformation symbol;
+
+		protected Entry(ICompositeNode node, SymbolInformation symbol) {
+			this.node = node;
+			this.totalLength = node.getTotalLength();
+			this.start = NodeModelUtils.getLineAndColumn(node, node.getTotalOffset());
+			this.symbol = symbol;
+		}
+
+		protected boolean isValid(ICompositeNode currentNode) {
+			return currentNode == node && currentNode.getTotalLength() == totalLength;
+		}
+
+		/**
+		 * Returns a new symbol with the range moved to the current position of the node, or <code>null</code> if the
+		 * object has no symbol.
+		 */
+		public SymbolInformation getSymbol() {
+			if (symbol == null)
+				return null;
+			LineAndColumn current = NodeModelUtils.getLineAndColumn(node, node.getTotalOffset());
+			Range range = symbol.getLocation().getRange();
+			Range movedRange = new Range(move(range.getStart(), current), move(range.getEnd(), current));
+			SymbolInformation result = new SymbolInformation(symbol.getName(), symbol.getKind(),
+					new Location(symbol.getLocation().getUri(), movedRange));
+			result.setContainerName(symbol.getContainerName());
+			return result;
+		}
+
+		private Position move(Position position, LineAndColumn current) {
+			int lineDelta = current.getLine() - start.getLine();
+			if (position.getLine() == start.getLine() - 1) {
+				return new Position(position.getLine() + lineDelta,
+						position.getCharacter() + current.getColumn() - start.getColumn());
+			}
+			return new Position(position.getLine() + lineDelta, position.getCharacter());
+		}
+	}
+
+	private IParseResult parseResult;
+
+	private List<SymbolInformation> symbols;
+
+	private final Map<EObject, Entry> entries = Maps.newHashMap();
+
+	@Override
+	public boolean isAdapterForType(Object type) {
+		return type == DocumentSymbolCache.class;
+	}
+
+	/**
+	 * Returns a copy of the symbols of the resource if they have been computed for the given parse result, or
+	 * <code>null</code> otherwise.
+	 */
+	public List<SymbolInformation> getSymbols(IParseResult parseResult) {
+		if (parseResult == null || parseResult != this.parseResult)
+			return null;
+		return Lists.newArrayList(symbols);
+	}
+
+	public void setSymbols(IParseResult parseResult, List<SymbolInformation> symbols) {
+		this.parseResult = parseResult;
+		this.symbols = Lists.newArrayList(symbols);
+	}
+
+	/**
+	 * Discards the symbols of all objects except the given ones, e.g. the objects that have been replaced when the
+	 * resource was reparsed.
+	 */
+	public void retainEntries(Collection<? extends EObject> objects) {
+		entries.keySet().retainAll(objects);
+	}
+
+	/**
+	 * Returns the cached symbol of the given object, or <code>null</code> if it is not known.
+	 */
+	public Entry getEntry(EObject object) {
+		Entry entry = entries.get(object);
+		if (entry != null && entry.isValid(NodeModelUtils.getNode(object)))
+			return entry;
+		return null;
+	}
+
+	/**
+	 * Caches the symbol of the given object. The symbol is not cached if its range is not within the text of the
+	 * object's node.
+	 */
+	public void putEntry(EObject object, SymbolInformation symbol) {
+		ICompositeNode node = NodeModelUtils.getNode(object);
+		if (node == null) {
+			entries.remove(object);
+			return;
+		}
+		if (symbol != null) {
+			Location location = symbol.getLocation();
+			Range range = location != null ? location.getRange() : null;
+			if (range == null) {
+				entries.remove(object);
+				return;
+			}
+			LineAndColumn start = NodeModelUtils.getLineAndColumn(node, node.getTotalOffset());
+			LineAndColumn end = NodeModelUtils.getLineAndColumn(node, node.getTotalEndOffset());
+			if (compare(range.getStart(), start) < 0 || compare(range.getEnd(), end) > 0) {
+				entries.remove(object);
+				return;
+			}
+			SymbolInformation copy = new SymbolInformation(symbol.getName(), symbol.getKind(),
+					new Location(location.getUri(), range));
+			copy.setContainerName(symbol.getContainerName());
+			symbol = copy;
+		}
+		entries.put(object, new Entry(node, symbol));
+	}
+
+	private static int compare(Position position, LineAndColumn lineAndColumn) {
+		int line = position.getLine() + 1;
+		if (line != lineAndColumn.getLine())
+			return line < lineAndColumn.getLine() ? -1 : 1;
+		return Integer.compare(position.getCharacter() + 1, lineAndColumn.getColumn());
+	}
+
+}
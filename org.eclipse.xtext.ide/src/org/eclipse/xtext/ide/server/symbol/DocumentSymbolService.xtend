@@ -25,6 +25,7 @@ import org.eclipse.xtext.findReferences.TargetURICollector
 import org.eclipse.xtext.findReferences.TargetURIs
 import org.eclipse.xtext.ide.server.Document
 import org.eclipse.xtext.ide.server.DocumentExtensions
+import org.eclipse.xtext.ide.server.UriExtensions
 import org.eclipse.xtext.ide.util.CancelIndicatorProgressMonitor
 import org.eclipse.xtext.naming.IQualifiedNameProvider
 import org.eclipse.xtext.naming.QualifiedName
@@ -34,12 +35,15 @@ import org.eclipse.xtext.resource.IResourceDescription
 import org.eclipse.xtext.resource.IResourceDescriptions
 import org.eclipse.xtext.resource.IResourceServiceProvider
 import org.eclipse.xtext.resource.XtextResource
+import org.eclipse.xtext.resource.impl.LocationUserData
 import org.eclipse.xtext.service.OperationCanceledManager
 import org.eclipse.xtext.util.CancelIndicator
 
 import static extension org.eclipse.emf.ecore.util.EcoreUtil.*
 import org.eclipse.lsp4j.ReferenceParams
 import org.eclipse.lsp4j.DocumentSymbolParams
+import org.eclipse.lsp4j.Position
+import org.eclipse.lsp4j.Range
 
 /**
  * @author kosyakov - Initial contribution and API
@@ -72,6 +76,9 @@ class DocumentSymbolService {
 	@Inject
 	IResourceServiceProvider.Registry resourceServiceProviderRegistry
 
+	@Inject
+	UriExtensions uriExtensions
+
 	def List<? extends Location> getDefinitions(
 		Document document,
 		XtextResource resource,
@@ -171,23 +178,53 @@ class DocumentSymbolService {
 		return getSymbols(resource, cancelIndicator)
 	}
 
+	/**
+	 * Returns the symbols of the given resource. The symbols are cached with the resource and the symbols of unchanged
+	 * objects are reused after the resource has been partially reparsed, see {@link DocumentSymbolCache}.
+	 */
 	def List<? extends SymbolInformation> getSymbols(XtextResource resource, CancelIndicator cancelIndicator) {
-		val symbols = newLinkedHashMap
-		val contents = resource.getAllProperContents(true)
-		while (contents.hasNext) {
-			operationCanceledManager.checkCanceled(cancelIndicator)
-
-			val obj = contents.next as EObject
-			val symbol = obj.createSymbol
-			if (symbol !== null) {
-				symbols.put(obj, symbol)
-
-				val container = obj.container
-				val containerSymbol = symbols.get(container)
-				symbol.containerName = containerSymbol?.name
+		val parseResult = resource.parseResult
+		val cache = DocumentSymbolCache.findOrCreate(resource)
+		synchronized (cache) {
+			val cachedSymbols = cache.getSymbols(parseResult)
+			if (cachedSymbols !== null)
+				return cachedSymbols
+			val symbols = newLinkedHashMap
+			val objects = newHashSet
+			val contents = resource.getAllProperContents(true)
+			while (contents.hasNext) {
+				operationCanceledManager.checkCanceled(cancelIndicator)
+
+				val obj = contents.next as EObject
+				objects += obj
+				val symbol = obj.getCachedSymbol(cache)
+				if (symbol !== null) {
+					symbols.put(obj, symbol)
+
+					val container = obj.container
+					val containerSymbol = symbols.get(container)
+					symbol.containerName = containerSymbol?.name
+				}
 			}
+			val result = symbols.values.toList
+			cache.setSymbols(parseResult, result)
+			cache.retainEntries(objects)
+			return result
 		}
-		return symbols.values.toList
+	}
+
+	/**
+	 * Returns the symbol of the given object from the cache, or {@link #createSymbol(EObject) creates} and caches it.
+	 * 
+	 * @since 2.14
+	 */
+	protected def SymbolInformation getCachedSymbol(EObject object, DocumentSymbolCache cache) {
+		val entry = cache.getEntry(object)
+		if (entry !== null)
+			return entry.symbol
+		val symbol = object.createSymbol
+		cache.putEntry(object, symbol)
+		return symbol
 	}
 
 	protected def EObject getContainer(EObject obj) {
@@ -288,6 +325,11 @@ class DocumentSymbolService {
 		IResourceAccess resourceAccess,
 		(Location)=>void acceptor
 	) {
+		val indexedLocation = description.indexedSymbolLocation
+		if (indexedLocation !== null) {
+			acceptor.apply(indexedLocation)
+			return
+		}
 		resourceAccess.doRead(description.EObjectURI) [ obj |
 			val location = obj.symbolLocation
 			if (location !== null) {
@@ -296,6 +338,26 @@ class DocumentSymbolService {
 		]
 	}
 
+	/**
+	 * Returns the location that is stored in the index for the given description, or <code>null</code> if there is
+	 * none. Locations are only stored if the language binds
+	 * {@link org.eclipse.xtext.resource.impl.DefaultResourceDescriptionStrategy#STORE_LOCATIONS STORE_LOCATIONS}. In
+	 * that case they are used instead of {@link #getSymbolLocation(EObject)}, so languages that override the latter
+	 * should not store locations.
+	 * 
+	 * @see LocationUserData
+	 * @since 2.14
+	 */
+	protected def Location getIndexedSymbolLocation(IEObjectDescription description) {
+		val location = LocationUserData.get(description)
+		if (location === null)
+			return null
+		val start = new Position(location.line - 1, location.column - 1)
+		val end = new Position(location.endLine - 1, location.endColumn - 1)
+		val uri = uriExtensions.toUriString(description.EObjectURI.trimFragment)
+		return new Location(uri, new Range(start, end))
+	}
+
 	protected def String getSymbolName(QualifiedName qualifiedName) {
 		return qualifiedName?.toString
 	}
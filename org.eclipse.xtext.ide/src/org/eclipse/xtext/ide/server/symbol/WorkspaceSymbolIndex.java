@@ -0,0 +1,316 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server.symbol;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
+
+/**
+ * An in-memory search index over the names of the exported objects of an {@link IResourceDescriptions index}.
+ *
+ * A query matches a name if the qualified name contains the query or if the query matches the humps of the simple name
+ * in camel case notation, e.g. <code>fBB</code> matches <code>FooBarBaz</code>. Both checks ignore case. Substring
+ * candidates are looked up by the trigrams of the query, camel case candidates by the first character of the simple
+ * name.
+ *
+ * The index is immutable. It has to be recreated when the indexed descriptions change.
+ *
+ * @since 2.14
+ */
+public class WorkspaceSymbolIndex {
+
+	/**
+	 * A name that matches a query, ordered by the quality of the match.
+	 */
+	public static class Match implements Comparable<Match> {
+
+		public static final int EXACT = 0;
+		public static final int PREFIX = 1;
+		public static final int SUBSTRING = 2;
+		public static final int CAMEL_CASE = 3;
+
+		private final IEObjectDescription description;
+		private final String name;
+		private final int kind;
+		private final int index;
+
+		protected Match(IEObjectDescription description, String name, int kind, int index) {
+			this.description = description;
+			this.name = name;
+			this.kind = kind;
+			this.index = index;
+		}
+
+		public IEObjectDescription getDescription() {
+			return description;
+		}
+
+		/**
+		 * One of {@link #EXACT}, {@link #PREFIX}, {@link #SUBSTRING} or {@link #CAMEL_CASE}.
+		 */
+		public int getKind() {
+			return kind;
+		}
+
+		@Override
+		public int compareTo(Match other) {
+			if (kind != other.kind)
+				return kind < other.kind ? -1 : 1;
+			if (name.length() != other.name.length())
+				return name.length() < other.name.length() ? -1 : 1;
+			int result = name.compareTo(other.name);
+			if (result != 0)
+				return result;
+			return description.getEObjectURI().toString().compareTo(other.description.getEObjectURI().toString());
+		}
+
+		@Override
+		public String toString() {
+			return name + " (" + kind + ")";
+		}
+	}
+
+	private static final int[] NO_POSTINGS = new int[0];
+
+	private static final Comparator<Match> BY_INDEX = new Comparator<Match>() {
+		@Override
+		public int compare(Match o1, Match o2) {
+			return Integer.compare(o1.index, o2.index);
+		}
+	};
+
+	private final IEObjectDescription[] descriptions;
+
+	/** the lower case qualified names */
+	private final String[] names;
+
+	/** the last segments of the qualified names, in their original case */
+	private final String[] simpleNames;
+
+	private final Map<Long, int[]> trigrams;
+
+	private final Map<Character, int[]> firstCharacters;
+
+	public WorkspaceSymbolIndex(IResourceDescriptions resourceDescriptions) {
+		List<IEObjectDescription> allDescriptions = new ArrayList<IEObjectDescription>();
+		for (IResourceDescription resourceDescription : resourceDescriptions.getAllResourceDescriptions()) {
+			for (IEObjectDescription description : resourceDescription.getExportedObjects()) {
+				QualifiedName name = description.getQualifiedName();
+				if (name != null && !name.isEmpty())
+					allDescriptions.add(description);
+			}
+		}
+		descriptions = allDescriptions.toArray(new IEObjectDescription[allDescriptions.size()]);
+		names = new String[descriptions.length];
+		simpleNames = new String[descriptions.length];
+		Map<Long, IntList> trigramLists = new HashMap<Long, IntList>();
+		Map<Character, IntList> firstCharacterLists = new HashMap<Character, IntList>();
+		for (int i = 0; i < descriptions.length; i++) {
+			QualifiedName qualifiedName = descriptions[i].getQualifiedName();
+			String name = qualifiedName.toString().toLowerCase();
+			names[i] = name;
+			simpleNames[i] = qualifiedName.getLastSegment();
+			for (int j = 0; j + 3 <= name.length(); j++) {
+				Long trigram = trigram(name, j);
+				IntList list = trigramLists.get(trigram);
+				if (list == null) {
+					list = new IntList();
+					trigramLists.put(trigram, list);
+				}
+				list.add(i);
+			}
+			if (!simpleNames[i].isEmpty()) {
+				Character first = Character.toLowerCase(simpleNames[i].charAt(0));
+				IntList list = firstCharacterLists.get(first);
+				if (list == null) {
+					list = new IntList();
+					firstCharacterLists.put(first, list);
+				}
+				list.add(i);
+			}
+		}
+		trigrams = new HashMap<Long, int[]>(trigramLists.size());
+		for (Map.Entry<Long, IntList> entry : trigramLists.entrySet()) {
+			trigrams.put(entry.getKey(), entry.getValue().toArray());
+		}
+		firstCharacters = new HashMap<Character, int[]>(firstCharacterLists.size());
+		for (Map.Entry<Character, IntList> entry : firstCharacterLists.entrySet()) {
+			firstCharacters.put(entry.getKey(), entry.getValue().toArray());
+		}
+	}
+
+	public int size() {
+		return descriptions.length;
+	}
+
+	/**
+	 * Returns all names that match the given query in the order of the indexed descriptions. {@link Match Matches} are
+	 * comparable by their quality.
+	 */
+	public List<Match> find(String query) {
+		List<Match> result = new ArrayList<Match>();
+		String lowerCaseQuery = query.toLowerCase();
+		boolean[] matched = new boolean[descriptions.length];
+		int[] candidates = getSubstringCandidates(lowerCaseQuery);
+		for (int i = 0; i < candidates.length; i++) {
+			int candidate = candidates[i];
+			if (names[candidate].contains(lowerCaseQuery)) {
+				matched[candidate] = true;
+				result.add(new Match(descriptions[candidate], names[candidate], getSubstringMatchKind(candidate, lowerCaseQuery), candidate));
+			}
+		}
+		if (!query.isEmpty()) {
+			int[] camelCaseCandidates = firstCharacters.get(lowerCaseQuery.charAt(0));
+			if (camelCaseCandidates != null) {
+				for (int candidate : camelCaseCandidates) {
+					if (!matched[candidate] && matchesCamelCase(simpleNames[candidate], query)) {
+						result.add(new Match(descriptions[candidate], names[candidate], Match.CAMEL_CASE, candidate));
+					}
+				}
+				Collections.sort(result, BY_INDEX);
+			}
+		}
+		return result;
+	}
+
+	private int getSubstringMatchKind(int candidate, String lowerCaseQuery) {
+		String simpleName = simpleNames[candidate];
+		if (simpleName.length() >= lowerCaseQuery.length()
+				&& simpleName.regionMatches(true, 0, lowerCaseQuery, 0, lowerCaseQuery.length())) {
+			return simpleName.length() == lowerCaseQuery.length() ? Match.EXACT : Match.PREFIX;
+		}
+		return Match.SUBSTRING;
+	}
+
+	/**
+	 * Returns the indexes of all names that may contain the given lower case query in ascending order.
+	 */
+	protected int[] getSubstringCandidates(String lowerCaseQuery) {
+		if (lowerCaseQuery.length() < 3) {
+			int[] all = new int[descriptions.length];
+			for (int i = 0; i < all.length; i++) {
+				all[i] = i;
+			}
+			return all;
+		}
+		int[] result = null;
+		for (int j = 0; j + 3 <= lowerCaseQuery.length(); j++) {
+			int[] postings = trigrams.get(trigram(lowerCaseQuery, j));
+			if (postings == null)
+				return NO_POSTINGS;
+			result = result == null ? postings : intersect(result, postings);
+			if (result.length == 0)
+				return result;
+		}
+		return result;
+	}
+
+	private static Long trigram(String text, int index) {
+		return Long.valueOf(((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2));
+	}
+
+	private static int[] intersect(int[] left, int[] right) {
+		int[] result = new int[Math.min(left.length, right.length)];
+		int size = 0;
+		int i = 0;
+		int j = 0;
+		while (i < left.length && j < right.length) {
+			if (left[i] < right[j]) {
+				i++;
+			} else if (left[i] > right[j]) {
+				j++;
+			} else {
+				result[size++] = left[i];
+				i++;
+				j++;
+			}
+		}
+		return Arrays.copyOf(result, size);
+	}
+
+	/**
+	 * Returns <code>true</code> if the query is a sequence of prefixes of the humps of the given name, starting with the
+	 * first hump. The comparison ignores case.
+	 */
+	public static boolean matchesCamelCase(String name, String query) {
+		if (query.isEmpty())
+			return true;
+		return matchesCamelCase(name, 0, query, 0);
+	}
+
+	private static boolean matchesCamelCase(String name, int hump, String query, int queryIndex) {
+		int length = 0;
+		while (queryIndex + length < query.length() && hump + length < name.length()
+				&& Character.toLowerCase(name.charAt(hump + length)) == Character.toLowerCase(query.charAt(queryIndex + length))) {
+			length++;
+		}
+		for (int consumed = length; consumed >= 1; consumed--) {
+			if (queryIndex + consumed == query.length())
+				return true;
+			for (int next = nextHump(name, hump + consumed); next < name.length(); next = nextHump(name, next + 1)) {
+				if (matchesCamelCase(name, next, query, queryIndex + consumed))
+					return true;
+			}
+		}
+		return false;
+	}
+
+	private static int nextHump(String name, int from) {
+		for (int i = Math.max(from, 1); i < name.length(); i++) {
+			if (isHumpStart(name, i))
+				return i;
+		}
+		return name.length();
+	}
+
+	private static boolean isHumpStart(String name, int index) {
+		char c = name.charAt(index);
+		char previous = name.charAt(index - 1);
+		if (!Character.isLetterOrDigit(c))
+			return false;
+		if (!Character.isLetterOrDigit(previous))
+			return true;
+		if (Character.isUpperCase(c)) {
+			// the last upper case letter of an acronym starts a new hump if it is followed by a lower case letter
+			return !Character.isUpperCase(previous)
+					|| index + 1 < name.length() && Character.isLowerCase(name.charAt(index + 1));
+		}
+		return Character.isDigit(c) && !Character.isDigit(previous);
+	}
+
+	private static class IntList {
+		private int[] values = new int[4];
+		private int size;
+
+		/**
+		 * Values are added in ascending order, so a trigram that occurs several times in a name is only recorded once.
+		 */
+		void add(int value) {
+			if (size > 0 && values[size - 1] == value)
+				return;
+			if (size == values.length)
+				values = Arrays.copyOf(values, size * 2);
+			values[size++] = value;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+	}
+
+}
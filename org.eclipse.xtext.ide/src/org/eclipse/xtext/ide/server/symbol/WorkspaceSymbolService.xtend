@@ -7,13 +7,23 @@
  *******************************************************************************/
 package org.eclipse.xtext.ide.server.symbol
 
+import com.google.common.collect.Ordering
+import com.google.common.collect.Sets
 import com.google.inject.Inject
 import com.google.inject.Singleton
+import com.google.inject.name.Named
 import java.util.List
+import java.util.Map
+import java.util.WeakHashMap
 import org.eclipse.lsp4j.SymbolInformation
 import org.eclipse.xtext.findReferences.IReferenceFinder.IResourceAccess
+import org.eclipse.xtext.ide.server.symbol.WorkspaceSymbolIndex.Match
+import org.eclipse.xtext.resource.IEObjectDescription
+import org.eclipse.xtext.resource.IResourceDescription
 import org.eclipse.xtext.resource.IResourceDescriptions
 import org.eclipse.xtext.resource.IResourceServiceProvider
+import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData
 import org.eclipse.xtext.service.OperationCanceledManager
 import org.eclipse.xtext.util.CancelIndicator
 
@@ -24,18 +34,43 @@ import org.eclipse.xtext.util.CancelIndicator
 @Singleton
 class WorkspaceSymbolService {
 
+	static val MAX_RESULTS = 1000
+
+	/**
+	 * The name of a <code>boolean</code> constant that enables the {@link WorkspaceSymbolIndex search index} for
+	 * workspace symbols. The index only finds the candidates, whether they match is still decided by
+	 * {@link DocumentSymbolService#filter(IEObjectDescription, String)}. Overrides of
+	 * {@link DocumentSymbolService#getSymbols(IResourceDescription, String, IResourceAccess, CancelIndicator)} are
+	 * not called, and at most {@link #getMaxResults()} symbols are returned. The default is <code>false</code>.
+	 * 
+	 * @since 2.14
+	 */
+	public static val USE_SYMBOL_INDEX = WorkspaceSymbolService.canonicalName + '.useSymbolIndex'
+
 	@Inject
 	extension IResourceServiceProvider.Registry
 
 	@Inject
 	OperationCanceledManager operationCanceledManager
 
+	@Inject(optional=true) @Named(USE_SYMBOL_INDEX)
+	boolean useSymbolIndex = false
+
+	/**
+	 * The language server replaces the data of a container after each build instead of modifying it, so an index
+	 * can be kept as long as its data is in use.
+	 */
+	val Map<ResourceDescriptionsData, WorkspaceSymbolIndex> symbolIndexes = new WeakHashMap
+
 	def List<? extends SymbolInformation> getSymbols(
 		String query,
 		IResourceAccess resourceAccess,
 		IResourceDescriptions indexData,
 		CancelIndicator cancelIndicator
 	) {
+		if (useSymbolIndex && indexData instanceof ChunkedResourceDescriptions) {
+			return getIndexedSymbols(query, resourceAccess, indexData, cancelIndicator)
+		}
 		val result = newLinkedList
 		for (resourceDescription : indexData.allResourceDescriptions) {
 			operationCanceledManager.checkCanceled(cancelIndicator)
@@ -48,4 +83,77 @@ class WorkspaceSymbolService {
 		return result
 	}
 
+	/**
+	 * Looks up the candidates in a {@link WorkspaceSymbolIndex search index} per container, keeps those that are
+	 * accepted by the {@link DocumentSymbolService#filter(IEObjectDescription, String) filter} of their language and
+	 * returns the {@link #getMaxResults() best} of them in the order of the index. The locations of the symbols are
+	 * taken from the index if it contains them, so usually no resource has to be loaded.
+	 * 
+	 * @since 2.14
+	 */
+	protected def List<? extends SymbolInformation> getIndexedSymbols(
+		String query,
+		IResourceAccess resourceAccess,
+		ChunkedResourceDescriptions indexData,
+		CancelIndicator cancelIndicator
+	) {
+		val matches = <Match>newArrayList
+		for (container : indexData.containers.values) {
+			operationCanceledManager.checkCanceled(cancelIndicator)
+			for (match : container.symbolIndex.find(query)) {
+				val documentSymbolService = match.description.EObjectURI.resourceServiceProvider?.get(DocumentSymbolService)
+				if (documentSymbolService !== null && documentSymbolService.filter(match.description, query)) {
+					matches += match
+				}
+			}
+		}
+		val result = <SymbolInformation>newArrayList
+		for (match : selectBest(matches)) {
+			operationCanceledManager.checkCanceled(cancelIndicator)
+			val description = match.description
+			val documentSymbolService = description.EObjectURI.resourceServiceProvider?.get(DocumentSymbolService)
+			documentSymbolService?.createSymbol(description, resourceAccess) [ symbol |
+				result += symbol
+			]
+		}
+		return result
+	}
+
+	/**
+	 * Removes all but the {@link #getMaxResults() best} matches from the given list and keeps their order.
+	 * 
+	 * @since 2.14
+	 */
+	protected def List<Match> selectBest(List<Match> matches) {
+		if (matches.size <= maxResults) {
+			return matches
+		}
+		val best = Sets.newIdentityHashSet
+		best += Ordering.natural.leastOf(matches, maxResults)
+		return matches.filter[best.contains(it)].toList
+	}
+
+	/**
+	 * @since 2.14
+	 */
+	protected def WorkspaceSymbolIndex getSymbolIndex(ResourceDescriptionsData data) {
+		synchronized (symbolIndexes) {
+			var result = symbolIndexes.get(data)
+			if (result === null) {
+				result = new WorkspaceSymbolIndex(data)
+				symbolIndexes.put(data, result)
+			}
+			return result
+		}
+	}
+
+	/**
+	 * The maximum number of symbols that are returned for a query.
+	 * 
+	 * @since 2.14
+	 */
+	protected def int getMaxResults() {
+		return MAX_RESULTS
+	}
+
 }
@@ -7,6 +7,7 @@
  */
 package org.eclipse.xtext.ide.editor.contentassist;
 
+import com.google.common.base.Objects;
 import com.google.common.base.Predicate;
 import com.google.inject.Inject;
 import org.apache.log4j.Logger;
@@ -16,15 +17,19 @@ import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtext.CrossReference;
 import org.eclipse.xtext.ide.editor.contentassist.ContentAssistContext;
 import org.eclipse.xtext.ide.editor.contentassist.ContentAssistEntry;
+import org.eclipse.xtext.ide.editor.contentassist.FQNPrefixMatcher;
 import org.eclipse.xtext.ide.editor.contentassist.IIdeContentProposalAcceptor;
+import org.eclipse.xtext.ide.editor.contentassist.IPrefixMatcher;
 import org.eclipse.xtext.ide.editor.contentassist.IdeContentProposalCreator;
 import org.eclipse.xtext.ide.editor.contentassist.IdeContentProposalPriorities;
 import org.eclipse.xtext.naming.IQualifiedNameConverter;
 import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.scoping.IPrefixSearchableScope;
 import org.eclipse.xtext.scoping.IScope;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.eclipse.xtext.xbase.lib.Pure;
+import org.eclipse.xtext.xbase.lib.StringExtensions;
 
 /**
  * Special content assist proposal provider for cross-references.
@@ -45,6 +50,9 @@ public class IdeCrossrefProposalProvider {
   @Inject
   private IdeContentProposalPriorities proposalPriorities;
   
+  @Inject
+  private IPrefixMatcher prefixMatcher;
+  
   public void lookupCrossReference(final IScope scope, final CrossReference crossReference, final ContentAssistContext context, final IIdeContentProposalAcceptor acceptor, final Predicate<IEObjectDescription> filter) {
     try {
       Iterable<IEObjectDescription> _queryScope = this.queryScope(scope, crossReference, context);
@@ -73,9 +81,54 @@ public class IdeCrossrefProposalProvider {
   }
   
   protected Iterable<IEObjectDescription> queryScope(final IScope scope, final CrossReference crossReference, final ContentAssistContext context) {
+    final String prefix = this.getQueryPrefix(context);
+    if (((prefix != null) && (scope instanceof IPrefixSearchableScope))) {
+      return ((IPrefixSearchableScope) scope).getElementsByPrefix(prefix);
+    }
     return scope.getAllElements();
   }
   
+  /**
+   * Returns the prefix that is used to narrow down the candidates of the scope, or {@code null} if all elements
+   * have to be considered. Only the first segment of the typed prefix is used, so the candidates are a superset of
+   * what the {@link IPrefixMatcher.IgnoreCase default} and the {@link FQNPrefixMatcher FQN} prefix matcher accept.
+   * 
+   * @since 2.14
+   */
+  protected String getQueryPrefix(final ContentAssistContext context) {
+    final String prefix = context.getPrefix();
+    if ((StringExtensions.isNullOrEmpty(prefix) || (!this.isPrefixQuerySupported()))) {
+      return null;
+    }
+    final String delimiter = ((IQualifiedNameConverter.DefaultImpl) this.qualifiedNameConverter).getDelimiter();
+    final int index = prefix.indexOf(delimiter);
+    if ((index == 0)) {
+      return null;
+    }
+    if ((index > 0)) {
+      return prefix.substring(0, index);
+    }
+    return prefix;
+  }
+  
+  /**
+   * @since 2.14
+   */
+  protected boolean isPrefixQuerySupported() {
+    if ((!(this.qualifiedNameConverter instanceof IQualifiedNameConverter.DefaultImpl))) {
+      return false;
+    }
+    final IPrefixMatcher matcher = this.prefixMatcher;
+    Class<? extends IPrefixMatcher> _class = matcher.getClass();
+    boolean _equals = Objects.equal(_class, FQNPrefixMatcher.class);
+    if (_equals) {
+      Class<? extends IPrefixMatcher.IgnoreCase> _class_1 = ((FQNPrefixMatcher) matcher).getDelegate().getClass();
+      return Objects.equal(_class_1, IPrefixMatcher.IgnoreCase.class);
+    }
+    Class<? extends IPrefixMatcher> _class_2 = matcher.getClass();
+    return Objects.equal(_class_2, IPrefixMatcher.IgnoreCase.class);
+  }
+  
   protected ContentAssistEntry createProposal(final IEObjectDescription candidate, final CrossReference crossRef, final ContentAssistContext context) {
     final Procedure1<ContentAssistEntry> _function = (ContentAssistEntry it) -> {
       it.setSource(candidate);
@@ -7,31 +7,47 @@
  */
 package org.eclipse.xtext.ide.server;
 
-import com.google.common.collect.HashMultimap;
+import com.google.common.base.Objects;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.LinkedHashMultimap;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.google.inject.name.Named;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.xtend.lib.annotations.AccessorType;
 import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtend.lib.annotations.Data;
 import org.eclipse.xtext.build.IncrementalBuilder;
 import org.eclipse.xtext.diagnostics.Severity;
+import org.eclipse.xtext.ide.server.InitialBuildProgress;
 import org.eclipse.xtext.ide.server.ProjectManager;
 import org.eclipse.xtext.ide.server.TopologicalSorter;
 import org.eclipse.xtext.ide.server.WorkspaceManager;
 import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionDelta;
 import org.eclipse.xtext.resource.impl.ProjectDescription;
+import org.eclipse.xtext.service.OperationCanceledManager;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
-import org.eclipse.xtext.xbase.lib.ListExtensions;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.eclipse.xtext.xbase.lib.Pure;
 import org.eclipse.xtext.xbase.lib.util.ToStringBuilder;
@@ -113,16 +129,56 @@ public class BuildManager {
   
   public final static String CYCLIC_PROJECT_DEPENDENCIES = (BuildManager.class.getCanonicalName() + ".cyclicProjectDependencies");
   
+  /**
+   * The name of a <code>long</code> constant for the time in milliseconds that the build of an edited document is
+   * postponed to wait for further edits. A value of zero, the default, disables the delay.
+   * 
+   * @since 2.14
+   */
+  public final static String DEBOUNCE_DELAY = (BuildManager.class.getCanonicalName() + ".debounceDelay");
+  
+  /**
+   * The name of an <code>int</code> constant for the number of projects that may be built at the same time. The
+   * default is one, i.e. projects are built one after another on the build thread.
+   * 
+   * @since 2.14
+   */
+  public final static String PARALLEL_PROJECT_BUILDS = (BuildManager.class.getCanonicalName() + ".parallelProjectBuilds");
+  
   @Accessors(AccessorType.PUBLIC_SETTER)
   private WorkspaceManager workspaceManager;
   
   @Inject
   private Provider<TopologicalSorter> sorterProvider;
   
+  @Inject
+  private OperationCanceledManager operationCanceledManager;
+  
+  @Inject
+  private ExecutorService executorService;
+  
+  @Inject(optional = true)
+  @Named(BuildManager.DEBOUNCE_DELAY)
+  private long debounceDelay = 0;
+  
+  @Inject(optional = true)
+  @Named(BuildManager.PARALLEL_PROJECT_BUILDS)
+  private int parallelProjectBuilds = 1;
+  
   private final LinkedHashSet<URI> dirtyFiles = CollectionLiterals.<URI>newLinkedHashSet();
   
   private final LinkedHashSet<URI> deletedFiles = CollectionLiterals.<URI>newLinkedHashSet();
   
+  private final LinkedHashSet<URI> editedFiles = CollectionLiterals.<URI>newLinkedHashSet();
+  
+  /**
+   * The deltas of the projects that have been built by a cancelled build. They are passed to the projects that are
+   * built afterwards and returned by the next build that completes.
+   */
+  private final LinkedHashMap<URI, IResourceDescription.Delta> unreportedDeltas = CollectionLiterals.<URI, IResourceDescription.Delta>newLinkedHashMap();
+  
+  private volatile long lastEdit;
+  
   public BuildManager.Buildable submit(final List<URI> dirtyFiles, final List<URI> deletedFiles) {
     this.queue(this.dirtyFiles, deletedFiles, dirtyFiles);
     this.queue(this.deletedFiles, dirtyFiles, deletedFiles);
@@ -132,6 +188,30 @@ public class BuildManager {
     return _function;
   }
   
+  /**
+   * Marks the given document as being edited. Edited documents are built before all other files, and a build that
+   * is requested shortly after an edit is postponed until the {@link #DEBOUNCE_DELAY debounce delay} has passed,
+   * such that a series of edits results in a single build.
+   * 
+   * @since 2.14
+   */
+  public void markEdited(final URI uri) {
+    this.editedFiles.add(uri);
+    this.lastEdit = System.currentTimeMillis();
+  }
+  
+  /**
+   * Returns the queued files whose changes have not been built yet.
+   * 
+   * @since 2.14
+   */
+  public Set<URI> getPendingFiles() {
+    final HashSet<URI> result = CollectionLiterals.<URI>newHashSet();
+    Iterables.<URI>addAll(result, this.dirtyFiles);
+    Iterables.<URI>addAll(result, this.deletedFiles);
+    return result;
+  }
+  
   public List<IResourceDescription.Delta> doBuild(final List<URI> dirtyFiles, final List<URI> deletedFiles, final CancelIndicator cancelIndicator) {
     return this.submit(dirtyFiles, deletedFiles).build(cancelIndicator);
   }
@@ -142,56 +222,289 @@ public class BuildManager {
   }
   
   public List<IResourceDescription.Delta> doInitialBuild(final List<ProjectDescription> projects, final CancelIndicator indicator) {
+    return this.doInitialBuild(projects, false, indicator);
+  }
+  
+  /**
+   * Builds all files of the given projects. If <code>indexOnly</code> is set, the files are indexed but not
+   * validated, and the indexing progress is reported per project.
+   * 
+   * @since 2.14
+   */
+  public List<IResourceDescription.Delta> doInitialBuild(final List<ProjectDescription> projects, final boolean indexOnly, final CancelIndicator indicator) {
     final List<ProjectDescription> sortedDescriptions = this.sortByDependencies(projects);
     final ArrayList<IResourceDescription.Delta> result = CollectionLiterals.<IResourceDescription.Delta>newArrayList();
+    final InitialBuildProgress progress = this.workspaceManager.getInitialBuildProgress();
+    if (indexOnly) {
+      progress.begin(InitialBuildProgress.Stage.INDEX, sortedDescriptions.size());
+    }
+    int done = 0;
     for (final ProjectDescription description : sortedDescriptions) {
       {
-        final IncrementalBuilder.Result partialresult = this.workspaceManager.getProjectManager(description.getName()).doInitialBuild(indicator);
+        ProjectManager _projectManager = this.workspaceManager.getProjectManager(description.getName());
+        ArrayList<IResourceDescription.Delta> _arrayList = new ArrayList<IResourceDescription.Delta>(result);
+        final IncrementalBuilder.Result partialresult = _projectManager.doInitialBuild(_arrayList, indexOnly, indicator);
         result.addAll(partialresult.getAffectedResources());
+        done++;
+        if (indexOnly) {
+          String _name = description.getName();
+          String _plus = ("\'" + _name);
+          String _plus_1 = (_plus + "\'");
+          progress.update(InitialBuildProgress.Stage.INDEX, done, _plus_1);
+        }
       }
     }
+    if (indexOnly) {
+      progress.done(InitialBuildProgress.Stage.INDEX);
+    }
     return result;
   }
   
+  /**
+   * Builds the queued files. The projects of the edited documents and their upstream projects are built first, and
+   * the edited documents are validated before the other files of their project. Projects that depend on a project
+   * with changed exported objects are built last.
+   * 
+   * Up to {@link #PARALLEL_PROJECT_BUILDS} projects are built at the same time. A project is built as soon as its
+   * upstream projects are built. The deltas are returned in the order of the sorted projects, no matter in which
+   * order the project builds finish.
+   */
   protected List<IResourceDescription.Delta> internalBuild(final CancelIndicator cancelIndicator) {
-    final ArrayList<URI> allDirty = new ArrayList<URI>(this.dirtyFiles);
-    final HashMultimap<ProjectDescription, URI> project2dirty = HashMultimap.<ProjectDescription, URI>create();
-    for (final URI dirty : allDirty) {
-      {
-        final ProjectDescription projectManager = this.workspaceManager.getProjectManager(dirty).getProjectDescription();
-        project2dirty.put(projectManager, dirty);
+    try {
+      final Function1<URI, Boolean> _function = (URI it) -> {
+        return Boolean.valueOf(this.dirtyFiles.contains(it));
+      };
+      List<URI> _list = IterableExtensions.<URI>toList(IterableExtensions.<URI>filter(this.editedFiles, _function));
+      final ArrayList<URI> allDirty = new ArrayList<URI>(_list);
+      final Function1<URI, Boolean> _function_1 = (URI it) -> {
+        boolean _contains = this.editedFiles.contains(it);
+        return Boolean.valueOf((!_contains));
+      };
+      Iterable<URI> _filter = IterableExtensions.<URI>filter(this.dirtyFiles, _function_1);
+      Iterables.<URI>addAll(allDirty, _filter);
+      final LinkedHashMultimap<ProjectDescription, URI> project2dirty = LinkedHashMultimap.<ProjectDescription, URI>create();
+      for (final URI dirty : allDirty) {
+        {
+          final ProjectDescription projectManager = this.workspaceManager.getProjectManager(dirty).getProjectDescription();
+          project2dirty.put(projectManager, dirty);
+        }
       }
-    }
-    final HashMultimap<ProjectDescription, URI> project2deleted = HashMultimap.<ProjectDescription, URI>create();
-    for (final URI deleted : this.deletedFiles) {
-      {
-        final ProjectDescription projectManager = this.workspaceManager.getProjectManager(deleted).getProjectDescription();
-        project2deleted.put(projectManager, deleted);
+      final LinkedHashMultimap<ProjectDescription, URI> project2deleted = LinkedHashMultimap.<ProjectDescription, URI>create();
+      for (final URI deleted : this.deletedFiles) {
+        {
+          final ProjectDescription projectManager = this.workspaceManager.getProjectManager(deleted).getProjectDescription();
+          project2deleted.put(projectManager, deleted);
+        }
+      }
+      Set<ProjectDescription> _keySet = project2dirty.keySet();
+      Set<ProjectDescription> _keySet_1 = project2deleted.keySet();
+      Iterable<ProjectDescription> _plus = Iterables.<ProjectDescription>concat(_keySet, _keySet_1);
+      final List<ProjectDescription> sortedDescriptions = this.sortByDependencies(this.getDependents(_plus));
+      final LinkedList<ProjectDescription> pending = new LinkedList<ProjectDescription>(sortedDescriptions);
+      final HashMap<Future<IncrementalBuilder.Result>, ProjectDescription> running = CollectionLiterals.<Future<IncrementalBuilder.Result>, ProjectDescription>newHashMap();
+      final HashSet<String> changedProjects = CollectionLiterals.<String>newHashSet();
+      final HashMap<ProjectDescription, List<IResourceDescription.Delta>> project2deltas = CollectionLiterals.<ProjectDescription, List<IResourceDescription.Delta>>newHashMap();
+      Executor _xifexpression = null;
+      if ((this.parallelProjectBuilds > 1)) {
+        _xifexpression = this.executorService;
+      } else {
+        final Executor _function_2 = (Runnable it) -> {
+          it.run();
+        };
+        _xifexpression = _function_2;
+      }
+      final Executor executor = _xifexpression;
+      final ExecutorCompletionService<IncrementalBuilder.Result> completionService = new ExecutorCompletionService<IncrementalBuilder.Result>(executor);
+      Throwable failure = null;
+      while ((((failure == null) && (!pending.isEmpty())) || (!running.isEmpty()))) {
+        {
+          if ((failure == null)) {
+            try {
+              this.operationCanceledManager.checkCanceled(cancelIndicator);
+              final Iterator<ProjectDescription> iterator = pending.iterator();
+              while ((iterator.hasNext() && (running.size() < Math.max(1, this.parallelProjectBuilds)))) {
+                {
+                  final ProjectDescription project = iterator.next();
+                  final Function1<String, Boolean> _function_3 = (String dependency) -> {
+                    Collection<ProjectDescription> _values = running.values();
+                    final Function1<ProjectDescription, Boolean> _function_4 = (ProjectDescription it) -> {
+                      String _name = it.getName();
+                      return Boolean.valueOf(Objects.equal(_name, dependency));
+                    };
+                    return Boolean.valueOf(IterableExtensions.<ProjectDescription>exists(Iterables.<ProjectDescription>concat(pending, _values), _function_4));
+                  };
+                  final boolean blocked = IterableExtensions.<String>exists(project.getDependencies(), _function_3);
+                  if ((!blocked)) {
+                    iterator.remove();
+                    final List<URI> projectDirty = IterableExtensions.<URI>toList(project2dirty.get(project));
+                    final List<URI> projectDeleted = IterableExtensions.<URI>toList(project2deleted.get(project));
+                    if (((!projectDirty.isEmpty()) || (!projectDeleted.isEmpty())) || IterableExtensions.<String>exists(project.getDependencies(), ((Function1<String, Boolean>) (String it) -> {
+                      return Boolean.valueOf(changedProjects.contains(it));
+                    }))) {
+                      final ProjectManager projectManager = this.workspaceManager.getProjectManager(project.getName());
+                      Collection<IResourceDescription.Delta> _values = this.unreportedDeltas.values();
+                      final ArrayList<IResourceDescription.Delta> externalDeltas = new ArrayList<IResourceDescription.Delta>(_values);
+                      for (final ProjectDescription description : sortedDescriptions) {
+                        List<IResourceDescription.Delta> _elvis = null;
+                        List<IResourceDescription.Delta> _get = project2deltas.get(description);
+                        if (_get != null) {
+                          _elvis = _get;
+                        } else {
+                          List<IResourceDescription.Delta> _emptyList = CollectionLiterals.<IResourceDescription.Delta>emptyList();
+                          _elvis = _emptyList;
+                        }
+                        Iterables.<IResourceDescription.Delta>addAll(externalDeltas, _elvis);
+                      }
+                      final Callable<IncrementalBuilder.Result> _function_5 = () -> {
+                        return projectManager.doBuild(projectDirty, projectDeleted, externalDeltas, cancelIndicator);
+                      };
+                      final Future<IncrementalBuilder.Result> future = completionService.submit(_function_5);
+                      running.put(future, project);
+                    }
+                  }
+                }
+              }
+            } catch (final Throwable _t) {
+              if (_t instanceof Throwable) {
+                final Throwable t = (Throwable)_t;
+                failure = t;
+              } else {
+                throw Exceptions.sneakyThrow(_t);
+              }
+            }
+          }
+          boolean _isEmpty = running.isEmpty();
+          boolean _not = (!_isEmpty);
+          if (_not) {
+            final Future<IncrementalBuilder.Result> future = completionService.take();
+            final ProjectDescription project = running.remove(future);
+            try {
+              final List<IResourceDescription.Delta> affectedResources = future.get().getAffectedResources();
+              Set<URI> _get = project2dirty.get(project);
+              Iterables.removeAll(this.dirtyFiles, _get);
+              Set<URI> _get_1 = project2deleted.get(project);
+              Iterables.removeAll(this.deletedFiles, _get_1);
+              Set<URI> _get_2 = project2dirty.get(project);
+              Iterables.removeAll(this.editedFiles, _get_2);
+              project2deltas.put(project, affectedResources);
+              final Function1<IResourceDescription.Delta, Boolean> _function_3 = (IResourceDescription.Delta it) -> {
+                return Boolean.valueOf(it.haveEObjectDescriptionsChanged());
+              };
+              boolean _exists = IterableExtensions.<IResourceDescription.Delta>exists(affectedResources, _function_3);
+              if (_exists) {
+                String _name = project.getName();
+                changedProjects.add(_name);
+              }
+            } catch (final Throwable _t_1) {
+              if (_t_1 instanceof ExecutionException) {
+                final ExecutionException e = (ExecutionException)_t_1;
+                if ((failure == null)) {
+                  failure = e.getCause();
+                }
+              } else {
+                throw Exceptions.sneakyThrow(_t_1);
+              }
+            }
+          }
+        }
       }
+      for (final ProjectDescription description : sortedDescriptions) {
+        List<IResourceDescription.Delta> _elvis = null;
+        List<IResourceDescription.Delta> _get = project2deltas.get(description);
+        if (_get != null) {
+          _elvis = _get;
+        } else {
+          List<IResourceDescription.Delta> _emptyList = CollectionLiterals.<IResourceDescription.Delta>emptyList();
+          _elvis = _emptyList;
+        }
+        for (final IResourceDescription.Delta delta : _elvis) {
+          this.addUnreportedDelta(delta);
+        }
+      }
+      if ((failure != null)) {
+        throw failure;
+      }
+      final List<IResourceDescription.Delta> result = IterableExtensions.<IResourceDescription.Delta>toList(this.unreportedDeltas.values());
+      this.unreportedDeltas.clear();
+      return result;
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
     }
-    Set<ProjectDescription> _keySet = project2dirty.keySet();
-    Set<ProjectDescription> _keySet_1 = project2deleted.keySet();
-    Iterable<ProjectDescription> _plus = Iterables.<ProjectDescription>concat(_keySet, _keySet_1);
-    final List<ProjectDescription> sortedDescriptions = this.sortByDependencies(_plus);
-    final ArrayList<IResourceDescription.Delta> result = CollectionLiterals.<IResourceDescription.Delta>newArrayList();
-    for (final ProjectDescription it : sortedDescriptions) {
+  }
+  
+  /**
+   * Returns the time in milliseconds until the {@link #DEBOUNCE_DELAY debounce delay} has passed since the last
+   * edit, or zero if the queued changes can be built right away.
+   * 
+   * @since 2.14
+   */
+  public long getRemainingDebounceDelay() {
+    if (((this.debounceDelay <= 0) || this.editedFiles.isEmpty())) {
+      return 0;
+    }
+    long _currentTimeMillis = System.currentTimeMillis();
+    long _minus = ((this.lastEdit + this.debounceDelay) - _currentTimeMillis);
+    return Math.max(0, _minus);
+  }
+  
+  /**
+   * Returns the given projects and all projects that depend on them, directly or indirectly.
+   * 
+   * @since 2.14
+   */
+  protected Set<ProjectDescription> getDependents(final Iterable<ProjectDescription> projectDescriptions) {
+    final LinkedHashSet<ProjectDescription> result = CollectionLiterals.<ProjectDescription>newLinkedHashSet();
+    Iterables.<ProjectDescription>addAll(result, projectDescriptions);
+    final Function1<ProjectDescription, String> _function = (ProjectDescription it) -> {
+      return it.getName();
+    };
+    final Set<String> names = IterableExtensions.<String>toSet(IterableExtensions.<ProjectDescription, String>map(result, _function));
+    boolean changed = true;
+    while (changed) {
       {
-        final ProjectManager projectManager = this.workspaceManager.getProjectManager(it.getName());
-        final List<URI> projectDirty = IterableExtensions.<URI>toList(project2dirty.get(it));
-        final List<URI> projectDeleted = IterableExtensions.<URI>toList(project2deleted.get(it));
-        final IncrementalBuilder.Result partialResult = projectManager.doBuild(projectDirty, projectDeleted, result, cancelIndicator);
-        final Function1<IResourceDescription.Delta, URI> _function = (IResourceDescription.Delta it_1) -> {
-          return it_1.getUri();
-        };
-        allDirty.addAll(ListExtensions.<IResourceDescription.Delta, URI>map(partialResult.getAffectedResources(), _function));
-        Iterables.removeAll(this.dirtyFiles, projectDirty);
-        Iterables.removeAll(this.deletedFiles, projectDeleted);
-        result.addAll(partialResult.getAffectedResources());
+        changed = false;
+        List<ProjectManager> _projectManagers = this.workspaceManager.getProjectManagers();
+        for (final ProjectManager projectManager : _projectManagers) {
+          {
+            final ProjectDescription description = projectManager.getProjectDescription();
+            if (((!names.contains(description.getName())) && IterableExtensions.<String>exists(description.getDependencies(), ((Function1<String, Boolean>) (String it) -> {
+              return Boolean.valueOf(names.contains(it));
+            })))) {
+              result.add(description);
+              String _name = description.getName();
+              names.add(_name);
+              changed = true;
+            }
+          }
+        }
       }
     }
     return result;
   }
   
+  /**
+   * Records the delta of a build that has not been reported yet. Subsequent deltas for the same resource are merged.
+   */
+  protected void addUnreportedDelta(final IResourceDescription.Delta delta) {
+    final IResourceDescription.Delta previous = this.unreportedDeltas.get(delta.getUri());
+    if ((previous == null)) {
+      this.unreportedDeltas.put(delta.getUri(), delta);
+    } else {
+      IResourceDescription _old = previous.getOld();
+      IResourceDescription _new = delta.getNew();
+      boolean _tripleNotEquals = (_old != _new);
+      if (_tripleNotEquals) {
+        URI _uri = delta.getUri();
+        IResourceDescription _old_1 = previous.getOld();
+        IResourceDescription _new_1 = delta.getNew();
+        DefaultResourceDescriptionDelta _defaultResourceDescriptionDelta = new DefaultResourceDescriptionDelta(_old_1, _new_1);
+        this.unreportedDeltas.put(_uri, _defaultResourceDescriptionDelta);
+      } else {
+        this.unreportedDeltas.remove(delta.getUri());
+      }
+    }
+  }
+  
   protected List<ProjectDescription> sortByDependencies(final Iterable<ProjectDescription> projectDescriptions) {
     final Procedure1<ProjectDescription> _function = (ProjectDescription it) -> {
       this.reportDependencyCycle(this.workspaceManager.getProjectManager(it.getName()));
@@ -11,6 +11,7 @@ import com.google.common.base.Objects;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -20,6 +21,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import org.apache.log4j.Logger;
@@ -90,10 +96,12 @@ import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor;
 import org.eclipse.xtext.diagnostics.Severity;
 import org.eclipse.xtext.ide.server.BuildManager;
+import org.eclipse.xtext.ide.server.DiagnosticsPublisher;
 import org.eclipse.xtext.ide.server.Document;
 import org.eclipse.xtext.ide.server.ICapabilitiesContributor;
 import org.eclipse.xtext.ide.server.ILanguageServerAccess;
 import org.eclipse.xtext.ide.server.ILanguageServerExtension;
+import org.eclipse.xtext.ide.server.InitialBuildProgress;
 import org.eclipse.xtext.ide.server.UriExtensions;
 import org.eclipse.xtext.ide.server.WorkspaceManager;
 import org.eclipse.xtext.ide.server.codeActions.ICodeActionService;
@@ -177,12 +185,26 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
   @Inject
   private ExecutableCommandRegistry commandRegistry;
   
+  /**
+   * @since 2.14
+   */
+  @Inject
+  @Accessors(AccessorType.PUBLIC_GETTER)
+  private DiagnosticsPublisher diagnosticsPublisher;
+  
   private WorkspaceManager workspaceManager;
   
   private InitializeParams params;
   
   private boolean hasShutdownBeenCalled = false;
   
+  /**
+   * Submits the builds that have been postponed by the {@link BuildManager#DEBOUNCE_DELAY debounce delay}.
+   */
+  private ScheduledExecutorService buildTimer;
+  
+  private ScheduledFuture<?> scheduledBuild;
+  
   @Inject
   public void setWorkspaceManager(final WorkspaceManager manager) {
     this.workspaceManager = manager;
@@ -287,20 +309,72 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
     }
     result.setCapabilities(capabilities);
     this.access.addBuildListener(this);
-    final Function0<Object> _function_1 = () -> {
-      final Procedure2<URI, Iterable<Issue>> _function_2 = (URI $0, Iterable<Issue> $1) -> {
+    boolean _isStagedInitialBuild = this.workspaceManager.isStagedInitialBuild();
+    if (_isStagedInitialBuild) {
+      InitialBuildProgress _initialBuildProgress = this.workspaceManager.getInitialBuildProgress();
+      _initialBuildProgress.setClient(this.client);
+      final Function0<Object> _function_1 = () -> {
+        final Procedure2<URI, Iterable<Issue>> _function_2 = (URI $0, Iterable<Issue> $1) -> {
+          this.publishDiagnostics($0, $1);
+        };
+        this.workspaceManager.initializeIndex(baseDir, _function_2, CancelIndicator.NullImpl);
+        return null;
+      };
+      final Function2<CancelIndicator, Object, Object> _function_2 = (CancelIndicator $0, Object $1) -> {
+        return null;
+      };
+      final Function<Object, InitializeResult> _function_3 = (Object it) -> {
+        this.validateInBackground();
+        return result;
+      };
+      return this.requestManager.<Object, Object>runWrite(_function_1, _function_2).<InitializeResult>thenApply(_function_3);
+    }
+    final Function0<Object> _function_4 = () -> {
+      final Procedure2<URI, Iterable<Issue>> _function_5 = (URI $0, Iterable<Issue> $1) -> {
         this.publishDiagnostics($0, $1);
       };
-      this.workspaceManager.initialize(baseDir, _function_2, CancelIndicator.NullImpl);
+      this.workspaceManager.initialize(baseDir, _function_5, CancelIndicator.NullImpl);
       return null;
     };
-    final Function2<CancelIndicator, Object, Object> _function_2 = (CancelIndicator $0, Object $1) -> {
+    final Function2<CancelIndicator, Object, Object> _function_5 = (CancelIndicator $0, Object $1) -> {
       return null;
     };
-    final Function<Object, InitializeResult> _function_3 = (Object it) -> {
+    final Function<Object, InitializeResult> _function_6 = (Object it) -> {
       return result;
     };
-    return this.requestManager.<Object, Object>runWrite(_function_1, _function_2).<InitializeResult>thenApply(_function_3);
+    return this.requestManager.<Object, Object>runWrite(_function_4, _function_5).<InitializeResult>thenApply(_function_6);
+  }
+  
+  /**
+   * Validates the next batch of the files that have been indexed by a staged initial build and schedules the
+   * following batch afterwards. Each batch is a separate task on the request queue, so read requests that arrive in
+   * the meantime are delayed by a single batch at most. Write requests cancel the running batch, which is resumed
+   * after them. The next batch is submitted from the completion callback of the previous one, i.e. not from the
+   * message thread.
+   * 
+   * @since 2.14
+   */
+  protected void validateInBackground() {
+    if (this.hasShutdownBeenCalled) {
+      return;
+    }
+    final Function1<CancelIndicator, Boolean> _function = (CancelIndicator cancelIndicator) -> {
+      final BuildManager.Buildable buildable = this.workspaceManager.validateNextBatch();
+      if ((buildable == null)) {
+        return Boolean.valueOf(false);
+      }
+      buildable.build(cancelIndicator);
+      return Boolean.valueOf(true);
+    };
+    final BiConsumer<Boolean, Throwable> _function_1 = (Boolean hasMore, Throwable throwable) -> {
+      if ((throwable != null)) {
+        LanguageServerImpl.LOG.error("Error while validating the workspace.", throwable);
+      }
+      if (((throwable != null) || (hasMore).booleanValue())) {
+        this.validateInBackground();
+      }
+    };
+    this.requestManager.<Boolean>runInBackground(_function).whenComplete(_function_1);
   }
   
   @Deprecated
@@ -325,6 +399,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
   @Override
   public void connect(final LanguageClient client) {
     this.client = client;
+    this.diagnosticsPublisher.reset();
   }
   
   @Override
@@ -339,8 +414,22 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
   @Override
   public CompletableFuture<Object> shutdown() {
     this.hasShutdownBeenCalled = true;
-    Object _object = new Object();
-    return CompletableFuture.<Object>completedFuture(_object);
+    synchronized (this) {
+      if (this.buildTimer!=null) {
+        this.buildTimer.shutdownNow();
+      }
+    }
+    final Function0<Object> _function = () -> {
+      this.workspaceManager.saveIndexCache();
+      return null;
+    };
+    final Function2<CancelIndicator, Object, Object> _function_1 = (CancelIndicator $0, Object $1) -> {
+      return null;
+    };
+    final Function<Object, Object> _function_2 = (Object it) -> {
+      return new Object();
+    };
+    return this.requestManager.<Object, Object>runWrite(_function, _function_1).<Object>thenApply(_function_2);
   }
   
   @Override
@@ -375,15 +464,67 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       return this.workspaceManager.didChange(this._uriExtensions.toUri(params.getTextDocument().getUri()), params.getTextDocument().getVersion(), ListExtensions.<TextDocumentContentChangeEvent, TextEdit>map(params.getContentChanges(), _function_1));
     };
     final Function2<CancelIndicator, BuildManager.Buildable, List<IResourceDescription.Delta>> _function_1 = (CancelIndicator cancelIndicator, BuildManager.Buildable buildable) -> {
-      return buildable.build(cancelIndicator);
+      return this.buildDebounced(cancelIndicator, buildable);
     };
     this.requestManager.<BuildManager.Buildable, List<IResourceDescription.Delta>>runWrite(_function, _function_1);
   }
   
+  /**
+   * Runs the given build, unless the {@link BuildManager#DEBOUNCE_DELAY debounce delay} of the last edit has not
+   * passed yet. In that case the build is postponed by a timer that submits a new write request once the delay has
+   * passed, such that the request queue is not blocked in the meantime.
+   * 
+   * @since 2.14
+   */
+  protected List<IResourceDescription.Delta> buildDebounced(final CancelIndicator cancelIndicator, final BuildManager.Buildable buildable) {
+    final long delay = this.workspaceManager.getRemainingDebounceDelay();
+    if ((delay > 0)) {
+      this.scheduleBuild(delay);
+      return CollectionLiterals.<IResourceDescription.Delta>emptyList();
+    }
+    return buildable.build(cancelIndicator);
+  }
+  
+  /**
+   * Submits a build of the queued changes after the given delay in milliseconds. A build that has been scheduled
+   * before and has not been submitted yet is cancelled.
+   * 
+   * @since 2.14
+   */
+  protected synchronized void scheduleBuild(final long delay) {
+    if (this.hasShutdownBeenCalled) {
+      return;
+    }
+    if (this.scheduledBuild!=null) {
+      this.scheduledBuild.cancel(false);
+    }
+    if ((this.buildTimer == null)) {
+      this.buildTimer = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("LanguageServer-BuildTimer-%d").build());
+    }
+    final Runnable _function = () -> {
+      final Function0<BuildManager.Buildable> _function_1 = () -> {
+        return this.workspaceManager.didChangeFiles(CollectionLiterals.<URI>emptyList(), CollectionLiterals.<URI>emptyList());
+      };
+      final Function2<CancelIndicator, BuildManager.Buildable, List<IResourceDescription.Delta>> _function_2 = (CancelIndicator cancelIndicator, BuildManager.Buildable buildable) -> {
+        return this.buildDebounced(cancelIndicator, buildable);
+      };
+      this.requestManager.<BuildManager.Buildable, List<IResourceDescription.Delta>>runWrite(_function_1, _function_2);
+    };
+    final Runnable build = _function;
+    this.scheduledBuild = this.buildTimer.schedule(build, delay, TimeUnit.MILLISECONDS);
+  }
+  
   @Override
   public void didClose(final DidCloseTextDocumentParams params) {
     final Function0<BuildManager.Buildable> _function = () -> {
-      return this.workspaceManager.didClose(this._uriExtensions.toUri(params.getTextDocument().getUri()));
+      BuildManager.Buildable _xblockexpression = null;
+      {
+        final URI uri = this._uriExtensions.toUri(params.getTextDocument().getUri());
+        this.diagnosticsPublisher.forget(this._uriExtensions.toUriString(uri));
+        _xblockexpression = this.workspaceManager.didClose(uri);
+      }
+      return _xblockexpression;
     };
     final Function2<CancelIndicator, BuildManager.Buildable, List<IResourceDescription.Delta>> _function_1 = (CancelIndicator cancelIndicator, BuildManager.Buildable buildable) -> {
       return buildable.build(cancelIndicator);
@@ -407,11 +548,12 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
           FileChangeType _type = fileEvent.getType();
           boolean _tripleEquals = (_type == FileChangeType.Deleted);
           if (_tripleEquals) {
-            URI _uri = this._uriExtensions.toUri(fileEvent.getUri());
-            deletedFiles.add(_uri);
+            final URI uri = this._uriExtensions.toUri(fileEvent.getUri());
+            this.diagnosticsPublisher.forget(this._uriExtensions.toUriString(uri));
+            deletedFiles.add(uri);
           } else {
-            URI _uri_1 = this._uriExtensions.toUri(fileEvent.getUri());
-            dirtyFiles.add(_uri_1);
+            URI _uri = this._uriExtensions.toUri(fileEvent.getUri());
+            dirtyFiles.add(_uri);
           }
         }
         _xblockexpression = this.workspaceManager.didChangeFiles(dirtyFiles, deletedFiles);
@@ -454,7 +596,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       it.setDiagnostics(IterableExtensions.<Diagnostic>toList(IterableExtensions.map(IterableExtensions.filter(issues, _function_1), _function_2)));
     };
     final PublishDiagnosticsParams diagnostics = ObjectExtensions.<PublishDiagnosticsParams>operator_doubleArrow(_publishDiagnosticsParams, _function);
-    this.client.publishDiagnostics(diagnostics);
+    this.diagnosticsPublisher.publish(this.client, diagnostics);
   }
   
   private Diagnostic toDiagnostic(final Issue issue) {
@@ -520,7 +662,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
     final Function1<CancelIndicator, Either<List<CompletionItem>, CompletionList>> _function = (CancelIndicator origialCancelIndicator) -> {
       return this.completion(origialCancelIndicator, params);
     };
-    return this.requestManager.<Either<List<CompletionItem>, CompletionList>>runRead(_function);
+    return this.requestManager.<Either<List<CompletionItem>, CompletionList>>runRead("textDocument/completion", _function);
   }
   
   protected Either<List<CompletionItem>, CompletionList> completion(final CancelIndicator origialCancelIndicator, final TextDocumentPositionParams params) {
@@ -548,7 +690,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
     final Function1<CancelIndicator, List<? extends Location>> _function = (CancelIndicator cancelIndicator) -> {
       return this.definition(cancelIndicator, params);
     };
-    return this.requestManager.<List<? extends Location>>runRead(_function);
+    return this.requestManager.<List<? extends Location>>runRead("textDocument/definition", _function);
   }
   
   protected List<? extends Location> definition(final CancelIndicator cancelIndicator, final TextDocumentPositionParams params) {
@@ -586,7 +728,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       };
       return this.workspaceManager.<List<? extends Location>>doRead(uri, _function_1);
     };
-    return this.requestManager.<List<? extends Location>>runRead(_function);
+    return this.requestManager.<List<? extends Location>>runRead("textDocument/references", _function);
   }
   
   @Override
@@ -607,7 +749,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       };
       return this.workspaceManager.<List<? extends SymbolInformation>>doRead(uri, _function_1);
     };
-    return this.requestManager.<List<? extends SymbolInformation>>runRead(_function);
+    return this.requestManager.<List<? extends SymbolInformation>>runRead("textDocument/documentSymbol", _function);
   }
   
   @Override
@@ -616,7 +758,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       final IResourceDescriptions indexData = this.workspaceManager.getIndex();
       return this.workspaceSymbolService.getSymbols(params.getQuery(), this.resourceAccess, indexData, cancelIndicator);
     };
-    return this.requestManager.<List<? extends SymbolInformation>>runRead(_function);
+    return this.requestManager.<List<? extends SymbolInformation>>runRead("workspace/symbol", _function);
   }
   
   @Override
@@ -637,7 +779,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       };
       return this.workspaceManager.<Hover>doRead(uri, _function_1);
     };
-    return this.requestManager.<Hover>runRead(_function);
+    return this.requestManager.<Hover>runRead("textDocument/hover", _function);
   }
   
   @Override
@@ -663,7 +805,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       };
       return this.workspaceManager.<SignatureHelp>doRead(uri, _function_1);
     };
-    return this.requestManager.<SignatureHelp>runRead(_function);
+    return this.requestManager.<SignatureHelp>runRead("textDocument/signatureHelp", _function);
   }
   
   @Override
@@ -684,7 +826,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       };
       return this.workspaceManager.<List<? extends DocumentHighlight>>doRead(uri, _function_1);
     };
-    return this.requestManager.<List<? extends DocumentHighlight>>runRead(_function);
+    return this.requestManager.<List<? extends DocumentHighlight>>runRead("textDocument/documentHighlight", _function);
   }
   
   @Override
@@ -705,7 +847,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       };
       return this.workspaceManager.<List<? extends Command>>doRead(uri, _function_1);
     };
-    return this.requestManager.<List<? extends Command>>runRead(_function);
+    return this.requestManager.<List<? extends Command>>runRead("textDocument/codeAction", _function);
   }
   
   private void installURI(final List<? extends CodeLens> codeLenses, final String uri) {
@@ -758,7 +900,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       };
       return this.workspaceManager.<List<? extends CodeLens>>doRead(uri, _function_1);
     };
-    return this.requestManager.<List<? extends CodeLens>>runRead(_function);
+    return this.requestManager.<List<? extends CodeLens>>runRead("textDocument/codeLens", _function);
   }
   
   @Override
@@ -783,7 +925,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       };
       return this.workspaceManager.<CodeLens>doRead(uri, _function_1);
     };
-    return this.requestManager.<CodeLens>runRead(_function);
+    return this.requestManager.<CodeLens>runRead("codeLens/resolve", _function);
   }
   
   @Override
@@ -804,7 +946,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       };
       return this.workspaceManager.<List<? extends TextEdit>>doRead(uri, _function_1);
     };
-    return this.requestManager.<List<? extends TextEdit>>runRead(_function);
+    return this.requestManager.<List<? extends TextEdit>>runRead("textDocument/formatting", _function);
   }
   
   @Override
@@ -825,7 +967,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       };
       return this.workspaceManager.<List<? extends TextEdit>>doRead(uri, _function_1);
     };
-    return this.requestManager.<List<? extends TextEdit>>runRead(_function);
+    return this.requestManager.<List<? extends TextEdit>>runRead("textDocument/rangeFormatting", _function);
   }
   
   @Override
@@ -833,7 +975,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
     final Function1<CancelIndicator, Object> _function = (CancelIndicator cancelIndicator) -> {
       return this.commandRegistry.executeCommand(params, this.access, cancelIndicator);
     };
-    return this.requestManager.<Object>runRead(_function);
+    return this.requestManager.<Object>runRead("workspace/executeCommand", _function);
   }
   
   @Override
@@ -860,7 +1002,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       }
       return _xblockexpression;
     };
-    return this.requestManager.<WorkspaceEdit>runRead(_function);
+    return this.requestManager.<WorkspaceEdit>runRead("textDocument/rename", _function);
   }
   
   @Override
@@ -1045,4 +1187,9 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
   public RequestManager getRequestManager() {
     return this.requestManager;
   }
+  
+  @Pure
+  public DiagnosticsPublisher getDiagnosticsPublisher() {
+    return this.diagnosticsPublisher;
+  }
 }
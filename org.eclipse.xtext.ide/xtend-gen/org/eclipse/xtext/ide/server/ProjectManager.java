@@ -9,11 +9,15 @@ package org.eclipse.xtext.ide.server;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.google.common.base.Objects;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -34,12 +38,15 @@ import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.IAcceptor;
 import org.eclipse.xtext.util.IFileSystemScanner;
+import org.eclipse.xtext.util.ParallelFileSystemScanner;
 import org.eclipse.xtext.validation.Issue;
 import org.eclipse.xtext.workspace.IProjectConfig;
 import org.eclipse.xtext.workspace.ISourceFolder;
 import org.eclipse.xtext.workspace.ProjectConfigAdapter;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Conversions;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.ObjectExtensions;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure2;
@@ -66,6 +73,9 @@ public class ProjectManager {
   @Inject
   protected IExternalContentSupport externalContentSupport;
   
+  @Inject
+  protected ProjectIndexCache indexCache;
+  
   @Accessors(AccessorType.PUBLIC_GETTER)
   private IndexState indexState = new IndexState();
   
@@ -78,6 +88,11 @@ public class ProjectManager {
   
   private IExternalContentSupport.IExternalContentProvider openedDocumentsContentProvider;
   
+  /**
+   * The latest issues of the files, recorded for the {@link ProjectIndexCache index cache} if it is enabled.
+   */
+  private final Map<URI, List<Issue>> reportedIssues = new ConcurrentHashMap<URI, List<Issue>>();
+  
   @Accessors(AccessorType.PUBLIC_GETTER)
   private XtextResourceSet resourceSet;
   
@@ -96,19 +111,173 @@ public class ProjectManager {
   }
   
   public IncrementalBuilder.Result doInitialBuild(final CancelIndicator cancelIndicator) {
+    return this.doInitialBuild(CollectionLiterals.<IResourceDescription.Delta>emptyList(), cancelIndicator);
+  }
+  
+  /**
+   * Builds all files of this project. If the {@link ProjectIndexCache index cache} contains the state of this
+   * project, the cached index is restored and only the files whose content has changed since are rebuilt. The
+   * cached issues of the other files are reported again.
+   * 
+   * @param externalDeltas the changes of the upstream projects that have been built before
+   * @since 2.14
+   */
+  public IncrementalBuilder.Result doInitialBuild(final List<IResourceDescription.Delta> externalDeltas, final CancelIndicator cancelIndicator) {
+    return this.doInitialBuild(externalDeltas, false, cancelIndicator);
+  }
+  
+  /**
+   * Builds all files of this project like {@link #doInitialBuild(List, CancelIndicator)}. If <code>indexOnly</code>
+   * is set, the files are indexed but not validated. They are stored in the index cache without content hash, so
+   * they are built again after a restart unless the cache is saved after they have been validated.
+   * 
+   * @since 2.14
+   */
+  public IncrementalBuilder.Result doInitialBuild(final List<IResourceDescription.Delta> externalDeltas, final boolean indexOnly, final CancelIndicator cancelIndicator) {
     final ArrayList<URI> uris = CollectionLiterals.<URI>newArrayList();
     final Consumer<ISourceFolder> _function = (ISourceFolder it) -> {
       final IAcceptor<URI> _function_1 = (URI it_1) -> {
         uris.add(it_1);
       };
-      this.fileSystemScanner.scan(it.getPath(), _function_1);
+      this.scanSourceFolder(it.getPath(), _function_1);
     };
     this.projectConfig.getSourceFolders().forEach(_function);
-    return this.doBuild(uris, CollectionLiterals.<URI>emptyList(), CollectionLiterals.<IResourceDescription.Delta>emptyList(), cancelIndicator);
+    ProjectIndexCache.CachedIndex _xifexpression = null;
+    boolean _isEnabled = this.indexCache.isEnabled();
+    if (_isEnabled) {
+      _xifexpression = this.indexCache.load(this.projectDescription.getName(), this.baseDir);
+    }
+    final ProjectIndexCache.CachedIndex cached = _xifexpression;
+    if ((cached == null)) {
+      final IncrementalBuilder.Result result = this.doBuild(uris, CollectionLiterals.<URI>emptyList(), externalDeltas, indexOnly, cancelIndicator);
+      this.saveIndexCache(this.getUnvalidatedFiles(result, indexOnly));
+      return result;
+    }
+    this.indexState = cached.getIndexState();
+    this.indexProvider.get().put(this.projectDescription.getName(), this.indexState.getResourceDescriptions());
+    final ArrayList<URI> dirtyFiles = CollectionLiterals.<URI>newArrayList();
+    for (final URI uri : uris) {
+      {
+        final String hash = cached.getContentHash(uri);
+        if (((hash == null) || (!Objects.equal(hash, this.indexCache.getContentHash(uri))))) {
+          dirtyFiles.add(uri);
+        } else {
+          final List<Issue> issues = cached.getIssues(uri);
+          this.reportedIssues.put(uri, issues);
+          this.issueAcceptor.apply(uri, issues);
+        }
+      }
+    }
+    final HashSet<URI> existingFiles = CollectionLiterals.<URI>newHashSet(((URI[])Conversions.unwrapArray(uris, URI.class)));
+    final Function1<URI, Boolean> _function_1 = (URI it) -> {
+      boolean _contains = existingFiles.contains(it);
+      return Boolean.valueOf((!_contains));
+    };
+    final List<URI> deletedFiles = IterableExtensions.<URI>toList(IterableExtensions.<URI>filter(this.indexState.getResourceDescriptions().getAllURIs(), _function_1));
+    final IncrementalBuilder.Result result_1 = this.doBuild(dirtyFiles, deletedFiles, externalDeltas, indexOnly, cancelIndicator);
+    this.saveIndexCache(this.getUnvalidatedFiles(result_1, indexOnly));
+    return result_1;
+  }
+  
+  private Set<URI> getUnvalidatedFiles(final IncrementalBuilder.Result result, final boolean indexOnly) {
+    if ((!indexOnly)) {
+      return CollectionLiterals.<URI>emptySet();
+    }
+    final Function1<IResourceDescription.Delta, Boolean> _function = (IResourceDescription.Delta it) -> {
+      IResourceDescription _new = it.getNew();
+      return Boolean.valueOf((_new != null));
+    };
+    final Function1<IResourceDescription.Delta, URI> _function_1 = (IResourceDescription.Delta it) -> {
+      return it.getUri();
+    };
+    return IterableExtensions.<URI>toSet(IterableExtensions.<IResourceDescription.Delta, URI>map(IterableExtensions.<IResourceDescription.Delta>filter(result.getAffectedResources(), _function), _function_1));
+  }
+  
+  /**
+   * Writes the current state of this project to the {@link ProjectIndexCache index cache}, if it is enabled. The
+   * open documents and the given files are rebuilt when the state is restored.
+   * 
+   * @param outdatedFiles the files whose latest changes have not been built yet
+   * @since 2.14
+   */
+  public void saveIndexCache(final Set<URI> outdatedFiles) {
+    boolean _isEnabled = this.indexCache.isEnabled();
+    boolean _not = (!_isEnabled);
+    if (_not) {
+      return;
+    }
+    final HashMap<URI, String> contentHashes = CollectionLiterals.<URI, String>newHashMap();
+    Set<URI> _allURIs = this.indexState.getResourceDescriptions().getAllURIs();
+    for (final URI uri : _allURIs) {
+      {
+        final boolean open = ((this.openedDocumentsContentProvider != null) && this.openedDocumentsContentProvider.hasContent(uri));
+        if (((!open) && (!outdatedFiles.contains(uri)))) {
+          final String hash = this.indexCache.getContentHash(uri);
+          if ((hash != null)) {
+            contentHashes.put(uri, hash);
+          }
+        }
+      }
+    }
+    this.indexCache.save(this.projectDescription.getName(), this.baseDir, this.indexState, contentHashes, this.reportedIssues);
+  }
+  
+  /**
+   * Reports the files of the given source folder to the acceptor. If the file system scanner supports it, only
+   * files with a registered file extension are reported and the {@link #getExcludeGlobs() excluded} paths are
+   * skipped.
+   * 
+   * @since 2.14
+   */
+  protected void scanSourceFolder(final URI sourceFolder, final IAcceptor<URI> acceptor) {
+    final IFileSystemScanner scanner = this.fileSystemScanner;
+    if ((scanner instanceof ParallelFileSystemScanner)) {
+      ((ParallelFileSystemScanner)scanner).scan(sourceFolder, this.getFileExtensions(), this.getExcludeGlobs(), acceptor);
+    } else {
+      scanner.scan(sourceFolder, acceptor);
+    }
+  }
+  
+  /**
+   * Returns the extensions of the files that take part in the build, or <code>null</code> if the languages cannot
+   * be determined by the file extension alone.
+   * 
+   * @since 2.14
+   */
+  protected Set<String> getFileExtensions() {
+    if (((!this.languagesRegistry.getContentTypeToFactoryMap().isEmpty()) || (!this.languagesRegistry.getProtocolToFactoryMap().isEmpty()))) {
+      return null;
+    }
+    final Set<String> extensions = this.languagesRegistry.getExtensionToFactoryMap().keySet();
+    boolean _contains = extensions.contains(Resource.Factory.Registry.DEFAULT_EXTENSION);
+    if (_contains) {
+      return null;
+    }
+    return extensions;
+  }
+  
+  /**
+   * Returns glob patterns for the paths below a source folder that are not scanned, e.g. <code>**&#47;node_modules</code>.
+   * 
+   * @since 2.14
+   */
+  protected List<String> getExcludeGlobs() {
+    return CollectionLiterals.<String>emptyList();
   }
   
   public IncrementalBuilder.Result doBuild(final List<URI> dirtyFiles, final List<URI> deletedFiles, final List<IResourceDescription.Delta> externalDeltas, final CancelIndicator cancelIndicator) {
+    return this.doBuild(dirtyFiles, deletedFiles, externalDeltas, false, cancelIndicator);
+  }
+  
+  /**
+   * Builds the given files. If <code>indexOnly</code> is set, the files are indexed but neither validated nor
+   * generated.
+   * 
+   * @since 2.14
+   */
+  public IncrementalBuilder.Result doBuild(final List<URI> dirtyFiles, final List<URI> deletedFiles, final List<IResourceDescription.Delta> externalDeltas, final boolean indexOnly, final CancelIndicator cancelIndicator) {
     final BuildRequest request = this.newBuildRequest(dirtyFiles, deletedFiles, externalDeltas, cancelIndicator);
+    request.setIndexOnly(indexOnly);
     final Function1<URI, IResourceServiceProvider> _function = (URI it) -> {
       return this.languagesRegistry.getResourceServiceProvider(it);
     };
@@ -133,6 +302,10 @@ public class ProjectManager {
       it.setExternalDeltas(externalDeltas);
       final BuildRequest.IPostValidationCallback _function_1 = (URI uri, Iterable<Issue> issues) -> {
         this.issueAcceptor.apply(uri, issues);
+        boolean _isEnabled = this.indexCache.isEnabled();
+        if (_isEnabled) {
+          this.reportedIssues.put(uri, IterableExtensions.<Issue>toList(issues));
+        }
         return true;
       };
       it.setAfterValidate(_function_1);
@@ -20,6 +20,8 @@ import org.eclipse.xtext.resource.IContainer;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
 import org.eclipse.xtext.resource.ResourceServiceProviderServiceLoader;
 import org.eclipse.xtext.resource.containers.ProjectDescriptionBasedContainerManager;
+import org.eclipse.xtext.util.IFileSystemScanner;
+import org.eclipse.xtext.util.ParallelFileSystemScanner;
 
 /**
  * @author Sven Efftinge - Initial contribution and API
@@ -35,5 +37,6 @@ public class ServerModule extends AbstractModule {
     this.<IWorkspaceConfigFactory>bind(IWorkspaceConfigFactory.class).to(ProjectWorkspaceConfigFactory.class);
     this.<IProjectDescriptionFactory>bind(IProjectDescriptionFactory.class).to(DefaultProjectDescriptionFactory.class);
     this.<IContainer.Manager>bind(IContainer.Manager.class).to(ProjectDescriptionBasedContainerManager.class);
+    this.<IFileSystemScanner>bind(IFileSystemScanner.class).to(ParallelFileSystemScanner.class);
   }
 }
@@ -7,15 +7,20 @@
  */
 package org.eclipse.xtext.ide.server;
 
+import com.google.common.base.Predicate;
+import com.google.common.collect.Iterables;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.google.inject.name.Named;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.URI;
@@ -24,12 +29,16 @@ import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
 import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
 import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
+import org.eclipse.xtend.lib.annotations.AccessorType;
+import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtext.ide.server.BuildManager;
 import org.eclipse.xtext.ide.server.Document;
 import org.eclipse.xtext.ide.server.ILanguageServerAccess;
 import org.eclipse.xtext.ide.server.IProjectDescriptionFactory;
 import org.eclipse.xtext.ide.server.IWorkspaceConfigFactory;
+import org.eclipse.xtext.ide.server.InitialBuildProgress;
 import org.eclipse.xtext.ide.server.ProjectManager;
+import org.eclipse.xtext.ide.server.ResourceMemoryManager;
 import org.eclipse.xtext.resource.IExternalContentSupport;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescriptions;
@@ -43,9 +52,13 @@ import org.eclipse.xtext.util.internal.Log;
 import org.eclipse.xtext.validation.Issue;
 import org.eclipse.xtext.workspace.IProjectConfig;
 import org.eclipse.xtext.workspace.IWorkspaceConfig;
+import org.eclipse.xtext.xbase.lib.CollectionExtensions;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.Functions.Function2;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure2;
+import org.eclipse.xtext.xbase.lib.Pure;
 
 /**
  * @author Sven Efftinge - Initial contribution and API
@@ -54,6 +67,15 @@ import org.eclipse.xtext.xbase.lib.Procedures.Procedure2;
 @Log
 @SuppressWarnings("all")
 public class WorkspaceManager {
+  /**
+   * The name of an <code>int</code> constant for the number of files that are validated per request after a
+   * {@link #initializeIndex(URI, Procedure2, CancelIndicator) staged initial build}. A value of zero, the default,
+   * disables the staged initial build, i.e. all files are validated before the initialization completes.
+   * 
+   * @since 2.14
+   */
+  public static final String INITIAL_VALIDATION_BATCH_SIZE = (WorkspaceManager.class.getCanonicalName() + ".initialValidationBatchSize");
+  
   @Inject
   private Provider<ProjectManager> projectManagerProvider;
   
@@ -63,8 +85,29 @@ public class WorkspaceManager {
   @Inject
   private IProjectDescriptionFactory projectDescriptionFactory;
   
+  @Inject
+  private ResourceMemoryManager memoryManager;
+  
   private BuildManager buildManager;
   
+  @Inject(optional = true)
+  @Named(WorkspaceManager.INITIAL_VALIDATION_BATCH_SIZE)
+  private int initialValidationBatchSize = 0;
+  
+  /**
+   * @since 2.14
+   */
+  @Inject
+  @Accessors(AccessorType.PUBLIC_GETTER)
+  private InitialBuildProgress initialBuildProgress;
+  
+  /**
+   * The files that have been indexed by the staged initial build but have not been validated yet.
+   */
+  private final LinkedHashSet<URI> pendingValidation = CollectionLiterals.<URI>newLinkedHashSet();
+  
+  private int initialValidationCount;
+  
   private Map<String, ProjectManager> projectName2ProjectManager = CollectionLiterals.<String, ProjectManager>newHashMap();
   
   private URI baseDir;
@@ -79,7 +122,7 @@ public class WorkspaceManager {
     this.buildListeners.add(listener);
   }
   
-  private Map<String, ResourceDescriptionsData> fullIndex = CollectionLiterals.<String, ResourceDescriptionsData>newHashMap();
+  private Map<String, ResourceDescriptionsData> fullIndex = new ConcurrentHashMap<String, ResourceDescriptionsData>();
   
   private Map<URI, Document> openDocuments = CollectionLiterals.<URI, Document>newHashMap();
   
@@ -117,7 +160,84 @@ public class WorkspaceManager {
     this.refreshWorkspaceConfig(cancelIndicator);
   }
   
+  /**
+   * Returns whether the workspace should be initialized in stages, i.e. indexed by
+   * {@link #initializeIndex(URI, Procedure2, CancelIndicator)} and validated in batches afterwards.
+   * 
+   * @since 2.14
+   */
+  public boolean isStagedInitialBuild() {
+    return (this.initialValidationBatchSize > 0);
+  }
+  
+  /**
+   * Scans and indexes all projects of the workspace without validating their files. Once this method returns,
+   * requests can be served against the complete index. The indexed files have to be validated by subsequent calls
+   * to {@link #validateNextBatch()}.
+   * 
+   * @since 2.14
+   */
+  public void initializeIndex(final URI baseDir, final Procedure2<? super URI, ? super Iterable<Issue>> issueAcceptor, final CancelIndicator cancelIndicator) {
+    this.baseDir = baseDir;
+    this.issueAcceptor = issueAcceptor;
+    final List<IResourceDescription.Delta> deltas = this.refreshWorkspaceConfig(true, cancelIndicator);
+    for (final IResourceDescription.Delta delta : deltas) {
+      IResourceDescription _new = delta.getNew();
+      boolean _tripleNotEquals = (_new != null);
+      if (_tripleNotEquals) {
+        URI _uri = delta.getUri();
+        this.pendingValidation.add(_uri);
+      }
+    }
+    this.initialValidationCount = this.pendingValidation.size();
+    this.initialBuildProgress.begin(InitialBuildProgress.Stage.VALIDATE, this.initialValidationCount);
+  }
+  
+  /**
+   * Returns a buildable that validates the next batch of the files that have been indexed by
+   * {@link #initializeIndex(URI, Procedure2, CancelIndicator)}, or <code>null</code> if all of them have been
+   * validated. Documents that are opened in the meantime are removed from the pending files, since they are
+   * validated by the build of their own request. The files of a cancelled batch remain queued in the
+   * {@link BuildManager} and are validated by the next build.
+   * 
+   * @since 2.14
+   */
+  public BuildManager.Buildable validateNextBatch() {
+    boolean _isEmpty = this.pendingValidation.isEmpty();
+    if (_isEmpty) {
+      return null;
+    }
+    final List<URI> batch = IterableExtensions.<URI>toList(IterableExtensions.<URI>take(this.pendingValidation, this.initialValidationBatchSize));
+    final BuildManager.Buildable buildable = this.didChangeFiles(batch, CollectionLiterals.<URI>newArrayList());
+    final BuildManager.Buildable _function = (CancelIndicator cancelIndicator) -> {
+      final List<IResourceDescription.Delta> deltas = buildable.build(cancelIndicator);
+      int _size = this.pendingValidation.size();
+      int _minus = (this.initialValidationCount - _size);
+      this.initialBuildProgress.update(InitialBuildProgress.Stage.VALIDATE, _minus, null);
+      boolean _isEmpty_1 = this.pendingValidation.isEmpty();
+      if (_isEmpty_1) {
+        this.initialBuildProgress.done(InitialBuildProgress.Stage.VALIDATE);
+      }
+      return deltas;
+    };
+    return _function;
+  }
+  
   protected void refreshWorkspaceConfig(final CancelIndicator cancelIndicator) {
+    this.refreshWorkspaceConfig(false, cancelIndicator);
+  }
+  
+  /**
+   * Reads the workspace configuration and builds the projects that have been added. If <code>indexOnly</code> is
+   * set, the files of the new projects are indexed but not validated.
+   * 
+   * @return the deltas of the initial build of the new projects
+   * @since 2.14
+   */
+  protected List<IResourceDescription.Delta> refreshWorkspaceConfig(final boolean indexOnly, final CancelIndicator cancelIndicator) {
+    if (indexOnly) {
+      this.initialBuildProgress.begin(InitialBuildProgress.Stage.SCAN, 0);
+    }
     this.setWorkspaceConfig(this.workspaceConfigFactory.getWorkspaceConfig(this.baseDir));
     final ArrayList<ProjectDescription> newProjects = CollectionLiterals.<ProjectDescription>newArrayList();
     Set<String> _keySet = this.projectName2ProjectManager.keySet();
@@ -145,8 +265,12 @@ public class WorkspaceManager {
         this.fullIndex.remove(deletedProject);
       }
     }
-    final List<IResourceDescription.Delta> result = this.buildManager.doInitialBuild(newProjects, cancelIndicator);
+    if (indexOnly) {
+      this.initialBuildProgress.done(InitialBuildProgress.Stage.SCAN);
+    }
+    final List<IResourceDescription.Delta> result = this.buildManager.doInitialBuild(newProjects, indexOnly, cancelIndicator);
     this.afterBuild(result);
+    return result;
   }
   
   protected IWorkspaceConfig getWorkspaceConfig() {
@@ -166,9 +290,33 @@ public class WorkspaceManager {
     for (final ILanguageServerAccess.IBuildListener listener : this.buildListeners) {
       listener.afterBuild(deltas);
     }
+    this.unloadResources();
+  }
+  
+  /**
+   * Unloads the least recently used resources that are not open in an editor, if the loaded resources exceed the
+   * {@link ResourceMemoryManager memory budget}.
+   * 
+   * @since 2.14
+   */
+  protected void unloadResources() {
+    boolean _isEnabled = this.memoryManager.isEnabled();
+    if (_isEnabled) {
+      final Function1<ProjectManager, XtextResourceSet> _function = (ProjectManager it) -> {
+        return it.getResourceSet();
+      };
+      Iterable<XtextResourceSet> _filterNull = IterableExtensions.<XtextResourceSet>filterNull(IterableExtensions.<ProjectManager, XtextResourceSet>map(this.projectName2ProjectManager.values(), _function));
+      final Predicate<URI> _function_1 = (URI it) -> {
+        boolean _isDocumentOpen = this.isDocumentOpen(it);
+        return (!_isDocumentOpen);
+      };
+      this.memoryManager.unloadResources(_filterNull, _function_1);
+    }
   }
   
   public BuildManager.Buildable didChangeFiles(final List<URI> dirtyFiles, final List<URI> deletedFiles) {
+    CollectionExtensions.<URI>removeAll(this.pendingValidation, dirtyFiles);
+    CollectionExtensions.<URI>removeAll(this.pendingValidation, deletedFiles);
     final BuildManager.Buildable buildable = this.buildManager.submit(dirtyFiles, deletedFiles);
     final BuildManager.Buildable _function = (CancelIndicator cancelIndicator) -> {
       final List<IResourceDescription.Delta> deltas = buildable.build(cancelIndicator);
@@ -178,6 +326,16 @@ public class WorkspaceManager {
     return _function;
   }
   
+  /**
+   * Returns the time in milliseconds until the edited documents should be built, see
+   * {@link BuildManager#getRemainingDebounceDelay()}.
+   * 
+   * @since 2.14
+   */
+  public long getRemainingDebounceDelay() {
+    return this.buildManager.getRemainingDebounceDelay();
+  }
+  
   public List<IResourceDescription.Delta> doBuild(final List<URI> dirtyFiles, final List<URI> deletedFiles, final CancelIndicator cancelIndicator) {
     return this.didChangeFiles(dirtyFiles, deletedFiles).build(cancelIndicator);
   }
@@ -213,6 +371,20 @@ public class WorkspaceManager {
     return new ArrayList<ProjectManager>(_values);
   }
   
+  /**
+   * Writes the state of all projects to the {@link ProjectIndexCache index cache}, if it is enabled.
+   * 
+   * @since 2.14
+   */
+  public void saveIndexCache() {
+    final Set<URI> pendingFiles = this.buildManager.getPendingFiles();
+    Iterables.<URI>addAll(pendingFiles, this.pendingValidation);
+    Collection<ProjectManager> _values = this.projectName2ProjectManager.values();
+    for (final ProjectManager projectManager : _values) {
+      projectManager.saveIndexCache(pendingFiles);
+    }
+  }
+  
   public List<IResourceDescription.Delta> didChange(final URI uri, final int version, final Iterable<TextEdit> changes, final CancelIndicator cancelIndicator) {
     return this.didChange(uri, version, changes).build(cancelIndicator);
   }
@@ -229,6 +401,7 @@ public class WorkspaceManager {
     }
     final Document contents = this.openDocuments.get(uri);
     this.openDocuments.put(uri, contents.applyChanges(changes));
+    this.buildManager.markEdited(uri);
     return this.didChangeFiles(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(uri)), CollectionLiterals.<URI>newArrayList());
   }
   
@@ -279,6 +452,7 @@ public class WorkspaceManager {
     if ((resource == null)) {
       return work.apply(null, null);
     }
+    this.memoryManager.touch(resource);
     Document doc = this.getDocument(resource);
     Resource _resource_1 = projectMnr.getResource(resourceURI);
     return work.apply(doc, ((XtextResource) _resource_1));
@@ -302,4 +476,9 @@ public class WorkspaceManager {
   }
   
   private final static Logger LOG = Logger.getLogger(WorkspaceManager.class);
+  
+  @Pure
+  public InitialBuildProgress getInitialBuildProgress() {
+    return this.initialBuildProgress;
+  }
 }
@@ -7,8 +7,7 @@
  */
 package org.eclipse.xtext.ide.server.concurrent;
 
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor;
 import org.eclipse.xtext.ide.server.concurrent.AbstractRequest;
 import org.eclipse.xtext.util.CancelIndicator;
@@ -20,7 +19,7 @@ import org.eclipse.xtext.xbase.lib.Functions.Function1;
 public class ReadRequest<V extends Object> extends AbstractRequest<V> {
   private final Function1<? super CancelIndicator, ? extends V> cancellable;
   
-  private final ExecutorService executor;
+  private final Executor executor;
   
   @Override
   public void run() {
@@ -28,29 +27,23 @@ public class ReadRequest<V extends Object> extends AbstractRequest<V> {
     if (_isCancelled) {
       return;
     }
-    final Callable<Boolean> _function = () -> {
-      boolean _xtrycatchfinallyexpression = false;
+    final Runnable _function = () -> {
       try {
-        boolean _xblockexpression = false;
-        {
-          this.cancelIndicator.checkCanceled();
-          _xblockexpression = this.result.complete(this.cancellable.apply(this.cancelIndicator));
-        }
-        _xtrycatchfinallyexpression = _xblockexpression;
+        this.cancelIndicator.checkCanceled();
+        this.result.complete(this.cancellable.apply(this.cancelIndicator));
       } catch (final Throwable _t) {
         if (_t instanceof Throwable) {
           final Throwable e = (Throwable)_t;
-          _xtrycatchfinallyexpression = this.result.completeExceptionally(e);
+          this.result.completeExceptionally(e);
         } else {
           throw Exceptions.sneakyThrow(_t);
         }
       }
-      return Boolean.valueOf(_xtrycatchfinallyexpression);
     };
-    this.executor.<Boolean>submit(_function);
+    this.executor.execute(_function);
   }
   
-  public ReadRequest(final Function1<? super CancelIndicator, ? extends V> cancellable, final ExecutorService executor) {
+  public ReadRequest(final Function1<? super CancelIndicator, ? extends V> cancellable, final Executor executor) {
     super();
     this.cancellable = cancellable;
     this.executor = executor;
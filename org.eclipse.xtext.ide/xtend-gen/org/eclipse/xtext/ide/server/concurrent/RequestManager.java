@@ -9,13 +9,24 @@ package org.eclipse.xtext.ide.server.concurrent;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
+import com.google.common.base.Objects;
+import com.google.common.collect.Iterables;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import org.eclipse.xtext.ide.server.concurrent.AbstractRequest;
+import org.eclipse.xtext.ide.server.concurrent.LatencyHistogram;
 import org.eclipse.xtext.ide.server.concurrent.ReadRequest;
+import org.eclipse.xtext.ide.server.concurrent.RequestPriority;
+import org.eclipse.xtext.ide.server.concurrent.RequestScheduler;
 import org.eclipse.xtext.ide.server.concurrent.WriteRequest;
 import org.eclipse.xtext.service.OperationCanceledManager;
 import org.eclipse.xtext.util.CancelIndicator;
@@ -24,16 +35,42 @@ import org.eclipse.xtext.xbase.lib.Conversions;
 import org.eclipse.xtext.xbase.lib.Functions.Function0;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.Functions.Function2;
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure0;
 
 /**
+ * Executes the requests of the language server. Write requests are executed one after another on a single thread,
+ * and each of them cancels the previous requests. Read requests are executed concurrently after the previous write
+ * requests. The read requests that wait for a thread are executed in the order of their {@link #getPriority(String)
+ * priority} by the {@link RequestScheduler}.
+ * 
+ * Requests may be submitted from any thread, e.g. by timers or by the callbacks of other requests. Registering and
+ * cancelling requests is synchronized on the request manager.
+ * 
  * @author kosyakov - Initial contribution and API
  * @since 2.11
  */
 @SuppressWarnings("all")
 public class RequestManager {
+  /**
+   * The kind of the read requests that do not specify a kind.
+   * 
+   * @since 2.14
+   */
+  public static final String READ = "read";
+  
+  /**
+   * The kind of the write requests.
+   * 
+   * @since 2.14
+   */
+  public static final String WRITE = "write";
+  
   @Inject
   private ExecutorService parallel;
   
+  @Inject
+  private RequestScheduler scheduler;
+  
   @Inject
   private OperationCanceledManager operationCanceledManager;
   
@@ -42,6 +79,13 @@ public class RequestManager {
   
   private ArrayList<AbstractRequest<?>> requests = CollectionLiterals.<AbstractRequest<?>>newArrayList();
   
+  private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<String, LatencyHistogram>();
+  
+  /**
+   * The background tasks that have been cancelled by a write request. They are submitted again after that request.
+   */
+  private final ArrayList<Procedure0> cancelledBackgroundTasks = CollectionLiterals.<Procedure0>newArrayList();
+  
   public void shutdown() {
     this.queue.shutdown();
     this.parallel.shutdown();
@@ -49,25 +93,245 @@ public class RequestManager {
   }
   
   public <V extends Object> CompletableFuture<V> runRead(final Function1<? super CancelIndicator, ? extends V> cancellable) {
-    ReadRequest<V> _readRequest = new ReadRequest<V>(cancellable, this.parallel);
-    return this.<V>submit(_readRequest);
+    return this.<V>runRead(RequestManager.READ, cancellable);
+  }
+  
+  /**
+   * Runs a read request of the given kind, e.g. the name of the protocol method. The kind determines the
+   * {@link #getPriority(String) priority} of the request and the histogram its latency is recorded in.
+   * 
+   * A read request that is submitted by a running read request, e.g. by a command that waits for another read, is
+   * executed right away on the current thread, since the threads of the {@link RequestScheduler} may all be waiting
+   * for such nested requests otherwise.
+   * 
+   * @since 2.14
+   */
+  public <V extends Object> CompletableFuture<V> runRead(final String kind, final Function1<? super CancelIndicator, ? extends V> cancellable) {
+    final long start = System.nanoTime();
+    boolean _isWorkerThread = this.scheduler.isWorkerThread();
+    if (_isWorkerThread) {
+      final Executor _function = (Runnable it) -> {
+        it.run();
+      };
+      final ReadRequest<V> request = new ReadRequest<V>(cancellable, _function);
+      synchronized (this) {
+        this.requests.add(request);
+      }
+      request.run();
+      return this.<V>recordLatency(kind, start, request.get());
+    }
+    Executor _executor = this.scheduler.getExecutor(this.getPriority(kind));
+    ReadRequest<V> _readRequest = new ReadRequest<V>(cancellable, _executor);
+    return this.<V>recordLatency(kind, start, this.<V>submit(_readRequest));
   }
   
   public <U extends Object, V extends Object> CompletableFuture<V> runWrite(final Function0<? extends U> nonCancellable, final Function2<? super CancelIndicator, ? super U, ? extends V> cancellable) {
-    final CompletableFuture<Void> cancelFuture = this.cancel();
-    WriteRequest<U, V> _writeRequest = new WriteRequest<U, V>(nonCancellable, cancellable, cancelFuture);
-    return this.<V>submit(_writeRequest);
+    final long start = System.nanoTime();
+    CompletableFuture<V> _xsynchronizedexpression = null;
+    synchronized (this) {
+      CompletableFuture<V> _xblockexpression = null;
+      {
+        final CompletableFuture<Void> cancelFuture = this.cancel();
+        WriteRequest<U, V> _writeRequest = new WriteRequest<U, V>(nonCancellable, cancellable, cancelFuture);
+        final CompletableFuture<V> writeRequest = this.<V>submit(_writeRequest);
+        this.resumeBackgroundTasks();
+        _xblockexpression = writeRequest;
+      }
+      _xsynchronizedexpression = _xblockexpression;
+    }
+    final CompletableFuture<V> request = _xsynchronizedexpression;
+    return this.<V>recordLatency(RequestManager.WRITE, start, request);
+  }
+  
+  /**
+   * Returns the priority of the read requests of the given kind. Completion, hover, signature help, document
+   * highlights and definitions are interactive, code lenses and workspace symbols are background requests.
+   * 
+   * @since 2.14
+   */
+  protected RequestPriority getPriority(final String kind) {
+    RequestPriority _switchResult = null;
+    boolean _matched = false;
+    if (Objects.equal(kind, "textDocument/completion")) {
+      _matched=true;
+    }
+    if (!_matched) {
+      if (Objects.equal(kind, "textDocument/hover")) {
+        _matched=true;
+      }
+    }
+    if (!_matched) {
+      if (Objects.equal(kind, "textDocument/signatureHelp")) {
+        _matched=true;
+      }
+    }
+    if (!_matched) {
+      if (Objects.equal(kind, "textDocument/documentHighlight")) {
+        _matched=true;
+      }
+    }
+    if (!_matched) {
+      if (Objects.equal(kind, "textDocument/definition")) {
+        _matched=true;
+      }
+    }
+    if (_matched) {
+      _switchResult = RequestPriority.INTERACTIVE;
+    }
+    if (!_matched) {
+      if (Objects.equal(kind, "textDocument/codeLens")) {
+        _matched=true;
+      }
+      if (!_matched) {
+        if (Objects.equal(kind, "codeLens/resolve")) {
+          _matched=true;
+        }
+      }
+      if (!_matched) {
+        if (Objects.equal(kind, "workspace/symbol")) {
+          _matched=true;
+        }
+      }
+      if (_matched) {
+        _switchResult = RequestPriority.BACKGROUND;
+      }
+    }
+    if (!_matched) {
+      _switchResult = RequestPriority.NORMAL;
+    }
+    return _switchResult;
+  }
+  
+  /**
+   * Returns the histograms of the latencies of the completed requests per kind. The latency of a request is the
+   * time from its submission to its completion. Cancelled requests are not recorded.
+   * 
+   * @since 2.14
+   */
+  public Map<String, LatencyHistogram> getLatencyHistograms() {
+    return Collections.<String, LatencyHistogram>unmodifiableMap(this.latencies);
+  }
+  
+  /**
+   * @since 2.14
+   */
+  protected <V extends Object> CompletableFuture<V> recordLatency(final String kind, final long start, final CompletableFuture<V> future) {
+    final BiConsumer<V, Throwable> _function = (V result, Throwable throwable) -> {
+      boolean _isCancelled = future.isCancelled();
+      boolean _not = (!_isCancelled);
+      if (_not) {
+        String _elvis = null;
+        if (kind != null) {
+          _elvis = kind;
+        } else {
+          _elvis = RequestManager.READ;
+        }
+        final Function<String, LatencyHistogram> _function_1 = (String it) -> {
+          return new LatencyHistogram();
+        };
+        LatencyHistogram _computeIfAbsent = this.latencies.computeIfAbsent(_elvis, _function_1);
+        long _nanoTime = System.nanoTime();
+        long _minus = (_nanoTime - start);
+        _computeIfAbsent.record(_minus);
+      }
+    };
+    future.whenComplete(_function);
+    return future;
+  }
+  
+  /**
+   * Runs the given task on the queue without cancelling the previous requests. Like any other request, the task is
+   * cancelled by subsequent write requests, but it is then run again after the write request that cancelled it. The
+   * returned future completes once the task has run to completion. Therefore the task should only do a limited
+   * amount of work, e.g. validate a batch of files, and submit the rest of its work as a new task.
+   * 
+   * @since 2.14
+   */
+  public <V extends Object> CompletableFuture<V> runInBackground(final Function1<? super CancelIndicator, ? extends V> task) {
+    final CompletableFuture<V> result = new CompletableFuture<V>();
+    this.<V>submitInBackground(task, result);
+    return result;
+  }
+  
+  /**
+   * Submits the given background task and completes the given future with its result. If the task is cancelled, it
+   * is queued to be submitted again by {@link #resumeBackgroundTasks()}. This may be called from any thread, e.g.
+   * from the callback of a previous background task.
+   * 
+   * @since 2.14
+   */
+  protected <V extends Object> void submitInBackground(final Function1<? super CancelIndicator, ? extends V> task, final CompletableFuture<V> result) {
+    boolean _isDone = result.isDone();
+    if (_isDone) {
+      return;
+    }
+    final Function0<Object> _function = () -> {
+      return null;
+    };
+    final Function2<CancelIndicator, Object, V> _function_1 = (CancelIndicator cancelIndicator, Object ignored) -> {
+      return task.apply(cancelIndicator);
+    };
+    CompletableFuture<Void> _completedFuture = CompletableFuture.<Void>completedFuture(null);
+    final WriteRequest<Object, V> request = new WriteRequest<Object, V>(_function, _function_1, _completedFuture);
+    final BiConsumer<V, Throwable> _function_2 = (V value, Throwable throwable) -> {
+      boolean _isCancelled = request.get().isCancelled();
+      if (_isCancelled) {
+        synchronized (this) {
+          final Procedure0 _function_3 = () -> {
+            this.<V>submitInBackground(task, result);
+          };
+          this.cancelledBackgroundTasks.add(_function_3);
+        }
+      } else {
+        if ((throwable != null)) {
+          result.completeExceptionally(throwable);
+        } else {
+          result.complete(value);
+        }
+      }
+    };
+    request.get().whenComplete(_function_2);
+    this.<V>submit(request);
+  }
+  
+  /**
+   * Submits the background tasks that have been cancelled again. This is done after the write request that cancelled
+   * them has been submitted, while holding the same lock, so they are executed after it and before any write request
+   * that is submitted concurrently.
+   * 
+   * @since 2.14
+   */
+  protected void resumeBackgroundTasks() {
+    synchronized (this) {
+      final ArrayList<Procedure0> tasks = CollectionLiterals.<Procedure0>newArrayList();
+      Iterables.<Procedure0>addAll(tasks, this.cancelledBackgroundTasks);
+      this.cancelledBackgroundTasks.clear();
+      for (final Procedure0 task : tasks) {
+        task.apply();
+      }
+    }
   }
   
   protected <V extends Object> CompletableFuture<V> submit(final AbstractRequest<V> request) {
-    this.requests.add(request);
-    this.queue.submit(request);
+    synchronized (this) {
+      this.requests.add(request);
+      this.queue.submit(request);
+    }
     return request.get();
   }
   
   protected CompletableFuture<Void> cancel() {
-    final ArrayList<AbstractRequest<?>> localRequests = this.requests;
-    this.requests = CollectionLiterals.<AbstractRequest<?>>newArrayList();
+    ArrayList<AbstractRequest<?>> _xsynchronizedexpression = null;
+    synchronized (this) {
+      ArrayList<AbstractRequest<?>> _xblockexpression = null;
+      {
+        final ArrayList<AbstractRequest<?>> current = this.requests;
+        this.requests = CollectionLiterals.<AbstractRequest<?>>newArrayList();
+        _xblockexpression = current;
+      }
+      _xsynchronizedexpression = _xblockexpression;
+    }
+    final ArrayList<AbstractRequest<?>> localRequests = _xsynchronizedexpression;
     final ArrayList<CompletableFuture<?>> cfs = CollectionLiterals.<CompletableFuture<?>>newArrayList();
     for (final AbstractRequest<?> request : localRequests) {
       {
@@ -12,6 +12,7 @@ import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -23,6 +24,8 @@ import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.lsp4j.DocumentSymbolParams;
 import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.ReferenceParams;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.SymbolKind;
@@ -33,9 +36,11 @@ import org.eclipse.xtext.findReferences.TargetURICollector;
 import org.eclipse.xtext.findReferences.TargetURIs;
 import org.eclipse.xtext.ide.server.Document;
 import org.eclipse.xtext.ide.server.DocumentExtensions;
+import org.eclipse.xtext.ide.server.UriExtensions;
 import org.eclipse.xtext.ide.util.CancelIndicatorProgressMonitor;
 import org.eclipse.xtext.naming.IQualifiedNameProvider;
 import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.parser.IParseResult;
 import org.eclipse.xtext.resource.EObjectAtOffsetHelper;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IReferenceDescription;
@@ -43,6 +48,7 @@ import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
 import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.resource.impl.LocationUserData;
 import org.eclipse.xtext.service.OperationCanceledManager;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.IAcceptor;
@@ -86,6 +92,9 @@ public class DocumentSymbolService {
   @Inject
   private IResourceServiceProvider.Registry resourceServiceProviderRegistry;
   
+  @Inject
+  private UriExtensions uriExtensions;
+  
   public List<? extends Location> getDefinitions(final Document document, final XtextResource resource, final TextDocumentPositionParams params, final IReferenceFinder.IResourceAccess resourceAccess, final CancelIndicator cancelIndicator) {
     final int offset = document.getOffSet(params.getPosition());
     return this.getDefinitions(resource, offset, resourceAccess, cancelIndicator);
@@ -160,28 +169,60 @@ public class DocumentSymbolService {
     return this.getSymbols(resource, cancelIndicator);
   }
   
+  /**
+   * Returns the symbols of the given resource. The symbols are cached with the resource and the symbols of unchanged
+   * objects are reused after the resource has been partially reparsed, see {@link DocumentSymbolCache}.
+   */
   public List<? extends SymbolInformation> getSymbols(final XtextResource resource, final CancelIndicator cancelIndicator) {
-    final LinkedHashMap<EObject, SymbolInformation> symbols = CollectionLiterals.<EObject, SymbolInformation>newLinkedHashMap();
-    final TreeIterator<Object> contents = EcoreUtil.<Object>getAllProperContents(resource, true);
-    while (contents.hasNext()) {
-      {
-        this.operationCanceledManager.checkCanceled(cancelIndicator);
-        Object _next = contents.next();
-        final EObject obj = ((EObject) _next);
-        final SymbolInformation symbol = this.createSymbol(obj);
-        if ((symbol != null)) {
-          symbols.put(obj, symbol);
-          final EObject container = this.getContainer(obj);
-          final SymbolInformation containerSymbol = symbols.get(container);
-          String _name = null;
-          if (containerSymbol!=null) {
-            _name=containerSymbol.getName();
+    final IParseResult parseResult = resource.getParseResult();
+    final DocumentSymbolCache cache = DocumentSymbolCache.findOrCreate(resource);
+    synchronized (cache) {
+      final List<SymbolInformation> cachedSymbols = cache.getSymbols(parseResult);
+      if ((cachedSymbols != null)) {
+        return cachedSymbols;
+      }
+      final LinkedHashMap<EObject, SymbolInformation> symbols = CollectionLiterals.<EObject, SymbolInformation>newLinkedHashMap();
+      final HashSet<EObject> objects = CollectionLiterals.<EObject>newHashSet();
+      final TreeIterator<Object> contents = EcoreUtil.<Object>getAllProperContents(resource, true);
+      while (contents.hasNext()) {
+        {
+          this.operationCanceledManager.checkCanceled(cancelIndicator);
+          Object _next = contents.next();
+          final EObject obj = ((EObject) _next);
+          objects.add(obj);
+          final SymbolInformation symbol = this.getCachedSymbol(obj, cache);
+          if ((symbol != null)) {
+            symbols.put(obj, symbol);
+            final EObject container = this.getContainer(obj);
+            final SymbolInformation containerSymbol = symbols.get(container);
+            String _name = null;
+            if (containerSymbol!=null) {
+              _name=containerSymbol.getName();
+            }
+            symbol.setContainerName(_name);
           }
-          symbol.setContainerName(_name);
         }
       }
+      final List<SymbolInformation> result = IterableExtensions.<SymbolInformation>toList(symbols.values());
+      cache.setSymbols(parseResult, result);
+      cache.retainEntries(objects);
+      return result;
+    }
+  }
+  
+  /**
+   * Returns the symbol of the given object from the cache, or {@link #createSymbol(EObject) creates} and caches it.
+   * 
+   * @since 2.14
+   */
+  protected SymbolInformation getCachedSymbol(final EObject object, final DocumentSymbolCache cache) {
+    final DocumentSymbolCache.Entry entry = cache.getEntry(object);
+    if ((entry != null)) {
+      return entry.getSymbol();
     }
-    return IterableExtensions.<SymbolInformation>toList(symbols.values());
+    final SymbolInformation symbol = this.createSymbol(object);
+    cache.putEntry(object, symbol);
+    return symbol;
   }
   
   protected EObject getContainer(final EObject obj) {
@@ -282,6 +323,11 @@ public class DocumentSymbolService {
   }
   
   protected void getSymbolLocation(final IEObjectDescription description, final IReferenceFinder.IResourceAccess resourceAccess, final Procedure1<? super Location> acceptor) {
+    final Location indexedLocation = this.getIndexedSymbolLocation(description);
+    if ((indexedLocation != null)) {
+      acceptor.apply(indexedLocation);
+      return;
+    }
     final Procedure1<EObject> _function = (EObject obj) -> {
       final Location location = this.getSymbolLocation(obj);
       if ((location != null)) {
@@ -291,6 +337,36 @@ public class DocumentSymbolService {
     this.doRead(resourceAccess, description.getEObjectURI(), _function);
   }
   
+  /**
+   * Returns the location that is stored in the index for the given description, or <code>null</code> if there is
+   * none. Locations are only stored if the language binds
+   * {@link org.eclipse.xtext.resource.impl.DefaultResourceDescriptionStrategy#STORE_LOCATIONS STORE_LOCATIONS}. In
+   * that case they are used instead of {@link #getSymbolLocation(EObject)}, so languages that override the latter
+   * should not store locations.
+   * 
+   * @see LocationUserData
+   * @since 2.14
+   */
+  protected Location getIndexedSymbolLocation(final IEObjectDescription description) {
+    final LocationUserData location = LocationUserData.get(description);
+    if ((location == null)) {
+      return null;
+    }
+    int _line = location.getLine();
+    int _minus = (_line - 1);
+    int _column = location.getColumn();
+    int _minus_1 = (_column - 1);
+    final Position start = new Position(_minus, _minus_1);
+    int _endLine = location.getEndLine();
+    int _minus_2 = (_endLine - 1);
+    int _endColumn = location.getEndColumn();
+    int _minus_3 = (_endColumn - 1);
+    final Position end = new Position(_minus_2, _minus_3);
+    final String uri = this.uriExtensions.toUriString(description.getEObjectURI().trimFragment());
+    Range _range = new Range(start, end);
+    return new Location(uri, _range);
+  }
+  
   protected String getSymbolName(final QualifiedName qualifiedName) {
     String _string = null;
     if (qualifiedName!=null) {
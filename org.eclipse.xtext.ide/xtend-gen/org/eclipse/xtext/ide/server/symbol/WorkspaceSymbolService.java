@@ -8,20 +8,35 @@
 package org.eclipse.xtext.ide.server.symbol;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Ordering;
+import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.xtext.findReferences.IReferenceFinder;
 import org.eclipse.xtext.ide.server.symbol.DocumentSymbolService;
+import org.eclipse.xtext.ide.server.symbol.WorkspaceSymbolIndex;
+import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
 import org.eclipse.xtext.service.OperationCanceledManager;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Extension;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 
 /**
  * @author kosyakov - Initial contribution and API
@@ -30,6 +45,19 @@ import org.eclipse.xtext.xbase.lib.Extension;
 @Singleton
 @SuppressWarnings("all")
 public class WorkspaceSymbolService {
+  private final static int MAX_RESULTS = 1000;
+  
+  /**
+   * The name of a <code>boolean</code> constant that enables the {@link WorkspaceSymbolIndex search index} for
+   * workspace symbols. The index only finds the candidates, whether they match is still decided by
+   * {@link DocumentSymbolService#filter(IEObjectDescription, String)}. Overrides of
+   * {@link DocumentSymbolService#getSymbols(IResourceDescription, String, IResourceAccess, CancelIndicator)} are
+   * not called, and at most {@link #getMaxResults()} symbols are returned. The default is <code>false</code>.
+   * 
+   * @since 2.14
+   */
+  public final static String USE_SYMBOL_INDEX = (WorkspaceSymbolService.class.getCanonicalName() + ".useSymbolIndex");
+  
   @Inject
   @Extension
   private IResourceServiceProvider.Registry _registry;
@@ -37,7 +65,20 @@ public class WorkspaceSymbolService {
   @Inject
   private OperationCanceledManager operationCanceledManager;
   
+  @Inject(optional = true)
+  @Named(WorkspaceSymbolService.USE_SYMBOL_INDEX)
+  private boolean useSymbolIndex = false;
+  
+  /**
+   * The language server replaces the data of a container after each build instead of modifying it, so an index
+   * can be kept as long as its data is in use.
+   */
+  private final Map<ResourceDescriptionsData, WorkspaceSymbolIndex> symbolIndexes = new WeakHashMap<ResourceDescriptionsData, WorkspaceSymbolIndex>();
+  
   public List<? extends SymbolInformation> getSymbols(final String query, final IReferenceFinder.IResourceAccess resourceAccess, final IResourceDescriptions indexData, final CancelIndicator cancelIndicator) {
+    if ((this.useSymbolIndex && (indexData instanceof ChunkedResourceDescriptions))) {
+      return this.getIndexedSymbols(query, resourceAccess, ((ChunkedResourceDescriptions)indexData), cancelIndicator);
+    }
     final LinkedList<SymbolInformation> result = CollectionLiterals.<SymbolInformation>newLinkedList();
     Iterable<IResourceDescription> _allResourceDescriptions = indexData.getAllResourceDescriptions();
     for (final IResourceDescription resourceDescription : _allResourceDescriptions) {
@@ -57,4 +98,102 @@ public class WorkspaceSymbolService {
     }
     return result;
   }
+  
+  /**
+   * Looks up the candidates in a {@link WorkspaceSymbolIndex search index} per container, keeps those that are
+   * accepted by the {@link DocumentSymbolService#filter(IEObjectDescription, String) filter} of their language and
+   * returns the {@link #getMaxResults() best} of them in the order of the index. The locations of the symbols are
+   * taken from the index if it contains them, so usually no resource has to be loaded.
+   * 
+   * @since 2.14
+   */
+  protected List<? extends SymbolInformation> getIndexedSymbols(final String query, final IReferenceFinder.IResourceAccess resourceAccess, final ChunkedResourceDescriptions indexData, final CancelIndicator cancelIndicator) {
+    final ArrayList<WorkspaceSymbolIndex.Match> matches = CollectionLiterals.<WorkspaceSymbolIndex.Match>newArrayList();
+    Collection<ResourceDescriptionsData> _values = indexData.getContainers().values();
+    for (final ResourceDescriptionsData container : _values) {
+      {
+        this.operationCanceledManager.checkCanceled(cancelIndicator);
+        List<WorkspaceSymbolIndex.Match> _find = this.getSymbolIndex(container).find(query);
+        for (final WorkspaceSymbolIndex.Match match : _find) {
+          {
+            IResourceServiceProvider _resourceServiceProvider = this._registry.getResourceServiceProvider(match.getDescription().getEObjectURI());
+            DocumentSymbolService _get = null;
+            if (_resourceServiceProvider!=null) {
+              _get=_resourceServiceProvider.<DocumentSymbolService>get(DocumentSymbolService.class);
+            }
+            final DocumentSymbolService documentSymbolService = _get;
+            if (((documentSymbolService != null) && documentSymbolService.filter(match.getDescription(), query))) {
+              matches.add(match);
+            }
+          }
+        }
+      }
+    }
+    final ArrayList<SymbolInformation> result = CollectionLiterals.<SymbolInformation>newArrayList();
+    List<WorkspaceSymbolIndex.Match> _selectBest = this.selectBest(matches);
+    for (final WorkspaceSymbolIndex.Match match : _selectBest) {
+      {
+        this.operationCanceledManager.checkCanceled(cancelIndicator);
+        final IEObjectDescription description = match.getDescription();
+        IResourceServiceProvider _resourceServiceProvider = this._registry.getResourceServiceProvider(description.getEObjectURI());
+        DocumentSymbolService _get = null;
+        if (_resourceServiceProvider!=null) {
+          _get=_resourceServiceProvider.<DocumentSymbolService>get(DocumentSymbolService.class);
+        }
+        final DocumentSymbolService documentSymbolService = _get;
+        if (documentSymbolService!=null) {
+          final Procedure1<SymbolInformation> _function = (SymbolInformation symbol) -> {
+            result.add(symbol);
+          };
+          documentSymbolService.createSymbol(description, resourceAccess, _function);
+        }
+      }
+    }
+    return result;
+  }
+  
+  /**
+   * Removes all but the {@link #getMaxResults() best} matches from the given list and keeps their order.
+   * 
+   * @since 2.14
+   */
+  protected List<WorkspaceSymbolIndex.Match> selectBest(final List<WorkspaceSymbolIndex.Match> matches) {
+    int _size = matches.size();
+    int _maxResults = this.getMaxResults();
+    boolean _lessEqualsThan = (_size <= _maxResults);
+    if (_lessEqualsThan) {
+      return matches;
+    }
+    final Set<WorkspaceSymbolIndex.Match> best = Sets.<WorkspaceSymbolIndex.Match>newIdentityHashSet();
+    List<WorkspaceSymbolIndex.Match> _leastOf = Ordering.<WorkspaceSymbolIndex.Match>natural().<WorkspaceSymbolIndex.Match>leastOf(matches, this.getMaxResults());
+    Iterables.<WorkspaceSymbolIndex.Match>addAll(best, _leastOf);
+    final Function1<WorkspaceSymbolIndex.Match, Boolean> _function = (WorkspaceSymbolIndex.Match it) -> {
+      return Boolean.valueOf(best.contains(it));
+    };
+    return IterableExtensions.<WorkspaceSymbolIndex.Match>toList(IterableExtensions.<WorkspaceSymbolIndex.Match>filter(matches, _function));
+  }
+  
+  /**
+   * @since 2.14
+   */
+  protected WorkspaceSymbolIndex getSymbolIndex(final ResourceDescriptionsData data) {
+    synchronized (this.symbolIndexes) {
+      WorkspaceSymbolIndex result = this.symbolIndexes.get(data);
+      if ((result == null)) {
+        WorkspaceSymbolIndex _workspaceSymbolIndex = new WorkspaceSymbolIndex(data);
+        result = _workspaceSymbolIndex;
+        this.symbolIndexes.put(data, result);
+      }
+      return result;
+    }
+  }
+  
+  /**
+   * The maximum number of symbols that are returned for a query.
+   * 
+   * @since 2.14
+   */
+  protected int getMaxResults() {
+    return WorkspaceSymbolService.MAX_RESULTS;
+  }
 }
@@ -62,6 +62,7 @@ import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtend.lib.annotations.Data
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor
 import org.eclipse.xtext.LanguageInfo
+import org.eclipse.xtext.ide.server.DiagnosticsPublisher
 import org.eclipse.xtext.ide.server.Document
 import org.eclipse.xtext.ide.server.LanguageServerImpl
 import org.eclipse.xtext.ide.server.ServerModule
@@ -130,6 +131,12 @@ abstract class AbstractLanguageServerTest implements Endpoint {
 					return result
 				}
 			})
+			bind(DiagnosticsPublisher).toInstance(new DiagnosticsPublisher() {
+				
+				override protected schedule(Runnable flush) {
+					flush.run
+				}
+			})
 		])
 	}
 
@@ -72,6 +72,7 @@ import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor;
 import org.eclipse.xtend2.lib.StringConcatenation;
 import org.eclipse.xtext.LanguageInfo;
+import org.eclipse.xtext.ide.server.DiagnosticsPublisher;
 import org.eclipse.xtext.ide.server.Document;
 import org.eclipse.xtext.ide.server.LanguageServerImpl;
 import org.eclipse.xtext.ide.server.ServerModule;
@@ -238,6 +239,13 @@ public abstract class AbstractLanguageServerTest implements Endpoint {
           return result;
         }
       });
+      AnnotatedBindingBuilder<DiagnosticsPublisher> _bind_1 = it.<DiagnosticsPublisher>bind(DiagnosticsPublisher.class);
+      _bind_1.toInstance(new DiagnosticsPublisher() {
+        @Override
+        protected void schedule(final Runnable flush) {
+          flush.run();
+        }
+      });
     };
     return Modules2.mixin(_serverModule, _function);
   }
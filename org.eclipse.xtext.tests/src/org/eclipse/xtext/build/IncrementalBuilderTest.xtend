@@ -7,18 +7,23 @@
  *******************************************************************************/
 package org.eclipse.xtext.build
 
+import com.google.inject.Guice
 import com.google.inject.Inject
+import com.google.inject.name.Names
 import java.util.concurrent.atomic.AtomicBoolean
 import org.eclipse.core.runtime.OperationCanceledException
 import org.eclipse.emf.common.util.URI
 import org.eclipse.xtext.build.BuildRequest.IPostValidationCallback
 import org.eclipse.xtext.index.IndexTestLanguageInjectorProvider
+import org.eclipse.xtext.index.IndexTestLanguageRuntimeModule
 import org.eclipse.xtext.resource.IResourceServiceProvider
 import org.eclipse.xtext.util.CancelIndicator
+import org.eclipse.xtext.util.Modules2
 import org.eclipse.xtext.testing.XtextRunner
 import org.eclipse.xtext.testing.InjectWith
 import org.eclipse.xtext.testing.builder.AbstractIncrementalBuilderTest
 import org.eclipse.xtext.validation.Issue
+import org.eclipse.xtext.validation.NamesAreUniqueValidator
 import org.junit.Test
 import org.junit.runner.RunWith
 
@@ -335,5 +340,49 @@ class IncrementalBuilderTest extends AbstractIncrementalBuilderTest {
 		assertTrue(deleted.containsSuffix('src-gen/A.txt'))
 	}
 
-	
+	@Test def void testExportersOfDuplicateNamesAreNotRebuiltByDefault() {
+		buildDuplicateNames
+		assertTrue(issues.toString, issues.isEmpty)
+		assertFalse(generated.containsKey(uri('src/B.indextestlanguage')))
+	}
+
+	@Test def void testExportersOfDuplicateNamesAreRebuilt() {
+		incrementalBuilder = Guice.createInjector(Modules2.mixin(new IndexTestLanguageRuntimeModule, [
+			bindConstant.annotatedWith(Names.named(NamesAreUniqueValidator.CHECK_ACROSS_RESOURCES)).to(true)
+		])).getInstance(IncrementalBuilder)
+		buildDuplicateNames
+		assertTrue(generated.containsKey(uri('src/B.indextestlanguage')))
+	}
+
+	private def void buildDuplicateNames() {
+		build(newBuildRequest [
+			dirtyFiles = #[
+				'src/A.indextestlanguage' - '''
+					foo {
+						entity A {}
+					}
+				''',
+				'src/B.indextestlanguage' - '''
+					bar {
+						entity B {}
+					}
+				'''
+			]
+		])
+		assertTrue(issues.toString, issues.isEmpty)
+		// add a name that is exported by B as well
+		build(newBuildRequest [
+			dirtyFiles = #[
+				'src/A.indextestlanguage' - '''
+					foo {
+						entity A {}
+					}
+					bar {
+						datatype B
+					}
+				'''
+			]
+		])
+	}
+
 }
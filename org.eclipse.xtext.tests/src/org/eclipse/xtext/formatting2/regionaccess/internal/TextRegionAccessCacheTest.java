@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.formatting2.regionaccess.internal;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.xtext.formatting2.regionaccess.ITextRegionAccess;
+import org.eclipse.xtext.formatting2.regionaccess.TextRegionAccessBuilder;
+import org.eclipse.xtext.formatting2.regionaccess.internal.regionaccesstestlanguage.Root;
+import org.eclipse.xtext.formatting2.regionaccess.internal.regionaccesstestlanguage.Simple;
+import org.eclipse.xtext.formatting2.regionaccess.internal.tests.RegionAccessTestLanguageInjectorProvider;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.testing.InjectWith;
+import org.eclipse.xtext.testing.XtextRunner;
+import org.eclipse.xtext.testing.util.ParseHelper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+
+@InjectWith(RegionAccessTestLanguageInjectorProvider.class)
+@RunWith(XtextRunner.class)
+public class TextRegionAccessCacheTest {
+
+	@Inject
+	private ParseHelper<Root> parseHelper;
+
+	@Inject
+	private Provider<TextRegionAccessBuilder> textRegionAccessBuilder;
+
+	private ITextRegionAccess create(XtextResource resource) {
+		return textRegionAccessBuilder.get().forNodeModel(resource).create();
+	}
+
+	@Test
+	public void testUnchangedResourceIsReused() throws Exception {
+		XtextResource resource = (XtextResource) parseHelper.parse("1 foo").eResource();
+		ITextRegionAccess first = create(resource);
+		assertSame(first, create(resource));
+	}
+
+	@Test
+	public void testSemanticChangeEvicts() throws Exception {
+		Simple simple = (Simple) parseHelper.parse("1 foo");
+		XtextResource resource = (XtextResource) simple.eResource();
+		ITextRegionAccess first = create(resource);
+		simple.setName("bar");
+		ITextRegionAccess second = create(resource);
+		assertNotSame(first, second);
+		assertSame(simple, second.regionForRootEObject().getSemanticElement());
+	}
+
+	@Test
+	public void testReparseEvicts() throws Exception {
+		XtextResource resource = (XtextResource) parseHelper.parse("1 foo").eResource();
+		ITextRegionAccess first = create(resource);
+		resource.update(1, 1, "  ");
+		ITextRegionAccess second = create(resource);
+		assertNotSame(first, second);
+		assertEquals("1  foo", second.regionForDocument().getText());
+	}
+
+}
@@ -47,6 +47,7 @@ import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.impl.LeafNode;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.resource.impl.ResourceSetBasedResourceDescriptions;
 import org.eclipse.xtext.scoping.IGlobalScopeProvider;
 import org.eclipse.xtext.tests.AbstractXtextTests;
@@ -282,6 +283,21 @@ public class LazyLinkingResourceTest extends AbstractXtextTests {
 		assertFalse(types.basicGet(1).eIsProxy());
 	}
 
+	@Test public void testGetEObjectByPathFragment() throws Exception {
+		with(LazyLinkingTestLanguageStandaloneSetup.class);
+		XtextResource resource = getResourceFromString("type A {} type B { A a; }");
+		Model model = (Model) resource.getContents().get(0);
+		Type typeB = model.getTypes().get(1);
+		Property property = typeB.getProperties().get(0);
+		String fragment = resource.getURIFragment(property);
+		assertSame(property, resource.getEObject(fragment));
+		assertSame(property, resource.getEObject(fragment));
+		typeB.getProperties().clear();
+		assertNull(resource.getEObject(fragment));
+		typeB.getProperties().add(property);
+		assertSame(property, resource.getEObject(fragment));
+	}
+
 	protected ISetup lazyLinkingTestLangaugeSetup() {
 		return new LazyLinkingTestLanguageStandaloneSetup() {
 			@Override
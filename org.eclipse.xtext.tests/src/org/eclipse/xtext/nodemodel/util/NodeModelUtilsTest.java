@@ -26,6 +26,7 @@ import org.eclipse.xtext.nodemodel.ICompositeNode;
 import org.eclipse.xtext.nodemodel.ILeafNode;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.impl.SyntheticCompositeNode;
+import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.tests.AbstractXtextTests;
 import org.junit.Test;
 
@@ -108,6 +109,44 @@ public class NodeModelUtilsTest extends AbstractXtextTests {
 		assertEquals("name='bar'", nodes.get(1).getText());
 	}
 	
+	@Test public void testFindNodesForFeature_AfterReparse() throws Exception {
+		Grammar grammar = (Grammar) getModel("grammar foo.Bar with org.eclipse.xtext.common.Terminals generate foo 'bar' Model : name=ID;");
+		XtextResource resource = (XtextResource) grammar.eResource();
+		assertEquals(1, NodeModelUtils.findNodesForFeature(grammar, XtextPackage.eINSTANCE.getGrammar_Rules()).size());
+		int length = resource.getParseResult().getRootNode().getTotalLength();
+		resource.update(length, 0, " Foo : name=ID;");
+		grammar = (Grammar) resource.getContents().get(0);
+		List<INode> nodes = NodeModelUtils.findNodesForFeature(grammar, XtextPackage.eINSTANCE.getGrammar_Rules());
+		assertEquals(2, nodes.size());
+		assertEquals("Foo : name=ID;", nodes.get(1).getText().trim());
+	}
+	
+	@Test public void testFindLeafNodeAtOffset() throws Exception {
+		Grammar grammar = (Grammar) getModel("grammar foo.Bar with org.eclipse.xtext.common.Terminals generate foo 'bar' /* comment */ Model : name=ID;");
+		XtextResource resource = (XtextResource) grammar.eResource();
+		assertLeafNodesAtOffsets(resource.getParseResult().getRootNode());
+		int length = resource.getParseResult().getRootNode().getTotalLength();
+		resource.update(length - 1, 0, " | name=STRING");
+		assertLeafNodesAtOffsets(resource.getParseResult().getRootNode());
+		resource.update(0, 0, " ");
+		assertLeafNodesAtOffsets(resource.getParseResult().getRootNode());
+	}
+	
+	private void assertLeafNodesAtOffsets(ICompositeNode rootNode) {
+		int length = rootNode.getTotalLength();
+		for (int offset = -1; offset <= length; offset++) {
+			ILeafNode expected = null;
+			for (ILeafNode leaf : rootNode.getLeafNodes()) {
+				if (leaf.getTotalOffset() <= offset && leaf.getTotalEndOffset() > offset)
+					expected = leaf;
+			}
+			assertSame("offset " + offset, expected, NodeModelUtils.findLeafNodeAtOffset(rootNode, offset));
+		}
+		ICompositeNode rule = NodeModelUtils.getNode(((Grammar) rootNode.getSemanticElement()).getRules().get(0));
+		assertNull(NodeModelUtils.findLeafNodeAtOffset(rule, rule.getTotalOffset() - 1));
+		assertSame(rule.getLeafNodes().iterator().next(), NodeModelUtils.findLeafNodeAtOffset(rule, rule.getTotalOffset()));
+	}
+	
 	@Test public void testFindActualSemanticObjectFor_01() throws Exception {
 		String grammarString = "grammar foo.Bar with org.eclipse.xtext.common.Terminals generate foo 'bar' Model:((name=ID));";
 		Grammar grammar = (Grammar) getModel(grammarString);
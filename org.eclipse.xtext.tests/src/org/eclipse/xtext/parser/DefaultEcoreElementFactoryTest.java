@@ -102,6 +102,52 @@ public class DefaultEcoreElementFactoryTest extends Assert {
 		}
 	}
 
+	@Test
+	public void testConversionCache() throws Exception {
+		final int[] conversions = new int[1];
+		Function2<String, INode, Object> toValueImpl = new Function2<String, INode, Object>() {
+
+			@Override
+			public Object apply(String lexerRule, INode node) {
+				conversions[0]++;
+				return new String(lexerRule);
+			}
+		};
+		DefaultEcoreElementFactory factory = new DefaultEcoreElementFactory();
+		factory.setConverterService(new MockedConverterService(toValueImpl));
+		factory.setConversionCacheSize(10);
+		EClass first = EcoreFactory.eINSTANCE.createEClass();
+		EClass second = EcoreFactory.eINSTANCE.createEClass();
+		EClass third = EcoreFactory.eINSTANCE.createEClass();
+		factory.set(first, "name", "text", "foo", null);
+		factory.set(second, "name", new String("text"), "foo", null);
+		factory.set(third, "instanceClassName", "text", "bar", null);
+		assertEquals(2, conversions[0]);
+		assertSame(first.getName(), second.getName());
+		factory.clearConversionCache();
+		factory.set(third, "name", "text", "foo", null);
+		assertEquals(3, conversions[0]);
+		assertNotSame(first.getName(), third.getName());
+	}
+
+	@Test
+	public void testConversionCacheIsDisabledByDefault() throws Exception {
+		final int[] conversions = new int[1];
+		Function2<String, INode, Object> toValueImpl = new Function2<String, INode, Object>() {
+
+			@Override
+			public Object apply(String lexerRule, INode node) {
+				conversions[0]++;
+				return "FOO";
+			}
+		};
+		DefaultEcoreElementFactory factory = new DefaultEcoreElementFactory();
+		factory.setConverterService(new MockedConverterService(toValueImpl));
+		factory.set(EcoreFactory.eINSTANCE.createEClass(), "name", "text", "foo", null);
+		factory.set(EcoreFactory.eINSTANCE.createEClass(), "name", "text", "foo", null);
+		assertEquals(2, conversions[0]);
+	}
+
 	/**
 	 * @author dhuebner - Initial contribution and API
 	 */
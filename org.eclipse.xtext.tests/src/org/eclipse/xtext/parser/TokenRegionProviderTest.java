@@ -15,7 +15,9 @@ import java.util.List;
 import org.antlr.runtime.ANTLRStringStream;
 import org.antlr.runtime.CommonToken;
 import org.antlr.runtime.Token;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
 import org.eclipse.xtext.parser.antlr.Lexer;
+import org.eclipse.xtext.parser.impl.LexerCheckpointProvider;
 import org.eclipse.xtext.parser.impl.TokenRegionProvider;
 import org.eclipse.xtext.testlanguages.SimpleExpressionsTestLanguageStandaloneSetup;
 import org.eclipse.xtext.tests.AbstractXtextTests;
@@ -99,6 +101,24 @@ public class TokenRegionProviderTest extends AbstractXtextTests {
 		assertEquals(1, tokenRegion.getLength());
 	}
 	
+	@Test 
+	public void testTokenRegionFromCheckpoint() throws Exception {
+		String model = "a1 / /* comment */ b2 +  c3 * d4\n- e5";
+		ICompositeNode rootNode = getResourceFromString(model).getParseResult().getRootNode();
+		LexerCheckpointProvider checkpointProvider = get(LexerCheckpointProvider.class);
+		int maxCheckpoint = 0;
+		for(int length=0; length < model.length(); ++length) {
+			for(int offset = 0; offset + length < model.length(); ++offset) {
+				int checkpoint = checkpointProvider.getCheckpoint(rootNode, offset);
+				assertTrue(checkpoint < offset || checkpoint == 0);
+				maxCheckpoint = Math.max(maxCheckpoint, checkpoint);
+				TextRegion region = new TextRegion(offset, length);
+				assertEquals(tokenRegionProvider.getTokenRegion(model, region), tokenRegionProvider.getTokenRegion(model, region, checkpoint));
+			}
+		}
+		assertEquals(model.lastIndexOf(' '), maxCheckpoint);
+	}
+	
 	protected CommonToken findTokenStartingAt(final int offset, List<CommonToken> tokens) {
 		return find(tokens, new Predicate<CommonToken>() {
 			@Override
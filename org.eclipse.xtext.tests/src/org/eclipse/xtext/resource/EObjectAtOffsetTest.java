@@ -7,7 +7,9 @@
  *******************************************************************************/
 package org.eclipse.xtext.resource;
 
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.resource.eObjectAtOffsetTestLanguage.Foo;
 import org.eclipse.xtext.resource.eObjectAtOffsetTestLanguage.FooBar;
@@ -42,6 +44,35 @@ public class EObjectAtOffsetTest extends AbstractXtextTests {
 		assertNull(eObjectAtOffsetHelper.resolveCrossReferencedElementAt(resource, modelAsString.length()));
 	}
 
+	@Test public void testElementAfterUpdate() throws Exception {
+		String modelAsString = "foo foo0 bar bar0 foo0";
+		XtextResource resource = getResourceFromString(modelAsString);
+		int offset = modelAsString.indexOf("bar0");
+		EObject bar0 = eObjectAtOffsetHelper.resolveElementAt(resource, offset);
+		assertSame(((Model) resource.getContents().get(0)).getBars().get(0), bar0);
+		resource.update(offset + 3, 1, "1");
+		EObject bar1 = ((Model) resource.getContents().get(0)).getBars().get(0);
+		assertNotSame(bar0, bar1);
+		assertSame(bar1, eObjectAtOffsetHelper.resolveElementAt(resource, offset));
+	}
+
+	@Test public void testCrossReferenceIntoReloadedResource() throws Exception {
+		XtextResourceSet resourceSet = get(XtextResourceSet.class);
+		Resource target = resourceSet.createResource(URI.createURI("target." + getCurrentFileExtension()));
+		target.load(getAsStream("foo foo0"), null);
+		String modelAsString = "bar bar0 foo0";
+		XtextResource resource = (XtextResource) resourceSet.createResource(URI.createURI("source." + getCurrentFileExtension()));
+		resource.load(getAsStream(modelAsString), null);
+		int offset = modelAsString.lastIndexOf("foo0");
+		EObject foo0 = eObjectAtOffsetHelper.resolveElementAt(resource, offset);
+		assertSame(((Model) target.getContents().get(0)).getFoos().get(0), foo0);
+		target.unload();
+		target.load(getAsStream("foo foo0"), null);
+		EObject reloaded = ((Model) target.getContents().get(0)).getFoos().get(0);
+		assertNotSame(foo0, reloaded);
+		assertSame(reloaded, eObjectAtOffsetHelper.resolveElementAt(resource, offset));
+	}
+
 	@Test public void testElements() throws Exception {
 		String modelAsString = "foo foo0 bar bar0 foo0 bar bar1 foo0";
 		XtextResource resource = getResourceFromString(modelAsString);
@@ -7,15 +7,27 @@
  *******************************************************************************/
 package org.eclipse.xtext.resource.containers;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.EObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.AbstractResourceDescription;
 import org.eclipse.xtext.resource.impl.ChangedResourceDescriptionDelta;
 import org.eclipse.xtext.resource.impl.ResourceDescriptionChangeEvent;
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsBasedContainer;
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsBasedContainerTest;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
 import org.junit.After;
 import org.junit.Test;
 
@@ -59,6 +71,42 @@ public class StateBasedContainerTest extends ResourceDescriptionsBasedContainerT
 		return uri.equals(this.uri);	
 	}
 	
+	@Test public void testGetExportedObjectsFromResourceDescriptionsData() {
+		URI otherURI = URI.createURI("otherURI");
+		ResourceDescriptionsData data = new ResourceDescriptionsData(Arrays.asList(createDescription(uri), createDescription(otherURI)));
+		StateBasedContainer stateBasedContainer = new StateBasedContainer(data, this);
+		Iterable<IEObjectDescription> iterable = stateBasedContainer.getExportedObjects(EcorePackage.Literals.ECLASSIFIER, QualifiedName.create("SomeName"), false);
+		assertEquals(uri, Iterables.getOnlyElement(iterable).getEObjectURI().trimFragment());
+		simulateEmpty = true;
+		assertTrue(Iterables.isEmpty(stateBasedContainer.getExportedObjects(EcorePackage.Literals.ECLASSIFIER, QualifiedName.create("SomeName"), false)));
+	}
+	
+	private IResourceDescription createDescription(final URI resourceURI) {
+		return new AbstractResourceDescription() {
+			@Override
+			protected List<IEObjectDescription> computeExportedObjects() {
+				EClass exported = EcoreFactory.eINSTANCE.createEClass();
+				((InternalEObject) exported).eSetProxyURI(resourceURI.appendFragment("SomeName"));
+				return Collections.singletonList(EObjectDescription.create(QualifiedName.create("SomeName"), exported));
+			}
+
+			@Override
+			public Iterable<QualifiedName> getImportedNames() {
+				return Collections.emptyList();
+			}
+
+			@Override
+			public Iterable<IReferenceDescription> getReferenceDescriptions() {
+				return Collections.emptyList();
+			}
+
+			@Override
+			public URI getURI() {
+				return resourceURI;
+			}
+		};
+	}
+	
 	@Override
 	@Test public void testBug352214() {
 		container.getResourceDescriptions(); // initialize uri map
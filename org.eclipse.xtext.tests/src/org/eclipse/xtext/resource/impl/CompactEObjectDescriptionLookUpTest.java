@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.EObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class CompactEObjectDescriptionLookUpTest extends Assert {
+
+	@Test public void testEmpty() {
+		CompactEObjectDescriptionLookUp lookUp = new CompactEObjectDescriptionLookUp(Collections.<IEObjectDescription>emptyList());
+		assertTrue(lookUp.isEmpty());
+		assertFalse(lookUp.getExportedObjects(EcorePackage.Literals.EOBJECT, QualifiedName.create("a"), true).iterator().hasNext());
+		assertFalse(lookUp.getExportedObjectsByType(EcorePackage.Literals.EOBJECT).iterator().hasNext());
+	}
+
+	@Test public void testGetExportedObjectsByName() {
+		IEObjectDescription upper = create("A", EcorePackage.Literals.ECLASS);
+		IEObjectDescription lower = create("a", EcorePackage.Literals.EDATA_TYPE);
+		IEObjectDescription other = create("b", EcorePackage.Literals.ECLASS);
+		IEObjectDescription qualified = create("a.b", EcorePackage.Literals.EENUM);
+		CompactEObjectDescriptionLookUp lookUp = new CompactEObjectDescriptionLookUp(Lists.newArrayList(upper, other, lower, qualified));
+		assertEquals(Lists.newArrayList(upper, lower),
+				Lists.newArrayList(lookUp.getExportedObjects(EcorePackage.Literals.EOBJECT, QualifiedName.create("a"), true)));
+		assertEquals(Lists.newArrayList(lower),
+				Lists.newArrayList(lookUp.getExportedObjects(EcorePackage.Literals.EOBJECT, QualifiedName.create("a"), false)));
+		assertEquals(Lists.newArrayList(upper),
+				Lists.newArrayList(lookUp.getExportedObjects(EcorePackage.Literals.ECLASS, QualifiedName.create("a"), true)));
+		assertEquals(Lists.newArrayList(qualified),
+				Lists.newArrayList(lookUp.getExportedObjects(EcorePackage.Literals.EDATA_TYPE, QualifiedName.create("A", "B"), true)));
+		assertFalse(lookUp.getExportedObjects(EcorePackage.Literals.EOBJECT, QualifiedName.create("c"), true).iterator().hasNext());
+	}
+
+	@Test public void testGetExportedObjectsByType() {
+		IEObjectDescription eClass = create("a", EcorePackage.Literals.ECLASS);
+		IEObjectDescription eDataType = create("b", EcorePackage.Literals.EDATA_TYPE);
+		IEObjectDescription eEnum = create("c", EcorePackage.Literals.EENUM);
+		IEObjectDescription ePackage = create("d", EcorePackage.Literals.EPACKAGE);
+		IEObjectDescription eClass2 = create("e", EcorePackage.Literals.ECLASS);
+		List<IEObjectDescription> all = Lists.newArrayList(eClass, eDataType, eEnum, ePackage, eClass2);
+		CompactEObjectDescriptionLookUp lookUp = new CompactEObjectDescriptionLookUp(all);
+		assertEquals(all, Lists.newArrayList(lookUp.getExportedObjectsByType(EcorePackage.Literals.EOBJECT)));
+		assertEquals(Lists.newArrayList(eClass, eClass2),
+				Lists.newArrayList(lookUp.getExportedObjectsByType(EcorePackage.Literals.ECLASS)));
+		assertEquals(Lists.newArrayList(eDataType, eEnum),
+				Lists.newArrayList(lookUp.getExportedObjectsByType(EcorePackage.Literals.EDATA_TYPE)));
+		assertEquals(Lists.newArrayList(eClass, eDataType, eEnum, eClass2),
+				Lists.newArrayList(lookUp.getExportedObjectsByType(EcorePackage.Literals.ECLASSIFIER)));
+		assertFalse(lookUp.getExportedObjectsByType(EcorePackage.Literals.EATTRIBUTE).iterator().hasNext());
+	}
+
+	@Test public void testSetExportedObjects() {
+		IEObjectDescription first = create("a", EcorePackage.Literals.ECLASS);
+		IEObjectDescription second = create("a", EcorePackage.Literals.EPACKAGE);
+		CompactEObjectDescriptionLookUp lookUp = new CompactEObjectDescriptionLookUp(Lists.newArrayList(first));
+		assertEquals(Lists.newArrayList(first),
+				Lists.newArrayList(lookUp.getExportedObjects(EcorePackage.Literals.EOBJECT, QualifiedName.create("a"), false)));
+		lookUp.setExportedObjects(Lists.newArrayList(second));
+		assertEquals(Lists.newArrayList(second),
+				Lists.newArrayList(lookUp.getExportedObjects(EcorePackage.Literals.EOBJECT, QualifiedName.create("a"), false)));
+		assertEquals(Lists.newArrayList(second),
+				Lists.newArrayList(lookUp.getExportedObjectsByType(EcorePackage.Literals.EOBJECT)));
+	}
+
+	@Test public void testSameResultsAsEObjectDescriptionLookUp() {
+		List<IEObjectDescription> descriptions = Lists.newArrayList();
+		EClass[] types = { EcorePackage.Literals.ECLASS, EcorePackage.Literals.EDATA_TYPE, EcorePackage.Literals.EPACKAGE };
+		for (int i = 0; i < 1000; i++) {
+			descriptions.add(create((i % 2 == 0 ? "Name" : "name") + i % 300, types[i % types.length]));
+		}
+		EObjectDescriptionLookUp expected = new EObjectDescriptionLookUp(descriptions);
+		CompactEObjectDescriptionLookUp actual = new CompactEObjectDescriptionLookUp(descriptions);
+		for (EClass type : types) {
+			assertEquals(Lists.newArrayList(expected.getExportedObjectsByType(type)),
+					Lists.newArrayList(actual.getExportedObjectsByType(type)));
+			for (int i = 0; i < 310; i++) {
+				QualifiedName name = QualifiedName.create("Name" + i);
+				assertEquals(Lists.newArrayList(expected.getExportedObjects(type, name, true)),
+						Lists.newArrayList(actual.getExportedObjects(type, name, true)));
+				assertEquals(Lists.newArrayList(expected.getExportedObjects(type, name, false)),
+						Lists.newArrayList(actual.getExportedObjects(type, name, false)));
+			}
+		}
+	}
+
+	private IEObjectDescription create(String name, EClass type) {
+		EObject object = EcoreUtil.create(type);
+		return EObjectDescription.create(QualifiedName.create(name.split("\\.")), object);
+	}
+
+}
@@ -9,6 +9,8 @@ package org.eclipse.xtext.resource.impl;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EClass;
@@ -24,6 +26,8 @@ import org.eclipse.emf.ecore.xmi.impl.XMLResourceImpl;
 import org.eclipse.xtext.naming.IQualifiedNameProvider;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.util.OnChangeEvictingCache;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -147,6 +151,51 @@ public class DefaultResourceDescriptionTest extends Assert {
 		assertContains(description.getExportedObjectsByObject(EcoreFactory.eINSTANCE.createEAttribute()));
 	}
 
+	@Test public void testSinglePass() throws Exception {
+		Resource other = new XMLResourceImpl(URI.createURI("foo:/other"));
+		EPackage otherPack = EcoreFactory.eINSTANCE.createEPackage();
+		otherPack.setName("OtherPackage");
+		EClass superType = EcoreFactory.eINSTANCE.createEClass();
+		superType.setName("SuperType");
+		otherPack.getEClassifiers().add(superType);
+		other.getContents().add(otherPack);
+		eClass.getESuperTypes().add(superType);
+		List<String> expectedExports = toStrings(description.getExportedObjects());
+		List<String> expectedReferences = toStrings(description.getReferenceDescriptions());
+		assertFalse(expectedReferences.isEmpty());
+
+		DefaultResourceDescription singlePass = new DefaultResourceDescription(resource, strategy);
+		singlePass.setSinglePass(true);
+		assertEquals(expectedReferences, toStrings(singlePass.getReferenceDescriptions()));
+		assertEquals(expectedExports, toStrings(singlePass.getExportedObjects()));
+
+		DefaultResourceDescription parallel = new DefaultResourceDescription(resource, strategy);
+		parallel.setSinglePass(true);
+		parallel.setForkJoinPool(ForkJoinPool.commonPool());
+		assertEquals(expectedReferences, toStrings(parallel.getReferenceDescriptions()));
+		assertEquals(expectedExports, toStrings(parallel.getExportedObjects()));
+
+		DefaultResourceDescription cached = new DefaultResourceDescription(resource, strategy, new OnChangeEvictingCache());
+		cached.setSinglePass(true);
+		assertEquals(expectedExports, toStrings(cached.getExportedObjects()));
+		assertEquals(expectedReferences, toStrings(cached.getReferenceDescriptions()));
+	}
+
+	private List<String> toStrings(Iterable<?> descriptions) {
+		List<String> result = Lists.newArrayList();
+		for (Object description : descriptions) {
+			if (description instanceof IReferenceDescription) {
+				IReferenceDescription reference = (IReferenceDescription) description;
+				result.add(reference.getSourceEObjectUri() + " -> " + reference.getTargetEObjectUri() + " in "
+						+ reference.getContainerEObjectURI());
+			} else {
+				IEObjectDescription exported = (IEObjectDescription) description;
+				result.add(exported.getName() + " = " + exported.getEObjectURI());
+			}
+		}
+		return result;
+	}
+
 	private void assertContains(Iterable<IEObjectDescription> exportedObjects, EObject ...expectedContents) {
 		Collection<IEObjectDescription> collection = Lists.newArrayList(exportedObjects);
 		for (EObject obj : expectedContents) {
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import java.util.List;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.EObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+
+/**
+ * Compares the time and the memory that the {@link EObjectDescriptionLookUp} and the
+ * {@link CompactEObjectDescriptionLookUp} need to build their index and to answer queries by name and by type. Raise
+ * the number of loops and enable the output to get meaningful numbers.
+ */
+public class EObjectDescriptionLookUpPerformanceTest extends Assert {
+
+	private static int LOOPS = 3 /* 100 */;
+
+	private static final EClass[] TYPES = {
+			EcorePackage.Literals.ECLASS,
+			EcorePackage.Literals.EDATA_TYPE,
+			EcorePackage.Literals.EPACKAGE
+	};
+
+	@Test public void test10Exports() {
+		doTest(10);
+	}
+
+	@Test public void test1000Exports() {
+		doTest(1000);
+	}
+
+	@Test public void test100000Exports() {
+		doTest(100000);
+	}
+
+	private void doTest(int exportCount) {
+		List<IEObjectDescription> descriptions = createDescriptions(exportCount);
+		QualifiedName[] names = new QualifiedName[exportCount];
+		for (int i = 0; i < exportCount; i++) {
+			names[i] = QualifiedName.create("name" + i);
+		}
+		long[] regular = measure(descriptions, names, false);
+		long[] compact = measure(descriptions, names, true);
+		assertEquals(regular[2], compact[2]);
+//		System.out.println(exportCount + " exports: EObjectDescriptionLookUp " + regular[0] / 1000 + "us, "
+//				+ regular[1] / 1024 + "KB; CompactEObjectDescriptionLookUp " + compact[0] / 1000 + "us, " + compact[1]
+//				/ 1024 + "KB");
+	}
+
+	/**
+	 * Returns the nanoseconds per loop, the retained bytes of the look ups and the number of found descriptions.
+	 */
+	private long[] measure(List<IEObjectDescription> descriptions, QualifiedName[] names, boolean compact) {
+		EObjectDescriptionLookUp[] lookUps = new EObjectDescriptionLookUp[LOOPS];
+		long usedBefore = getUsedMemory();
+		long start = System.nanoTime();
+		long found = 0;
+		for (int i = 0; i < LOOPS; i++) {
+			EObjectDescriptionLookUp lookUp = compact
+					? new CompactEObjectDescriptionLookUp(descriptions)
+					: new EObjectDescriptionLookUp(descriptions);
+			for (QualifiedName name : names) {
+				found += Iterables.size(lookUp.getExportedObjects(EcorePackage.Literals.EOBJECT, name, false));
+			}
+			for (EClass type : TYPES) {
+				found += Iterables.size(lookUp.getExportedObjectsByType(type));
+			}
+			lookUps[i] = lookUp;
+		}
+		long duration = System.nanoTime() - start;
+		long retained = getUsedMemory() - usedBefore;
+		assertEquals(LOOPS, lookUps.length);
+		return new long[] { duration / LOOPS, retained / LOOPS, found };
+	}
+
+	private long getUsedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		System.gc();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private List<IEObjectDescription> createDescriptions(int exportCount) {
+		List<IEObjectDescription> result = Lists.newArrayListWithCapacity(exportCount);
+		for (int i = 0; i < exportCount; i++) {
+			EClass type = TYPES[i % TYPES.length];
+			result.add(EObjectDescription.create(QualifiedName.create("name" + i), EcoreUtil.create(type)));
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.xtext.naming.QualifiedName;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+public class QualifiedNamePrefixIndexTest {
+
+	private QualifiedNamePrefixIndex index = new QualifiedNamePrefixIndex(Arrays.asList(
+			QualifiedName.create("Foo"),
+			QualifiedName.create("foobar"),
+			QualifiedName.create("Bar"),
+			QualifiedName.create("a", "b", "FooBaz"),
+			QualifiedName.create("foo", "Foo"),
+			QualifiedName.create("x", "Zonk")));
+
+	private Set<String> query(String prefix) {
+		List<String> result = Lists.newArrayList();
+		for (QualifiedName name : index.getNamesByPrefix(prefix)) {
+			result.add(name.toString());
+		}
+		Set<String> unique = Sets.newHashSet(result);
+		assertEquals("duplicate results " + result, result.size(), unique.size());
+		return unique;
+	}
+
+	@Test
+	public void testFirstAndLastSegment() {
+		assertEquals(Sets.newHashSet("foo", "foobar", "a.b.foobaz", "foo.foo"), query("foo"));
+	}
+
+	@Test
+	public void testIgnoresCase() {
+		assertEquals(Sets.newHashSet("foobar"), query("FOOBA"));
+		assertEquals(Sets.newHashSet("x.zonk"), query("zO"));
+	}
+
+	@Test
+	public void testMiddleSegmentIsNotMatched() {
+		assertEquals(Sets.newHashSet("bar"), query("b"));
+	}
+
+	@Test
+	public void testNoMatch() {
+		assertTrue(query("q").isEmpty());
+		assertTrue(query("zz").isEmpty());
+	}
+
+	@Test
+	public void testMatchesIsConsistent() {
+		for (QualifiedName name : index.getNamesByPrefix("foo")) {
+			assertTrue(QualifiedNamePrefixIndex.matches(name, "Foo"));
+		}
+		assertFalse(QualifiedNamePrefixIndex.matches(QualifiedName.create("a", "foo", "b"), "foo"));
+		assertEquals(6, index.size());
+	}
+
+}
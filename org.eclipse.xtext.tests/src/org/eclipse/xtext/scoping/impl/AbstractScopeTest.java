@@ -16,6 +16,7 @@ import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
 import org.eclipse.xtext.resource.EObjectDescription;
 import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.scoping.IPrefixSearchableScope;
 import org.eclipse.xtext.scoping.IScope;
 import org.junit.After;
 import org.junit.Assert;
@@ -154,6 +155,11 @@ public abstract class AbstractScopeTest extends Assert {
 		assertEqualElements(ImmutableList.of(), scope.getElements(annotationB));
 	}
 	
+	@Test public void testNotPrefixSearchable() {
+		IScope scope = createScope(IScope.NULLSCOPE, ImmutableList.of(descriptionA, descriptionB));
+		assertFalse(scope instanceof IPrefixSearchableScope);
+	}
+	
 	protected void assertEqualElements(Iterable<?> expected, Iterable<?> actual) {
 		assertTrue(Iterables.elementsEqual(expected, actual));
 	}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.scoping.impl;
+
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.EObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.impl.EObjectDescriptionLookUp;
+import org.eclipse.xtext.scoping.IPrefixSearchableScope;
+import org.eclipse.xtext.scoping.IScope;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+
+public class SelectableBasedScopeTest extends Assert {
+
+	@Test public void testElementsByPrefix() {
+		IEObjectDescription a = create("a");
+		IEObjectDescription ab = create("ab");
+		IEObjectDescription qualified = create("x", "abc");
+		IEObjectDescription b = create("b");
+		IScope scope = SelectableBasedScope.createScope(IScope.NULLSCOPE,
+				new EObjectDescriptionLookUp(Lists.newArrayList(a, ab, qualified, b)), EcorePackage.Literals.EANNOTATION, false);
+		assertTrue(scope instanceof IPrefixSearchableScope);
+		assertEquals(Lists.newArrayList(a, ab, qualified),
+				Lists.newArrayList(((IPrefixSearchableScope) scope).getElementsByPrefix("A")));
+		assertEquals(Lists.newArrayList(b),
+				Lists.newArrayList(((IPrefixSearchableScope) scope).getElementsByPrefix("b")));
+		assertEquals(Lists.newArrayList(scope.getAllElements()),
+				Lists.newArrayList(((IPrefixSearchableScope) scope).getElementsByPrefix("")));
+	}
+
+	@Test public void testElementsByPrefixWithParent() {
+		IEObjectDescription local = create("ab");
+		IEObjectDescription shadowed = create("ab");
+		IEObjectDescription parentOnly = create("abc");
+		IEObjectDescription other = create("b");
+		IScope parent = new SimpleScope(Lists.newArrayList(shadowed, parentOnly, other));
+		IScope scope = SelectableBasedScope.createScope(parent,
+				new EObjectDescriptionLookUp(Lists.newArrayList(local)), EcorePackage.Literals.EANNOTATION, false);
+		assertEquals(Lists.newArrayList(local, parentOnly),
+				Lists.newArrayList(((IPrefixSearchableScope) scope).getElementsByPrefix("a")));
+	}
+
+	@Test public void testSubclassesFilterAllElements() {
+		final IEObjectDescription a = create("a");
+		IEObjectDescription ab = create("ab");
+		IScope scope = new SelectableBasedScope(IScope.NULLSCOPE, new EObjectDescriptionLookUp(Lists.newArrayList(a, ab)),
+				null, EcorePackage.Literals.EANNOTATION, false) {
+			@Override
+			public Iterable<IEObjectDescription> getAllElements() {
+				return Iterables.filter(super.getAllElements(), new Predicate<IEObjectDescription>() {
+					@Override
+					public boolean apply(IEObjectDescription input) {
+						return input != a;
+					}
+				});
+			}
+		};
+		assertEquals(Lists.newArrayList(ab), Lists.newArrayList(((IPrefixSearchableScope) scope).getElementsByPrefix("a")));
+	}
+
+	private IEObjectDescription create(String... segments) {
+		return EObjectDescription.create(QualifiedName.create(segments), EcoreFactory.eINSTANCE.createEAnnotation());
+	}
+
+}
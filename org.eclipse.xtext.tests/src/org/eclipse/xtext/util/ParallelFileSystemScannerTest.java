@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.util;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.tests.TemporaryFolder;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.inject.Guice;
+
+public class ParallelFileSystemScannerTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private ParallelFileSystemScanner scanner;
+
+	private URI root;
+
+	@Before
+	public void setUp() throws Exception {
+		scanner = Guice.createInjector().getInstance(ParallelFileSystemScanner.class);
+		temporaryFolder.newFile("a.mydsl");
+		temporaryFolder.newFile("b.txt");
+		temporaryFolder.newFolder("src", "nested");
+		temporaryFolder.newFile("src/c.mydsl");
+		temporaryFolder.newFile("src/nested/d.mydsl");
+		temporaryFolder.newFolder("bin");
+		temporaryFolder.newFile("bin/e.mydsl");
+		root = URI.createFileURI(temporaryFolder.getRoot().getAbsolutePath());
+	}
+
+	private Set<String> scan(Set<String> fileExtensions, String... excludeGlobs) {
+		final List<URI> result = Lists.newArrayList();
+		IAcceptor<URI> acceptor = new IAcceptor<URI>() {
+			@Override
+			public void accept(URI uri) {
+				result.add(uri);
+			}
+		};
+		if (fileExtensions == null && excludeGlobs.length == 0) {
+			scanner.scan(root, acceptor);
+		} else {
+			scanner.scan(root, fileExtensions, Lists.newArrayList(excludeGlobs), acceptor);
+		}
+		Set<String> names = Sets.newHashSet();
+		for (URI uri : result) {
+			assertTrue(uri.isFile());
+			// directory URIs end with a separator
+			names.add(uri.hasTrailingPathSeparator() ? uri.trimSegments(1).lastSegment() : uri.lastSegment());
+		}
+		assertEquals(result.size(), names.size());
+		return names;
+	}
+
+	@Test
+	public void testScanAll() {
+		Set<String> expected = ImmutableSet.of(temporaryFolder.getRoot().getName(), "a.mydsl", "b.txt", "src",
+				"c.mydsl", "nested", "d.mydsl", "bin", "e.mydsl");
+		assertEquals(expected, scan(null));
+	}
+
+	@Test
+	public void testFileExtensions() {
+		assertEquals(ImmutableSet.of("a.mydsl", "c.mydsl", "d.mydsl", "e.mydsl"), scan(Collections.singleton("mydsl"), new String[0]));
+		assertEquals(ImmutableSet.of("b.txt"), scan(Collections.singleton("txt"), new String[0]));
+	}
+
+	@Test
+	public void testExcludeGlobs() {
+		assertEquals(ImmutableSet.of("a.mydsl", "c.mydsl"), scan(Collections.singleton("mydsl"), "bin", "**/nested"));
+		assertEquals(ImmutableSet.of("a.mydsl", "b.txt", "c.mydsl", "d.mydsl"), scan(null, "bin"));
+	}
+
+	@Test
+	public void testMissingRoot() {
+		root = URI.createFileURI(new File(temporaryFolder.getRoot(), "missing").getAbsolutePath());
+		assertTrue(scan(null).isEmpty());
+	}
+
+}
@@ -7,8 +7,11 @@
  *******************************************************************************/
 package org.eclipse.xtext.validation;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EClassifier;
@@ -19,9 +22,17 @@ import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.EcoreFactory;
 import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.EObjectDescription;
+import org.eclipse.xtext.resource.IContainer;
 import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.AbstractResourceDescription;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsBasedContainer;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
 import org.eclipse.xtext.scoping.Scopes;
 import org.eclipse.xtext.service.OperationCanceledError;
 import org.eclipse.xtext.util.CancelIndicator;
@@ -261,6 +272,68 @@ public class NamesAreUniqueValidationHelperTest extends AbstractValidationMessag
 		assertEquals("Duplicate EAttribute 'Attribute' in EClass 'EClassName'", errorMessage);
 	}
 
+	@Test public void testCheckUniqueNamesAcrossResources() {
+		maxCallCount = 0;
+		EClass first = createEClass();
+		first.setName("Same");
+		EClass unique = createEClass();
+		unique.setName("Unique");
+		EDataType second = createEDataType();
+		second.setName("Same");
+		EPackage third = createEPackage();
+		third.setName("Same");
+		IResourceDescription description = createDescription("a.ecore", first, unique);
+		ResourceDescriptionsData index = new ResourceDescriptionsData(ImmutableList.of(
+				description,
+				createDescription("b.ecore", second),
+				createDescription("c.ecore", third)));
+		List<IContainer> containers = ImmutableList.<IContainer>of(new ResourceDescriptionsBasedContainer(index));
+		expected.add(first);
+		helper.checkUniqueNamesAcrossResources(description, index, containers, this, this);
+		assertEquals(2, callCount);
+		assertTrue(expected.isEmpty());
+	}
+	
+	@Test public void testCheckUniqueNamesAcrossResources_NoDuplicates() {
+		maxCallCount = 0;
+		EClass first = createEClass();
+		EClass second = createEClass();
+		IResourceDescription description = createDescription("a.ecore", first);
+		ResourceDescriptionsData index = new ResourceDescriptionsData(ImmutableList.of(
+				description,
+				createDescription("b.ecore", second)));
+		List<IContainer> containers = ImmutableList.<IContainer>of(new ResourceDescriptionsBasedContainer(index));
+		helper.checkUniqueNamesAcrossResources(description, index, containers, this, this);
+		assertEquals(1, callCount);
+	}
+
+	private IResourceDescription createDescription(String fileName, ENamedElement... elements) {
+		final Resource resource = new ResourceImpl(URI.createURI(fileName));
+		resource.getContents().addAll(Arrays.asList(elements));
+		final List<IEObjectDescription> exported = Lists.newArrayList(Scopes.scopedElementsFor(Arrays.asList(elements)));
+		return new AbstractResourceDescription() {
+			@Override
+			protected List<IEObjectDescription> computeExportedObjects() {
+				return exported;
+			}
+			
+			@Override
+			public Iterable<QualifiedName> getImportedNames() {
+				return Collections.emptyList();
+			}
+			
+			@Override
+			public Iterable<IReferenceDescription> getReferenceDescriptions() {
+				return Collections.emptyList();
+			}
+			
+			@Override
+			public URI getURI() {
+				return resource.getURI();
+			}
+		};
+	}
+
 	private EClass createEClass() {
 		EClass result = EcoreFactory.eINSTANCE.createEClass();
 		result.setName(String.valueOf(created++));
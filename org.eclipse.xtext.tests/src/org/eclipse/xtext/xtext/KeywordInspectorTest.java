@@ -8,6 +8,7 @@
 package org.eclipse.xtext.xtext;
 
 import java.util.Iterator;
+import java.util.Map;
 
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.xtext.AbstractRule;
@@ -18,6 +19,7 @@ import org.eclipse.xtext.ParserRule;
 import org.junit.Test;
 
 import com.google.common.collect.Iterators;
+import com.google.common.collect.Maps;
 
 /**
  * @author Sebastian Zarnekow - Initial contribution and API
@@ -114,4 +116,25 @@ public class KeywordInspectorTest extends AbstractXtextInspectorTest {
 		assertEquals(errors.toString(), 0, errors.size());
 	}
 	
+	@Test public void testSharedGrammarAnalysis() throws Exception {
+		String grammarAsString = "grammar org.xtext.example.MyDsl7 with org.eclipse.xtext.common.Terminals\n" + 
+				"generate myDsl \"http://www.xtext.org/example/MyDsl\"\n" + 
+				"Type : 'type' '#' name=ID '#';\n" + 
+				"Other : 'other' '+' name=ID;\n" + 
+				"terminal POUND: '#';";
+		Grammar grammar = getGrammar(grammarAsString);
+		Map<Object, Object> context = Maps.newHashMap();
+		GrammarAnalysis analysis = GrammarAnalysis.get(grammar, context);
+		assertSame(analysis, GrammarAnalysis.get(grammar, context));
+		assertSame(GrammarUtil.findRuleForName(grammar, "ID"), analysis.findRuleForName("ID"));
+		assertSame(GrammarUtil.findRuleForName(grammar, "Other"), analysis.findRuleForName("Other"));
+		KeywordInspector inspector = new KeywordInspector(this);
+		for (ParserRule rule : GrammarUtil.allParserRules(grammar)) {
+			for (Keyword keyword : GrammarUtil.containedKeywords(rule)) {
+				inspector.inspectKeywordHidesTerminalRule(keyword, analysis);
+			}
+		}
+		assertEquals(errors.toString(), 2, errors.size());
+	}
+	
 }
@@ -7,16 +7,22 @@
  */
 package org.eclipse.xtext.build;
 
+import com.google.inject.Binder;
+import com.google.inject.Guice;
 import com.google.inject.Inject;
+import com.google.inject.Module;
+import com.google.inject.name.Names;
 import java.util.Collections;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.xtend2.lib.StringConcatenation;
 import org.eclipse.xtext.build.BuildRequest;
+import org.eclipse.xtext.build.IncrementalBuilder;
 import org.eclipse.xtext.build.IndexState;
 import org.eclipse.xtext.generator.OutputConfiguration;
 import org.eclipse.xtext.index.IndexTestLanguageInjectorProvider;
+import org.eclipse.xtext.index.IndexTestLanguageRuntimeModule;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
 import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
@@ -24,7 +30,9 @@ import org.eclipse.xtext.testing.InjectWith;
 import org.eclipse.xtext.testing.XtextRunner;
 import org.eclipse.xtext.testing.builder.AbstractIncrementalBuilderTest;
 import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.Modules2;
 import org.eclipse.xtext.validation.Issue;
+import org.eclipse.xtext.validation.NamesAreUniqueValidator;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
@@ -443,4 +451,71 @@ public class IncrementalBuilderTest extends AbstractIncrementalBuilderTest {
     Assert.assertEquals(1, this.deleted.size());
     Assert.assertTrue(this.containsSuffix(this.deleted, "src-gen/A.txt"));
   }
+  
+  @Test
+  public void testExportersOfDuplicateNamesAreNotRebuiltByDefault() {
+    this.buildDuplicateNames();
+    Assert.assertTrue(this.issues.toString(), this.issues.isEmpty());
+    Assert.assertFalse(this.generated.containsKey(this.uri("src/B.indextestlanguage")));
+  }
+  
+  @Test
+  public void testExportersOfDuplicateNamesAreRebuilt() {
+    IndexTestLanguageRuntimeModule _indexTestLanguageRuntimeModule = new IndexTestLanguageRuntimeModule();
+    final Module _function = (Binder it) -> {
+      it.bindConstant().annotatedWith(Names.named(NamesAreUniqueValidator.CHECK_ACROSS_RESOURCES)).to(true);
+    };
+    this.incrementalBuilder = Guice.createInjector(Modules2.mixin(_indexTestLanguageRuntimeModule, _function)).<IncrementalBuilder>getInstance(IncrementalBuilder.class);
+    this.buildDuplicateNames();
+    Assert.assertTrue(this.generated.containsKey(this.uri("src/B.indextestlanguage")));
+  }
+  
+  private void buildDuplicateNames() {
+    final Procedure1<BuildRequest> _function = (BuildRequest it) -> {
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("foo {");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("entity A {}");
+      _builder.newLine();
+      _builder.append("}");
+      _builder.newLine();
+      URI _minus = this.operator_minus(
+        "src/A.indextestlanguage", _builder.toString());
+      StringConcatenation _builder_1 = new StringConcatenation();
+      _builder_1.append("bar {");
+      _builder_1.newLine();
+      _builder_1.append("\t");
+      _builder_1.append("entity B {}");
+      _builder_1.newLine();
+      _builder_1.append("}");
+      _builder_1.newLine();
+      URI _minus_1 = this.operator_minus(
+        "src/B.indextestlanguage", _builder_1.toString());
+      it.setDirtyFiles(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(_minus, _minus_1)));
+    };
+    this.build(this.newBuildRequest(_function));
+    Assert.assertTrue(this.issues.toString(), this.issues.isEmpty());
+    final Procedure1<BuildRequest> _function_1 = (BuildRequest it) -> {
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("foo {");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("entity A {}");
+      _builder.newLine();
+      _builder.append("}");
+      _builder.newLine();
+      _builder.append("bar {");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("datatype B");
+      _builder.newLine();
+      _builder.append("}");
+      _builder.newLine();
+      URI _minus = this.operator_minus(
+        "src/A.indextestlanguage", _builder.toString());
+      it.setDirtyFiles(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(_minus)));
+    };
+    this.build(this.newBuildRequest(_function_1));
+  }
 }
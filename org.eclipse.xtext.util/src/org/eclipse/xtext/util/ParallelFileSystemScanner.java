@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+
+import com.google.inject.Inject;
+
+/**
+ * A file system scanner that lists the directories with NIO and scans sibling directories in parallel on a
+ * {@link ForkJoinPool}.
+ *
+ * Besides the plain {@link #scan(URI, IAcceptor) scan}, which reports all files and directories like the
+ * {@link IFileSystemScanner.JavaIoFileSystemScanner}, clients may restrict the scan to files with certain extensions
+ * and exclude paths by glob patterns. Excluded directories are not traversed at all. The acceptor is notified as soon
+ * as a file is found. Calls to the acceptor are synchronized, but they happen in no particular order.
+ *
+ * @since 2.14
+ */
+public class ParallelFileSystemScanner implements IFileSystemScanner {
+
+	private static final Logger LOG = Logger.getLogger(ParallelFileSystemScanner.class);
+
+	@Inject
+	private UriExtensions uriExtensions;
+
+	@Override
+	public void scan(URI root, IAcceptor<URI> acceptor) {
+		doScan(root, null, Collections.<String> emptyList(), true, acceptor);
+	}
+
+	/**
+	 * Reports all files below the given root that have one of the given file extensions and are not matched by any of
+	 * the exclude globs. Directories are not reported.
+	 *
+	 * @param fileExtensions
+	 *            the accepted file extensions without the leading dot. May be <code>null</code> to accept all files.
+	 * @param excludeGlobs
+	 *            glob patterns as described in {@link FileSystem#getPathMatcher(String)}, e.g. <code>**&#47;bin</code>.
+	 *            They are matched against the path relative to the root.
+	 */
+	public void scan(URI root, Set<String> fileExtensions, Collection<String> excludeGlobs, IAcceptor<URI> acceptor) {
+		doScan(root, fileExtensions, excludeGlobs, false, acceptor);
+	}
+
+	protected void doScan(URI root, Set<String> fileExtensions, Collection<String> excludeGlobs,
+			boolean acceptDirectories, IAcceptor<URI> acceptor) {
+		// we need to convert the given file to a decoded emf file uri
+		// e.g. file:///Users/x/y/z
+		// or file:///C:/x/y/z
+		Path rootPath = Paths.get(new File(root.toFileString()).getAbsoluteFile().toURI());
+		List<PathMatcher> excludes = new ArrayList<PathMatcher>(excludeGlobs.size());
+		for (String glob : excludeGlobs) {
+			excludes.add(rootPath.getFileSystem().getPathMatcher("glob:" + glob));
+		}
+		Scan scan = new Scan(rootPath, fileExtensions, excludes, acceptDirectories, acceptor);
+		if (java.nio.file.Files.isDirectory(rootPath)) {
+			if (acceptDirectories)
+				scan.accept(rootPath);
+			getPool().invoke(new ScanDirectory(scan, rootPath));
+		} else if (java.nio.file.Files.exists(rootPath) && scan.isAcceptedFile(rootPath)) {
+			scan.accept(rootPath);
+		}
+	}
+
+	protected ForkJoinPool getPool() {
+		return ForkJoinPool.commonPool();
+	}
+
+	/**
+	 * The state of a single invocation of the scanner, shared by all tasks.
+	 */
+	private class Scan {
+		private final Path root;
+		private final Set<String> fileExtensions;
+		private final List<PathMatcher> excludes;
+		private final boolean acceptDirectories;
+		private final IAcceptor<URI> acceptor;
+
+		Scan(Path root, Set<String> fileExtensions, List<PathMatcher> excludes, boolean acceptDirectories,
+				IAcceptor<URI> acceptor) {
+			this.root = root;
+			this.fileExtensions = fileExtensions;
+			this.excludes = excludes;
+			this.acceptDirectories = acceptDirectories;
+			this.acceptor = acceptor;
+		}
+
+		boolean isExcluded(Path path) {
+			if (excludes.isEmpty())
+				return false;
+			Path relative = root.relativize(path);
+			for (PathMatcher exclude : excludes) {
+				if (exclude.matches(relative))
+					return true;
+			}
+			return false;
+		}
+
+		boolean isAcceptedFile(Path file) {
+			if (fileExtensions != null) {
+				String name = file.getFileName().toString();
+				int dot = name.lastIndexOf('.');
+				if (dot < 0 || !fileExtensions.contains(name.substring(dot + 1)))
+					return false;
+			}
+			return !isExcluded(file);
+		}
+
+		void accept(Path path) {
+			URI uri = uriExtensions.toEmfUri(path.toUri());
+			synchronized (acceptor) {
+				acceptor.accept(uri);
+			}
+		}
+	}
+
+	private static class ScanDirectory extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Scan scan;
+		private final Path directory;
+
+		ScanDirectory(Scan scan, Path directory) {
+			this.scan = scan;
+			this.directory = directory;
+		}
+
+		@Override
+		protected void compute() {
+			List<ScanDirectory> subDirectories = new ArrayList<ScanDirectory>();
+			try (DirectoryStream<Path> children = java.nio.file.Files.newDirectoryStream(directory)) {
+				for (Path child : children) {
+					if (java.nio.file.Files.isDirectory(child)) {
+						if (!scan.isExcluded(child)) {
+							if (scan.acceptDirectories)
+								scan.accept(child);
+							subDirectories.add(new ScanDirectory(scan, child));
+						}
+					} else if (scan.isAcceptedFile(child)) {
+						scan.accept(child);
+					}
+				}
+			} catch (IOException e) {
+				LOG.warn("Cannot list the contents of " + directory, e);
+			}
+			invokeAll(subDirectories);
+		}
+	}
+
+}
@@ -9,11 +9,14 @@ package org.eclipse.xtext.build
 
 import com.google.common.collect.ImmutableList
 import com.google.common.collect.Maps
+import com.google.common.collect.Sets
 import com.google.inject.Inject
+import com.google.inject.name.Named
 import java.util.Collection
 import java.util.HashSet
 import java.util.List
 import java.util.Map
+import java.util.Set
 import org.eclipse.emf.common.util.URI
 import org.eclipse.emf.ecore.InternalEObject
 import org.eclipse.emf.ecore.resource.Resource
@@ -34,6 +37,7 @@ import org.eclipse.xtext.resource.impl.ResourceDescriptionsData
 import org.eclipse.xtext.util.internal.Log
 import org.eclipse.xtext.service.OperationCanceledManager
 import org.eclipse.xtext.resource.persistence.SerializableEObjectDescriptionProvider
+import org.eclipse.xtext.validation.NamesAreUniqueValidator
 
 /**
  * @author Jan Koehnlein - Initial contribution and API
@@ -44,6 +48,15 @@ import org.eclipse.xtext.resource.persistence.SerializableEObjectDescriptionProv
 	@Inject CompilerPhases compilerPhases
 	@Inject extension OperationCanceledManager
 
+	/**
+	 * Whether the exporters of names that become or stop being duplicates are built again, see
+	 * {@link #getExportersOfChangedDuplicateNames(List, ResourceDescriptionsData, ResourceDescriptionsData)}. This is
+	 * only needed if {@link NamesAreUniqueValidator#CHECK_ACROSS_RESOURCES} is enabled, so it is bound to the same
+	 * constant, which has to be bound in the injector of the builder as well.
+	 */
+	@Inject(optional=true) @Named(NamesAreUniqueValidator.CHECK_ACROSS_RESOURCES)
+	boolean checkExportersOfDuplicateNames = false
+
 	@Data static class IndexResult {
 		List<Delta> resourceDeltas
 		ResourceDescriptionsData newIndex
@@ -73,11 +86,15 @@ import org.eclipse.xtext.resource.persistence.SerializableEObjectDescriptionProv
 		val remainingURIs = previousIndex.allResourceDescriptions.map[getURI].toSet
 		remainingURIs.removeAll(deltas.map[uri])
 
+		val exportersOfChangedDuplicates = if (checkExportersOfDuplicateNames)
+				getExportersOfChangedDuplicateNames(deltas, previousIndex, newIndex)
+			else
+				emptySet
 		val allAffected = remainingURIs.filter [
 			val manager = getResourceServiceProvider.resourceDescriptionManager
 			val resourceDescription = previousIndex.getResourceDescription(it)
 			val isAffected = resourceDescription.isAffected(manager, allDeltas, allDeltas, newIndex)
-			return isAffected
+			return isAffected || exportersOfChangedDuplicates.contains(it)
 		].toList
 		if (LOG.isInfoEnabled && !allAffected.empty)
 			LOG.info('Creating Deltas for affected resources : ' + allAffected.toSet + ".")
@@ -86,6 +103,36 @@ import org.eclipse.xtext.resource.persistence.SerializableEObjectDescriptionProv
 		return new IndexResult(deltas, newIndex)
 	}
 
+	/**
+	 * Returns the URIs of the resources that export a name which was added to or removed from the exported objects of
+	 * the changed resources, if that name is exported by more than one resource before or after the change. These
+	 * resources have to be validated again, e.g. for the uniqueness of their exported names.
+	 * 
+	 * @since 2.14
+	 */
+	protected def Set<URI> getExportersOfChangedDuplicateNames(List<Delta> deltas, ResourceDescriptionsData oldIndex,
+		ResourceDescriptionsData newIndex) {
+		val result = <URI>newHashSet
+		for (delta : deltas) {
+			if (delta.haveEObjectDescriptionsChanged) {
+				val oldNames = delta.old.exportedNames
+				val newNames = delta.^new.exportedNames
+				for (name : Sets.symmetricDifference(oldNames, newNames)) {
+					val exporters = newIndex.getExportingResourceDescriptions(name)
+					if (exporters.size > 1 || oldIndex.getExportingResourceDescriptions(name).size > 1)
+						result += exporters.map[URI]
+				}
+			}
+		}
+		return result
+	}
+
+	private def Set<QualifiedName> getExportedNames(IResourceDescription description) {
+		if (description === null)
+			return emptySet
+		return description.exportedObjects.map[name.toLowerCase].toSet
+	}
+
 	protected def List<Delta> getDeltasForDeletedResources(BuildRequest request, ResourceDescriptionsData oldIndex,
 		extension BuildContext context) {
 		val deltas = <Delta>newArrayList()
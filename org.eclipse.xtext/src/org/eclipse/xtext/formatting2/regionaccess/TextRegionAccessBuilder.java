@@ -9,21 +9,33 @@ package org.eclipse.xtext.formatting2.regionaccess;
 
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.xtext.formatting2.regionaccess.internal.NodeModelBasedRegionAccessBuilder;
+import org.eclipse.xtext.formatting2.regionaccess.internal.NodeModelBasedRegionAccessCache;
 import org.eclipse.xtext.formatting2.regionaccess.internal.TextRegionAccessBuildingSequencer;
 import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.serializer.ISerializationContext;
 import org.eclipse.xtext.serializer.acceptor.ISequenceAcceptor;
+import org.eclipse.xtext.util.IResourceScopeCache;
+
+import com.google.inject.Inject;
 
 /**
  * @author Moritz Eysholdt - Initial contribution and API
  */
 public class TextRegionAccessBuilder {
 
+	private static final String CACHE_KEY = TextRegionAccessBuilder.class.getName() + ".nodeModel";
+
+	@Inject(optional = true)
+	private IResourceScopeCache cache = IResourceScopeCache.NullImpl.INSTANCE;
+
+	private XtextResource resource;
+
 	private TextRegionAccessBuildingSequencer fromSequencer;
 
 	private NodeModelBasedRegionAccessBuilder fromNodeModel;
 
 	public TextRegionAccessBuilder forNodeModel(XtextResource resource) {
+		this.resource = resource;
 		this.fromNodeModel = new NodeModelBasedRegionAccessBuilder().withResource(resource);
 		return this;
 	}
@@ -34,10 +46,22 @@ public class TextRegionAccessBuilder {
 
 	public ITextRegionAccess create() {
 		if (fromNodeModel != null)
-			return fromNodeModel.create();
+			return createFromNodeModel();
 		if (fromSequencer != null)
 			return fromSequencer.getRegionAccess();
 		throw new IllegalStateException();
 	}
 
+	/**
+	 * Formatting and serialization frequently ask for the region access of the same, unchanged resource. The region
+	 * access is therefore cached per resource and only rebuilt if the semantic model or the node model have changed.
+	 * 
+	 * @since 2.14
+	 */
+	protected ITextRegionAccess createFromNodeModel() {
+		NodeModelBasedRegionAccessCache regionAccessCache = cache.get(CACHE_KEY, resource,
+				() -> new NodeModelBasedRegionAccessCache());
+		return regionAccessCache.get(fromNodeModel);
+	}
+
 }
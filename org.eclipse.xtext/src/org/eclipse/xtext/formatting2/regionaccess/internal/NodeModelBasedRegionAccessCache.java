@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.formatting2.regionaccess.internal;
+
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.parser.IParseResult;
+import org.eclipse.xtext.resource.XtextResource;
+
+import com.google.common.base.Objects;
+
+/**
+ * Holds the {@link NodeModelBasedRegionAccess} that was most recently built for a resource together with the version
+ * of the node model it was built from. The version is identified by the root node and its text: a partial reparse
+ * replaces the text of the root node, a full reparse replaces the root node itself.
+ *
+ * Instances are meant to be stored in the resource's {@link org.eclipse.xtext.util.IResourceScopeCache}, which
+ * additionally discards them as soon as the semantic model changes.
+ *
+ * @since 2.14
+ */
+public class NodeModelBasedRegionAccessCache {
+
+	private ICompositeNode rootNode;
+
+	private String text;
+
+	private NodeModelBasedRegionAccess regionAccess;
+
+	/**
+	 * Returns the cached region access if the node model of the builder's resource did not change since it was
+	 * created. Otherwise, a new region access is created by the given builder and cached.
+	 */
+	public synchronized NodeModelBasedRegionAccess get(NodeModelBasedRegionAccessBuilder builder) {
+		XtextResource resource = builder.getXtextResource();
+		IParseResult parseResult = resource.getParseResult();
+		ICompositeNode currentRoot = parseResult != null ? parseResult.getRootNode() : null;
+		String currentText = currentRoot != null ? currentRoot.getText() : null;
+		if (regionAccess == null || currentRoot != rootNode || !Objects.equal(currentText, text)) {
+			regionAccess = builder.create();
+			rootNode = currentRoot;
+			text = currentText;
+		}
+		return regionAccess;
+	}
+
+}
@@ -214,20 +214,26 @@ public class LazyLinkingResource extends XtextResource {
 				&& feature instanceof EReference && ((EReference)feature).isResolveProxies();
 	}
 
+	/**
+	 * Resolves lazy cross-reference fragments while holding the lock of this resource. Other fragments are resolved
+	 * without locking, so concurrent readers that navigate into this resource are not serialized.
+	 */
 	@Override
-	public synchronized EObject getEObject(String uriFragment) {
-		try {
-			if (getEncoder().isCrossLinkFragment(this, uriFragment)) {
-				Triple<EObject, EReference, INode> triple = getEncoder().decode(this, uriFragment);
-				return getEObject(uriFragment, triple);
+	public EObject getEObject(String uriFragment) {
+		if (getEncoder().isCrossLinkFragment(this, uriFragment)) {
+			synchronized (this) {
+				try {
+					Triple<EObject, EReference, INode> triple = getEncoder().decode(this, uriFragment);
+					return getEObject(uriFragment, triple);
+				} catch (RuntimeException e) {
+					operationCanceledManager.propagateAsErrorIfCancelException(e);
+					getErrors().add(new ExceptionDiagnostic(e));
+					log.error("resolution of uriFragment '" + uriFragment + "' failed.", e);
+					// wrapped because the javaDoc of this method states that WrappedExceptions are thrown
+					// logged because EcoreUtil.resolve will ignore any exceptions.
+					throw new WrappedException(e);
+				}
 			}
-		} catch (RuntimeException e) {
-			operationCanceledManager.propagateAsErrorIfCancelException(e);
-			getErrors().add(new ExceptionDiagnostic(e));
-			log.error("resolution of uriFragment '" + uriFragment + "' failed.", e);
-			// wrapped because the javaDoc of this method states that WrappedExceptions are thrown
-			// logged because EcoreUtil.resolve will ignore any exceptions.
-			throw new WrappedException(e);
 		}
 		return super.getEObject(uriFragment);
 	}
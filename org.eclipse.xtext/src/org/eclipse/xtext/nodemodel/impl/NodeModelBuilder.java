@@ -345,6 +345,8 @@ public class NodeModelBuilder {
 			newCompositeNode.basicSetLookAhead(((ICompositeNode) oldNode).getLookAhead());
 		}
 		ICompositeNode root = newNode.getRootNode();
+		if (root instanceof RootNode)
+			((RootNode) root).basicInvalidateLeafNodeIndex();
 		BidiTreeIterator<AbstractNode> iterator = ((AbstractNode) root).basicIterator();
 		int offset = 0;
 		while(iterator.hasNext()) {
@@ -13,10 +13,14 @@ import java.util.List;
 import java.util.Map;
 
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.nodemodel.BidiTreeIterator;
 import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.ILeafNode;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.serialization.DeserializationConversionContext;
 
+import com.google.common.collect.Lists;
+
 /**
  * @author Sebastian Zarnekow - Initial contribution and API
  * @author Mark Christiaens - Serialization support
@@ -28,6 +32,22 @@ public class RootNode extends CompositeNodeWithSemanticElementAndSyntaxError {
 	
 	private int[] lineBreakOffsets;
 	
+	/**
+	 * The leaf nodes and their offsets in document order. Computed on demand and discarded whenever the content of
+	 * this node is set.
+	 */
+	private volatile LeafNodeIndex leafNodeIndex;
+	
+	private static class LeafNodeIndex {
+		private final int[] offsets;
+		private final LeafNode[] leafNodes;
+		
+		private LeafNodeIndex(int[] offsets, LeafNode[] leafNodes) {
+			this.offsets = offsets;
+			this.leafNodes = leafNodes;
+		}
+	}
+	
 	/**
 	 * @return <code>null</code> the root node does not have any parent.
 	 */
@@ -63,6 +83,91 @@ public class RootNode extends CompositeNodeWithSemanticElementAndSyntaxError {
 	protected void basicSetCompleteContent(String completeContent) {
 		this.completeContent = completeContent;
 		this.lineBreakOffsets = computeLineBreaks(completeContent);
+		this.leafNodeIndex = null;
+	}
+	
+	/**
+	 * Discards the index of the leaf nodes after the structure of the node model has been changed.
+	 * @since 2.14
+	 */
+	protected void basicInvalidateLeafNodeIndex() {
+		this.leafNodeIndex = null;
+	}
+	
+	/**
+	 * Find the leaf node at the given offset by means of a binary search in the sorted offsets of all leaf nodes.
+	 * 
+	 * @return the leaf node that covers the given offset, or <code>null</code> if there is none. 
+	 * @throws IllegalStateException if the node model is incomplete, e.g. because it is still being built.
+	 * @since 2.14
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public ILeafNode basicFindLeafNodeAtOffset(int offset) {
+		LeafNodeIndex index = getLeafNodeIndex();
+		if (index == null)
+			throw new IllegalStateException("The leaf nodes do not cover the complete content.");
+		int[] offsets = index.offsets;
+		int low = 0;
+		int high = offsets.length - 1;
+		// find the last leaf that starts at or before the offset
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (offsets[mid] <= offset)
+				low = mid + 1;
+			else
+				high = mid - 1;
+		}
+		if (high < 0)
+			return null;
+		LeafNode result = index.leafNodes[high];
+		if (offset < result.getTotalEndOffset())
+			return result;
+		return null;
+	}
+	
+	/**
+	 * @return <code>true</code> if the leaf nodes can be looked up by {@link #basicFindLeafNodeAtOffset(int)}.
+	 * @since 2.14
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public boolean basicHasLeafNodeIndex() {
+		return getLeafNodeIndex() != null;
+	}
+	
+	private LeafNodeIndex getLeafNodeIndex() {
+		LeafNodeIndex result = leafNodeIndex;
+		if (result == null && completeContent != null) {
+			result = computeLeafNodeIndex();
+			leafNodeIndex = result;
+		}
+		return result;
+	}
+	
+	/**
+	 * Returns <code>null</code> if the leaf nodes do not cover the complete content, which is the case while the node
+	 * model is being built.
+	 */
+	private LeafNodeIndex computeLeafNodeIndex() {
+		List<LeafNode> leafNodes = Lists.newArrayList();
+		BidiTreeIterator<AbstractNode> iterator = basicIterator();
+		int offset = 0;
+		while (iterator.hasNext()) {
+			AbstractNode next = iterator.next();
+			if (next instanceof LeafNode) {
+				LeafNode leafNode = (LeafNode) next;
+				if (leafNode.getTotalOffset() != offset)
+					return null;
+				offset += leafNode.getTotalLength();
+				leafNodes.add(leafNode);
+			}
+		}
+		if (offset != completeContent.length())
+			return null;
+		int[] offsets = new int[leafNodes.size()];
+		for (int i = 0; i < offsets.length; i++) {
+			offsets[i] = leafNodes.get(i).getTotalOffset();
+		}
+		return new LeafNodeIndex(offsets, leafNodes.toArray(new LeafNode[leafNodes.size()]));
 	}
 	
 	/**
@@ -10,10 +10,13 @@ package org.eclipse.xtext.nodemodel.util;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.emf.common.notify.Adapter;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.xtext.AbstractRule;
 import org.eclipse.xtext.Action;
 import org.eclipse.xtext.Assignment;
@@ -33,9 +36,13 @@ import org.eclipse.xtext.nodemodel.impl.InternalNodeModelUtils;
 import org.eclipse.xtext.nodemodel.impl.RootNode;
 import org.eclipse.xtext.resource.EObjectAtOffsetHelper;
 import org.eclipse.xtext.resource.ILocationInFileProvider;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.util.IResourceScopeCache;
 import org.eclipse.xtext.util.LineAndColumn;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.inject.Provider;
 
 /**
  * The NodeModelUtils are a collection of useful methods when dealing with the node model directly. They encapsulate the
@@ -50,6 +57,8 @@ import com.google.common.collect.Lists;
  */
 public class NodeModelUtils extends InternalNodeModelUtils {
 
+	private static final String NODES_BY_FEATURE_CACHE_KEY = NodeModelUtils.class.getName() + ".nodesByFeature";
+
 	/**
 	 * Find the leaf node at the given offset. May return <code>null</code> if the given offset is not valid for the
 	 * node (sub-)tree.
@@ -60,6 +69,9 @@ public class NodeModelUtils extends InternalNodeModelUtils {
 	 *  node.totalEndOffset > leafNodeOffset 
 	 * </pre>
 	 * 
+	 * The lookup is a binary search in the offsets of all leaf nodes if the node model is complete. Otherwise the
+	 * node tree is traversed.
+	 * 
 	 * @param node the container node. May not be <code>null</code>.
 	 * @param leafNodeOffset the offset that is covered by the searched node.
 	 * @return the leaf node at the given offset or <code>null</code>.
@@ -72,6 +84,13 @@ public class NodeModelUtils extends InternalNodeModelUtils {
 		}
 		int offset = localNode.getTotalOffset();
 		int length = localNode.getTotalLength();
+		ICompositeNode rootNode = localNode.getRootNode();
+		if (rootNode instanceof RootNode && ((RootNode) rootNode).basicHasLeafNodeIndex()) {
+			if (!intersects(offset, length, leafNodeOffset))
+				return null;
+			// the leaves of a node cover its complete region, so a leaf within that region is a descendant
+			return ((RootNode) rootNode).basicFindLeafNodeAtOffset(leafNodeOffset);
+		}
 		BidiTreeIterator<AbstractNode> iterator = ((AbstractNode) localNode).basicIterator();
 		if (leafNodeOffset > (offset + length) / 2) {
 			while (iterator.hasPrevious()) {
@@ -159,21 +178,60 @@ public class NodeModelUtils extends InternalNodeModelUtils {
 	/**
 	 * Returns the list of nodes that were used to assign values to the given feature for the given object.
 	 * 
+	 * If the object is contained in an {@link XtextResource}, the nodes of all features of the object are collected at
+	 * once and kept in the {@link XtextResource#getCache() resource scope cache}. The cache is cleared with every
+	 * semantic change, e.g. when the resource is reparsed, so subsequent calls for other features of the same object
+	 * do not traverse the node model again.
+	 * 
 	 * @return the list of nodes that were used to assign values to the given feature for the given object.
 	 */
 	/* @NonNull */
 	public static List<INode> findNodesForFeature(EObject semanticObject, EStructuralFeature structuralFeature) {
 		ICompositeNode node = findActualNodeFor(semanticObject);
 		if (node != null && structuralFeature != null) {
-			return findNodesForFeature(semanticObject, node, structuralFeature);
+			Map<String, List<INode>> featureToNodes = getCachedNodesByFeature(semanticObject, node);
+			if (featureToNodes == null) {
+				featureToNodes = findNodesByFeature(semanticObject, node, structuralFeature.getName());
+			}
+			List<INode> result = featureToNodes.get(structuralFeature.getName());
+			if (result == null)
+				return Lists.newArrayList();
+			return Lists.newArrayList(result);
 		}
 		return Collections.emptyList();
 	}
 
-	private static List<INode> findNodesForFeature(EObject semanticElement, INode node,
-			EStructuralFeature structuralFeature) {
-		List<INode> result = Lists.newArrayList();
-		String featureName = structuralFeature.getName();
+	/* @Nullable */
+	private static Map<String, List<INode>> getCachedNodesByFeature(final EObject semanticElement, INode node) {
+		Resource resource = semanticElement.eResource();
+		if (!(resource instanceof XtextResource))
+			return null;
+		IResourceScopeCache cache = ((XtextResource) resource).getCache();
+		if (cache instanceof IResourceScopeCache.NullImpl)
+			return null;
+		Map<EObject, Map<String, List<INode>>> index = cache.get(NODES_BY_FEATURE_CACHE_KEY, resource,
+				new Provider<Map<EObject, Map<String, List<INode>>>>() {
+					@Override
+					public Map<EObject, Map<String, List<INode>>> get() {
+						return new ConcurrentHashMap<EObject, Map<String, List<INode>>>();
+					}
+				});
+		Map<String, List<INode>> result = index.get(semanticElement);
+		if (result == null) {
+			result = findNodesByFeature(semanticElement, node, null);
+			index.put(semanticElement, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Collects the nodes that were used to assign values to the features of the given semantic element.
+	 * 
+	 * @param featureName
+	 *            the only feature name to collect, or <code>null</code> to collect the nodes of all features.
+	 */
+	private static Map<String, List<INode>> findNodesByFeature(EObject semanticElement, INode node, String featureName) {
+		Map<String, List<INode>> result = Maps.newHashMap();
 		BidiTreeIterator<INode> iterator = node.getAsTreeIterable().iterator();
 		while (iterator.hasNext()) {
 			INode child = iterator.next();
@@ -183,9 +241,7 @@ public class NodeModelUtils extends InternalNodeModelUtils {
 					Action action = (Action) grammarElement;
 					if (child.getSemanticElement() == semanticElement) {
 						child = iterator.next();
-						if (featureName.equals(action.getFeature())) {
-							result.add(child);
-						}
+						addNode(result, featureName, action.getFeature(), child);
 					} else {
 						// navigate the action's left side (first child) until we find an assignment (a rule call)
 						// the assignment will tell us about the feature to which we assigned
@@ -196,17 +252,15 @@ public class NodeModelUtils extends InternalNodeModelUtils {
 						}
 						EObject firstChildGrammarElement = firstChild.getGrammarElement();
 						Assignment assignment = GrammarUtil.containingAssignment(firstChildGrammarElement);
-						if (assignment != null && featureName.equals(assignment.getFeature())) {
-							result.add(child);
+						if (assignment != null) {
+							addNode(result, featureName, assignment.getFeature(), child);
 						}
 					}
 					iterator.prune();
 				} else if (child != node) {
 					Assignment assignment = GrammarUtil.containingAssignment(grammarElement);
 					if (assignment != null) {
-						if (featureName.equals(assignment.getFeature())) {
-							result.add(child);
-						}
+						addNode(result, featureName, assignment.getFeature(), child);
 						iterator.prune();
 					}
 				}
@@ -215,6 +269,17 @@ public class NodeModelUtils extends InternalNodeModelUtils {
 		return result;
 	}
 
+	private static void addNode(Map<String, List<INode>> result, String featureName, String assignedFeature, INode node) {
+		if (assignedFeature == null || featureName != null && !featureName.equals(assignedFeature))
+			return;
+		List<INode> nodes = result.get(assignedFeature);
+		if (nodes == null) {
+			nodes = Lists.newArrayListWithExpectedSize(2);
+			result.put(assignedFeature, nodes);
+		}
+		nodes.add(node);
+	}
+
 	/**
 	 * <p>Returns the node that covers all assigned values of the given object. It handles the semantics of {@link Action
 	 * actions} and {@link RuleCall unassigned rule calls}. The returned node will include unassigned surrounding leafs,
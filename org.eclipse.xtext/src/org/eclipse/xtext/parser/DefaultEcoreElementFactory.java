@@ -8,9 +8,13 @@
  *******************************************************************************/
 package org.eclipse.xtext.parser;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.Collection;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.Enumerator;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EClassifier;
 import org.eclipse.emf.ecore.EObject;
@@ -22,7 +26,9 @@ import org.eclipse.xtext.conversion.ValueConverterException;
 import org.eclipse.xtext.conversion.ValueConverterWithValueException;
 import org.eclipse.xtext.nodemodel.INode;
 
+import com.google.common.collect.Maps;
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 
 /**
  * @author Sven Efftinge - Initial contribution and API
@@ -31,18 +37,63 @@ public class DefaultEcoreElementFactory implements IAstFactory {
 
 	private static final Logger log = Logger.getLogger(DefaultEcoreElementFactory.class);
 	
+	/**
+	 * The maximum number of converted values that are remembered during a parse, keyed by the name of the rule and
+	 * the text of the token. Identical token texts of the same rule are converted only once and share the same
+	 * converted value, and converted strings are shared across rules. The cache is only used for values that are
+	 * immutable, i.e. strings, numbers, booleans and enum literals, and it is dropped after each parse. A value
+	 * converter that computes different values for the same text depending on the node must not be used with the
+	 * cache. The default is <code>0</code>, which disables the cache.
+	 * 
+	 * @since 2.14
+	 */
+	public static final String CONVERSION_CACHE_SIZE = "org.eclipse.xtext.parser.DefaultEcoreElementFactory.conversionCacheSize";
+
 	@Inject
 	private IValueConverterService converterService;
 
 	@Inject(optional=true)
 	private ITokenToStringConverter tokenConverter;
 
+	@Inject(optional=true)
+	@Named(CONVERSION_CACHE_SIZE)
+	private int conversionCacheSize = 0;
+
+	private volatile ConversionCache conversionCache;
+
 	public IValueConverterService getConverterService() {
 		return converterService;
 	}
 
 	public void setConverterService(IValueConverterService converterService) {
 		this.converterService = converterService;
+		clearConversionCache();
+	}
+
+	/**
+	 * @since 2.14
+	 */
+	public int getConversionCacheSize() {
+		return conversionCacheSize;
+	}
+
+	/**
+	 * @see #CONVERSION_CACHE_SIZE
+	 * @since 2.14
+	 */
+	public void setConversionCacheSize(int conversionCacheSize) {
+		this.conversionCacheSize = conversionCacheSize;
+		clearConversionCache();
+	}
+
+	/**
+	 * Drops the converted values that were remembered so far. The parser calls this after each parse, so the cache
+	 * does not retain the values of a model.
+	 * 
+	 * @since 2.14
+	 */
+	public void clearConversionCache() {
+		conversionCache = null;
 	}
 
 	@Override
@@ -87,11 +138,54 @@ public class DefaultEcoreElementFactory implements IAstFactory {
 	private Object getTokenValue(Object tokenOrValue, String ruleName, INode node) throws ValueConverterException {
 		Object value = getTokenAsStringIfPossible(tokenOrValue);
 		if ((value == null || value instanceof CharSequence) && ruleName != null) {
-			value = converterService.toValue(value == null ? null : value.toString(), ruleName, node);
+			String text = value == null ? null : value.toString();
+			ConversionCache cache = getConversionCache();
+			if (cache != null && text != null) {
+				Object result = cache.get(ruleName, text);
+				if (result == null) {
+					result = converterService.toValue(text, ruleName, node);
+					if (isCacheable(result))
+						result = cache.put(ruleName, text, result);
+				}
+				return result;
+			}
+			value = converterService.toValue(text, ruleName, node);
 		}
 		return value;
 	}
 
+	private ConversionCache getConversionCache() {
+		if (conversionCacheSize <= 0)
+			return null;
+		ConversionCache result = conversionCache;
+		if (result == null) {
+			result = new ConversionCache(conversionCacheSize);
+			conversionCache = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns whether the given converted value may be shared by all tokens with the same text, i.e. whether it is
+	 * immutable.
+	 * 
+	 * @since 2.14
+	 */
+	protected boolean isCacheable(Object value) {
+		return value instanceof String
+				|| value instanceof Integer
+				|| value instanceof Long
+				|| value instanceof Boolean
+				|| value instanceof Double
+				|| value instanceof Float
+				|| value instanceof Short
+				|| value instanceof Byte
+				|| value instanceof Character
+				|| value instanceof BigInteger
+				|| value instanceof BigDecimal
+				|| value instanceof Enumerator;
+	}
+
 	protected Object getTokenAsStringIfPossible(Object tokenOrValue) {
 		if (tokenConverter != null)
 			return tokenConverter.getTokenAsStringIfPossible(tokenOrValue);
@@ -136,4 +230,55 @@ public class DefaultEcoreElementFactory implements IAstFactory {
 			throw new ValueConverterException("ValueConverter returned null for primitive feature " + structuralFeature.getName(), node, null);
 		}
 	}
+
+	/**
+	 * The converted values by rule name and token text. It is cleared as a whole when it exceeds its size, which keeps
+	 * it bounded without any bookkeeping per lookup.
+	 */
+	private static class ConversionCache {
+
+		private final int maxSize;
+
+		private final Map<String, Map<String, Object>> valuesByRuleName = Maps.newHashMap();
+
+		private final Map<String, String> strings = Maps.newHashMap();
+
+		private int size;
+
+		private ConversionCache(int maxSize) {
+			this.maxSize = maxSize;
+		}
+
+		private synchronized Object get(String ruleName, String text) {
+			Map<String, Object> values = valuesByRuleName.get(ruleName);
+			if (values == null)
+				return null;
+			return values.get(text);
+		}
+
+		private synchronized Object put(String ruleName, String text, Object value) {
+			if (size >= maxSize) {
+				valuesByRuleName.clear();
+				strings.clear();
+				size = 0;
+			}
+			Map<String, Object> values = valuesByRuleName.get(ruleName);
+			if (values == null) {
+				values = Maps.newHashMap();
+				valuesByRuleName.put(ruleName, values);
+			}
+			if (value instanceof String) {
+				String string = strings.get(value);
+				if (string == null) {
+					strings.put((String) value, (String) value);
+				} else {
+					value = string;
+				}
+			}
+			values.put(text, value);
+			size++;
+			return value;
+		}
+	}
+
 }
@@ -19,6 +19,7 @@ import org.eclipse.xtext.ParserRule;
 import org.eclipse.xtext.RuleCall;
 import org.eclipse.xtext.nodemodel.impl.NodeModelBuilder;
 import org.eclipse.xtext.parser.AbstractParser;
+import org.eclipse.xtext.parser.DefaultEcoreElementFactory;
 import org.eclipse.xtext.parser.IAstFactory;
 import org.eclipse.xtext.parser.IParseResult;
 import org.eclipse.xtext.parser.ParseException;
@@ -103,6 +104,9 @@ public abstract class AbstractAntlrParser extends AbstractParser {
 			return parser.parse();
 		} catch (Exception re) {
 			throw new ParseException(re.getMessage(),re);
+		} finally {
+			if (getElementFactory() instanceof DefaultEcoreElementFactory)
+				((DefaultEcoreElementFactory) getElementFactory()).clearConversionCache();
 		}
 	}
 	
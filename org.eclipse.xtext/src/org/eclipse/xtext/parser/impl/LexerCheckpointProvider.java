@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.parser.impl;
+
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.ILeafNode;
+import org.eclipse.xtext.nodemodel.INode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+
+/**
+ * Finds the offsets in a document at which lexing can be resumed after the document was changed.
+ * 
+ * The leaf nodes of the previous parse result are the tokens that the lexer produced for the old document. Tokens that
+ * end before a change are not affected by it, so the lexer can be restarted at the beginning of such a token instead
+ * of at the beginning of the document. The generated lexers do not carry any state from one token to the next, but a
+ * token may still depend on the characters that follow it. That's why only hidden whitespace tokens are used as
+ * checkpoints: whatever precedes them is terminated by the whitespace.
+ * 
+ * @since 2.14
+ */
+public class LexerCheckpointProvider {
+
+	private static final int MAX_LEAVES_TO_INSPECT = 100;
+
+	/**
+	 * Returns the offset of the last checkpoint that precedes the given offset, or <code>0</code> if there is no such
+	 * checkpoint. Lexing the changed document from the returned offset produces the same tokens as lexing it from the
+	 * beginning, provided that the document was not changed before the given offset.
+	 */
+	public int getCheckpoint(ICompositeNode rootNode, int offset) {
+		if (rootNode == null || offset <= 0 || offset > rootNode.getTotalEndOffset())
+			return 0;
+		INode node = NodeModelUtils.findLeafNodeAtOffset(rootNode, offset == rootNode.getTotalEndOffset() ? offset - 1 : offset);
+		if (node == null)
+			return 0;
+		int remaining = getMaxLeavesToInspect();
+		ILeafNode leaf = getPreviousLeaf(node);
+		while (leaf != null && remaining-- > 0) {
+			if (leaf.getTotalEndOffset() < offset && isCheckpoint(leaf))
+				return leaf.getTotalOffset();
+			leaf = getPreviousLeaf(leaf);
+		}
+		return 0;
+	}
+
+	/**
+	 * Returns <code>true</code> if the lexer can be restarted at the beginning of the given leaf.
+	 */
+	protected boolean isCheckpoint(ILeafNode leaf) {
+		if (!leaf.isHidden() || leaf.getSyntaxErrorMessage() != null)
+			return false;
+		String text = leaf.getText();
+		if (text.isEmpty())
+			return false;
+		for (int i = 0; i < text.length(); i++) {
+			if (!Character.isWhitespace(text.charAt(i)))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * The number of leaf nodes that are inspected before giving up the search for a checkpoint.
+	 */
+	protected int getMaxLeavesToInspect() {
+		return MAX_LEAVES_TO_INSPECT;
+	}
+
+	protected ILeafNode getPreviousLeaf(INode node) {
+		INode current = node;
+		while (current != null) {
+			INode sibling = current.getPreviousSibling();
+			while (sibling != null) {
+				ILeafNode result = getLastLeaf(sibling);
+				if (result != null)
+					return result;
+				sibling = sibling.getPreviousSibling();
+			}
+			current = current.getParent();
+		}
+		return null;
+	}
+
+	private ILeafNode getLastLeaf(INode node) {
+		if (node instanceof ILeafNode)
+			return (ILeafNode) node;
+		INode child = ((ICompositeNode) node).getLastChild();
+		while (child != null) {
+			ILeafNode result = getLastLeaf(child);
+			if (result != null)
+				return result;
+			child = child.getPreviousSibling();
+		}
+		return null;
+	}
+
+}
@@ -67,6 +67,9 @@ public class PartialParsingHelper implements IPartialParsingHelper {
 	
 	@Inject(optional=true)
 	private TokenRegionProvider tokenRegionProvider;
+	
+	@Inject
+	private LexerCheckpointProvider lexerCheckpointProvider = new LexerCheckpointProvider();
 
 	@Override
 	@SuppressWarnings({ "unchecked", "rawtypes" })
@@ -86,7 +89,8 @@ public class PartialParsingHelper implements IPartialParsingHelper {
 		}
 		ReplaceRegion replaceRegion;
 		if (tokenRegionProvider != null) {
-			replaceRegion = tokenRegionProvider.getTokenReplaceRegion(insertChangeIntoReplaceRegion(oldRootNode, changedRegion), changedRegion);
+			int checkpoint = lexerCheckpointProvider.getCheckpoint(oldRootNode, changedRegion.getOffset());
+			replaceRegion = tokenRegionProvider.getTokenReplaceRegion(insertChangeIntoReplaceRegion(oldRootNode, changedRegion), changedRegion, checkpoint);
 		} else {
 			replaceRegion = changedRegion;
 		}
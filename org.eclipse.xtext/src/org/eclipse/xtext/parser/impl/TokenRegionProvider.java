@@ -33,10 +33,22 @@ public class TokenRegionProvider {
 	private Provider<Lexer> lexerProvider;
 
 	public ITextRegion getTokenRegion(String text, ITextRegion region) {
+		return getTokenRegion(text, region, 0);
+	}
+
+	/**
+	 * Expands the region such that it contains only complete lexer tokens. The text is lexed starting at the given
+	 * checkpoint, which has to be the start offset of a token that precedes the region.
+	 * 
+	 * @see LexerCheckpointProvider
+	 * @since 2.14
+	 */
+	public ITextRegion getTokenRegion(String text, ITextRegion region, int checkpoint) {
+		int start = checkpoint > region.getOffset() ? 0 : checkpoint;
 		Lexer lexer = lexerProvider.get();
-		lexer.setCharStream(new ANTLRStringStream(text));
-		int currentStart = 0;
-		int currentEnd = 0;
+		lexer.setCharStream(new ResumedStringStream(text, start));
+		int currentStart = start;
+		int currentEnd = start;
 		CommonToken nextToken = (CommonToken) lexer.nextToken();
 		int regionStart = region.getOffset();
 		int regionEnd = regionStart + region.getLength();
@@ -57,9 +69,17 @@ public class TokenRegionProvider {
 	}
 
 	public ReplaceRegion getTokenReplaceRegion(String changedText, ReplaceRegion replaceRegion) {
+		return getTokenReplaceRegion(changedText, replaceRegion, 0);
+	}
+
+	/**
+	 * @see #getTokenRegion(String, ITextRegion, int)
+	 * @since 2.14
+	 */
+	public ReplaceRegion getTokenReplaceRegion(String changedText, ReplaceRegion replaceRegion, int checkpoint) {
 		int lengthDelta = replaceRegion.getText().length() - replaceRegion.getLength();
 		ITextRegion tokenRegion = getTokenRegion(changedText, new TextRegion(replaceRegion.getOffset(), replaceRegion
-				.getText().length()));
+				.getText().length()), checkpoint);
 		if (tokenRegion.getOffset() == replaceRegion.getOffset()
 				&& tokenRegion.getLength() == replaceRegion.getText().length())
 			return replaceRegion;
@@ -68,4 +88,15 @@ public class TokenRegionProvider {
 					changedText.substring(tokenRegion.getOffset(), tokenRegion.getOffset() + tokenRegion.getLength()));
 	}
 
+	/**
+	 * A string stream that starts reading at the given offset. Line information of the produced tokens is relative to
+	 * that offset.
+	 */
+	private static class ResumedStringStream extends ANTLRStringStream {
+		ResumedStringStream(String input, int offset) {
+			super(input);
+			this.p = offset;
+		}
+	}
+
 }
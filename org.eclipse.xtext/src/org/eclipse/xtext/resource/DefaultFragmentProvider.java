@@ -7,8 +7,14 @@
  *******************************************************************************/
 package org.eclipse.xtext.resource;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.util.IResourceScopeCache;
+
+import com.google.inject.Provider;
 
 /**
  * TODO: think about an efficient way to compute fragments.
@@ -23,9 +29,50 @@ public class DefaultFragmentProvider implements IFragmentProvider {
 		return fallback.getFragment(obj);
 	}
 
+	/**
+	 * The key of the resolved fragments in the {@link XtextResource#getCache() resource scope cache}.
+	 * 
+	 * @since 2.14
+	 */
+	protected static final String FRAGMENTS_CACHE_KEY = DefaultFragmentProvider.class.getName() + ".fragments";
+	
+	/**
+	 * Resolves the given fragment by means of the fallback, i.e. by walking the path of the fragment from the root. The
+	 * objects of an {@link XtextResource} are remembered per fragment until its contents change, since the same
+	 * fragments are resolved over and over again during linking and indexing.
+	 */
 	@Override
 	public EObject getEObject(Resource resource, String fragment, IFragmentProvider.Fallback fallback) {
-		return fallback.getEObject(fragment);
+		Map<String, EObject> resolvedFragments = getResolvedFragments(resource);
+		if (resolvedFragments == null)
+			return fallback.getEObject(fragment);
+		EObject result = resolvedFragments.get(fragment);
+		if (result == null) {
+			result = fallback.getEObject(fragment);
+			if (result != null && result.eResource() == resource)
+				resolvedFragments.put(fragment, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the thread-safe map of the resolved fragments of the given resource, or <code>null</code> if the
+	 * fragments of the resource cannot be cached.
+	 * 
+	 * @since 2.14
+	 */
+	protected Map<String, EObject> getResolvedFragments(Resource resource) {
+		if (!(resource instanceof XtextResource))
+			return null;
+		IResourceScopeCache cache = ((XtextResource) resource).getCache();
+		if (cache == null || cache instanceof IResourceScopeCache.NullImpl)
+			return null;
+		return cache.get(FRAGMENTS_CACHE_KEY, resource, new Provider<Map<String, EObject>>() {
+			@Override
+			public Map<String, EObject> get() {
+				return new ConcurrentHashMap<String, EObject>();
+			}
+		});
 	}
 
 }
@@ -12,6 +12,7 @@ import java.io.IOException;
 import org.apache.log4j.Logger;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.xtext.resource.impl.DefaultResourceDescription;
+import org.eclipse.xtext.resource.impl.CompactEObjectDescriptionLookUp;
 import org.eclipse.xtext.resource.impl.EObjectDescriptionLookUp;
 import org.eclipse.xtext.resource.persistence.StorageAwareResourceDescriptionManager;
 import org.eclipse.xtext.util.IResourceScopeCache;
@@ -81,7 +82,7 @@ public class DerivedStateAwareResourceDescriptionManager extends StorageAwareRes
 			@Override
 			protected EObjectDescriptionLookUp getLookUp() {
 				if (lookup == null)
-					lookup = new EObjectDescriptionLookUp(computeExportedObjects());
+					lookup = new CompactEObjectDescriptionLookUp(computeExportedObjects());
 				return lookup;
 			}
 		};
@@ -8,6 +8,8 @@
 package org.eclipse.xtext.resource;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
@@ -19,8 +21,12 @@ import org.eclipse.xtext.nodemodel.ILeafNode;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
 import org.eclipse.xtext.parser.IParseResult;
+import org.eclipse.xtext.util.IResourceScopeCache;
 import org.eclipse.xtext.util.ITextRegion;
 import org.eclipse.xtext.util.TextRegion;
+import org.eclipse.xtext.util.Tuples;
+
+import com.google.inject.Provider;
 
 /**
  * @author Jan Koehnlein - Initial contribution and API
@@ -32,7 +38,7 @@ public class EObjectAtOffsetHelper {
 	 * @return the declared or the referenced element next to the offset
 	 */
 	public EObject resolveElementAt(XtextResource resource, int offset) {
-		return internalResolveElementAt(resource, offset, false);
+		return cachedResolveElementAt(resource, offset, false);
 	}
 
 	/**
@@ -40,7 +46,37 @@ public class EObjectAtOffsetHelper {
 	 * @since 2.3
 	 */
 	public EObject resolveContainedElementAt(XtextResource resource, int offset) {
-		return internalResolveElementAt(resource, offset, true);
+		return cachedResolveElementAt(resource, offset, true);
+	}
+	
+	/**
+	 * Resolves the element at the given offset and remembers it in the {@link XtextResource#getCache() resource scope
+	 * cache}, so repeated requests for the same position, e.g. hover, highlighting and navigation, do not look it up
+	 * again. The cache is cleared with every change of the resource. Elements of other resources, e.g. the targets of
+	 * cross references, and unresolved proxies are not cached, since they become stale when the other resource is
+	 * reloaded without changing this resource.
+	 * 
+	 * @since 2.14
+	 */
+	protected EObject cachedResolveElementAt(XtextResource resource, int offset, boolean containment) {
+		IResourceScopeCache cache = resource.getCache();
+		if (cache instanceof IResourceScopeCache.NullImpl)
+			return internalResolveElementAt(resource, offset, containment);
+		// subclasses may resolve elements differently, so each of them has its own cache
+		Map<Integer, EObject> offsetToElement = cache.get(Tuples.create(getClass(), containment), resource,
+				new Provider<Map<Integer, EObject>>() {
+					@Override
+					public Map<Integer, EObject> get() {
+						return new ConcurrentHashMap<Integer, EObject>();
+					}
+				});
+		EObject result = offsetToElement.get(offset);
+		if (result == null) {
+			result = internalResolveElementAt(resource, offset, containment);
+			if (result != null && result.eResource() == resource)
+				offsetToElement.put(offset, result);
+		}
+		return result;
 	}
 	
 	/**
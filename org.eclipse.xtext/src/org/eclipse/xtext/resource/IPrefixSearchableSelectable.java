@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource;
+
+import org.eclipse.emf.ecore.EClass;
+
+/**
+ * An {@link ISelectable} that can answer prefix queries without enumerating all of its exported objects.
+ * 
+ * A name matches a prefix if its first or its last segment starts with the prefix, ignoring case. This is a superset of
+ * the candidates that are accepted by the default prefix matchers of content assist.
+ * 
+ * @see org.eclipse.xtext.resource.impl.QualifiedNamePrefixIndex
+ * @since 2.14
+ */
+public interface IPrefixSearchableSelectable extends ISelectable {
+
+	/**
+	 * @param type
+	 *            the expected type of the elements.
+	 * @param prefix
+	 *            a single name segment. May be empty.
+	 * @return all elements of the given type whose name matches the given prefix. The result is computed lazily. May
+	 *         not be <code>null</code>.
+	 */
+	Iterable<IEObjectDescription> getExportedObjectsByPrefix(EClass type, String prefix);
+
+}
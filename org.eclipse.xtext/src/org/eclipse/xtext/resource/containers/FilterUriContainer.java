@@ -12,8 +12,10 @@ import org.eclipse.emf.ecore.EClass;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IContainer;
 import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IPrefixSearchableSelectable;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.impl.AbstractContainer;
+import org.eclipse.xtext.resource.impl.QualifiedNamePrefixIndex;
 
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
@@ -25,7 +27,7 @@ import com.google.common.collect.Iterables;
  * @author Holger Schill - Initial contribution and API
  * @author Sebastian Zarnekow - Optimizations and Javadoc
  */
-public class FilterUriContainer extends AbstractContainer {
+public class FilterUriContainer extends AbstractContainer implements IPrefixSearchableSelectable {
 	private final URI filterMe;
 	private final IContainer delegate;
 
@@ -93,6 +95,26 @@ public class FilterUriContainer extends AbstractContainer {
 		});
 	}
 
+	/**
+	 * @since 2.14
+	 */
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByPrefix(EClass type, String prefix) {
+		Iterable<IEObjectDescription> unfiltered;
+		if (delegate instanceof IPrefixSearchableSelectable) {
+			unfiltered = ((IPrefixSearchableSelectable) delegate).getExportedObjectsByPrefix(type, prefix);
+		} else {
+			unfiltered = QualifiedNamePrefixIndex.filterByPrefix(delegate.getExportedObjectsByType(type), prefix);
+		}
+		return Iterables.filter(unfiltered, new Predicate<IEObjectDescription>() {
+			@Override
+			public boolean apply(IEObjectDescription input) {
+				URI resourceURI = input.getEObjectURI().trimFragment();
+				return !resourceURI.equals(filterMe);
+			}
+		});
+	}
+
 	@Override
 	public IResourceDescription getResourceDescription(URI uri) {
 		if (uri.equals(filterMe))
@@ -16,10 +16,12 @@ import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor
 import org.eclipse.xtext.naming.QualifiedName
 import org.eclipse.xtext.resource.IContainer
+import org.eclipse.xtext.resource.IPrefixSearchableSelectable
 import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions
 import org.eclipse.xtext.resource.impl.LiveShadowedChunkedResourceDescriptions
 import org.eclipse.xtext.workspace.IProjectConfig
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsData
+import org.eclipse.xtext.resource.impl.QualifiedNamePrefixIndex
 
 /**
  * @author koehnlein - Initial contribution and API
@@ -27,7 +29,7 @@ import org.eclipse.xtext.resource.impl.ResourceDescriptionsData
  */
 @Beta 
 @FinalFieldsConstructor
-class LiveShadowedChunkedContainer implements IContainer {
+class LiveShadowedChunkedContainer implements IContainer, IPrefixSearchableSelectable {
 	
 	val LiveShadowedChunkedResourceDescriptions descriptions
 
@@ -93,7 +95,7 @@ class LiveShadowedChunkedContainer implements IContainer {
 	override getExportedObjects(EClass type, QualifiedName name, boolean ignoreCase) {
 		val localURIs = existingOrRenamedResourceURIs
 		return containedLocalDescriptions.map[getExportedObjects(type, name, ignoreCase)].flatten
-			+ chunk.getExportedObjects(type, name, ignoreCase).filter[!localURIs.contains(EObjectURI.trimFragment)]
+			+ chunk.getExportedObjects(type, name, ignoreCase)[!localURIs.contains(it)]
 	}
 	
 	override getExportedObjectsByObject(EObject object) {
@@ -108,6 +110,12 @@ class LiveShadowedChunkedContainer implements IContainer {
 			+ chunk.getExportedObjectsByType(type).filter[!localURIs.contains(EObjectURI.trimFragment)]
 	}
 	
+	override getExportedObjectsByPrefix(EClass type, String prefix) {
+		val localURIs = existingOrRenamedResourceURIs
+		return containedLocalDescriptions.map[QualifiedNamePrefixIndex.filterByPrefix(getExportedObjectsByType(type), prefix)].flatten
+			+ chunk.getExportedObjectsByPrefix(type, prefix).filter[!localURIs.contains(EObjectURI.trimFragment)]
+	}
+	
 	override isEmpty() {
 		containedLocalDescriptions.empty && chunk.empty
 	}
@@ -21,6 +21,8 @@ import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsBasedContainer;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.resource.impl.ResourceSetBasedResourceDescriptions;
 
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
@@ -124,9 +126,36 @@ public class StateBasedContainer extends ResourceDescriptionsBasedContainer {
 	public Iterable<IEObjectDescription> getExportedObjects(EClass type, QualifiedName qualifiedName, boolean ignoreCase) {
 		if (isEmpty())
 			return emptyList();
+		ResourceDescriptionsData data = getResourceDescriptionsData();
+		if (data != null) {
+			return data.getExportedObjects(type, qualifiedName, ignoreCase, new Predicate<URI>() {
+				@Override
+				public boolean apply(URI input) {
+					return state.contains(input);
+				}
+			});
+		}
 		return super.getExportedObjects(type, qualifiedName, ignoreCase);
 	}
 	
+	/**
+	 * Returns the index that backs the descriptions of this container, if it is known. Lookups by name ask the index
+	 * for the resources that export the name and test only those for membership in this container instead of
+	 * filtering every single result.
+	 * 
+	 * @since 2.14
+	 */
+	protected ResourceDescriptionsData getResourceDescriptionsData() {
+		IResourceDescriptions descriptions = getDescriptions();
+		if (descriptions instanceof ResourceDescriptionsData)
+			return (ResourceDescriptionsData) descriptions;
+		// subclasses such as the live shadowed descriptions do not answer lookups from the index alone
+		if (descriptions != null && descriptions.getClass() == ResourceSetBasedResourceDescriptions.class)
+			return ResourceDescriptionsData.ResourceSetAdapter.findResourceDescriptionsData(
+					((ResourceSetBasedResourceDescriptions) descriptions).getResourceSet());
+		return null;
+	}
+	
 	/**
 	 * @since 2.4
 	 */
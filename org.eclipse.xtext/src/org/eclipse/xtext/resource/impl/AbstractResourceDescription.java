@@ -54,7 +54,7 @@ public abstract class AbstractResourceDescription implements IResourceDescriptio
 	
 	protected EObjectDescriptionLookUp getLookUp() {
 		if (lookup == null)
-			lookup = new EObjectDescriptionLookUp(computeExportedObjects());
+			lookup = new CompactEObjectDescriptionLookUp(computeExportedObjects());
 		return lookup;
 	}
 
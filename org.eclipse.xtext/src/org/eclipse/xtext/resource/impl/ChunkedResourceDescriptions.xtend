@@ -14,6 +14,7 @@ import java.io.ObjectInput
 import java.io.ObjectOutput
 import java.io.Serializable
 import java.util.ArrayList
+import java.util.Collections
 import java.util.HashMap
 import java.util.Map
 import java.util.concurrent.ConcurrentHashMap
@@ -115,6 +116,14 @@ import org.eclipse.xtext.util.internal.EmfAdaptable
 		return chunk2resourceDescriptions.get(containerHandle)
 	}
 	
+	/**
+	 * @return an unmodifiable view of the containers by their handle.
+	 * @since 2.14
+	 */
+	def Map<String, ResourceDescriptionsData> getContainers() {
+		return Collections.unmodifiableMap(chunk2resourceDescriptions)
+	}
+	
 	override readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
 		val numChunks = in.readInt
 		for(i: 0..<numChunks) {
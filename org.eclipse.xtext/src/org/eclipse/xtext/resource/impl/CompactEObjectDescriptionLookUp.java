@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.xtext.EcoreUtil2;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Lists;
+
+/**
+ * An {@link EObjectDescriptionLookUp} that answers the queries by name and by type from a compact index instead of a
+ * map of lists. The index is computed in a single pass on the first query and consists of
+ * <ul>
+ * <li>an open addressing hash table that maps the hash of the lower case name to the position of the first description
+ * with that name,</li>
+ * <li>an array that links the positions of descriptions with the same lower case name, which is omitted if all names
+ * are unique, and</li>
+ * <li>a bitmap of the positions per {@link EClass} of the descriptions.</li>
+ * </ul>
+ * The names themselves are not stored again, since the lower case variant of a {@link QualifiedName} is cached by the
+ * name.
+ *
+ * @since 2.14
+ */
+public class CompactEObjectDescriptionLookUp extends EObjectDescriptionLookUp {
+
+	private static final int EMPTY = -1;
+
+	private static class Index {
+
+		private final List<IEObjectDescription> descriptions;
+
+		/** the position of the first description per slot, or {@link #EMPTY} */
+		private final int[] table;
+
+		/** the position of the next description with the same lower case name, or <code>null</code> if there is none */
+		private final int[] next;
+
+		private final EClass[] eClasses;
+
+		private final BitSet[] positionsByEClass;
+
+		private Index(List<IEObjectDescription> descriptions) {
+			this.descriptions = descriptions;
+			int size = descriptions.size();
+			int capacity = Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1;
+			table = new int[capacity];
+			Arrays.fill(table, EMPTY);
+			int[] next = null;
+			List<EClass> eClasses = Lists.newArrayListWithExpectedSize(4);
+			List<BitSet> positionsByEClass = Lists.newArrayListWithExpectedSize(4);
+			EClass previousEClass = null;
+			BitSet previousPositions = null;
+			for (int i = 0; i < size; i++) {
+				IEObjectDescription description = descriptions.get(i);
+				QualifiedName name = description.getName().toLowerCase();
+				int slot = getSlot(name);
+				while (true) {
+					int position = table[slot];
+					if (position == EMPTY) {
+						table[slot] = i;
+						break;
+					}
+					if (name.equals(getLowerCaseName(position))) {
+						if (next == null) {
+							next = new int[size];
+							Arrays.fill(next, EMPTY);
+						}
+						while (next[position] != EMPTY) {
+							position = next[position];
+						}
+						next[position] = i;
+						break;
+					}
+					slot = (slot + 1) & (table.length - 1);
+				}
+				EClass eClass = description.getEClass();
+				if (eClass != previousEClass) {
+					int eClassIndex = eClasses.indexOf(eClass);
+					if (eClassIndex == -1) {
+						eClassIndex = eClasses.size();
+						eClasses.add(eClass);
+						positionsByEClass.add(new BitSet());
+					}
+					previousEClass = eClass;
+					previousPositions = positionsByEClass.get(eClassIndex);
+				}
+				previousPositions.set(i);
+			}
+			this.next = next;
+			this.eClasses = eClasses.toArray(new EClass[eClasses.size()]);
+			this.positionsByEClass = positionsByEClass.toArray(new BitSet[positionsByEClass.size()]);
+		}
+
+		private int getSlot(QualifiedName lowerCaseName) {
+			int hash = lowerCaseName.hashCode();
+			return (hash ^ (hash >>> 16)) & (table.length - 1);
+		}
+
+		private QualifiedName getLowerCaseName(int position) {
+			return descriptions.get(position).getName().toLowerCase();
+		}
+
+		private int getFirstPosition(QualifiedName lowerCaseName) {
+			int slot = getSlot(lowerCaseName);
+			while (true) {
+				int position = table[slot];
+				if (position == EMPTY || lowerCaseName.equals(getLowerCaseName(position)))
+					return position;
+				slot = (slot + 1) & (table.length - 1);
+			}
+		}
+
+		private List<IEObjectDescription> getByName(EClass type, QualifiedName name, boolean ignoreCase) {
+			int position = getFirstPosition(name.toLowerCase());
+			List<IEObjectDescription> result = null;
+			while (position != EMPTY) {
+				IEObjectDescription description = descriptions.get(position);
+				if ((ignoreCase || name.equals(description.getName()))
+						&& EcoreUtil2.isAssignableFrom(type, description.getEClass())) {
+					if (result == null)
+						result = Lists.newArrayListWithExpectedSize(2);
+					result.add(description);
+				}
+				position = next == null ? EMPTY : next[position];
+			}
+			if (result == null)
+				return Collections.emptyList();
+			return result;
+		}
+
+		private Iterable<IEObjectDescription> getByType(EClass type) {
+			BitSet positions = null;
+			int matchingEClasses = 0;
+			for (int i = 0; i < eClasses.length; i++) {
+				if (EcoreUtil2.isAssignableFrom(type, eClasses[i])) {
+					matchingEClasses++;
+					if (positions == null) {
+						positions = positionsByEClass[i];
+					} else {
+						if (matchingEClasses == 2)
+							positions = (BitSet) positions.clone();
+						positions.or(positionsByEClass[i]);
+					}
+				}
+			}
+			if (positions == null)
+				return Collections.emptyList();
+			if (matchingEClasses == eClasses.length)
+				return Collections.unmodifiableList(descriptions);
+			final BitSet matchingPositions = positions;
+			return new Iterable<IEObjectDescription>() {
+				@Override
+				public Iterator<IEObjectDescription> iterator() {
+					return new AbstractIterator<IEObjectDescription>() {
+						private int position = matchingPositions.nextSetBit(0);
+
+						@Override
+						protected IEObjectDescription computeNext() {
+							if (position < 0)
+								return endOfData();
+							IEObjectDescription result = descriptions.get(position);
+							position = matchingPositions.nextSetBit(position + 1);
+							return result;
+						}
+					};
+				}
+			};
+		}
+	}
+
+	private volatile Index index;
+
+	public CompactEObjectDescriptionLookUp(List<IEObjectDescription> allDescriptions) {
+		super(allDescriptions);
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByType(EClass type) {
+		if (isEmpty())
+			return Collections.emptyList();
+		return getIndex().getByType(type);
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjects(EClass type, QualifiedName name, boolean ignoreCase) {
+		if (isEmpty())
+			return Collections.emptyList();
+		return getIndex().getByName(type, name, ignoreCase);
+	}
+
+	@Override
+	public void setExportedObjects(List<IEObjectDescription> allDescriptions) {
+		synchronized (this) {
+			super.setExportedObjects(allDescriptions);
+			this.index = null;
+		}
+	}
+
+	private Index getIndex() {
+		Index result = index;
+		if (result == null) {
+			synchronized (this) {
+				result = index;
+				if (result == null) {
+					List<IEObjectDescription> descriptions = (List<IEObjectDescription>) getExportedObjects();
+					if (!(descriptions instanceof RandomAccess))
+						descriptions = new ArrayList<IEObjectDescription>(descriptions);
+					result = new Index(descriptions);
+					index = result;
+				}
+			}
+		}
+		return result;
+	}
+
+}
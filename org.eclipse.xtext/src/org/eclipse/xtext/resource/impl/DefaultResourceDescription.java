@@ -10,9 +10,13 @@ package org.eclipse.xtext.resource.impl;
 import static com.google.common.collect.Lists.*;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.TreeIterator;
@@ -51,6 +55,10 @@ public class DefaultResourceDescription extends AbstractResourceDescription {
 
 	private IResourceScopeCache cache;
 
+	private boolean singlePass;
+
+	private ForkJoinPool forkJoinPool;
+
 	public DefaultResourceDescription(Resource resource, IDefaultResourceDescriptionStrategy strategy,
 				IResourceScopeCache cache) {
 		this.resource = resource;
@@ -66,6 +74,40 @@ public class DefaultResourceDescription extends AbstractResourceDescription {
 		this(resource, strategy, new IResourceScopeCache.NullImpl());
 	}
 	
+	/**
+	 * Enables the computation of the exported objects and the reference descriptions in a single walk over the
+	 * contents of the resource. It is used when the reference descriptions are requested before the exported objects
+	 * are known. Otherwise the known exported objects are reused and the contents are walked once for the reference
+	 * descriptions. In both cases, the container of each reference is tracked during the walk instead of being searched
+	 * for each object.
+	 * 
+	 * Subclasses that customize {@link #computeExportedObjects()} or
+	 * {@link #findExportedContainerURI(EObject, Map)} should not enable it.
+	 * 
+	 * @since 2.14
+	 */
+	public void setSinglePass(boolean singlePass) {
+		this.singlePass = singlePass;
+	}
+	
+	/**
+	 * @since 2.14
+	 */
+	public boolean isSinglePass() {
+		return singlePass;
+	}
+	
+	/**
+	 * Sets the pool that is used to walk the children of the root objects in parallel in {@link #setSinglePass(boolean)
+	 * single pass mode}, or <code>null</code> to walk them sequentially. The {@link IDefaultResourceDescriptionStrategy
+	 * strategy} has to be thread-safe.
+	 * 
+	 * @since 2.14
+	 */
+	public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+		this.forkJoinPool = forkJoinPool;
+	}
+	
 	@Override
 	protected List<IEObjectDescription> computeExportedObjects() {
 		if (!getResource().isLoaded()) {
@@ -125,6 +167,8 @@ public class DefaultResourceDescription extends AbstractResourceDescription {
 	}
 
 	protected List<IReferenceDescription> computeReferenceDescriptions() {
+		if (singlePass)
+			return computeReferenceDescriptionsInSinglePass();
 		final List<IReferenceDescription> referenceDescriptions = Lists.newArrayList();
 		IAcceptor<IReferenceDescription> acceptor = new IAcceptor<IReferenceDescription>() {
 			@Override
@@ -144,6 +188,167 @@ public class DefaultResourceDescription extends AbstractResourceDescription {
 		return referenceDescriptions;
 	}
 
+	/**
+	 * Computes the reference descriptions and, if they are not known yet, the exported objects in a single walk over
+	 * the contents of the resource.
+	 * 
+	 * @since 2.14
+	 */
+	protected List<IReferenceDescription> computeReferenceDescriptionsInSinglePass() {
+		EcoreUtil2.resolveLazyCrossReferences(resource, CancelIndicator.NullImpl);
+		final ContentsWalk[] walk = new ContentsWalk[1];
+		EObjectDescriptionLookUp lookUp = cache.get(EOBJECT_LOOKUP_CACHE_KEY, getResource(), new Provider<EObjectDescriptionLookUp>() {
+			@Override
+			public EObjectDescriptionLookUp get() {
+				walk[0] = new ContentsWalk(true, null);
+				walk[0].walkResource();
+				return updateLookUp(walk[0].exportedObjects);
+			}
+		});
+		if (walk[0] == null) {
+			walk[0] = new ContentsWalk(false, createEObject2ExportedEObjectsMap(lookUp.getExportedObjects()));
+			walk[0].walkResource();
+		}
+		return walk[0].referenceDescriptions;
+	}
+
+	/**
+	 * A pre-order walk over the proper contents of the resource that creates the exported objects and the reference
+	 * descriptions at the same time. The exported objects and the reference descriptions of a subtree are only created
+	 * as long as the strategy wants to descend into it. The walk uses an explicit stack, since the contents of a
+	 * resource may be nested deeply.
+	 */
+	private class ContentsWalk {
+
+		private final boolean computeExports;
+
+		private final Map<EObject, IEObjectDescription> inheritedExports;
+
+		private final Map<EObject, IEObjectDescription> exports = Maps.newIdentityHashMap();
+
+		private final List<IEObjectDescription> exportedObjects = newArrayList();
+
+		private final List<IReferenceDescription> referenceDescriptions = newArrayList();
+
+		private final IAcceptor<IEObjectDescription> exportAcceptor = new IAcceptor<IEObjectDescription>() {
+			@Override
+			public void accept(IEObjectDescription description) {
+				exportedObjects.add(description);
+				exports.put(description.getEObjectOrProxy(), description);
+			}
+		};
+
+		private final IAcceptor<IReferenceDescription> referenceAcceptor = new IAcceptor<IReferenceDescription>() {
+			@Override
+			public void accept(IReferenceDescription description) {
+				referenceDescriptions.add(description);
+			}
+		};
+
+		/**
+		 * @param inheritedExports
+		 *            the known exported objects, or the exports of the enclosing walk if this one walks a subtree in
+		 *            parallel.
+		 */
+		private ContentsWalk(boolean computeExports, Map<EObject, IEObjectDescription> inheritedExports) {
+			this.computeExports = computeExports;
+			this.inheritedExports = inheritedExports;
+		}
+
+		private void walkResource() {
+			for (EObject root : getResource().getContents()) {
+				if (forkJoinPool == null) {
+					walk(root, computeExports, true, null);
+				} else {
+					walkInParallel(root);
+				}
+			}
+		}
+
+		private void walkInParallel(EObject root) {
+			final boolean[] descend = visit(root, computeExports, true, null);
+			if (!descend[0] && !descend[1])
+				return;
+			final URI containerURI = getExportedURI(root, null);
+			List<EObject> children = getProperContents(root);
+			final List<ContentsWalk> walks = newArrayListWithCapacity(children.size());
+			final List<RecursiveAction> actions = newArrayListWithCapacity(children.size());
+			Map<EObject, IEObjectDescription> knownExports = computeExports ? exports : inheritedExports;
+			for (final EObject child : children) {
+				final ContentsWalk walk = new ContentsWalk(descend[0], knownExports);
+				walks.add(walk);
+				actions.add(new RecursiveAction() {
+					private static final long serialVersionUID = 1L;
+
+					@Override
+					protected void compute() {
+						walk.walk(child, descend[0], descend[1], containerURI);
+					}
+				});
+			}
+			forkJoinPool.invoke(new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void compute() {
+					invokeAll(actions);
+				}
+			});
+			for (ContentsWalk walk : walks) {
+				exportedObjects.addAll(walk.exportedObjects);
+				exports.putAll(walk.exports);
+				referenceDescriptions.addAll(walk.referenceDescriptions);
+			}
+		}
+
+		private void walk(EObject start, boolean createExports, boolean createReferences, URI startContainerURI) {
+			Deque<Object[]> stack = new ArrayDeque<Object[]>();
+			stack.push(new Object[] { start, createExports, createReferences, startContainerURI });
+			while (!stack.isEmpty()) {
+				Object[] frame = stack.pop();
+				EObject eObject = (EObject) frame[0];
+				URI containerURI = (URI) frame[3];
+				boolean[] descend = visit(eObject, (Boolean) frame[1], (Boolean) frame[2], containerURI);
+				if (descend[0] || descend[1]) {
+					URI childContainerURI = getExportedURI(eObject, containerURI);
+					List<EObject> children = getProperContents(eObject);
+					for (int i = children.size() - 1; i >= 0; i--) {
+						stack.push(new Object[] { children.get(i), descend[0], descend[1], childContainerURI });
+					}
+				}
+			}
+		}
+
+		/**
+		 * Creates the exported objects and the reference descriptions of the given object and returns whether the
+		 * walk should descend into its children for either of them.
+		 */
+		private boolean[] visit(EObject eObject, boolean createExports, boolean createReferences, URI containerURI) {
+			if (createExports)
+				createExports = strategy.createEObjectDescriptions(eObject, exportAcceptor);
+			if (createReferences)
+				createReferences = strategy.createReferenceDescriptions(eObject, getExportedURI(eObject, containerURI),
+						referenceAcceptor);
+			return new boolean[] { createExports, createReferences };
+		}
+
+		private URI getExportedURI(EObject eObject, URI containerURI) {
+			IEObjectDescription description = exports.get(eObject);
+			if (description == null && inheritedExports != null)
+				description = inheritedExports.get(eObject);
+			return description != null ? description.getEObjectURI() : containerURI;
+		}
+
+		private List<EObject> getProperContents(EObject eObject) {
+			List<EObject> result = newArrayList();
+			EcoreUtil.ProperContentIterator<EObject> iterator = new EcoreUtil.ProperContentIterator<EObject>(eObject, false);
+			while (iterator.hasNext()) {
+				result.add(iterator.next());
+			}
+			return result;
+		}
+	}
+
 	protected Map<EObject, IEObjectDescription> createEObject2ExportedEObjectsMap(
 			Iterable<IEObjectDescription> exportedObjects) {
 		Map<EObject, IEObjectDescription> uri2exportedEObjects = Maps.newIdentityHashMap();
@@ -173,15 +378,19 @@ public class DefaultResourceDescription extends AbstractResourceDescription {
 		return cache.get(EOBJECT_LOOKUP_CACHE_KEY, getResource(), new Provider<EObjectDescriptionLookUp>() {
 			@Override
 			public EObjectDescriptionLookUp get() {
-				if(lookup != null) 
-					lookup.setExportedObjects(computeExportedObjects());
-				else 
-					lookup = new EObjectDescriptionLookUp(computeExportedObjects());
-				return lookup;
+				return updateLookUp(computeExportedObjects());
 			}
 		});
 	}
 	
+	private EObjectDescriptionLookUp updateLookUp(List<IEObjectDescription> exportedObjects) {
+		if(lookup != null) 
+			lookup.setExportedObjects(exportedObjects);
+		else 
+			lookup = new CompactEObjectDescriptionLookUp(exportedObjects);
+		return lookup;
+	}
+	
 	@Override
 	public String toString() {
 		return "[" + getClass().getSimpleName() + " uri=" + getURI() + "]";
@@ -89,9 +89,11 @@ public class DefaultResourceDescriptionDelta implements IResourceDescription.Del
 			return false;
 		String[] oldKeys = oldObj.getUserDataKeys();
 		String[] newKeys = newObj.getUserDataKeys();
-		if (oldKeys.length != newKeys.length)
+		if (countRelevantKeys(oldKeys) != countRelevantKeys(newKeys))
 			return false;
 		for (String key : oldKeys) {
+			if (!isRelevantUserData(key))
+				continue;
 			if (!Arrays.contains(newKeys, key))
 				return false;
 			String oldValue = oldObj.getUserData(key);
@@ -106,6 +108,25 @@ public class DefaultResourceDescriptionDelta implements IResourceDescription.Del
 		return true;
 	}
 
+	/**
+	 * Returns <code>false</code> for user data that does not affect other resources, e.g. the
+	 * {@link LocationUserData location} of an object.
+	 * 
+	 * @since 2.14
+	 */
+	protected boolean isRelevantUserData(String key) {
+		return !LocationUserData.KEY.equals(key);
+	}
+
+	private int countRelevantKeys(String[] keys) {
+		int result = 0;
+		for (String key : keys) {
+			if (isRelevantUserData(key))
+				result++;
+		}
+		return result;
+	}
+
 	@Override
 	public URI getUri() {
 		return old == null ? _new.getURI() : old.getURI();
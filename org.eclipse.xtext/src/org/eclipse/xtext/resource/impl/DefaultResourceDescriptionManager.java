@@ -11,6 +11,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -28,6 +29,7 @@ import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
 /**
  * Default implementation of the {@link org.eclipse.xtext.resource.IResourceDescription.Manager}. Customize by binding another
@@ -52,6 +54,30 @@ public class DefaultResourceDescriptionManager implements IResourceDescription.M
 	@Inject
 	private DescriptionUtils descriptionUtils;
 	
+	/**
+	 * The name of a <code>boolean</code> constant that enables the {@link DefaultResourceDescription#setSinglePass(boolean)
+	 * single pass computation} of the exported objects and the reference descriptions.
+	 * 
+	 * @since 2.14
+	 */
+	public static final String SINGLE_PASS = "org.eclipse.xtext.resource.impl.DefaultResourceDescriptionManager.singlePass";
+	
+	/**
+	 * The name of a <code>boolean</code> constant that enables walking the children of the root objects in parallel on
+	 * the common {@link ForkJoinPool} in single pass mode.
+	 * 
+	 * @since 2.14
+	 */
+	public static final String PARALLEL = "org.eclipse.xtext.resource.impl.DefaultResourceDescriptionManager.parallel";
+	
+	@Inject(optional = true)
+	@Named(SINGLE_PASS)
+	private boolean singlePass = false;
+	
+	@Inject(optional = true)
+	@Named(PARALLEL)
+	private boolean parallel = false;
+	
 	private static final String CACHE_KEY = DefaultResourceDescriptionManager.class.getName() + "#getResourceDescription";
 	
 	@Override
@@ -70,7 +96,13 @@ public class DefaultResourceDescriptionManager implements IResourceDescription.M
 	}
 
 	protected IResourceDescription internalGetResourceDescription(Resource resource, IDefaultResourceDescriptionStrategy strategy) {
-		return new DefaultResourceDescription(resource, strategy, cache);
+		DefaultResourceDescription result = new DefaultResourceDescription(resource, strategy, cache);
+		if (singlePass) {
+			result.setSinglePass(true);
+			if (parallel)
+				result.setForkJoinPool(ForkJoinPool.commonPool());
+		}
+		return result;
 	}
 	
 	public IContainer.Manager getContainerManager() {
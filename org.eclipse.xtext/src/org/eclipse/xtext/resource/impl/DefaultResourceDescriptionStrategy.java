@@ -7,6 +7,9 @@
  *******************************************************************************/
 package org.eclipse.xtext.resource.impl;
 
+import java.util.Collections;
+import java.util.Map;
+
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.URI;
@@ -18,14 +21,19 @@ import org.eclipse.emf.ecore.util.InternalEList;
 import org.eclipse.xtext.linking.lazy.LazyURIEncoder;
 import org.eclipse.xtext.naming.IQualifiedNameProvider;
 import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
 import org.eclipse.xtext.resource.EObjectDescription;
 import org.eclipse.xtext.resource.IDefaultResourceDescriptionStrategy;
 import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.ILocationInFileProvider;
 import org.eclipse.xtext.resource.IReferenceDescription;
 import org.eclipse.xtext.util.IAcceptor;
+import org.eclipse.xtext.util.ITextRegion;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
 /**
  * By default, all elements with a not null <code>name</code> feature and all cross-resource crossrefs are indexed.
@@ -37,12 +45,29 @@ public class DefaultResourceDescriptionStrategy implements IDefaultResourceDescr
 
 	private final static Logger LOG = Logger.getLogger(DefaultResourceDescriptionStrategy.class);
 
+	/**
+	 * Name of the boolean constant that enables storing the {@link LocationUserData location} of the exported objects
+	 * in their descriptions. The default is <code>false</code>. Languages that enable it, e.g. in their runtime module,
+	 * let the language server navigate to workspace symbols without loading their resources, at the cost of a larger
+	 * index.
+	 * 
+	 * @since 2.14
+	 */
+	public static final String STORE_LOCATIONS = "org.eclipse.xtext.resource.impl.DefaultResourceDescriptionStrategy.storeLocations";
+
 	@Inject
 	private IQualifiedNameProvider qualifiedNameProvider;
 
 	@Inject
 	private LazyURIEncoder uriEncoder;
 
+	@Inject
+	private ILocationInFileProvider locationInFileProvider;
+
+	@Inject(optional = true)
+	@Named(STORE_LOCATIONS)
+	private boolean storeLocations = false;
+
 	public void setQualifiedNameProvider(IQualifiedNameProvider qualifiedNameProvider) {
 		this.qualifiedNameProvider = qualifiedNameProvider;
 	}
@@ -68,7 +93,7 @@ public class DefaultResourceDescriptionStrategy implements IDefaultResourceDescr
 		try {
 			QualifiedName qualifiedName = getQualifiedNameProvider().getFullyQualifiedName(eObject);
 			if (qualifiedName != null) {
-				acceptor.accept(EObjectDescription.create(qualifiedName, eObject));
+				acceptor.accept(EObjectDescription.create(qualifiedName, eObject, createUserData(eObject)));
 			}
 		} catch (Exception exc) {
 			LOG.error(exc.getMessage(), exc);
@@ -76,6 +101,39 @@ public class DefaultResourceDescriptionStrategy implements IDefaultResourceDescr
 		return true;
 	}
 
+	/**
+	 * Returns the user data of the description of the given object. By default, it contains the
+	 * {@link LocationUserData location} of the object if {@link #STORE_LOCATIONS} is enabled.
+	 * 
+	 * @since 2.14
+	 */
+	protected Map<String, String> createUserData(EObject eObject) {
+		if (storeLocations) {
+			LocationUserData location = createLocation(eObject);
+			if (location != null)
+				return Collections.singletonMap(LocationUserData.KEY, location.toUserData());
+		}
+		return Collections.<String, String> emptyMap();
+	}
+
+	/**
+	 * @since 2.14
+	 */
+	protected LocationUserData createLocation(EObject eObject) {
+		ICompositeNode node = NodeModelUtils.getNode(eObject);
+		if (node == null)
+			return null;
+		ITextRegion region = locationInFileProvider.getSignificantTextRegion(eObject);
+		if (region == null || region == ITextRegion.EMPTY_REGION)
+			return null;
+		int endOffset = region.getOffset() + region.getLength();
+		if (endOffset > node.getRootNode().getTotalEndOffset())
+			return null;
+		return new LocationUserData(region.getOffset(), region.getLength(),
+				NodeModelUtils.getLineAndColumn(node, region.getOffset()),
+				NodeModelUtils.getLineAndColumn(node, endOffset));
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public boolean createReferenceDescriptions(EObject from, URI exportedContainerURI,
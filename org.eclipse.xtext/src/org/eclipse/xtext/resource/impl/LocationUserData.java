@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.util.LineAndColumn;
+
+/**
+ * The significant text region of an exported object, stored as user data of its {@link IEObjectDescription}. It allows
+ * to navigate to an object without loading its resource.
+ *
+ * Lines and columns are one-based as in {@link LineAndColumn}. The location is not considered when the
+ * {@link DefaultResourceDescriptionDelta delta} of a resource description is computed, as it changes with every edit
+ * in front of the object.
+ *
+ * @see DefaultResourceDescriptionStrategy#STORE_LOCATIONS
+ * @since 2.14
+ */
+public class LocationUserData {
+
+	public static final String KEY = "xtext.location";
+
+	private static final char SEPARATOR = ':';
+
+	/**
+	 * Returns the location that is stored in the user data of the given description, or <code>null</code> if there is
+	 * none.
+	 */
+	public static LocationUserData get(IEObjectDescription description) {
+		return fromUserData(description.getUserData(KEY));
+	}
+
+	/**
+	 * Parses the result of {@link #toUserData()}. Returns <code>null</code> for a <code>null</code> or malformed value.
+	 */
+	public static LocationUserData fromUserData(String userData) {
+		if (userData == null)
+			return null;
+		int[] values = new int[6];
+		int index = 0;
+		int start = 0;
+		for (int i = 0; i <= userData.length(); i++) {
+			if (i == userData.length() || userData.charAt(i) == SEPARATOR) {
+				if (index == values.length)
+					return null;
+				try {
+					values[index++] = Integer.parseInt(userData.substring(start, i));
+				} catch (NumberFormatException e) {
+					return null;
+				}
+				start = i + 1;
+			}
+		}
+		if (index != values.length)
+			return null;
+		return new LocationUserData(values[0], values[1], values[2], values[3], values[4], values[5]);
+	}
+
+	private final int offset;
+	private final int length;
+	private final int line;
+	private final int column;
+	private final int endLine;
+	private final int endColumn;
+
+	public LocationUserData(int offset, int length, LineAndColumn start, LineAndColumn end) {
+		this(offset, length, start.getLine(), start.getColumn(), end.getLine(), end.getColumn());
+	}
+
+	protected LocationUserData(int offset, int length, int line, int column, int endLine, int endColumn) {
+		this.offset = offset;
+		this.length = length;
+		this.line = line;
+		this.column = column;
+		this.endLine = endLine;
+		this.endColumn = endColumn;
+	}
+
+	public String toUserData() {
+		return new StringBuilder().append(offset).append(SEPARATOR).append(length).append(SEPARATOR).append(line)
+				.append(SEPARATOR).append(column).append(SEPARATOR).append(endLine).append(SEPARATOR)
+				.append(endColumn).toString();
+	}
+
+	public int getOffset() {
+		return offset;
+	}
+
+	public int getLength() {
+		return length;
+	}
+
+	public int getLine() {
+		return line;
+	}
+
+	public int getColumn() {
+		return column;
+	}
+
+	public int getEndLine() {
+		return endLine;
+	}
+
+	public int getEndColumn() {
+		return endColumn;
+	}
+
+	@Override
+	public String toString() {
+		return toUserData();
+	}
+
+}
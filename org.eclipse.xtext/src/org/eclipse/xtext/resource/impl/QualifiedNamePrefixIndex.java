@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterables;
+
+/**
+ * An immutable index over lower case {@link QualifiedName qualified names} that answers prefix queries by binary
+ * search.
+ *
+ * The names are kept in two sorted arrays, one ordered by the first segment and one ordered by the last segment of
+ * multi-segment names. A query returns all names whose first or last segment starts with the given prefix, ignoring
+ * case.
+ *
+ * @since 2.14
+ */
+public class QualifiedNamePrefixIndex {
+
+	private static final Comparator<QualifiedName> BY_FIRST_SEGMENT = new Comparator<QualifiedName>() {
+		@Override
+		public int compare(QualifiedName o1, QualifiedName o2) {
+			int result = o1.getFirstSegment().compareTo(o2.getFirstSegment());
+			if (result != 0)
+				return result;
+			return o1.compareTo(o2);
+		}
+	};
+
+	private static final Comparator<QualifiedName> BY_LAST_SEGMENT = new Comparator<QualifiedName>() {
+		@Override
+		public int compare(QualifiedName o1, QualifiedName o2) {
+			int result = o1.getLastSegment().compareTo(o2.getLastSegment());
+			if (result != 0)
+				return result;
+			return o1.compareTo(o2);
+		}
+	};
+
+	/**
+	 * Returns <code>true</code> if the first or the last segment of the given name starts with the prefix, ignoring
+	 * case.
+	 */
+	public static boolean matches(QualifiedName name, String prefix) {
+		if (name.isEmpty())
+			return false;
+		String first = name.getFirstSegment();
+		if (first.regionMatches(true, 0, prefix, 0, prefix.length()))
+			return true;
+		if (name.getSegmentCount() > 1) {
+			String last = name.getLastSegment();
+			return last.regionMatches(true, 0, prefix, 0, prefix.length());
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the descriptions from the given iterable whose name matches the given prefix.
+	 *
+	 * @see #matches(QualifiedName, String)
+	 */
+	public static Iterable<IEObjectDescription> filterByPrefix(Iterable<IEObjectDescription> descriptions,
+			final String prefix) {
+		return Iterables.filter(descriptions, new Predicate<IEObjectDescription>() {
+			@Override
+			public boolean apply(IEObjectDescription input) {
+				return matches(input.getName(), prefix);
+			}
+		});
+	}
+
+	private final QualifiedName[] byFirstSegment;
+
+	private final QualifiedName[] byLastSegment;
+
+	public QualifiedNamePrefixIndex(Collection<QualifiedName> names) {
+		List<QualifiedName> all = new ArrayList<QualifiedName>(names.size());
+		List<QualifiedName> multiSegment = new ArrayList<QualifiedName>();
+		for (QualifiedName name : names) {
+			if (!name.isEmpty()) {
+				QualifiedName lowerCase = name.toLowerCase();
+				all.add(lowerCase);
+				if (lowerCase.getSegmentCount() > 1)
+					multiSegment.add(lowerCase);
+			}
+		}
+		byFirstSegment = all.toArray(new QualifiedName[all.size()]);
+		Arrays.sort(byFirstSegment, BY_FIRST_SEGMENT);
+		byLastSegment = multiSegment.toArray(new QualifiedName[multiSegment.size()]);
+		Arrays.sort(byLastSegment, BY_LAST_SEGMENT);
+	}
+
+	/**
+	 * @return the lower case names whose first or last segment starts with the given prefix, ignoring case. The result
+	 *         is computed lazily and contains each name only once.
+	 */
+	public Iterable<QualifiedName> getNamesByPrefix(String prefix) {
+		final String lowerCasePrefix = prefix.toLowerCase();
+		Iterable<QualifiedName> firstSegmentMatches = new Iterable<QualifiedName>() {
+			@Override
+			public Iterator<QualifiedName> iterator() {
+				return new RangeIterator(byFirstSegment, lowerCasePrefix, false);
+			}
+		};
+		Iterable<QualifiedName> lastSegmentMatches = new Iterable<QualifiedName>() {
+			@Override
+			public Iterator<QualifiedName> iterator() {
+				return new RangeIterator(byLastSegment, lowerCasePrefix, true);
+			}
+		};
+		// names that match by their first segment have already been returned
+		Iterable<QualifiedName> additionalMatches = Iterables.filter(lastSegmentMatches, new Predicate<QualifiedName>() {
+			@Override
+			public boolean apply(QualifiedName input) {
+				return !input.getFirstSegment().startsWith(lowerCasePrefix);
+			}
+		});
+		return Iterables.concat(firstSegmentMatches, additionalMatches);
+	}
+
+	public int size() {
+		return byFirstSegment.length;
+	}
+
+	private static String getSegment(QualifiedName name, boolean last) {
+		return last ? name.getLastSegment() : name.getFirstSegment();
+	}
+
+	/**
+	 * Iterates the consecutive names of a sorted array whose first or last segment starts with a given prefix.
+	 */
+	private static class RangeIterator extends AbstractIterator<QualifiedName> {
+
+		private final QualifiedName[] names;
+		private final String prefix;
+		private final boolean last;
+		private int index;
+
+		RangeIterator(QualifiedName[] names, String prefix, boolean last) {
+			this.names = names;
+			this.prefix = prefix;
+			this.last = last;
+			this.index = lowerBound();
+		}
+
+		private int lowerBound() {
+			int low = 0;
+			int high = names.length;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (getSegment(names[mid], last).compareTo(prefix) < 0) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+
+		@Override
+		protected QualifiedName computeNext() {
+			if (index < names.length) {
+				QualifiedName candidate = names[index++];
+				if (getSegment(candidate, last).startsWith(prefix))
+					return candidate;
+			}
+			return endOfData();
+		}
+	}
+
+}
@@ -13,6 +13,7 @@ import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IPrefixSearchableSelectable;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescriptions;
 
@@ -33,7 +34,7 @@ import com.google.common.collect.Maps;
  * 
  * @author Sebastian Zarnekow - Initial contribution and API
  */
-public class ResourceDescriptionsBasedContainer extends AbstractContainer implements IResourceDescription.Event.Listener {
+public class ResourceDescriptionsBasedContainer extends AbstractContainer implements IResourceDescription.Event.Listener, IPrefixSearchableSelectable {
 
 	private final IResourceDescriptions descriptions;
 	
@@ -72,6 +73,21 @@ public class ResourceDescriptionsBasedContainer extends AbstractContainer implem
 		return filterByURI(unfiltered);
 	}
 
+	/**
+	 * @since 2.14
+	 */
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByPrefix(EClass type, String prefix) {
+		IResourceDescriptions descriptions = getDescriptions();
+		Iterable<IEObjectDescription> unfiltered;
+		if (descriptions instanceof IPrefixSearchableSelectable) {
+			unfiltered = ((IPrefixSearchableSelectable) descriptions).getExportedObjectsByPrefix(type, prefix);
+		} else {
+			unfiltered = QualifiedNamePrefixIndex.filterByPrefix(descriptions.getExportedObjectsByType(type), prefix);
+		}
+		return filterByURI(unfiltered);
+	}
+
 	protected Iterable<IEObjectDescription> filterByURI(Iterable<IEObjectDescription> unfiltered) {
 		return unfiltered;
 	}
@@ -23,12 +23,14 @@ import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.xtext.EcoreUtil2;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IPrefixSearchableSelectable;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescription.Delta;
 import org.eclipse.xtext.resource.IResourceDescriptions;
 
 import com.google.common.annotations.Beta;
 import com.google.common.base.Function;
+import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
@@ -41,7 +43,7 @@ import com.google.common.collect.Sets;
  * @since 2.5
  * 
  */
-@Beta public class ResourceDescriptionsData extends AbstractCompoundSelectable implements IResourceDescriptions {
+@Beta public class ResourceDescriptionsData extends AbstractCompoundSelectable implements IResourceDescriptions, IPrefixSearchableSelectable {
 	
 	public static class ResourceSetAdapter extends AdapterImpl {
 		
@@ -90,6 +92,12 @@ import com.google.common.collect.Sets;
 	 */
 	private final Map<QualifiedName, Object> lookupMap;
 
+	/**
+	 * Sorted view on the keys of the {@link #lookupMap}. It is created on demand and discarded whenever the lookup map
+	 * is modified.
+	 */
+	private volatile QualifiedNamePrefixIndex prefixIndex;
+
 	public ResourceDescriptionsData(Iterable<IResourceDescription> descriptions) {
 		int expectedSize = 500; // magic number in case it's not a Collection
 		if (descriptions instanceof Collection) {
@@ -145,6 +153,7 @@ import com.google.common.collect.Sets;
 	public void removeDescription(URI uri) {
 		IResourceDescription oldDescription = resourceDescriptionMap.remove(uri);
 		if (oldDescription != null) {
+			prefixIndex = null;
 			for(IEObjectDescription object: oldDescription.getExportedObjects()) {
 				QualifiedName objectName = object.getName().toLowerCase();
 				Object existing = lookupMap.get(objectName);
@@ -166,13 +175,39 @@ import com.google.common.collect.Sets;
 	
 	@Override
 	public Iterable<IEObjectDescription> getExportedObjects(final EClass type, final QualifiedName qualifiedName, final boolean ignoreCase) {
+		return getExportedObjects(type, qualifiedName, ignoreCase, null);
+	}
+
+	/**
+	 * Returns the matching exported objects of those resource descriptions whose URI is accepted by the given filter.
+	 * The filter is applied to the resource descriptions that export the name rather than to every exported object, so
+	 * a container can restrict the result to its resources without computing the resource URI of each object.
+	 * 
+	 * @param resourceFilter
+	 *            the filter for the URIs of the resource descriptions, or <code>null</code> to accept all of them.
+	 * @since 2.14
+	 */
+	public Iterable<IEObjectDescription> getExportedObjects(final EClass type, final QualifiedName qualifiedName, final boolean ignoreCase,
+			final Predicate<? super URI> resourceFilter) {
 		Object existing = lookupMap.get(qualifiedName.toLowerCase());
 		if (existing instanceof IResourceDescription) {
-			return ((IResourceDescription) existing).getExportedObjects(type, qualifiedName, ignoreCase);
+			IResourceDescription description = (IResourceDescription) existing;
+			if (resourceFilter != null && !resourceFilter.apply(description.getURI()))
+				return Collections.emptyList();
+			return description.getExportedObjects(type, qualifiedName, ignoreCase);
 		} else if (existing instanceof Set<?>) {
 			@SuppressWarnings("unchecked")
 			Set<IResourceDescription> casted = (Set<IResourceDescription>) existing;
-			return Iterables.concat(Iterables.transform(casted, new Function<IResourceDescription, Iterable<IEObjectDescription>>() {
+			Iterable<IResourceDescription> candidates = casted;
+			if (resourceFilter != null) {
+				candidates = Iterables.filter(casted, new Predicate<IResourceDescription>() {
+					@Override
+					public boolean apply(IResourceDescription input) {
+						return resourceFilter.apply(input.getURI());
+					}
+				});
+			}
+			return Iterables.concat(Iterables.transform(candidates, new Function<IResourceDescription, Iterable<IEObjectDescription>>() {
 				@Override
 				public Iterable<IEObjectDescription> apply(IResourceDescription from) {
 					if (from != null) {
@@ -185,6 +220,52 @@ import com.google.common.collect.Sets;
 		return Collections.emptyList();
 	}
 	
+	/**
+	 * Returns the resource descriptions that export an object with the given name, ignoring case. The lookup map
+	 * keeps track of them with every registered delta, so this is a cheap way to find out how many resources export a
+	 * name.
+	 * 
+	 * @return an unmodifiable view on the exporting resource descriptions. Never <code>null</code>.
+	 * @since 2.14
+	 */
+	public Collection<IResourceDescription> getExportingResourceDescriptions(QualifiedName name) {
+		Object existing = lookupMap.get(name.toLowerCase());
+		if (existing instanceof IResourceDescription) {
+			return Collections.singleton((IResourceDescription) existing);
+		} else if (existing instanceof Set<?>) {
+			@SuppressWarnings("unchecked")
+			Set<IResourceDescription> casted = (Set<IResourceDescription>) existing;
+			return Collections.unmodifiableSet(casted);
+		}
+		return Collections.emptySet();
+	}
+	
+	/**
+	 * @since 2.14
+	 */
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByPrefix(final EClass type, String prefix) {
+		return Iterables.concat(Iterables.transform(getPrefixIndex().getNamesByPrefix(prefix),
+				new Function<QualifiedName, Iterable<IEObjectDescription>>() {
+					@Override
+					public Iterable<IEObjectDescription> apply(QualifiedName name) {
+						return getExportedObjects(type, name, true);
+					}
+				}));
+	}
+
+	/**
+	 * @since 2.14
+	 */
+	protected QualifiedNamePrefixIndex getPrefixIndex() {
+		QualifiedNamePrefixIndex result = prefixIndex;
+		if (result == null) {
+			result = new QualifiedNamePrefixIndex(lookupMap.keySet());
+			prefixIndex = result;
+		}
+		return result;
+	}
+
 	@Override
 	public Iterable<IEObjectDescription> getExportedObjectsByObject(EObject object) {
 		URI resourceURI = EcoreUtil2.getPlatformResourceOrNormalizedURI(object).trimFragment();
@@ -208,6 +289,7 @@ import com.google.common.collect.Sets;
 		if (newDescription != null) {
 			resourceDescriptionMap.put(uri, newDescription);
 			registerDescription(newDescription, lookupMap);
+			prefixIndex = null;
 		}
 	}
 
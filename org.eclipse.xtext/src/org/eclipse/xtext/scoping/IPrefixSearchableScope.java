@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.scoping;
+
+import org.eclipse.xtext.resource.IEObjectDescription;
+
+/**
+ * A scope that can be queried for the elements whose name starts with a given prefix. Scopes that are backed by an
+ * {@link org.eclipse.xtext.resource.IPrefixSearchableSelectable} answer such queries without enumerating all their
+ * elements, which is significantly faster than filtering {@link #getAllElements()} for large scopes.
+ * 
+ * A name matches a prefix if its first or its last segment starts with the prefix, ignoring case.
+ * 
+ * @since 2.14
+ */
+public interface IPrefixSearchableScope extends IScope {
+
+	/**
+	 * @param prefix
+	 *            a single name segment. May be empty.
+	 * @return the elements of {@link #getAllElements()} whose name matches the given prefix. The result is computed
+	 *         lazily. May not be <code>null</code>.
+	 */
+	Iterable<IEObjectDescription> getElementsByPrefix(String prefix);
+
+}
@@ -10,16 +10,20 @@ package org.eclipse.xtext.scoping.impl;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IPrefixSearchableSelectable;
 import org.eclipse.xtext.resource.ISelectable;
+import org.eclipse.xtext.resource.impl.QualifiedNamePrefixIndex;
+import org.eclipse.xtext.scoping.IPrefixSearchableScope;
 import org.eclipse.xtext.scoping.IScope;
 
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
+import com.google.inject.Provider;
 
 /**
  * @author Sebastian Zarnekow - Initial contribution and API
  */
-public class SelectableBasedScope extends AbstractScope {
+public class SelectableBasedScope extends AbstractScope implements IPrefixSearchableScope {
 	
 	public static IScope createScope(IScope outer, ISelectable selectable, EClass type, boolean ignoreCase) {
 		return createScope(outer, selectable, null, type, ignoreCase);
@@ -48,6 +52,53 @@ public class SelectableBasedScope extends AbstractScope {
 		return filterLocalElements(unfiltered);
 	}
 	
+	/**
+	 * Returns the elements whose name matches the given prefix with the same shadowing semantics as
+	 * {@link #getAllElements()}. If {@link #isPrefixSearchSupported()} is <code>false</code>, the elements are found
+	 * by filtering {@link #getAllElements()}.
+	 * 
+	 * @since 2.14
+	 */
+	@Override
+	public Iterable<IEObjectDescription> getElementsByPrefix(final String prefix) {
+		if (!isPrefixSearchSupported())
+			return QualifiedNamePrefixIndex.filterByPrefix(getAllElements(), prefix);
+		Iterable<IEObjectDescription> localElements = getLocalElementsByPrefix(prefix);
+		Iterable<IEObjectDescription> parentElements = getParentElements(new Provider<Iterable<IEObjectDescription>>() {
+			@Override
+			public Iterable<IEObjectDescription> get() {
+				IScope parent = getParent();
+				if (parent instanceof IPrefixSearchableScope)
+					return ((IPrefixSearchableScope) parent).getElementsByPrefix(prefix);
+				return QualifiedNamePrefixIndex.filterByPrefix(parent.getAllElements(), prefix);
+			}
+		});
+		Iterable<IEObjectDescription> result = Iterables.concat(localElements, parentElements);
+		return result;
+	}
+
+	/**
+	 * Whether {@link #getElementsByPrefix(String)} may query the selectable and the parent scope directly. Subclasses
+	 * may change the content of {@link #getAllElements()}, so this is only the case for this class itself. Subclasses
+	 * that don't change the content can return <code>true</code>.
+	 * 
+	 * @since 2.14
+	 */
+	protected boolean isPrefixSearchSupported() {
+		return getClass() == SelectableBasedScope.class;
+	}
+
+	/**
+	 * @since 2.14
+	 */
+	protected Iterable<IEObjectDescription> getLocalElementsByPrefix(String prefix) {
+		if (selectable instanceof IPrefixSearchableSelectable) {
+			Iterable<IEObjectDescription> unfiltered = ((IPrefixSearchableSelectable) selectable).getExportedObjectsByPrefix(type, prefix);
+			return filterLocalElements(unfiltered);
+		}
+		return QualifiedNamePrefixIndex.filterByPrefix(getAllLocalElements(), prefix);
+	}
+	
 	@Override
 	protected Iterable<IEObjectDescription> getAllLocalElements() {
 		Iterable<IEObjectDescription> unfiltered = selectable.getExportedObjectsByType(type);
@@ -7,26 +7,36 @@
  *******************************************************************************/
 package org.eclipse.xtext.validation;
 
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.SimpleAttributeResolver;
 
 import java.util.Map;
+import java.util.Set;
 
 import javax.inject.Inject;
 
 import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.EcorePackage;
 import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IContainer;
 import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
+import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
 import org.eclipse.xtext.service.OperationCanceledManager;
 
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 /**
  * @author Sebastian Zarnekow - Initial contribution and API
@@ -77,6 +87,68 @@ public class NamesAreUniqueValidationHelper implements INamesAreUniqueValidation
 		}
 	}
 	
+	/**
+	 * Checks whether the objects that are exported by the given resource description are exported with the same name
+	 * and cluster type by any other resource in the given containers. If the given resource descriptions maintain an
+	 * index of the exporting resources per name, names that are exported by no other resource are skipped without
+	 * querying the containers.
+	 * 
+	 * @since 2.14
+	 */
+	public void checkUniqueNamesAcrossResources(IResourceDescription description, IResourceDescriptions resourceDescriptions,
+			List<IContainer> visibleContainers, CancelIndicator cancelIndicator, ValidationMessageAcceptor acceptor) {
+		URI resourceURI = description.getURI();
+		Set<QualifiedName> checkedNames = Sets.newHashSet();
+		for (IEObjectDescription exported : description.getExportedObjects()) {
+			operationCanceledManager.checkCanceled(cancelIndicator);
+			QualifiedName name = exported.getName();
+			if (!checkedNames.add(name) || !isExportedByOtherResources(name, resourceURI, resourceDescriptions))
+				continue;
+			EClass clusterType = getAssociatedClusterType(exported.getEClass());
+			if (isExportedByOtherResources(name, clusterType, resourceURI, visibleContainers)) {
+				createDuplicateNameError(exported, clusterType, acceptor);
+			}
+		}
+	}
+
+	/**
+	 * Returns <code>false</code> if the name index of the given resource descriptions tells that the given name is
+	 * exported by no other resource than the given one. Returns <code>true</code> if the name may be exported by other
+	 * resources or if the resource descriptions do not maintain a name index.
+	 * 
+	 * @since 2.14
+	 */
+	protected boolean isExportedByOtherResources(QualifiedName name, URI resourceURI, IResourceDescriptions resourceDescriptions) {
+		Iterable<ResourceDescriptionsData> indexes;
+		if (resourceDescriptions instanceof ResourceDescriptionsData) {
+			indexes = Collections.singleton((ResourceDescriptionsData) resourceDescriptions);
+		} else if (resourceDescriptions instanceof ChunkedResourceDescriptions) {
+			indexes = ((ChunkedResourceDescriptions) resourceDescriptions).getContainers().values();
+		} else {
+			return true;
+		}
+		for (ResourceDescriptionsData index : indexes) {
+			for (IResourceDescription exporting : index.getExportingResourceDescriptions(name)) {
+				if (!resourceURI.equals(exporting.getURI()))
+					return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isExportedByOtherResources(QualifiedName name, EClass clusterType, URI resourceURI,
+			List<IContainer> visibleContainers) {
+		for (IContainer container : visibleContainers) {
+			for (IEObjectDescription candidate : container.getExportedObjects(EcorePackage.Literals.EOBJECT, name, false)) {
+				if (!resourceURI.equals(candidate.getEObjectURI().trimFragment())
+						&& clusterType == getAssociatedClusterType(candidate.getEClass())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+	
 	protected void checkDescriptionForDuplicatedName(
 			IEObjectDescription description,
 			Map<EClass, Map<QualifiedName, IEObjectDescription>> clusterTypeToName,
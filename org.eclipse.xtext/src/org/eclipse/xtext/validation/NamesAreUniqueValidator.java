@@ -7,16 +7,21 @@
  *******************************************************************************/
 package org.eclipse.xtext.validation;
 
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.resource.IContainer;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsProvider;
 import org.eclipse.xtext.util.CancelIndicator;
 
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 
 /**
  * <p>
@@ -33,11 +38,29 @@ import com.google.inject.Inject;
  */
 public class NamesAreUniqueValidator extends AbstractDeclarativeValidator {
 
+	/**
+	 * The name of a <code>boolean</code> constant that enables the check for names that are exported by other
+	 * resources in the visible containers, too. The check requires a {@link NamesAreUniqueValidationHelper}. If the
+	 * incremental builder is created by another injector, e.g. the one of the language server, the constant has to be
+	 * bound there as well, so that the {@link org.eclipse.xtext.build.Indexer} validates the exporters of names that
+	 * become or stop being duplicates again.
+	 * 
+	 * @since 2.14
+	 */
+	public static final String CHECK_ACROSS_RESOURCES = "org.eclipse.xtext.validation.NamesAreUniqueValidator.checkAcrossResources";
+
 	@Inject
 	private IResourceServiceProvider.Registry resourceServiceProviderRegistry = IResourceServiceProvider.Registry.INSTANCE;
 	
 	@Inject
 	private INamesAreUniqueValidationHelper helper;
+	
+	@Inject(optional = true)
+	@Named(CHECK_ACROSS_RESOURCES)
+	private boolean checkAcrossResources = false;
+	
+	@Inject(optional = true)
+	private ResourceDescriptionsProvider resourceDescriptionsProvider;
 
 	@Override
 	public void register(EValidatorRegistrar registrar) {
@@ -70,9 +93,26 @@ public class NamesAreUniqueValidator extends AbstractDeclarativeValidator {
 			if (description != null) {
 				Iterable<IEObjectDescription> descriptions = description.getExportedObjects();
 				helper.checkUniqueNames(descriptions, cancelIndicator, this);
+				if (checkAcrossResources && helper instanceof NamesAreUniqueValidationHelper && resourceDescriptionsProvider != null) {
+					doCheckUniqueNamesAcrossResources(resource, description, resourceServiceProvider, cancelIndicator);
+				}
 			}
 		}
 	}
+	
+	/**
+	 * @since 2.14
+	 */
+	protected void doCheckUniqueNamesAcrossResources(Resource resource, IResourceDescription description,
+			IResourceServiceProvider resourceServiceProvider, CancelIndicator cancelIndicator) {
+		IContainer.Manager containerManager = resourceServiceProvider.getContainerManager();
+		if (containerManager == null)
+			return;
+		IResourceDescriptions resourceDescriptions = resourceDescriptionsProvider.getResourceDescriptions(resource);
+		List<IContainer> visibleContainers = containerManager.getVisibleContainers(description, resourceDescriptions);
+		((NamesAreUniqueValidationHelper) helper).checkUniqueNamesAcrossResources(description, resourceDescriptions,
+				visibleContainers, cancelIndicator, this);
+	}
 
 	public void setHelper(INamesAreUniqueValidationHelper helper) {
 		this.helper = helper;
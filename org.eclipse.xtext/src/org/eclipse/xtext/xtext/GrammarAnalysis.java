@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.xtext;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.xtext.AbstractElement;
+import org.eclipse.xtext.AbstractRule;
+import org.eclipse.xtext.Grammar;
+import org.eclipse.xtext.GrammarUtil;
+import org.eclipse.xtext.Keyword;
+import org.eclipse.xtext.TerminalRule;
+import org.eclipse.xtext.util.Strings;
+import org.eclipse.xtext.util.Tuples;
+
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * Grammar-wide information that the checks of the {@link XtextValidator} need for many elements of a grammar, e.g.
+ * the terminal rules that consist of a single keyword or the rules of the grammar and its used grammars by name.
+ * Computing it for every checked rule or keyword is quadratic in the size of the grammar, so it is computed once per
+ * grammar and stored in the context of the validation run, which makes sure that changes to the grammar or its used
+ * grammars are never hidden by stale results.
+ *
+ * @since 2.14
+ */
+public class GrammarAnalysis {
+
+	/**
+	 * Returns the analysis of the given grammar for the validation run with the given context. If the context is
+	 * <code>null</code>, a new analysis is returned.
+	 */
+	public static GrammarAnalysis get(Grammar grammar, Map<Object, Object> context) {
+		if (context == null)
+			return new GrammarAnalysis(grammar);
+		Object key = Tuples.create(GrammarAnalysis.class, grammar);
+		GrammarAnalysis result = (GrammarAnalysis) context.get(key);
+		if (result == null) {
+			result = new GrammarAnalysis(grammar);
+			context.put(key, result);
+		}
+		return result;
+	}
+
+	private final Grammar grammar;
+
+	private ListMultimap<String, TerminalRule> singleKeywordTerminalRules;
+
+	private ListMultimap<String, AbstractRule> visibleRulesByLowerCaseName;
+
+	private Map<String, AbstractRule> rulesByName;
+
+	public GrammarAnalysis(Grammar grammar) {
+		this.grammar = grammar;
+	}
+
+	public Grammar getGrammar() {
+		return grammar;
+	}
+
+	/**
+	 * Returns the terminal rules of the grammar and its used grammars that are no fragments and consist of exactly one
+	 * mandatory keyword with the given value.
+	 */
+	public List<TerminalRule> getSingleKeywordTerminalRules(String value) {
+		if (singleKeywordTerminalRules == null) {
+			ListMultimap<String, TerminalRule> result = LinkedListMultimap.create();
+			for (TerminalRule rule : GrammarUtil.allTerminalRules(grammar)) {
+				if (!rule.isFragment()) {
+					AbstractElement element = rule.getAlternatives();
+					if (element instanceof Keyword && Strings.isEmpty(element.getCardinality()))
+						result.put(((Keyword) element).getValue(), rule);
+				}
+			}
+			singleKeywordTerminalRules = result;
+		}
+		return singleKeywordTerminalRules.get(value);
+	}
+
+	/**
+	 * Returns the rules whose name equals the given name ignoring case. A rule of a used grammar is only included if
+	 * no grammar that was visited before, i.e. the grammar itself or a grammar that is used before it, declares a rule
+	 * with the same name.
+	 */
+	public List<AbstractRule> getVisibleRulesIgnoreCase(String name) {
+		if (visibleRulesByLowerCaseName == null) {
+			ListMultimap<String, AbstractRule> result = LinkedListMultimap.create();
+			collectVisibleRules(grammar, result, Sets.<Grammar> newHashSet(), Sets.<String> newHashSet());
+			visibleRulesByLowerCaseName = result;
+		}
+		return visibleRulesByLowerCaseName.get(name.toLowerCase());
+	}
+
+	private void collectVisibleRules(Grammar grammar, ListMultimap<String, AbstractRule> result, Set<Grammar> visited,
+			Set<String> validNames) {
+		if (!visited.add(grammar))
+			return;
+		Collection<String> names = Sets.newHashSet();
+		for (AbstractRule rule : grammar.getRules()) {
+			if (!validNames.contains(rule.getName())) {
+				names.add(rule.getName());
+				if (rule.getName() != null)
+					result.put(rule.getName().toLowerCase(), rule);
+			}
+		}
+		validNames.addAll(names);
+		for (Grammar usedGrammar : grammar.getUsedGrammars()) {
+			collectVisibleRules(usedGrammar, result, visited, validNames);
+		}
+	}
+
+	/**
+	 * Returns the same rule as {@link GrammarUtil#findRuleForName(Grammar, String)} for simple rule names, i.e. the
+	 * first rule with the given name in the grammar or its used grammars.
+	 */
+	public AbstractRule findRuleForName(String name) {
+		if (name == null)
+			return null;
+		if (name.indexOf('.') != -1)
+			return GrammarUtil.findRuleForName(grammar, name);
+		if (rulesByName == null) {
+			Map<String, AbstractRule> result = Maps.newHashMap();
+			collectRulesByName(grammar, result, Sets.<Grammar> newHashSet());
+			rulesByName = result;
+		}
+		return rulesByName.get(name);
+	}
+
+	private void collectRulesByName(Grammar grammar, Map<String, AbstractRule> result, Set<Grammar> visited) {
+		if (!visited.add(grammar))
+			return;
+		for (AbstractRule rule : grammar.getRules()) {
+			if (rule.getName() != null && !result.containsKey(rule.getName()))
+				result.put(rule.getName(), rule);
+		}
+		for (Grammar usedGrammar : grammar.getUsedGrammars()) {
+			collectRulesByName(usedGrammar, result, visited);
+		}
+	}
+
+}
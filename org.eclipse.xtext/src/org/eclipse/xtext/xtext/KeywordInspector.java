@@ -7,16 +7,11 @@
  *******************************************************************************/
 package org.eclipse.xtext.xtext;
 
-import java.util.List;
-
-import org.eclipse.xtext.AbstractElement;
 import org.eclipse.xtext.AbstractRule;
-import org.eclipse.xtext.Grammar;
 import org.eclipse.xtext.GrammarUtil;
 import org.eclipse.xtext.Keyword;
 import org.eclipse.xtext.TerminalRule;
 import org.eclipse.xtext.XtextPackage;
-import org.eclipse.xtext.util.Strings;
 import org.eclipse.xtext.validation.ValidationMessageAcceptor;
 
 /**
@@ -38,24 +33,25 @@ public class KeywordInspector {
 	}
 	
 	public void inspectKeywordHidesTerminalRule(Keyword keyword) {
+		inspectKeywordHidesTerminalRule(keyword, new GrammarAnalysis(GrammarUtil.getGrammar(keyword)));
+	}
+	
+	/**
+	 * Reports the terminal rules of the analyzed grammar that are hidden by the given keyword. Keywords that are not
+	 * part of a parser rule or enum rule are ignored.
+	 * 
+	 * @since 2.14
+	 */
+	public void inspectKeywordHidesTerminalRule(Keyword keyword, GrammarAnalysis analysis) {
 		AbstractRule container = GrammarUtil.containingRule(keyword);
-		if (container instanceof TerminalRule)
+		if (container == null || container instanceof TerminalRule)
 			return;
-		Grammar grammar = GrammarUtil.getGrammar(container);
-		List<TerminalRule> rules = GrammarUtil.allTerminalRules(grammar);
-		for(TerminalRule rule: rules) {
-			if (!rule.isFragment()) {
-				AbstractElement element = rule.getAlternatives();
-				if (element instanceof Keyword && Strings.isEmpty(element.getCardinality())) {
-					String value = ((Keyword) element).getValue();
-					if (value.equals(keyword.getValue()))
-					acceptor.acceptError(
-							"The keyword '" + value + "' hides the terminal rule " + rule.getName()+ ".", 
-							keyword,
-							XtextPackage.Literals.KEYWORD__VALUE,
-							ValidationMessageAcceptor.INSIGNIFICANT_INDEX, null);
-				}
-			}
+		for(TerminalRule rule: analysis.getSingleKeywordTerminalRules(keyword.getValue())) {
+			acceptor.acceptError(
+					"The keyword '" + keyword.getValue() + "' hides the terminal rule " + rule.getName()+ ".", 
+					keyword,
+					XtextPackage.Literals.KEYWORD__VALUE,
+					ValidationMessageAcceptor.INSIGNIFICANT_INDEX, null);
 		}
 	}
 
@@ -724,29 +724,19 @@ public class XtextValidator extends AbstractDeclarativeValidator {
 
 	private Multimap<String, AbstractRule> getAllRules(Grammar grammar, String name) {
 		final Multimap<String, AbstractRule> result = ArrayListMultimap.create();
-		final Set<Grammar> grammars = new HashSet<Grammar>();
-		final Set<String> validNames = new HashSet<String>();
-		collectRules(grammar, result, grammars, name, validNames);
+		for (AbstractRule rule : getGrammarAnalysis(grammar).getVisibleRulesIgnoreCase(name)) {
+			result.put(rule.getName(), rule);
+		}
 		return result;
 	}
 
-	private void collectRules(Grammar grammar, Multimap<String, AbstractRule> result, Set<Grammar> visited,
-			String name, Set<String> validNames) {
-		if (!visited.add(grammar))
-			return;
-
-		List<String> allNames = new ArrayList<String>();
-		for (AbstractRule rule : grammar.getRules()) {
-			if (!validNames.contains(rule.getName())) {
-				allNames.add(rule.getName());
-				if (rule.getName().equalsIgnoreCase(name))
-					result.put(rule.getName(), rule);
-			}
-		}
-		validNames.addAll(allNames);
-		for (Grammar usedGrammar : grammar.getUsedGrammars()) {
-			collectRules(usedGrammar, result, visited, name, validNames);
-		}
+	/**
+	 * Returns the analysis of the given grammar that is shared by all checks of the current validation run.
+	 * 
+	 * @since 2.14
+	 */
+	protected GrammarAnalysis getGrammarAnalysis(Grammar grammar) {
+		return GrammarAnalysis.get(grammar, getContext());
 	}
 
 	@Check
@@ -1096,7 +1086,8 @@ public class XtextValidator extends AbstractDeclarativeValidator {
 	public void checkKeywordHidesTerminalRule(final Keyword keyword) {
 		if (keywordHidesTerminalInspector == null)
 			keywordHidesTerminalInspector = new KeywordInspector(this);
-		keywordHidesTerminalInspector.inspectKeywordHidesTerminalRule(keyword);
+		keywordHidesTerminalInspector.inspectKeywordHidesTerminalRule(keyword,
+				getGrammarAnalysis(GrammarUtil.getGrammar(keyword)));
 	}
 
 	@Check
@@ -1263,7 +1254,7 @@ public class XtextValidator extends AbstractDeclarativeValidator {
 		}
 		
 		for (Grammar g : superGrammars) {
-			final AbstractRule r = GrammarUtil.findRuleForName(g, rule.getName());
+			final AbstractRule r = getGrammarAnalysis(g).findRuleForName(rule.getName());
 			
 			if (r != null) {
 				if (!isOverride) {
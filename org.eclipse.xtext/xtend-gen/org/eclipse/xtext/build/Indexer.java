@@ -8,8 +8,11 @@
 package org.eclipse.xtext.build;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -43,6 +46,7 @@ import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
 import org.eclipse.xtext.resource.persistence.SerializableEObjectDescriptionProvider;
 import org.eclipse.xtext.service.OperationCanceledManager;
 import org.eclipse.xtext.util.internal.Log;
+import org.eclipse.xtext.validation.NamesAreUniqueValidator;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Extension;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
@@ -199,6 +203,16 @@ public class Indexer {
   @Extension
   private OperationCanceledManager _operationCanceledManager;
   
+  /**
+   * Whether the exporters of names that become or stop being duplicates are built again, see
+   * {@link #getExportersOfChangedDuplicateNames(List, ResourceDescriptionsData, ResourceDescriptionsData)}. This is
+   * only needed if {@link NamesAreUniqueValidator#CHECK_ACROSS_RESOURCES} is enabled, so it is bound to the same
+   * constant, which has to be bound in the injector of the builder as well.
+   */
+  @Inject(optional = true)
+  @Named(NamesAreUniqueValidator.CHECK_ACROSS_RESOURCES)
+  private boolean checkExportersOfDuplicateNames = false;
+  
   public Indexer.IndexResult computeAndIndexAffected(final BuildRequest request, @Extension final BuildContext context) {
     final ResourceDescriptionsData previousIndex = context.getOldState().getResourceDescriptions();
     final ResourceDescriptionsData newIndex = request.getState().getResourceDescriptions();
@@ -232,11 +246,18 @@ public class Indexer {
       return it.getUri();
     };
     remainingURIs.removeAll(ListExtensions.<IResourceDescription.Delta, URI>map(deltas, _function_1));
+    Set<URI> _xifexpression = null;
+    if (this.checkExportersOfDuplicateNames) {
+      _xifexpression = this.getExportersOfChangedDuplicateNames(deltas, previousIndex, newIndex);
+    } else {
+      _xifexpression = CollectionLiterals.<URI>emptySet();
+    }
+    final Set<URI> exportersOfChangedDuplicates = _xifexpression;
     final Function1<URI, Boolean> _function_2 = (URI it) -> {
       final IResourceDescription.Manager manager = context.getResourceServiceProvider(it).getResourceDescriptionManager();
       final IResourceDescription resourceDescription = previousIndex.getResourceDescription(it);
       final boolean isAffected = this.isAffected(resourceDescription, manager, allDeltas, allDeltas, newIndex);
-      return Boolean.valueOf(isAffected);
+      return Boolean.valueOf((isAffected || exportersOfChangedDuplicates.contains(it)));
     };
     final List<URI> allAffected = IterableExtensions.<URI>toList(IterableExtensions.<URI>filter(remainingURIs, _function_2));
     if ((Indexer.LOG.isInfoEnabled() && (!allAffected.isEmpty()))) {
@@ -249,6 +270,48 @@ public class Indexer {
     return new Indexer.IndexResult(deltas, newIndex);
   }
   
+  /**
+   * Returns the URIs of the resources that export a name which was added to or removed from the exported objects of
+   * the changed resources, if that name is exported by more than one resource before or after the change. These
+   * resources have to be validated again, e.g. for the uniqueness of their exported names.
+   * 
+   * @since 2.14
+   */
+  protected Set<URI> getExportersOfChangedDuplicateNames(final List<IResourceDescription.Delta> deltas, final ResourceDescriptionsData oldIndex, final ResourceDescriptionsData newIndex) {
+    final HashSet<URI> result = CollectionLiterals.<URI>newHashSet();
+    for (final IResourceDescription.Delta delta : deltas) {
+      boolean _haveEObjectDescriptionsChanged = delta.haveEObjectDescriptionsChanged();
+      if (_haveEObjectDescriptionsChanged) {
+        final Set<QualifiedName> oldNames = this.getExportedNames(delta.getOld());
+        final Set<QualifiedName> newNames = this.getExportedNames(delta.getNew());
+        Sets.SetView<QualifiedName> _symmetricDifference = Sets.<QualifiedName>symmetricDifference(oldNames, newNames);
+        for (final QualifiedName name : _symmetricDifference) {
+          {
+            final Collection<IResourceDescription> exporters = newIndex.getExportingResourceDescriptions(name);
+            if (((exporters.size() > 1) || (oldIndex.getExportingResourceDescriptions(name).size() > 1))) {
+              final Function1<IResourceDescription, URI> _function = (IResourceDescription it) -> {
+                return it.getURI();
+              };
+              Iterable<URI> _map = IterableExtensions.<IResourceDescription, URI>map(exporters, _function);
+              Iterables.<URI>addAll(result, _map);
+            }
+          }
+        }
+      }
+    }
+    return result;
+  }
+  
+  private Set<QualifiedName> getExportedNames(final IResourceDescription description) {
+    if ((description == null)) {
+      return CollectionLiterals.<QualifiedName>emptySet();
+    }
+    final Function1<IEObjectDescription, QualifiedName> _function = (IEObjectDescription it) -> {
+      return it.getName().toLowerCase();
+    };
+    return IterableExtensions.<QualifiedName>toSet(IterableExtensions.<IEObjectDescription, QualifiedName>map(description.getExportedObjects(), _function));
+  }
+  
   protected List<IResourceDescription.Delta> getDeltasForDeletedResources(final BuildRequest request, final ResourceDescriptionsData oldIndex, @Extension final BuildContext context) {
     final ArrayList<IResourceDescription.Delta> deltas = CollectionLiterals.<IResourceDescription.Delta>newArrayList();
     final Function1<URI, Boolean> _function = (URI it) -> {
@@ -8,6 +8,7 @@
 package org.eclipse.xtext.resource.containers;
 
 import com.google.common.annotations.Beta;
+import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
 import java.util.Collections;
 import java.util.Set;
@@ -20,10 +21,12 @@ import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IContainer;
 import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IPrefixSearchableSelectable;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
 import org.eclipse.xtext.resource.impl.LiveShadowedChunkedResourceDescriptions;
+import org.eclipse.xtext.resource.impl.QualifiedNamePrefixIndex;
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
 import org.eclipse.xtext.workspace.IProjectConfig;
 import org.eclipse.xtext.workspace.ISourceFolder;
@@ -39,7 +42,7 @@ import org.eclipse.xtext.xbase.lib.IterableExtensions;
 @Beta
 @FinalFieldsConstructor
 @SuppressWarnings("all")
-public class LiveShadowedChunkedContainer implements IContainer {
+public class LiveShadowedChunkedContainer implements IContainer, IPrefixSearchableSelectable {
   private final LiveShadowedChunkedResourceDescriptions descriptions;
   
   private final String containerName;
@@ -160,12 +163,12 @@ public class LiveShadowedChunkedContainer implements IContainer {
       return it.getExportedObjects(type, name, ignoreCase);
     };
     Iterable<IEObjectDescription> _flatten = Iterables.<IEObjectDescription>concat(IterableExtensions.<IResourceDescription, Iterable<IEObjectDescription>>map(this.getContainedLocalDescriptions(), _function));
-    final Function1<IEObjectDescription, Boolean> _function_1 = (IEObjectDescription it) -> {
-      boolean _contains = localURIs.contains(it.getEObjectURI().trimFragment());
-      return Boolean.valueOf((!_contains));
+    final Predicate<URI> _function_1 = (URI it) -> {
+      boolean _contains = localURIs.contains(it);
+      return (!_contains);
     };
-    Iterable<IEObjectDescription> _filter = IterableExtensions.<IEObjectDescription>filter(this.getChunk().getExportedObjects(type, name, ignoreCase), _function_1);
-    return Iterables.<IEObjectDescription>concat(_flatten, _filter);
+    Iterable<IEObjectDescription> _exportedObjects = this.getChunk().getExportedObjects(type, name, ignoreCase, _function_1);
+    return Iterables.<IEObjectDescription>concat(_flatten, _exportedObjects);
   }
   
   @Override
@@ -198,6 +201,21 @@ public class LiveShadowedChunkedContainer implements IContainer {
     return Iterables.<IEObjectDescription>concat(_flatten, _filter);
   }
   
+  @Override
+  public Iterable<IEObjectDescription> getExportedObjectsByPrefix(final EClass type, final String prefix) {
+    final Set<URI> localURIs = this.getExistingOrRenamedResourceURIs();
+    final Function1<IResourceDescription, Iterable<IEObjectDescription>> _function = (IResourceDescription it) -> {
+      return QualifiedNamePrefixIndex.filterByPrefix(it.getExportedObjectsByType(type), prefix);
+    };
+    Iterable<IEObjectDescription> _flatten = Iterables.<IEObjectDescription>concat(IterableExtensions.<IResourceDescription, Iterable<IEObjectDescription>>map(this.getContainedLocalDescriptions(), _function));
+    final Function1<IEObjectDescription, Boolean> _function_1 = (IEObjectDescription it) -> {
+      boolean _contains = localURIs.contains(it.getEObjectURI().trimFragment());
+      return Boolean.valueOf((!_contains));
+    };
+    Iterable<IEObjectDescription> _filter = IterableExtensions.<IEObjectDescription>filter(this.getChunk().getExportedObjectsByPrefix(type, prefix), _function_1);
+    return Iterables.<IEObjectDescription>concat(_flatten, _filter);
+  }
+  
   @Override
   public boolean isEmpty() {
     return (IterableExtensions.isEmpty(this.getContainedLocalDescriptions()) && this.getChunk().isEmpty());
@@ -16,6 +16,7 @@ import java.io.ObjectOutput;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -169,6 +170,14 @@ public class ChunkedResourceDescriptions extends AbstractCompoundSelectable impl
     return this.chunk2resourceDescriptions.get(containerHandle);
   }
   
+  /**
+   * @return an unmodifiable view of the containers by their handle.
+   * @since 2.14
+   */
+  public Map<String, ResourceDescriptionsData> getContainers() {
+    return Collections.<String, ResourceDescriptionsData>unmodifiableMap(this.chunk2resourceDescriptions);
+  }
+  
   @Override
   public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
     final int numChunks = in.readInt();